@@ -2,8 +2,10 @@ package com.atlas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AtlasApplication {
     public static void main(String[] args) {
         SpringApplication.run(AtlasApplication.class, args);
@@ -2,6 +2,9 @@ package com.atlas.config;
 
 import com.atlas.entity.*;
 import com.atlas.repository.*;
+import com.atlas.service.EmployeeHierarchyService;
+import com.atlas.service.EmployeeMonthStatusService;
+import com.atlas.service.KpiSnapshotService;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
@@ -30,6 +33,9 @@ public class DataInitializer implements CommandLineRunner {
         private final SkillRepository skillRepository;
         private final EmployeeSkillRepository employeeSkillRepository;
         private final PasswordEncoder passwordEncoder;
+        private final EmployeeHierarchyService employeeHierarchyService;
+        private final EmployeeMonthStatusService employeeMonthStatusService;
+        private final KpiSnapshotService kpiSnapshotService;
 
         private final ObjectMapper objectMapper = new ObjectMapper();
         private final Random random = new Random(42);
@@ -67,6 +73,11 @@ public class DataInitializer implements CommandLineRunner {
         public void run(String... args) {
                 if (employeeRepository.count() > 0) {
                         log.info("Data already initialized, skipping creation...");
+                        // Backfill the closure table for databases created before it existed
+                        employeeHierarchyService.rebuildIfEmpty();
+                        // Cheap enough to redo on every start; also moves the horizon forward
+                        employeeMonthStatusService.rebuild();
+                        kpiSnapshotService.backfillIfEmpty();
                         return;
                 }
 
@@ -81,6 +92,9 @@ public class DataInitializer implements CommandLineRunner {
                         throw new RuntimeException(e);
                 }
 
+                // Managers are linked in bulk above, so build the closure table in one pass
+                employeeHierarchyService.rebuild();
+
                 List<Employee> allEmployees = employeeRepository.findAll();
 
                 // Find managers for project creation (anyone who has reports)
@@ -107,6 +121,10 @@ public class DataInitializer implements CommandLineRunner {
 
                 fixData();
 
+                // Allocations are created in bulk above, so derive the status read model in one pass
+                employeeMonthStatusService.rebuild();
+                kpiSnapshotService.backfillIfEmpty();
+
                 log.info("Data initialization complete!");
                 log.info("Imported {} employees", allEmployees.size());
         }
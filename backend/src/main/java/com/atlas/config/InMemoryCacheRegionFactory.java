@@ -0,0 +1,117 @@
+package com.atlas.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache provider keeping every region in a bounded,
+ * in-process LRU map. The cached entities are small reference tables and the
+ * application runs as a single node, so no distributed provider is needed.
+ *
+ * The timestamps region is never bounded: evicting an update timestamp would
+ * let the query cache serve results older than the last write to a table.
+ */
+public class InMemoryCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES = "hibernate.cache.atlas.max_entries_per_region";
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        maxEntries = ConfigurationHelper.getInt(MAX_ENTRIES, configValues, DEFAULT_MAX_ENTRIES);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // Storage is released region by region
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return new LruStorageAccess(maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return new LruStorageAccess(maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return new LruStorageAccess(0);
+    }
+
+    /**
+     * Access-ordered map evicting the least recently used entry beyond
+     * maxEntries; 0 means unbounded.
+     */
+    static class LruStorageAccess implements DomainDataStorageAccess {
+
+        private final Map<Object, Object> entries;
+
+        LruStorageAccess(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    return maxEntries > 0 && size() > maxEntries;
+                }
+            };
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            synchronized (entries) {
+                return entries.get(key);
+            }
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            synchronized (entries) {
+                entries.put(key, value);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            synchronized (entries) {
+                return entries.containsKey(key);
+            }
+        }
+
+        @Override
+        public void evictData() {
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+
+        @Override
+        public void evictData(Object key) {
+            synchronized (entries) {
+                entries.remove(key);
+            }
+        }
+
+        @Override
+        public void release() {
+            evictData();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.atlas.config;
+
+import com.atlas.specification.TextSearch;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers TextSearch.SIMILARITY: pg_trgm's similarity() on PostgreSQL (the
+ * extension is installed by the V3 migration). Other databases, i.e.
+ * H2 in tests, get a coarse stand-in ranking an exact match above a prefix
+ * match above any other substring match.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "similarity(?1, ?2)"
+                : "(case when ?1 = ?2 then 1.0 when locate(?2, ?1) = 1 then 0.5 "
+                        + "when locate(?2, ?1) > 1 then 0.25 else 0.0 end)";
+        functionContributions.getFunctionRegistry().registerPattern(TextSearch.SIMILARITY, pattern, doubleType);
+    }
+}
@@ -1,6 +1,8 @@
 package com.atlas.config;
 
+import com.atlas.security.BoundedPasswordEncoder;
 import com.atlas.security.JwtAuthenticationFilter;
+import com.atlas.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -70,8 +71,13 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Raising atlas.security.bcrypt.strength takes effect for existing users on
+     * their next login, when the stored hash is transparently re-encoded.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor,
+            @Value("${atlas.security.bcrypt.strength:10}") int strength) {
+        return new BoundedPasswordEncoder(strength, hashingExecutor);
     }
 }
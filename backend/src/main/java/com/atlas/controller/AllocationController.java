@@ -1,17 +1,25 @@
 package com.atlas.controller;
 
 import com.atlas.dto.AllocationDTO;
+import com.atlas.dto.AllocationFacetsDTO;
+import com.atlas.dto.AllocationTimelineDTO;
 import com.atlas.dto.EmployeeAllocationSummaryDTO;
 import com.atlas.entity.User;
-import com.atlas.security.CustomUserDetailsService;
+import com.atlas.security.AtlasPrincipal;
 import com.atlas.service.AllocationService;
+import com.atlas.service.CountMode;
+import com.atlas.service.DataVersions;
+import com.atlas.service.MonthRange;
+import com.atlas.specification.NameCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -23,85 +31,167 @@ public class AllocationController {
 
     private static final int MAX_PAGE_SIZE = 100;
 
+    private static final DataVersions.Aggregate[] ALLOCATION_DATA = {
+            DataVersions.Aggregate.ALLOCATIONS, DataVersions.Aggregate.EMPLOYEES, DataVersions.Aggregate.PROJECTS };
+
     private final AllocationService allocationService;
-    private final CustomUserDetailsService userDetailsService;
+    private final ConditionalGet conditionalGet;
+    private final NdjsonBody ndjsonBody;
 
+    /**
+     * Offset paging; count=cached reuses a recent total and count=none
+     * returns a slice without one.
+     */
     @GetMapping
-    public ResponseEntity<org.springframework.data.domain.Page<AllocationDTO>> getAllAllocations(
-            Authentication authentication,
+    public ResponseEntity<Slice<AllocationDTO>> getAllAllocations(
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String count,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String allocationType,
             @RequestParam(required = false) Long managerId,
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
-        page = Math.max(0, page);
-        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getAllAllocations(currentUser,
-                org.springframework.data.domain.PageRequest.of(page, size), search, allocationType, managerId, year,
-                month));
+            @RequestParam(required = false) Integer month,
+            WebRequest request) {
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        User currentUser = principal.getUser();
+        CountMode countMode = CountMode.parse(count);
+        return conditionalGet.respond(request, currentUser.getId(), () -> allocationService.getAllAllocations(currentUser,
+                PageRequest.of(pageNumber, pageSize), countMode, search, allocationType, managerId, year, month),
+                ALLOCATION_DATA);
     }
 
+    /**
+     * Every allocation in scope as NDJSON, written while it is read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllocations(
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(), NdjsonBody.NDJSON,
+                () -> ndjsonBody.<AllocationDTO>of(sink -> allocationService.streamAllAllocations(currentUser, sink)),
+                ALLOCATION_DATA);
+    }
+
+    /**
+     * Offset paging by default (with the same count modes as above), or
+     * keyset paging by employee name with "after" (empty for the first page);
+     * see EmployeeController.
+     */
     @GetMapping("/grouped")
-    public ResponseEntity<Page<EmployeeAllocationSummaryDTO>> getGroupedAllocations(
-            Authentication authentication,
+    public ResponseEntity<Slice<EmployeeAllocationSummaryDTO>> getGroupedAllocations(
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String count,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String allocationType,
             @RequestParam(required = false) Long managerId,
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
-        page = Math.max(0, page);
-        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getGroupedAllocations(currentUser,
-                PageRequest.of(page, size), search, allocationType, managerId, year, month));
+            @RequestParam(required = false) Integer month,
+            WebRequest request) {
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        User currentUser = principal.getUser();
+        if (after != null) {
+            NameCursor cursor = NameCursor.decode(after);
+            return conditionalGet.respond(request, currentUser.getId(), () -> allocationService.getGroupedAllocations(
+                    currentUser, cursor, pageSize, search, allocationType, managerId, year, month),
+                    ALLOCATION_DATA);
+        }
+        CountMode countMode = CountMode.parse(count);
+        return conditionalGet.respond(request, currentUser.getId(), () -> allocationService.getGroupedAllocations(
+                currentUser, PageRequest.of(pageNumber, pageSize), countMode, search, allocationType, managerId, year,
+                month), ALLOCATION_DATA);
     }
 
     @GetMapping("/managers")
     public ResponseEntity<List<Map<String, Object>>> getAllocationManagers(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) String allocationType,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String managerSearch,
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity
-                .ok(allocationService.getManagersForAllocations(currentUser, allocationType, search, managerSearch,
-                        year, month));
+            @RequestParam(required = false) Integer month,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getManagersForAllocations(currentUser, allocationType, search, managerSearch,
+                        year, month), ALLOCATION_DATA);
     }
 
     @GetMapping("/allocation-types")
     public ResponseEntity<List<String>> getAllocationTypes(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) Long managerId,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String allocationType,
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getDistinctAllocationTypes(currentUser, managerId, search,
-                allocationType, year, month));
+            @RequestParam(required = false) Integer month,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getDistinctAllocationTypes(currentUser, managerId, search, allocationType,
+                        year, month), ALLOCATION_DATA);
     }
 
     @GetMapping("/available-months")
     public ResponseEntity<List<String>> getAvailableMonths(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            @RequestParam(required = false) String allocationType,
+            @RequestParam(required = false) Long managerId,
+            @RequestParam(required = false) String search,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getAvailableMonths(currentUser, allocationType, managerId, search),
+                ALLOCATION_DATA);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<AllocationFacetsDTO> getFacets(
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) String allocationType,
             @RequestParam(required = false) Long managerId,
-            @RequestParam(required = false) String search) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getAvailableMonths(currentUser, allocationType, managerId, search));
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String managerSearch,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getAllocationFacets(currentUser, allocationType, managerId, search,
+                        managerSearch, year, month), ALLOCATION_DATA);
+    }
+
+    /**
+     * Dense month vectors of every employee in scope for from..to ("YYYY-MM",
+     * inclusive, at most MonthRange.MAX_MONTHS months); from defaults to the
+     * current month and to a year later.
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<AllocationTimelineDTO> getTimeline(
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        MonthRange range = MonthRange.parse(from, to);
+        // The default range follows today's month, so the ETag uses the resolved one
+        return conditionalGet.respondResolved(request, currentUser.getId(), range,
+                () -> allocationService.getTimeline(currentUser, range), ALLOCATION_DATA);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AllocationDTO> getAllocationById(@PathVariable Long id, Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getAllocationById(id, currentUser));
+    public ResponseEntity<AllocationDTO> getAllocationById(@PathVariable Long id, @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getAllocationById(id, currentUser), ALLOCATION_DATA);
     }
 
     @GetMapping("/employee/{employeeId}")
@@ -109,16 +199,20 @@ public class AllocationController {
             @PathVariable Long employeeId,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month,
-            Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getAllocationsByEmployee(employeeId, year, month, currentUser));
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getAllocationsByEmployee(employeeId, year, month, currentUser),
+                ALLOCATION_DATA);
     }
 
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<AllocationDTO>> getAllocationsByProject(@PathVariable Long projectId,
-            Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(allocationService.getAllocationsByProject(projectId, currentUser));
+            @AuthenticationPrincipal AtlasPrincipal principal, WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> allocationService.getAllocationsByProject(projectId, currentUser), ALLOCATION_DATA);
     }
 
     @PostMapping
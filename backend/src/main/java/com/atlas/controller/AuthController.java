@@ -5,20 +5,26 @@ import com.atlas.dto.LoginRequest;
 import com.atlas.dto.LoginResponse;
 import com.atlas.entity.User;
 import com.atlas.repository.UserRepository;
+import com.atlas.security.AtlasPrincipal;
 import com.atlas.security.CustomUserDetailsService;
 import com.atlas.security.JwtTokenProvider;
+import com.atlas.security.PasswordHashingExecutor;
+import com.atlas.security.TokenRevocationRegistry;
+import com.atlas.security.VerifiedToken;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import com.atlas.service.DelegateService;
 
+import java.time.Instant;
 import java.util.Map;
 
 @RestController
@@ -32,6 +38,8 @@ public class AuthController {
     private final DelegateService delegateService;
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final PasswordHashingExecutor hashingExecutor;
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
@@ -41,9 +49,9 @@ public class AuthController {
                         loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = tokenProvider.generateToken(authentication);
 
         User user = userDetailsService.getUserByUsername(loginRequest.getUsername());
+        String token = tokenProvider.generateToken(user);
 
         LoginResponse response = LoginResponse.builder()
                 .token(token)
@@ -74,10 +82,10 @@ public class AuthController {
         }
 
         // 2. Generate Impersonation Token
-        String token = tokenProvider.generateImpersonationToken(targetUsername, currentUsername);
+        User targetUser = userDetailsService.getUserByUsername(targetUsername);
+        String token = tokenProvider.generateImpersonationToken(targetUser, currentUsername);
 
         // 3. Build Response (similar to login)
-        User targetUser = userDetailsService.getUserByUsername(targetUsername);
 
         LoginResponse response = LoginResponse.builder()
                 .token(token)
@@ -94,20 +102,9 @@ public class AuthController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<LoginResponse> getCurrentUser(
-            @RequestHeader(value = "Authorization", required = false) String bearerToken) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userDetailsService.getUserByUsername(username);
-
-        boolean isImpersonating = false;
-        String impersonatorUsername = null;
-
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            String token = bearerToken.substring(7);
-            impersonatorUsername = tokenProvider.getImpersonatorFromToken(token);
-            isImpersonating = impersonatorUsername != null;
-        }
+    public ResponseEntity<LoginResponse> getCurrentUser(@AuthenticationPrincipal AtlasPrincipal principal) {
+        // The principal only carries ids; name and email need the full row
+        User user = userDetailsService.getUserByUsername(principal.getUsername());
 
         LoginResponse response = LoginResponse.builder()
                 .username(user.getUsername())
@@ -115,15 +112,28 @@ public class AuthController {
                 .isTopLevel(user.isTopLevel())
                 .employeeName(user.getEmployee().getName())
                 .employeeId(user.getEmployee().getId())
-                .isImpersonating(isImpersonating)
-                .impersonatorUsername(impersonatorUsername)
+                .isImpersonating(principal.isImpersonating())
+                .impersonatorUsername(principal.getImpersonator())
                 .build();
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/hashing-stats")
+    public ResponseEntity<PasswordHashingExecutor.Stats> getHashingStats(
+            @AuthenticationPrincipal AtlasPrincipal principal) {
+        if (!principal.getUser().isTopLevel()) {
+            throw new RuntimeException("Access denied: password hashing statistics are restricted to top-level users");
+        }
+        return ResponseEntity.ok(hashingExecutor.getStats());
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<Void> logout() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof VerifiedToken token) {
+            revocationRegistry.revoke(token);
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok().build();
     }
@@ -142,6 +152,13 @@ public class AuthController {
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
 
+        // Sign out every other session, including ones opened after this token;
+        // the token used for this request stays valid
+        String currentTokenId = authentication.getCredentials() instanceof VerifiedToken token
+                ? token.getTokenId()
+                : null;
+        revocationRegistry.revokeAllExcept(user.getId(), Instant.now(), currentTokenId);
+
         return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
     }
 }
@@ -0,0 +1,85 @@
+package com.atlas.controller;
+
+import com.atlas.service.DataVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for read endpoints. The ETag is derived from the versions
+ * of the aggregates the response depends on, the viewer (whose access scope
+ * shapes the result), the current month (the default for month filters), any
+ * value the endpoint resolved from its parameters and the request path and
+ * parameters, so a matching If-None-Match is answered
+ * with 304 before any query runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGet {
+
+    // Let the browser store responses but revalidate them on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Not part of any path or parameter, so distinct requests never share a key
+    private static final char SEPARATOR = '\0';
+
+    private final DataVersions dataVersions;
+
+    /**
+     * Returns null once a 304 has been written, otherwise the body with the
+     * ETag already set on the response.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, Object viewer, Supplier<T> body,
+            DataVersions.Aggregate... dependsOn) {
+        return respond(request, viewer, null, body, dependsOn);
+    }
+
+    /**
+     * Same as above with an explicit content type, for bodies such as a
+     * StreamingResponseBody that no message converter describes.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, Object viewer, MediaType contentType,
+            Supplier<T> body, DataVersions.Aggregate... dependsOn) {
+        return respond(request, viewer, null, contentType, body, dependsOn);
+    }
+
+    /**
+     * Same as the first variant for endpoints that fill in parameter defaults
+     * (e.g. a month range relative to today): the resolved value is part of
+     * the ETag, so a response for an older default never matches.
+     */
+    public <T> ResponseEntity<T> respondResolved(WebRequest request, Object viewer, Object resolved,
+            Supplier<T> body, DataVersions.Aggregate... dependsOn) {
+        return respond(request, viewer, resolved, null, body, dependsOn);
+    }
+
+    private <T> ResponseEntity<T> respond(WebRequest request, Object viewer, Object resolved, MediaType contentType,
+            Supplier<T> body, DataVersions.Aggregate... dependsOn) {
+        if (request.checkNotModified(etag(request, viewer, resolved, dependsOn))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).contentType(contentType).body(body.get());
+    }
+
+    String etag(WebRequest request, Object viewer, Object resolved, DataVersions.Aggregate... dependsOn) {
+        StringBuilder key = new StringBuilder(request.getDescription(false))
+                .append(SEPARATOR).append(viewer)
+                .append(SEPARATOR).append(YearMonth.now())
+                .append(SEPARATOR).append(resolved);
+        for (DataVersions.Aggregate aggregate : dependsOn) {
+            key.append(SEPARATOR).append(aggregate).append('=').append(dataVersions.get(aggregate));
+        }
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                key.append(SEPARATOR).append(name).append('=').append(String.join(String.valueOf(SEPARATOR), values)));
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -2,26 +2,46 @@ package com.atlas.controller;
 
 import com.atlas.dto.DashboardStatsDTO;
 import com.atlas.entity.User;
-import com.atlas.security.CustomUserDetailsService;
+import com.atlas.security.AtlasPrincipal;
 import com.atlas.service.DashboardService;
+import com.atlas.service.DashboardStatsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
 public class DashboardController {
 
     private final DashboardService dashboardService;
-    private final CustomUserDetailsService userDetailsService;
 
     @GetMapping("/stats")
-    public ResponseEntity<DashboardStatsDTO> getStats(Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
+    public ResponseEntity<DashboardStatsDTO> getStats(@AuthenticationPrincipal AtlasPrincipal principal) {
+        User currentUser = principal.getUser();
         return ResponseEntity.ok(dashboardService.getStats(currentUser));
     }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<DashboardStatsCache.Stats> getCacheStats(@AuthenticationPrincipal AtlasPrincipal principal) {
+        User currentUser = principal.getUser();
+        return ResponseEntity.ok(dashboardService.getCacheStats(currentUser));
+    }
+
+    @PostMapping("/kpi-snapshots/backfill")
+    public ResponseEntity<Map<String, Integer>> backfillKpiSnapshots(
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(defaultValue = "false") boolean overwrite) {
+        User currentUser = principal.getUser();
+        int snapshots = dashboardService.backfillKpiSnapshots(currentUser, months, overwrite);
+        return ResponseEntity.ok(Map.of("snapshots", snapshots));
+    }
 }
@@ -2,12 +2,14 @@ package com.atlas.controller;
 
 import com.atlas.dto.DelegateRequest;
 import com.atlas.dto.DelegateResponse;
+import com.atlas.service.DataVersions;
 import com.atlas.service.DelegateService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,19 +19,22 @@ import java.util.List;
 public class DelegateController {
 
     private final DelegateService delegateService;
+    private final ConditionalGet conditionalGet;
 
     // Get list of users I have delegated access to (I am the delegator)
     @GetMapping("/my-delegates")
-    public ResponseEntity<List<DelegateResponse>> getMyDelegates() {
+    public ResponseEntity<List<DelegateResponse>> getMyDelegates(WebRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(delegateService.getMyDelegates(username));
+        return conditionalGet.respond(request, username, () -> delegateService.getMyDelegates(username),
+                DataVersions.Aggregate.DELEGATES);
     }
 
     // Get list of accounts I can impersonate (I am the delegate)
     @GetMapping("/available-accounts")
-    public ResponseEntity<List<DelegateResponse>> getAvailableAccounts() {
+    public ResponseEntity<List<DelegateResponse>> getAvailableAccounts(WebRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(delegateService.getAvailableAccounts(username));
+        return conditionalGet.respond(request, username, () -> delegateService.getAvailableAccounts(username),
+                DataVersions.Aggregate.DELEGATES);
     }
 
     // Grant access to someone
@@ -41,9 +46,11 @@ public class DelegateController {
 
     @GetMapping("/potential")
     public ResponseEntity<List<com.atlas.dto.EmployeeDTO>> getPotentialDelegates(
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            WebRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(delegateService.getPotentialDelegates(username, search));
+        return conditionalGet.respond(request, username, () -> delegateService.getPotentialDelegates(username, search),
+                DataVersions.Aggregate.DELEGATES, DataVersions.Aggregate.EMPLOYEES);
     }
 
     // Revoke access
@@ -1,15 +1,22 @@
 package com.atlas.controller;
 
 import com.atlas.dto.EmployeeDTO;
+import com.atlas.dto.EmployeeFacetsDTO;
 import com.atlas.entity.User;
-import com.atlas.security.CustomUserDetailsService;
+import com.atlas.security.AtlasPrincipal;
+import com.atlas.service.CountMode;
+import com.atlas.service.DataVersions;
 import com.atlas.service.EmployeeService;
 import com.atlas.service.ExcelImportService;
+import com.atlas.specification.NameCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -21,65 +28,124 @@ public class EmployeeController {
 
     private static final int MAX_PAGE_SIZE = 100;
 
+    // Employee rows carry their month status and skills
+    private static final DataVersions.Aggregate[] EMPLOYEE_DATA = {
+            DataVersions.Aggregate.EMPLOYEES, DataVersions.Aggregate.ALLOCATIONS, DataVersions.Aggregate.SKILLS };
+
     private final EmployeeService employeeService;
     private final ExcelImportService excelImportService;
-    private final CustomUserDetailsService userDetailsService;
+    private final ConditionalGet conditionalGet;
+    private final NdjsonBody ndjsonBody;
 
+    /**
+     * Offset paging by default; count=cached reuses a recent total and
+     * count=none returns a slice without one. With "after" (empty for the
+     * first page) the list is keyset-paginated by name instead: page and count
+     * are ignored, no total is computed, and each response carries the
+     * nextCursor to pass on.
+     */
     @GetMapping
-    public ResponseEntity<org.springframework.data.domain.Page<EmployeeDTO>> getAllEmployees(
-            Authentication authentication,
+    public ResponseEntity<Slice<EmployeeDTO>> getAllEmployees(
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String count,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long managerId,
             @RequestParam(required = false) String tower,
-            @RequestParam(required = false) String status) {
-        page = Math.max(0, page);
-        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(employeeService.getAllEmployees(currentUser,
-                org.springframework.data.domain.PageRequest.of(page, size), search, managerId, tower, status));
+            @RequestParam(required = false) String status,
+            WebRequest request) {
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        User currentUser = principal.getUser();
+        if (after != null) {
+            NameCursor cursor = NameCursor.decode(after);
+            return conditionalGet.respond(request, currentUser.getId(), () -> employeeService.getAllEmployees(
+                    currentUser, cursor, pageSize, search, managerId, tower, status), EMPLOYEE_DATA);
+        }
+        CountMode countMode = CountMode.parse(count);
+        return conditionalGet.respond(request, currentUser.getId(), () -> employeeService.getAllEmployees(currentUser,
+                org.springframework.data.domain.PageRequest.of(pageNumber, pageSize), countMode, search, managerId,
+                tower, status), EMPLOYEE_DATA);
+    }
+
+    /**
+     * Every employee in scope as NDJSON, written while it is read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(), NdjsonBody.NDJSON,
+                () -> ndjsonBody.<EmployeeDTO>of(sink -> employeeService.streamAllEmployees(currentUser, sink)),
+                EMPLOYEE_DATA);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(employeeService.getEmployeeById(id, currentUser));
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> employeeService.getEmployeeById(id, currentUser), EMPLOYEE_DATA);
     }
 
     @GetMapping("/managers")
     public ResponseEntity<List<EmployeeDTO>> getManagers(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) String tower,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String managerSearch) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity
-                .ok(employeeService.getAccessibleManagers(currentUser, tower, status, search, managerSearch));
+            @RequestParam(required = false) String managerSearch,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> employeeService.getAccessibleManagers(currentUser, tower, status, search, managerSearch),
+                EMPLOYEE_DATA);
     }
 
     @GetMapping("/towers")
     public ResponseEntity<Map<String, List<String>>> getTowers(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) Long managerId,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String managerSearch) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(Map.of(
-                "towers", employeeService.getDistinctTowers(currentUser, managerId, status, search, managerSearch)));
+            @RequestParam(required = false) String managerSearch,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(), () -> Map.of(
+                "towers", employeeService.getDistinctTowers(currentUser, managerId, status, search, managerSearch)),
+                EMPLOYEE_DATA);
     }
 
     @GetMapping("/statuses")
     public ResponseEntity<List<String>> getStatuses(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) Long managerId,
             @RequestParam(required = false) String tower,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String managerSearch) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(employeeService.getDistinctStatuses(currentUser, managerId, tower, search, managerSearch));
+            @RequestParam(required = false) String managerSearch,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> employeeService.getDistinctStatuses(currentUser, managerId, tower, search, managerSearch),
+                EMPLOYEE_DATA);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<EmployeeFacetsDTO> getFacets(
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            @RequestParam(required = false) Long managerId,
+            @RequestParam(required = false) String tower,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String managerSearch,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> employeeService.getEmployeeFacets(currentUser, managerId, tower, status, search, managerSearch),
+                EMPLOYEE_DATA);
     }
 
     @PostMapping("/import")
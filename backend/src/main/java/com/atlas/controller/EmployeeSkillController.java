@@ -4,13 +4,15 @@ import com.atlas.dto.AddSkillRequest;
 import com.atlas.dto.EmployeeSkillDTO;
 import com.atlas.dto.SkillDTO;
 import com.atlas.entity.User;
-import com.atlas.security.CustomUserDetailsService;
+import com.atlas.security.AtlasPrincipal;
+import com.atlas.service.DataVersions;
 import com.atlas.service.EmployeeSkillService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -24,25 +26,30 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EmployeeSkillController {
 
+    private static final DataVersions.Aggregate[] SKILL_DATA = {
+            DataVersions.Aggregate.SKILLS, DataVersions.Aggregate.EMPLOYEES };
+
     private final EmployeeSkillService employeeSkillService;
-    private final CustomUserDetailsService userDetailsService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * GET /api/employees/{employeeId}/skills
      * Get all skills currently assigned to an employee.
      *
      * @param employeeId the employee ID
-     * @param authentication the authenticated user
-     * @return 200 OK with list of assigned skills
+     * @param principal the authenticated user
+     * @param request the web request, for If-None-Match
+     * @return 200 OK with list of assigned skills, or 304 Not Modified
      * @throws RuntimeException 403 Forbidden if access denied, 404 Not Found if employee not found
      */
     @GetMapping
     public ResponseEntity<List<EmployeeSkillDTO>> getEmployeeSkills(
             @PathVariable Long employeeId,
-            Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        List<EmployeeSkillDTO> skills = employeeSkillService.getEmployeeSkills(employeeId, currentUser);
-        return ResponseEntity.ok(skills);
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> employeeSkillService.getEmployeeSkills(employeeId, currentUser), SKILL_DATA);
     }
 
     /**
@@ -50,17 +57,19 @@ public class EmployeeSkillController {
      * Get all skills that are available to add to an employee (not currently assigned).
      *
      * @param employeeId the employee ID
-     * @param authentication the authenticated user
-     * @return 200 OK with list of available skills
+     * @param principal the authenticated user
+     * @param request the web request, for If-None-Match
+     * @return 200 OK with list of available skills, or 304 Not Modified
      * @throws RuntimeException 403 Forbidden if access denied, 404 Not Found if employee not found
      */
     @GetMapping("/available")
     public ResponseEntity<List<SkillDTO>> getAvailableSkills(
             @PathVariable Long employeeId,
-            Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        List<SkillDTO> skills = employeeSkillService.getAvailableSkills(employeeId, currentUser);
-        return ResponseEntity.ok(skills);
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> employeeSkillService.getAvailableSkills(employeeId, currentUser), SKILL_DATA);
     }
 
     /**
@@ -69,7 +78,7 @@ public class EmployeeSkillController {
      *
      * @param employeeId the employee ID
      * @param request the skill assignment details (skillId, skillLevel, skillGrade)
-     * @param authentication the authenticated user
+     * @param principal the authenticated user
      * @return 201 Created with the created skill assignment
      * @throws RuntimeException 400 Bad Request if duplicate skill,
      *                          403 Forbidden if access denied,
@@ -79,8 +88,8 @@ public class EmployeeSkillController {
     public ResponseEntity<EmployeeSkillDTO> addSkillToEmployee(
             @PathVariable Long employeeId,
             @Valid @RequestBody AddSkillRequest request,
-            Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
+            @AuthenticationPrincipal AtlasPrincipal principal) {
+        User currentUser = principal.getUser();
         EmployeeSkillDTO created = employeeSkillService.addSkillToEmployee(employeeId, request, currentUser);
 
         // Return 201 Created with Location header
@@ -94,7 +103,7 @@ public class EmployeeSkillController {
      *
      * @param employeeId the employee ID
      * @param skillId the skill ID to remove
-     * @param authentication the authenticated user
+     * @param principal the authenticated user
      * @return 204 No Content on success
      * @throws RuntimeException 403 Forbidden if access denied,
      *                          404 Not Found if employee or skill association not found
@@ -103,8 +112,8 @@ public class EmployeeSkillController {
     public ResponseEntity<Void> removeSkillFromEmployee(
             @PathVariable Long employeeId,
             @PathVariable Integer skillId,
-            Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
+            @AuthenticationPrincipal AtlasPrincipal principal) {
+        User currentUser = principal.getUser();
         employeeSkillService.removeSkillFromEmployee(employeeId, skillId, currentUser);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,29 @@
+package com.atlas.controller;
+
+import com.atlas.dto.CacheRegionStatsDTO;
+import com.atlas.entity.User;
+import com.atlas.security.AtlasPrincipal;
+import com.atlas.service.EntityCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/entity-cache")
+@RequiredArgsConstructor
+public class EntityCacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    @GetMapping("/regions")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getRegionStats(
+            @AuthenticationPrincipal AtlasPrincipal principal) {
+        User currentUser = principal.getUser();
+        return ResponseEntity.ok(entityCacheService.getRegionStats(currentUser));
+    }
+}
@@ -0,0 +1,48 @@
+package com.atlas.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON bodies for the streaming exports: every item is
+ * serialized and written as soon as the producer emits it, so neither the
+ * DTO list nor the JSON document is ever held in memory. Compression is
+ * negotiated by the server (server.compression) from Accept-Encoding.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonBody {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param producer called on the response thread with a sink that writes one line per item
+     */
+    public <T> StreamingResponseBody of(Consumer<Consumer<T>> producer) {
+        return out -> {
+            try {
+                producer.accept(item -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Client went away mid-stream; surface the original failure
+                throw e.getCause();
+            }
+            out.flush();
+        };
+    }
+}
@@ -2,15 +2,16 @@ package com.atlas.controller;
 
 import com.atlas.dto.ProjectDTO;
 import com.atlas.entity.User;
-import com.atlas.security.CustomUserDetailsService;
+import com.atlas.security.AtlasPrincipal;
+import com.atlas.service.DataVersions;
 import com.atlas.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -19,29 +20,50 @@ public class ProjectController {
 
     private static final int MAX_PAGE_SIZE = 100;
 
+    // Project visibility follows the allocations of the viewer's subtree
+    private static final DataVersions.Aggregate[] PROJECT_DATA = {
+            DataVersions.Aggregate.PROJECTS, DataVersions.Aggregate.ALLOCATIONS, DataVersions.Aggregate.EMPLOYEES };
+
     private final ProjectService projectService;
-    private final CustomUserDetailsService userDetailsService;
+    private final ConditionalGet conditionalGet;
+    private final NdjsonBody ndjsonBody;
 
     @GetMapping
     public ResponseEntity<org.springframework.data.domain.Page<ProjectDTO>> getAllProjects(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String region,
-            @RequestParam(required = false) String status) {
-        page = Math.max(0, page);
-        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(projectService.getAllProjects(currentUser,
-                org.springframework.data.domain.PageRequest.of(page, size), search, region, status));
+            @RequestParam(required = false) String status,
+            WebRequest request) {
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(), () -> projectService.getAllProjects(currentUser,
+                org.springframework.data.domain.PageRequest.of(pageNumber, pageSize), search, region, status),
+                PROJECT_DATA);
+    }
+
+    /**
+     * Every visible project as NDJSON, written while it is read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(), NdjsonBody.NDJSON,
+                () -> ndjsonBody.<ProjectDTO>of(sink -> projectService.streamAllProjects(currentUser, sink)),
+                PROJECT_DATA);
     }
 
     @GetMapping("/regions")
     public ResponseEntity<java.util.List<String>> getRegions(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            WebRequest request) {
         com.atlas.entity.Project.ProjectStatus projectStatus = null;
         if (status != null && !status.isEmpty()) {
             try {
@@ -50,24 +72,29 @@ public class ProjectController {
                 // ignore invalid status
             }
         }
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        List<String> regions = projectService.getDistinctRegions(projectStatus, search, currentUser);
-        return ResponseEntity.ok(regions);
+        com.atlas.entity.Project.ProjectStatus statusFilter = projectStatus;
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> projectService.getDistinctRegions(statusFilter, search, currentUser), PROJECT_DATA);
     }
 
     @GetMapping("/statuses")
     public ResponseEntity<java.util.List<String>> getStatuses(
-            Authentication authentication,
+            @AuthenticationPrincipal AtlasPrincipal principal,
             @RequestParam(required = false) String region,
-            @RequestParam(required = false) String search) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(projectService.getDistinctStatuses(region, search, currentUser));
+            @RequestParam(required = false) String search,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> projectService.getDistinctStatuses(region, search, currentUser), PROJECT_DATA);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id, Authentication authentication) {
-        User currentUser = userDetailsService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(projectService.getProjectById(id, currentUser));
+    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id, @AuthenticationPrincipal AtlasPrincipal principal,
+            WebRequest request) {
+        User currentUser = principal.getUser();
+        return conditionalGet.respond(request, currentUser.getId(),
+                () -> projectService.getProjectById(id, currentUser), PROJECT_DATA);
     }
 
     @PostMapping
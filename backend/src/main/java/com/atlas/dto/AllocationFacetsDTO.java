@@ -0,0 +1,23 @@
+package com.atlas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filter bar options for the allocations page. Each facet applies every
+ * selected filter except its own, so its values are the valid alternatives.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationFacetsDTO {
+    private List<FacetValueDTO> allocationTypes;
+    private List<FacetValueDTO> managers;
+    // "YYYY-MM", chronological
+    private List<String> availableMonths;
+}
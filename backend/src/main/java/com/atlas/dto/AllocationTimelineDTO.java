@@ -0,0 +1,22 @@
+package com.atlas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Month-by-month allocations over a range of months. Every vector in the
+ * employees is dense and aligned with months.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationTimelineDTO {
+    // "YYYY-MM", chronological
+    private List<String> months;
+    private List<EmployeeTimelineDTO> employees;
+}
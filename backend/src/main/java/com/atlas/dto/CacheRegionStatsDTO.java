@@ -0,0 +1,22 @@
+package com.atlas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hit, miss and put counts of one Hibernate second-level cache region since
+ * startup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+    private String regionName;
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRatio;
+}
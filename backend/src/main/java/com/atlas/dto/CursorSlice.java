@@ -0,0 +1,23 @@
+package com.atlas.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Carries no totals, so no count
+ * query is needed; nextCursor is the "after" token for the following page
+ * and null on the last one.
+ */
+@Getter
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, int size, String nextCursor) {
+        super(content, PageRequest.ofSize(size), nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.atlas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filter bar options for the employees page. Each facet applies every
+ * selected filter except its own, so its values are the valid alternatives.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFacetsDTO {
+    private List<FacetValueDTO> statuses;
+    private List<FacetValueDTO> towers;
+    private List<FacetValueDTO> managers;
+}
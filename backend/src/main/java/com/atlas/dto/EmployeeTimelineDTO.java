@@ -0,0 +1,23 @@
+package com.atlas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One employee's row of the allocation timeline. totals is the PROJECT
+ * percentage per month (0 when none), as in the status read model.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeTimelineDTO {
+    private Long employeeId;
+    private String employeeName;
+    private List<Integer> totals;
+    private List<ProjectTimelineDTO> projects;
+}
@@ -0,0 +1,21 @@
+package com.atlas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One selectable value of a filter facet and how many rows it would match.
+ * id is set for entity-backed values (e.g. managers), null otherwise.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValueDTO {
+    private Long id;
+    private String value;
+    private Integer oracleId;
+    private Long count;
+}
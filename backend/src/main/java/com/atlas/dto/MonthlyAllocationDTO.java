@@ -10,6 +10,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MonthlyAllocationDTO {
+    /**
+     * Month key within the allocation (see AllocationYear.monthKey); months
+     * are stored as year vectors and have no row id of their own.
+     */
     private Long id;
     private Long allocationId;
     private Integer year;
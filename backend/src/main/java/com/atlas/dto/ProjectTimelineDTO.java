@@ -0,0 +1,25 @@
+package com.atlas.dto;
+
+import com.atlas.entity.Allocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One allocation's percentages in the allocation timeline, null in the
+ * months it has none.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTimelineDTO {
+    private Long allocationId;
+    private Long projectId;
+    private String projectName;
+    private Allocation.AllocationType allocationType;
+    private List<Integer> percentages;
+}
@@ -10,7 +10,9 @@ import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "allocations")
@@ -54,10 +56,11 @@ public class Allocation {
     private LocalDate endDate;
 
     @OneToMany(mappedBy = "allocation", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("year")
     @Builder.Default
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    private List<MonthlyAllocation> monthlyAllocations = new ArrayList<>();
+    private List<AllocationYear> years = new ArrayList<>();
 
     public enum AllocationType {
         PROJECT, PROSPECT, VACATION, MATERNITY
@@ -65,30 +68,37 @@ public class Allocation {
 
     // Helper method to get allocation for a specific year and month
     public Integer getAllocationForYearMonth(int year, int month) {
-        return monthlyAllocations.stream()
-                .filter(ma -> ma.getYear() == year && ma.getMonth() == month)
-                .map(MonthlyAllocation::getPercentage)
+        return years.stream()
+                .filter(y -> y.getYear() == year)
                 .findFirst()
+                .map(y -> y.getPercentage(month))
                 .orElse(null);
     }
 
     // Helper method to set allocation for a specific year and month
     public void setAllocationForYearMonth(int year, int month, Integer percentage) {
-        MonthlyAllocation existing = monthlyAllocations.stream()
-                .filter(ma -> ma.getYear() == year && ma.getMonth() == month)
+        // Checked before a year row is added for it
+        AllocationYear.checkPercentage(percentage);
+        AllocationYear existing = years.stream()
+                .filter(y -> y.getYear() == year)
                 .findFirst()
                 .orElse(null);
 
-        if (existing != null) {
-            existing.setPercentage(percentage);
-        } else {
-            MonthlyAllocation newAllocation = MonthlyAllocation.builder()
+        if (existing == null) {
+            existing = AllocationYear.builder()
                     .allocation(this)
                     .year(year)
-                    .month(month)
-                    .percentage(percentage)
                     .build();
-            monthlyAllocations.add(newAllocation);
+            years.add(existing);
         }
+        existing.setPercentage(month, percentage);
+    }
+
+    // Every month with a percentage, in calendar order
+    public List<MonthlyAllocation> getMonthlyAllocations() {
+        return years.stream()
+                .sorted(Comparator.comparing(AllocationYear::getYear))
+                .flatMap(y -> y.getMonths().stream())
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,112 @@
+package com.atlas.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One year of an allocation's monthly percentages, stored as a vector of 12
+ * (January first) instead of a row per month. A null element means the
+ * allocation has no percentage for that month.
+ *
+ * Queries read a month as percentages[month] (native SQL) or through
+ * MonthVector (Criteria/JPQL); MonthlyAllocation is the per-month view used
+ * by the services.
+ */
+@Entity
+@Table(name = "allocation_years", uniqueConstraints = @UniqueConstraint(columnNames = { "allocation_id",
+        "\"year\"" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationYear {
+
+    public static final int MONTHS = 12;
+    /**
+     * Largest percentage the smallint vector holds. The API accepts up to 100,
+     * but imported and legacy rows can be over-allocated.
+     */
+    public static final int MAX_PERCENTAGE = Short.MAX_VALUE;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "allocation_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Allocation allocation;
+
+    @Column(name = "\"year\"", nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Short[] percentages = new Short[MONTHS];
+
+    /**
+     * The percentage of the month (1-12), or null when there is none.
+     */
+    public Integer getPercentage(int month) {
+        Short percentage = percentages[month - 1];
+        return percentage != null ? percentage.intValue() : null;
+    }
+
+    /**
+     * Sets the percentage of the month (1-12); null clears it.
+     */
+    public void setPercentage(int month, Integer percentage) {
+        checkPercentage(percentage);
+        // Replaced rather than written in place, so the change is always seen as dirty
+        Short[] updated = percentages.clone();
+        updated[month - 1] = percentage != null ? percentage.shortValue() : null;
+        percentages = updated;
+    }
+
+    /**
+     * Key of a month within one allocation's vectors (year * 12 + month - 1),
+     * used as the id of its month DTOs. Not unique across allocations.
+     */
+    public static long monthKey(int year, int month) {
+        return year * (long) MONTHS + month - 1;
+    }
+
+    /**
+     * Rejects percentages the vector cannot hold instead of letting the
+     * narrowing to a short store a different value.
+     */
+    public static void checkPercentage(Integer percentage) {
+        if (percentage != null && (percentage < 0 || percentage > MAX_PERCENTAGE)) {
+            throw new IllegalArgumentException(
+                    "Allocation percentage must be between 0 and " + MAX_PERCENTAGE + ", got " + percentage);
+        }
+    }
+
+    /**
+     * The months that have a percentage, in month order.
+     */
+    public List<MonthlyAllocation> getMonths() {
+        List<MonthlyAllocation> months = new ArrayList<>();
+        for (int month = 1; month <= MONTHS; month++) {
+            Integer percentage = getPercentage(month);
+            if (percentage != null) {
+                months.add(MonthlyAllocation.builder()
+                        .allocation(allocation)
+                        .year(year)
+                        .month(month)
+                        .percentage(percentage)
+                        .build());
+            }
+        }
+        return months;
+    }
+}
@@ -11,7 +11,10 @@ import lombok.ToString;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+// Backs the name, id order of keyset-paginated listings
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_name_id", columnList = "name, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,45 @@
+package com.atlas.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Closure table for the manager hierarchy.
+ * One row per (ancestor, descendant) pair, including the self pair at depth 0,
+ * so "everyone under X" is a single indexed lookup on ancestor_id.
+ * Maintained by EmployeeHierarchyService whenever Employee.manager changes.
+ */
+@Entity
+@Table(name = "employee_hierarchy", indexes = {
+        @Index(name = "idx_employee_hierarchy_descendant", columnList = "descendant_id")
+})
+@IdClass(EmployeeHierarchy.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeHierarchy {
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
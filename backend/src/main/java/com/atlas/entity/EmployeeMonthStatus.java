@@ -0,0 +1,109 @@
+package com.atlas.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+
+/**
+ * Read model of each employee's allocation status per month, so status
+ * filters and dashboard counts are a single indexed lookup instead of
+ * several EXISTS subqueries over allocations and allocation_years.
+ *
+ * A row exists for every month in which the employee has a positive monthly
+ * percentage or a date-ranged PROSPECT/MATERNITY/VACATION allocation; BENCH
+ * months have no row. Open-ended ranges are expanded up to HORIZON_MONTHS
+ * ahead, so months beyond that must still use the live queries.
+ * Maintained by EmployeeMonthStatusService.
+ */
+@Entity
+@Table(name = "employee_month_status", indexes = {
+        @Index(name = "idx_employee_month_status_month", columnList = "\"year\", \"month\", status"),
+        @Index(name = "idx_employee_month_status_employee", columnList = "employee_id, \"year\", \"month\"")
+})
+@IdClass(EmployeeMonthStatus.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeMonthStatus {
+
+    /**
+     * Months ahead of the current one covered by the read model.
+     */
+    public static final int HORIZON_MONTHS = 24;
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    @Column(name = "\"year\"")
+    private Integer year;
+
+    @Id
+    @Column(name = "\"month\"")
+    private Integer month; // 1-12
+
+    /**
+     * Precedence ACTIVE > PROSPECT > MATERNITY > VACATION, matching the
+     * status filters. BENCH only when the row exists for a project count alone.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // Sum of positive PROJECT percentages in the month
+    @Column(name = "total_pct", nullable = false)
+    private Integer totalPct;
+
+    // Distinct projects with a positive percentage in the month (any type)
+    @Column(name = "project_count", nullable = false)
+    private Integer projectCount;
+
+    @Column(name = "on_maternity", nullable = false)
+    private Boolean onMaternity;
+
+    @Column(name = "on_vacation", nullable = false)
+    private Boolean onVacation;
+
+    public enum Status {
+        ACTIVE, PROSPECT, MATERNITY, VACATION, BENCH
+    }
+
+    /**
+     * Months since year 0, the key used to expand date ranges.
+     */
+    public static int monthKey(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * Last month key the read model is maintained for, relative to today.
+     */
+    public static int horizonKey() {
+        YearMonth horizon = YearMonth.now().plusMonths(HORIZON_MONTHS);
+        return monthKey(horizon.getYear(), horizon.getMonthValue());
+    }
+
+    /**
+     * True if rows for the month are complete. One month of slack is kept
+     * below the horizon so the monthly rebuild can lag a little.
+     */
+    public static boolean isMaterialized(int year, int month) {
+        return monthKey(year, month) < horizonKey();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private Integer year;
+        private Integer month;
+    }
+}
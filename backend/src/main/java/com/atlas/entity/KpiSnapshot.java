@@ -0,0 +1,73 @@
+package com.atlas.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard KPIs of one scope root captured when a month closes, so trends
+ * are a lookup of last month's row instead of re-running the aggregate for
+ * history. The org-wide scope is stored under ORG_WIDE_ROOT.
+ * Written by KpiSnapshotService.
+ */
+@Entity
+@Table(name = "kpi_snapshot")
+@IdClass(KpiSnapshot.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KpiSnapshot {
+
+    /**
+     * Scope root id used for the org-wide scope (employee ids start at 1).
+     */
+    public static final long ORG_WIDE_ROOT = 0L;
+
+    @Id
+    @Column(name = "scope_root_id")
+    private Long scopeRootId;
+
+    @Id
+    @Column(name = "\"year\"")
+    private Integer year;
+
+    @Id
+    @Column(name = "\"month\"")
+    private Integer month; // 1-12
+
+    @Column(name = "total_employees", nullable = false)
+    private Long totalEmployees;
+
+    @Column(name = "active_employees", nullable = false)
+    private Long activeEmployees;
+
+    @Column(name = "bench_count", nullable = false)
+    private Long benchCount;
+
+    @Column(name = "prospect_count", nullable = false)
+    private Long prospectCount;
+
+    @Column(name = "average_allocation", nullable = false)
+    private Double averageAllocation;
+
+    @Column(name = "active_projects", nullable = false)
+    private Long activeProjects;
+
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long scopeRootId;
+        private Integer year;
+        private Integer month;
+    }
+}
@@ -1,6 +1,5 @@
 package com.atlas.entity;
 
-import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,30 +7,23 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
-@Entity
-@Table(name = "monthly_allocations", uniqueConstraints = @UniqueConstraint(columnNames = { "allocation_id", "\"year\"",
-        "\"month\"" }))
+/**
+ * An allocation's percentage in one month. Not stored on its own: it is one
+ * element of the allocation's AllocationYear vector.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class MonthlyAllocation {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "allocation_id", nullable = false)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Allocation allocation;
 
-    @Column(name = "\"year\"", nullable = false)
     private Integer year;
 
-    @Column(name = "\"month\"", nullable = false)
     private Integer month; // 1-12
 
-    @Column(nullable = false)
     private Integer percentage;
 }
@@ -5,10 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+// Status and dates are edited through the API, so entries are soft-locked while a write is in flight
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "projects")
 @Data
 @Builder
@@ -1,16 +1,22 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Allocation;
-import com.atlas.entity.Employee;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.AllocationSpecification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AllocationRepository extends JpaRepository<Allocation, Long>, JpaSpecificationExecutor<Allocation>,
@@ -25,9 +31,6 @@ public interface AllocationRepository extends JpaRepository<Allocation, Long>, J
                 return findAllocationsByProjectIdAndType(projectId, Allocation.AllocationType.PROJECT);
         }
 
-        @Query("SELECT a FROM Allocation a JOIN FETCH a.employee LEFT JOIN FETCH a.project WHERE a.employee IN :employees")
-        List<Allocation> findAllocationsByEmployees(@Param("employees") List<Employee> employees);
-
         @Query("SELECT a FROM Allocation a WHERE a.project.id IN :projectIds AND a.allocationType = :allocationType")
         List<Allocation> findAllocationsByProjectIdsAndType(
                         @Param("projectIds") List<Long> projectIds,
@@ -84,6 +87,59 @@ public interface AllocationRepository extends JpaRepository<Allocation, Long>, J
                 return findByEmployeeIdIn(employeeIds);
         }
 
+        // Cursor-backed reads for the streaming export, one variant per scope kind
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT a FROM Allocation a JOIN FETCH a.employee LEFT JOIN FETCH a.project ORDER BY a.id")
+        Stream<Allocation> streamAll();
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT a FROM Allocation a JOIN FETCH a.employee LEFT JOIN FETCH a.project " +
+                        "WHERE a.employee.id IN :ids ORDER BY a.id")
+        Stream<Allocation> streamByEmployeeIds(@Param("ids") Collection<Long> employeeIds);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT a FROM Allocation a JOIN FETCH a.employee LEFT JOIN FETCH a.project " +
+                        "WHERE a.employee.id IN (SELECT h.descendantId FROM EmployeeHierarchy h WHERE h.ancestorId = :rootId) " +
+                        "ORDER BY a.id")
+        Stream<Allocation> streamBySubtree(@Param("rootId") Long rootId);
+
+        default Stream<Allocation> streamInScope(AccessScope scope) {
+                if (scope.isEmpty()) {
+                        return Stream.empty();
+                }
+                return switch (scope.getKind()) {
+                        case ALL -> streamAll();
+                        case SUBTREE -> streamBySubtree(scope.getRootEmployeeId());
+                        case IDS -> streamByEmployeeIds(scope.getEmployeeIds());
+                };
+        }
+
+        // ABAC filter applied in SQL: one statement regardless of hierarchy depth
+        default List<Allocation> findByEmployeeIdInScope(Long employeeId, AccessScope scope) {
+                if (scope != null && scope.isEmpty()) {
+                        return List.of();
+                }
+                return findAll(AllocationSpecification.forEmployee(employeeId, scope));
+        }
+
+        default List<Allocation> findByProjectIdInScope(Long projectId, AccessScope scope) {
+                if (scope != null && scope.isEmpty()) {
+                        return List.of();
+                }
+                return findAll(AllocationSpecification.forProject(projectId, scope));
+        }
+
+        // [projectId, employeeId, allocationCount] for loading the ProjectVisibilityIndex
+        @Query("SELECT a.project.id, a.employee.id, COUNT(a) FROM Allocation a " +
+                        "WHERE a.allocationType = :allocationType AND a.project IS NOT NULL " +
+                        "GROUP BY a.project.id, a.employee.id")
+        List<Object[]> countAllocationsByProjectAndEmployee(
+                        @Param("allocationType") Allocation.AllocationType allocationType);
+
+        default List<Object[]> countProjectAllocationsByProjectAndEmployee() {
+                return countAllocationsByProjectAndEmployee(Allocation.AllocationType.PROJECT);
+        }
+
         // Distinct values for facets
         @Query("SELECT DISTINCT a.allocationType FROM Allocation a JOIN a.employee e WHERE " +
                         "(:managerId IS NULL OR e.manager.id = :managerId)")
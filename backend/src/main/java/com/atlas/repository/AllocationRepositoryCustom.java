@@ -1,6 +1,11 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Allocation;
+import com.atlas.repository.projection.RowSelection;
+import com.atlas.security.AccessScope;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 
@@ -17,7 +22,7 @@ public interface AllocationRepositoryCustom {
      *
      * @param managerId Manager ID filter
      * @param search Search term for employee name
-     * @param accessibleEmployeeIds List of accessible employee IDs for ABAC
+     * @param scope ABAC scope of the current user
      * @param year Year filter for allocations active in selected month
      * @param month Month filter for allocations active in selected month
      * @return List of distinct allocation types, ordered alphabetically
@@ -25,7 +30,7 @@ public interface AllocationRepositoryCustom {
     List<Allocation.AllocationType> findDistinctAllocationTypesBySpec(
             Long managerId,
             String search,
-            List<Long> accessibleEmployeeIds,
+            AccessScope scope,
             Integer year,
             Integer month);
 
@@ -36,12 +41,49 @@ public interface AllocationRepositoryCustom {
      * @param allocationType Allocation type filter
      * @param managerId Manager ID filter
      * @param search Search term for employee name
-     * @param accessibleEmployeeIds List of accessible employee IDs for ABAC
+     * @param scope ABAC scope of the current user
      * @return List of year-month strings in "YYYY-MM" format, sorted chronologically
      */
     List<String> findDistinctAvailableMonths(
             Allocation.AllocationType allocationType,
             Long managerId,
             String search,
-            List<Long> accessibleEmployeeIds);
+            AccessScope scope);
+
+    /**
+     * Counts for every allocations-page filter facet in a single statement:
+     * allocation types active in the month (plus BENCH unless another type is
+     * selected), managers of the matching employees, and the months that have
+     * monthly rows for the selected type. Each facet ignores its own filter.
+     *
+     * @param allocationType selected type, "BENCH", or null for none
+     * @return rows of [facet ("TYPE", "MANAGER" or "MONTH"), value, number, count];
+     *         number is the manager id for MANAGER and year * 100 + month for MONTH
+     */
+    List<Object[]> findAllocationFacetCounts(
+            String allocationType,
+            Long managerId,
+            String search,
+            String managerName,
+            AccessScope scope,
+            int year,
+            int month);
+
+    /**
+     * Page of the allocations matching spec without counting all matches; the
+     * slice only knows whether another page follows.
+     */
+    Slice<Allocation> findSlice(Specification<Allocation> spec, Pageable pageable);
+
+    /**
+     * Same as findSlice, reading the columns of selection instead of managed
+     * entities.
+     */
+    <R> Slice<R> findRowSlice(Specification<Allocation> spec, Pageable pageable,
+            RowSelection<Allocation, R> selection);
+
+    /**
+     * The columns of selection for every allocation matching spec.
+     */
+    <R> List<R> findRows(Specification<Allocation> spec, RowSelection<Allocation, R> selection);
 }
@@ -1,16 +1,24 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
+import com.atlas.repository.projection.RowSelection;
+import com.atlas.security.AccessScope;
 import com.atlas.specification.AllocationSpecification;
+import com.atlas.specification.TextSearch;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -27,7 +35,7 @@ public class AllocationRepositoryCustomImpl implements AllocationRepositoryCusto
     public List<Allocation.AllocationType> findDistinctAllocationTypesBySpec(
             Long managerId,
             String search,
-            List<Long> accessibleEmployeeIds,
+            AccessScope scope,
             Integer year,
             Integer month) {
 
@@ -37,7 +45,7 @@ public class AllocationRepositoryCustomImpl implements AllocationRepositoryCusto
 
         // Build specification with all allocation filters including year/month
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, managerId, search, accessibleEmployeeIds, year, month);
+                null, managerId, search, scope, year, month);
 
         // Apply specification predicates
         Predicate predicate = spec.toPredicate(root, query, cb);
@@ -56,27 +64,23 @@ public class AllocationRepositoryCustomImpl implements AllocationRepositoryCusto
             Allocation.AllocationType allocationType,
             Long managerId,
             String search,
-            List<Long> accessibleEmployeeIds) {
+            AccessScope scope) {
 
-        // Query monthly_allocations table for distinct year-month combinations
-        // PROJECT and PROSPECT allocations have MonthlyAllocation records for each month in their date range
-        // MATERNITY and VACATION allocations use only startDate/endDate (no MonthlyAllocation records)
+        // Query allocation_years for the months that have a percentage
+        // PROJECT and PROSPECT allocations have a percentage for each month in their date range
+        // MATERNITY and VACATION allocations use only startDate/endDate (no month vectors)
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
-        Root<com.atlas.entity.MonthlyAllocation> maRoot = query.from(com.atlas.entity.MonthlyAllocation.class);
-        Join<com.atlas.entity.MonthlyAllocation, Allocation> allocJoin = maRoot.join("allocation");
+        Root<AllocationYear> yearRoot = query.from(AllocationYear.class);
+        Join<AllocationYear, Allocation> allocJoin = yearRoot.join("allocation");
         Join<Allocation, com.atlas.entity.Employee> employeeJoin = allocJoin.join("employee", jakarta.persistence.criteria.JoinType.INNER);
 
         List<Predicate> predicates = new java.util.ArrayList<>();
 
         // Access Control (ABAC)
-        if (accessibleEmployeeIds != null) {
-            if (accessibleEmployeeIds.isEmpty()) {
-                predicates.add(cb.disjunction()); // 1=0
-            } else {
-                predicates.add(employeeJoin.get("id").in(accessibleEmployeeIds));
-            }
+        if (scope != null && !scope.isUnrestricted()) {
+            predicates.add(scope.toPredicate(employeeJoin.get("id"), query, cb));
         }
 
         // Allocation Type filter
@@ -91,23 +95,154 @@ public class AllocationRepositoryCustomImpl implements AllocationRepositoryCusto
 
         // Search Filter (Employee Name or Email)
         if (search != null && !search.trim().isEmpty()) {
-            String searchLike = "%" + search.trim().toLowerCase() + "%";
-            Predicate employeeNameLike = cb.like(cb.lower(employeeJoin.get("name")), searchLike);
-            Predicate employeeEmailLike = cb.like(cb.lower(employeeJoin.get("email")), searchLike);
-            predicates.add(cb.or(employeeNameLike, employeeEmailLike));
+            predicates.add(TextSearch.matches(cb, search, employeeJoin.get("name"), employeeJoin.get("email")));
         }
 
-        // Select distinct year and month from MonthlyAllocation
-        query.multiselect(maRoot.get("year"), maRoot.get("month"))
+        // Select distinct (year, vector) pairs; allocations share few distinct vectors
+        query.multiselect(yearRoot.get("year"), yearRoot.get("percentages"))
              .distinct(true)
-             .where(cb.and(predicates.toArray(new Predicate[0])))
-             .orderBy(cb.asc(maRoot.get("year")), cb.asc(maRoot.get("month")));
+             .where(cb.and(predicates.toArray(new Predicate[0])));
 
         List<Object[]> results = entityManager.createQuery(query).getResultList();
 
-        // Format results as "YYYY-MM" strings
-        return results.stream()
-                .map(row -> String.format("%04d-%02d", (Integer) row[0], (Integer) row[1]))
-                .collect(java.util.stream.Collectors.toList());
+        // Format the months with a percentage as sorted "YYYY-MM" strings
+        java.util.SortedSet<String> months = new java.util.TreeSet<>();
+        for (Object[] row : results) {
+            Short[] percentages = (Short[]) row[1];
+            for (int month = 1; month <= AllocationYear.MONTHS; month++) {
+                if (percentages[month - 1] != null) {
+                    months.add(String.format("%04d-%02d", (Integer) row[0], month));
+                }
+            }
+        }
+        return new java.util.ArrayList<>(months);
+    }
+
+    // Allocation a is active in the month, as in AllocationSpecification.withFilters;
+    // expects ma to be a's month vector for the year (left joined)
+    private static final String ACTIVE_IN_MONTH =
+            "((a.allocation_type = 'PROJECT' AND ma.percentages[:month] > 0) " +
+            "OR (a.allocation_type = 'PROSPECT' AND (ma.percentages[:month] > 0 " +
+            "  OR (ma.percentages[:month] IS NULL AND a.start_date <= :lastDay AND (a.end_date IS NULL OR a.end_date >= :firstDay)))) " +
+            "OR (a.allocation_type IN ('MATERNITY', 'VACATION') " +
+            "  AND a.start_date <= :lastDay AND (a.end_date IS NULL OR a.end_date >= :firstDay)))";
+
+    // The month numbers as rows mo(m), to expand month vectors
+    private static final String MONTHS =
+            "(VALUES (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12)) AS mo(m)";
+
+    // Employee e is BENCH in the month, as in EmployeeSpecification.isBench; works
+    // for any month, including those beyond the status read model horizon
+    private static final String BENCH_IN_MONTH =
+            "e.resignation_date IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM allocations b JOIN allocation_years bm ON bm.allocation_id = b.id " +
+            "  WHERE b.employee_id = e.id AND b.allocation_type = 'PROJECT' " +
+            "  AND bm.\"year\" = :year AND bm.percentages[:month] > 0) " +
+            "AND NOT EXISTS (SELECT 1 FROM allocations b WHERE b.employee_id = e.id " +
+            "  AND b.allocation_type IN ('PROSPECT', 'MATERNITY', 'VACATION') " +
+            "  AND b.start_date <= :lastDay AND (b.end_date IS NULL OR b.end_date >= :firstDay))";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findAllocationFacetCounts(
+            String allocationType,
+            Long managerId,
+            String search,
+            String managerName,
+            AccessScope scope,
+            int year,
+            int month) {
+
+        boolean bench = "BENCH".equalsIgnoreCase(allocationType);
+        Allocation.AllocationType type = null;
+        if (allocationType != null && !bench) {
+            try {
+                type = Allocation.AllocationType.valueOf(allocationType.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Unknown type, no type filter (as in the other allocation dropdowns)
+            }
+        }
+
+        boolean scoped = scope != null && !scope.isUnrestricted();
+        String employeeFilters = (scoped ? " AND e.id = ANY(:ids)" : "")
+                + (search != null ? " AND (LOWER(e.name) LIKE :search OR LOWER(e.email) LIKE :search)" : "");
+        String managerFilter = managerId != null ? " AND e.manager_id = :managerId" : "";
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT 'TYPE', a.allocation_type, CAST(NULL AS bigint), COUNT(DISTINCT a.employee_id) " +
+                "FROM allocations a JOIN employees e ON e.id = a.employee_id " +
+                "LEFT JOIN allocation_years ma ON ma.allocation_id = a.id AND ma.\"year\" = :year " +
+                "WHERE " + ACTIVE_IN_MONTH + employeeFilters + managerFilter + " " +
+                "GROUP BY a.allocation_type");
+        // BENCH is only offered while no other type is selected
+        if (type == null) {
+            sql.append(" UNION ALL SELECT 'TYPE', 'BENCH', CAST(NULL AS bigint), COUNT(*) FROM employees e " +
+                    "WHERE " + BENCH_IN_MONTH + employeeFilters + managerFilter);
+        }
+
+        String typeCondition = "";
+        if (bench) {
+            typeCondition = " AND " + BENCH_IN_MONTH;
+        } else if (type != null) {
+            typeCondition = " AND EXISTS (SELECT 1 FROM allocations a " +
+                    "LEFT JOIN allocation_years ma ON ma.allocation_id = a.id AND ma.\"year\" = :year " +
+                    "WHERE a.employee_id = e.id AND a.allocation_type = :type AND " + ACTIVE_IN_MONTH + ")";
+        }
+        sql.append(" UNION ALL SELECT 'MANAGER', m.name, m.id, COUNT(DISTINCT e.id) FROM employees e " +
+                "JOIN employees m ON m.id = e.manager_id AND m.resignation_date IS NULL " +
+                "WHERE e.resignation_date IS NULL" + employeeFilters +
+                (managerName != null ? " AND LOWER(m.name) LIKE :managerName" : "") + typeCondition + " " +
+                "GROUP BY m.id, m.name");
+
+        // Without a concrete type every month is navigable, so there is nothing to look up
+        if (type != null) {
+            sql.append(" UNION ALL SELECT 'MONTH', CAST(NULL AS varchar), " +
+                    "CAST(ma.\"year\" * 100 + mo.m AS bigint), COUNT(DISTINCT a.employee_id) " +
+                    "FROM allocation_years ma JOIN allocations a ON a.id = ma.allocation_id " +
+                    "CROSS JOIN " + MONTHS + " " +
+                    "JOIN employees e ON e.id = a.employee_id " +
+                    "WHERE a.allocation_type = :type AND ma.percentages[mo.m] IS NOT NULL" +
+                    employeeFilters + managerFilter + " " +
+                    "GROUP BY ma.\"year\", mo.m");
+        }
+
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter("year", year);
+        query.setParameter("month", month);
+        query.setParameter("firstDay", firstDay);
+        query.setParameter("lastDay", firstDay.withDayOfMonth(firstDay.lengthOfMonth()));
+        if (scoped) {
+            query.setParameter("ids", scope.toIdArray());
+        }
+        if (search != null) {
+            query.setParameter("search", TextSearch.containsPattern(search));
+        }
+        if (managerName != null) {
+            query.setParameter("managerName", TextSearch.containsPattern(managerName));
+        }
+        if (managerId != null) {
+            query.setParameter("managerId", managerId);
+        }
+        if (type != null) {
+            query.setParameter("type", type.name());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Slice<Allocation> findSlice(Specification<Allocation> spec, Pageable pageable) {
+        return SliceQueries.findSlice(entityManager, Allocation.class, spec, pageable);
+    }
+
+    @Override
+    public <R> Slice<R> findRowSlice(Specification<Allocation> spec, Pageable pageable,
+            RowSelection<Allocation, R> selection) {
+        return SliceQueries.findRowSlice(entityManager, Allocation.class, spec, pageable, selection);
+    }
+
+    @Override
+    public <R> List<R> findRows(Specification<Allocation> spec, RowSelection<Allocation, R> selection) {
+        return SliceQueries.findRows(entityManager, Allocation.class, spec, selection);
     }
 }
@@ -0,0 +1,107 @@
+package com.atlas.repository;
+
+import com.atlas.dto.MonthlyAllocationDTO;
+import com.atlas.entity.AllocationYear;
+import com.atlas.entity.MonthlyAllocation;
+import com.atlas.repository.projection.AllocationYearRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly allocation percentages, stored as one AllocationYear vector per
+ * allocation and year. The per-month reads expand the vectors into
+ * MonthlyAllocation values, so callers keep working month by month.
+ */
+@Repository
+public interface AllocationYearRepository extends JpaRepository<AllocationYear, Long> {
+
+        Optional<AllocationYear> findByAllocationIdAndYear(Long allocationId, Integer year);
+
+        @Query("SELECT ay FROM AllocationYear ay WHERE ay.allocation.id IN :allocationIds AND ay.year = :year")
+        List<AllocationYear> findByAllocationIdsAndYear(
+                        @Param("allocationIds") List<Long> allocationIds,
+                        @Param("year") Integer year);
+
+        default List<MonthlyAllocation> findByAllocationIdsAndYearAndMonth(List<Long> allocationIds, Integer year,
+                        Integer month) {
+                return findByAllocationIdsAndYear(allocationIds, year).stream()
+                                .flatMap(y -> y.getMonths().stream())
+                                .filter(ma -> month.equals(ma.getMonth()))
+                                .collect(Collectors.toList());
+        }
+
+        @Query("SELECT ay FROM AllocationYear ay WHERE ay.allocation.id IN :allocationIds ORDER BY ay.year")
+        List<AllocationYear> findYearsByAllocationIds(@Param("allocationIds") List<Long> allocationIds);
+
+        /**
+         * All months of the given allocations, one query for all of them,
+         * replacing a lazy load of Allocation.years per allocation.
+         */
+        default List<MonthlyAllocation> findByAllocationIds(List<Long> allocationIds) {
+                return findYearsByAllocationIds(allocationIds).stream()
+                                .flatMap(y -> y.getMonths().stream())
+                                .collect(Collectors.toList());
+        }
+
+        @Query("SELECT new com.atlas.repository.projection.AllocationYearRow(ay.allocation.id, ay.year, ay.percentages) "
+                        + "FROM AllocationYear ay WHERE ay.allocation.id IN :allocationIds ORDER BY ay.year")
+        List<AllocationYearRow> findRowsByAllocationIds(@Param("allocationIds") List<Long> allocationIds);
+
+        /**
+         * Same months as findByAllocationIds, read straight into DTOs for the
+         * listing endpoints instead of as managed entities.
+         */
+        default List<MonthlyAllocationDTO> findDTOsByAllocationIds(List<Long> allocationIds) {
+                return findRowsByAllocationIds(allocationIds).stream()
+                                .flatMap(row -> row.toDTOs().stream())
+                                .collect(Collectors.toList());
+        }
+
+        /**
+         * Fetches ONLY the percentage value for a specific allocation, year, and month.
+         * This is a Projection query that avoids loading the AllocationYear entity,
+         * eliminating the need for in-memory filtering.
+         *
+         * @param allocationId The allocation ID
+         * @param year         The year
+         * @param month        The month (1-12)
+         * @return Optional containing the percentage, or empty if no data exists for
+         *         that month
+         */
+        @Query("SELECT CAST(array_get(ay.percentages, :month) AS Integer) FROM AllocationYear ay "
+                        + "WHERE ay.allocation.id = :allocationId AND ay.year = :year")
+        Optional<Integer> findPercentageByAllocationIdAndYearMonth(
+                        @Param("allocationId") Long allocationId,
+                        @Param("year") Integer year,
+                        @Param("month") Integer month);
+
+        /**
+         * Counts the number of distinct active projects (percentage > 0) per employee
+         * for a given month, optionally filtered by allocation type.
+         * Returned array contains: [0] = Employee ID (Long), [1] = Project Count (Long)
+         *
+         * @param employeeIds     List of employee IDs to count projects for
+         * @param year            The year to filter by
+         * @param month           The month to filter by (1-12)
+         * @param allocationType  Optional allocation type filter (PROJECT, PROSPECT, etc.). If null, counts all types.
+         * @return List of Object arrays with [employeeId, projectCount]
+         */
+        @Query("SELECT ay.allocation.employee.id, COUNT(DISTINCT ay.allocation.project.id) " +
+                        "FROM AllocationYear ay " +
+                        "WHERE ay.allocation.employee.id IN :employeeIds " +
+                        "AND ay.year = :year " +
+                        "AND array_get(ay.percentages, :month) > 0 " +
+                        "AND (:allocationType IS NULL OR CAST(ay.allocation.allocationType AS string) = :allocationType) " +
+                        "GROUP BY ay.allocation.employee.id")
+        List<Object[]> findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("year") Integer year,
+                        @Param("month") Integer month,
+                        @Param("allocationType") String allocationType);
+}
@@ -0,0 +1,65 @@
+package com.atlas.repository;
+
+import com.atlas.entity.EmployeeMonthStatus;
+import com.atlas.repository.projection.DashboardAggregate;
+import com.atlas.security.AccessScope;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * All dashboard KPIs in a single statement: employees are joined once to their
+ * row in the employee_month_status rollup and every count is a FILTER over
+ * that join, instead of one EXISTS/NOT EXISTS chain per number.
+ *
+ * Status semantics match EmployeeSpecification (no row or a BENCH row is
+ * bench); the total counts resigned employees too, as the dashboard always has.
+ * Only materialized months can be answered, see EmployeeMonthStatus.isMaterialized.
+ */
+@Repository
+public interface DashboardAggregateRepository
+                extends org.springframework.data.repository.Repository<EmployeeMonthStatus, EmployeeMonthStatus.Key> {
+
+        @Query(value = "SELECT COUNT(*) AS \"totalEmployees\", " +
+                        "COUNT(*) FILTER (WHERE e.resignation_date IS NULL AND s.status = 'ACTIVE') AS \"activeEmployees\", " +
+                        "COUNT(*) FILTER (WHERE e.resignation_date IS NULL " +
+                        "  AND (s.status IS NULL OR s.status = 'BENCH')) AS \"benchCount\", " +
+                        "COUNT(*) FILTER (WHERE e.resignation_date IS NULL AND s.status = 'PROSPECT') AS \"prospectCount\", " +
+                        "COALESCE(AVG(CAST(s.total_pct AS double precision)) " +
+                        "  FILTER (WHERE e.resignation_date IS NULL AND s.status = 'ACTIVE'), 0) AS \"averageAllocation\", " +
+                        "(SELECT COUNT(*) FROM projects p WHERE CAST(p.status AS text) = 'ACTIVE') AS \"activeProjects\" " +
+                        "FROM employees e " +
+                        "LEFT JOIN employee_month_status s ON s.employee_id = e.id " +
+                        "  AND s.\"year\" = :year AND s.\"month\" = :month", nativeQuery = true)
+        DashboardAggregate aggregate(@Param("year") int year, @Param("month") int month);
+
+        @Query(value = "SELECT COUNT(*) AS \"totalEmployees\", " +
+                        "COUNT(*) FILTER (WHERE e.resignation_date IS NULL AND s.status = 'ACTIVE') AS \"activeEmployees\", " +
+                        "COUNT(*) FILTER (WHERE e.resignation_date IS NULL " +
+                        "  AND (s.status IS NULL OR s.status = 'BENCH')) AS \"benchCount\", " +
+                        "COUNT(*) FILTER (WHERE e.resignation_date IS NULL AND s.status = 'PROSPECT') AS \"prospectCount\", " +
+                        "COALESCE(AVG(CAST(s.total_pct AS double precision)) " +
+                        "  FILTER (WHERE e.resignation_date IS NULL AND s.status = 'ACTIVE'), 0) AS \"averageAllocation\", " +
+                        "(SELECT COUNT(DISTINCT a.project_id) FROM allocations a " +
+                        "  JOIN projects p ON p.id = a.project_id " +
+                        "  WHERE a.employee_id = ANY(:ids) " +
+                        "  AND CAST(a.allocation_type AS text) = 'PROJECT' " +
+                        "  AND CAST(p.status AS text) = 'ACTIVE') AS \"activeProjects\" " +
+                        "FROM employees e " +
+                        "LEFT JOIN employee_month_status s ON s.employee_id = e.id " +
+                        "  AND s.\"year\" = :year AND s.\"month\" = :month " +
+                        "WHERE e.id = ANY(:ids)", nativeQuery = true)
+        DashboardAggregate aggregateByIds(@Param("ids") Long[] ids, @Param("year") int year,
+                        @Param("month") int month);
+
+        default DashboardAggregate aggregateFiltered(AccessScope scope, int year, int month) {
+                if (!EmployeeMonthStatus.isMaterialized(year, month)) {
+                        throw new IllegalArgumentException("Month " + year + "-" + month
+                                        + " is beyond the employee month status horizon");
+                }
+                // An empty scope binds an empty array, so every count comes back 0
+                if (scope == null || scope.isUnrestricted())
+                        return aggregate(year, month);
+                return aggregateByIds(scope.toIdArray(), year, month);
+        }
+}
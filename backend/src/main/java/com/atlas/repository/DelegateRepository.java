@@ -3,6 +3,7 @@ package com.atlas.repository;
 import com.atlas.entity.Delegate;
 import com.atlas.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,14 +15,14 @@ public interface DelegateRepository extends JpaRepository<Delegate, Long> {
 
     List<Delegate> findAllByDelegate(User delegate);
 
-    List<Delegate> findAllByDelegator_UsernameIgnoreCase(String username);
-
-    List<Delegate> findAllByDelegate_UsernameIgnoreCase(String username);
-
     Optional<Delegate> findByDelegatorAndDelegate(User delegator, User delegate);
 
     boolean existsByDelegatorAndDelegate(User delegator, User delegate);
 
-    boolean existsByDelegator_UsernameIgnoreCaseAndDelegate_UsernameIgnoreCase(String delegatorUsername,
-            String delegateUsername);
+    // [id, createdAt, delegatorUsername, delegatorName, delegateUsername, delegateName, delegateEmployeeId]
+    // rows for loading the in-memory DelegationGraph in one query
+    @Query("SELECT d.id, d.createdAt, dr.username, dre.name, de.username, dee.name, dee.id "
+            + "FROM Delegate d JOIN d.delegator dr JOIN dr.employee dre "
+            + "JOIN d.delegate de JOIN de.employee dee")
+    List<Object[]> findAllDelegationRows();
 }
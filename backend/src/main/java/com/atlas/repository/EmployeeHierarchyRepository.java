@@ -0,0 +1,77 @@
+package com.atlas.repository;
+
+import com.atlas.entity.EmployeeHierarchy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeHierarchyRepository extends JpaRepository<EmployeeHierarchy, EmployeeHierarchy.Key> {
+
+        /**
+         * Returns the ancestor itself plus every direct and indirect report.
+         * Equivalent to EmployeeRepository.findAllSubordinateIds without the
+         * recursive walk.
+         */
+        @Query("SELECT h.descendantId FROM EmployeeHierarchy h WHERE h.ancestorId = :ancestorId")
+        List<Long> findDescendantIds(@Param("ancestorId") Long ancestorId);
+
+        boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+        /**
+         * Adds the closure rows for a newly created employee: the self row plus
+         * one row per ancestor of its manager (if any).
+         */
+        @Modifying
+        @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                        "SELECT h.ancestor_id, CAST(:employeeId AS bigint), h.depth + 1 FROM employee_hierarchy h " +
+                        "WHERE h.descendant_id = :managerId " +
+                        "UNION ALL " +
+                        "SELECT CAST(:employeeId AS bigint), CAST(:employeeId AS bigint), 0", nativeQuery = true)
+        int insertEmployee(@Param("employeeId") Long employeeId, @Param("managerId") Long managerId);
+
+        /**
+         * Detaches the subtree rooted at the given employee from all of its
+         * current ancestors. Paths inside the subtree are kept.
+         */
+        @Modifying
+        @Query(value = "DELETE FROM employee_hierarchy " +
+                        "WHERE descendant_id IN (SELECT s.descendant_id FROM employee_hierarchy s WHERE s.ancestor_id = :employeeId) "
+                        +
+                        "AND ancestor_id NOT IN (SELECT s.descendant_id FROM employee_hierarchy s WHERE s.ancestor_id = :employeeId)", nativeQuery = true)
+        int detachSubtree(@Param("employeeId") Long employeeId);
+
+        /**
+         * Attaches the (already detached) subtree rooted at the given employee
+         * under the new manager: every ancestor of the manager gets a path to
+         * every member of the subtree.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                        "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+                        "FROM employee_hierarchy a CROSS JOIN employee_hierarchy d " +
+                        "WHERE a.descendant_id = :managerId AND d.ancestor_id = :employeeId", nativeQuery = true)
+        int attachSubtree(@Param("employeeId") Long employeeId, @Param("managerId") Long managerId);
+
+        @Modifying
+        @Query(value = "DELETE FROM employee_hierarchy", nativeQuery = true)
+        int deleteAllRows();
+
+        /**
+         * Recomputes the whole closure table from employees.manager_id.
+         * Used for the initial backfill and after bulk loads.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                        "WITH RECURSIVE paths(ancestor_id, descendant_id, depth) AS (" +
+                        "  SELECT id, id, 0 FROM employees " +
+                        "  UNION ALL " +
+                        "  SELECT p.ancestor_id, e.id, p.depth + 1 FROM paths p " +
+                        "  INNER JOIN employees e ON e.manager_id = p.descendant_id " +
+                        ") SELECT ancestor_id, descendant_id, depth FROM paths", nativeQuery = true)
+        int insertAllFromManagerLinks();
+}
@@ -0,0 +1,73 @@
+package com.atlas.repository;
+
+import com.atlas.entity.EmployeeMonthStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeMonthStatusRepository
+                extends JpaRepository<EmployeeMonthStatus, EmployeeMonthStatus.Key> {
+
+        List<EmployeeMonthStatus> findByEmployeeIdInAndYearAndMonth(Collection<Long> employeeIds, Integer year,
+                        Integer month);
+
+        List<EmployeeMonthStatus> findByEmployeeIdOrderByYearAscMonthAsc(Long employeeId);
+
+        @Modifying(flushAutomatically = true)
+        @Query(value = "DELETE FROM employee_month_status WHERE employee_id = :employeeId", nativeQuery = true)
+        int deleteByEmployee(@Param("employeeId") Long employeeId);
+
+        @Modifying
+        @Query(value = "DELETE FROM employee_month_status", nativeQuery = true)
+        int deleteAllRows();
+
+        /**
+         * Derives the status rows from allocations in one statement, for one
+         * employee or for everyone when employeeId is null.
+         * Every source becomes a span of months: a positive month of an
+         * allocation_years vector is a one-month span, a PROSPECT/MATERNITY/VACATION allocation spans its
+         * start..end dates (open-ended ranges stop at horizonKey). The recursion
+         * expands spans month by month and the rows are then grouped per month.
+         * Months are keyed as year * 12 + month - 1, see EmployeeMonthStatus.monthKey.
+         */
+        @Modifying(flushAutomatically = true)
+        @Query(value = "INSERT INTO employee_month_status " +
+                        "(employee_id, \"year\", \"month\", status, total_pct, project_count, on_maternity, on_vacation) " +
+                        "WITH RECURSIVE spans(employee_id, mk, end_mk, project_pct, project_id, " +
+                        "is_prospect, is_maternity, is_vacation) AS (" +
+                        "  SELECT a.employee_id, ma.\"year\" * 12 + mo.m - 1, ma.\"year\" * 12 + mo.m - 1, " +
+                        "  CASE WHEN a.allocation_type = 'PROJECT' THEN ma.percentages[mo.m] ELSE 0 END, a.project_id, 0, 0, 0 " +
+                        "  FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
+                        "  CROSS JOIN (VALUES (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12)) AS mo(m) " +
+                        "  WHERE ma.percentages[mo.m] > 0 " +
+                        "  AND (CAST(:employeeId AS bigint) IS NULL OR a.employee_id = :employeeId) " +
+                        "  UNION ALL " +
+                        "  SELECT a.employee_id, " +
+                        "  CAST(EXTRACT(YEAR FROM a.start_date) * 12 + EXTRACT(MONTH FROM a.start_date) - 1 AS integer), " +
+                        "  CASE WHEN a.end_date IS NULL THEN :horizonKey ELSE LEAST(CAST(" +
+                        "    EXTRACT(YEAR FROM a.end_date) * 12 + EXTRACT(MONTH FROM a.end_date) - 1 AS integer), :horizonKey) END, " +
+                        "  0, CAST(NULL AS bigint), " +
+                        "  CASE WHEN a.allocation_type = 'PROSPECT' THEN 1 ELSE 0 END, " +
+                        "  CASE WHEN a.allocation_type = 'MATERNITY' THEN 1 ELSE 0 END, " +
+                        "  CASE WHEN a.allocation_type = 'VACATION' THEN 1 ELSE 0 END " +
+                        "  FROM allocations a " +
+                        "  WHERE a.allocation_type IN ('PROSPECT', 'MATERNITY', 'VACATION') AND a.start_date IS NOT NULL " +
+                        "  AND (CAST(:employeeId AS bigint) IS NULL OR a.employee_id = :employeeId) " +
+                        "  UNION ALL " +
+                        "  SELECT s.employee_id, s.mk + 1, s.end_mk, s.project_pct, s.project_id, " +
+                        "  s.is_prospect, s.is_maternity, s.is_vacation FROM spans s WHERE s.mk < s.end_mk" +
+                        ") SELECT employee_id, mk / 12, MOD(mk, 12) + 1, " +
+                        "CASE WHEN SUM(project_pct) > 0 THEN 'ACTIVE' " +
+                        "  WHEN MAX(is_prospect) = 1 THEN 'PROSPECT' " +
+                        "  WHEN MAX(is_maternity) = 1 THEN 'MATERNITY' " +
+                        "  WHEN MAX(is_vacation) = 1 THEN 'VACATION' ELSE 'BENCH' END, " +
+                        "SUM(project_pct), COUNT(DISTINCT project_id), MAX(is_maternity) = 1, MAX(is_vacation) = 1 " +
+                        "FROM spans WHERE mk <= end_mk GROUP BY employee_id, mk", nativeQuery = true)
+        int insertFromAllocations(@Param("employeeId") Long employeeId, @Param("horizonKey") int horizonKey);
+}
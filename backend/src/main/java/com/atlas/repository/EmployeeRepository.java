@@ -1,17 +1,31 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Employee;
+import com.atlas.entity.EmployeeMonthStatus;
+import com.atlas.repository.projection.RowSelection;
+import com.atlas.security.AccessScope;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import com.atlas.specification.EmployeeSpecification;
+import com.atlas.specification.NameCursor;
+import com.atlas.specification.TextSearch;
 
 @Repository
 public interface EmployeeRepository
@@ -31,6 +45,64 @@ public interface EmployeeRepository
         @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.tower")
         List<Employee> findAllWithTower();
 
+        // Cursor-backed reads for the streaming export, one variant per scope kind
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.tower LEFT JOIN FETCH e.manager ORDER BY e.id")
+        Stream<Employee> streamAll();
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.tower LEFT JOIN FETCH e.manager " +
+                        "WHERE e.id IN :ids ORDER BY e.id")
+        Stream<Employee> streamByIds(@Param("ids") Collection<Long> ids);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.tower LEFT JOIN FETCH e.manager " +
+                        "WHERE e.id IN (SELECT h.descendantId FROM EmployeeHierarchy h WHERE h.ancestorId = :rootId) " +
+                        "ORDER BY e.id")
+        Stream<Employee> streamBySubtree(@Param("rootId") Long rootId);
+
+        default Stream<Employee> streamInScope(AccessScope scope) {
+                if (scope.isEmpty()) {
+                        return Stream.empty();
+                }
+                return switch (scope.getKind()) {
+                        case ALL -> streamAll();
+                        case SUBTREE -> streamBySubtree(scope.getRootEmployeeId());
+                        case IDS -> streamByIds(scope.getEmployeeIds());
+                };
+        }
+
+        /**
+         * Keyset page: the first size employees matching spec after the cursor
+         * (from the start when null) in name, id order. Reads one extra row to
+         * tell whether another page follows instead of counting the matches.
+         */
+        default Slice<Employee> findSliceAfter(Specification<Employee> spec, NameCursor after, int size) {
+                Specification<Employee> seek = after == null ? spec : spec.and(EmployeeSpecification.after(after));
+                List<Employee> rows = findBy(seek, q -> q.sortBy(EmployeeSpecification.KEYSET_ORDER)
+                                .limit(size + 1).all());
+                boolean hasNext = rows.size() > size;
+                return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.ofSize(size), hasNext);
+        }
+
+        /**
+         * Same as findSliceAfter, reading the columns of selection instead of
+         * managed entities.
+         */
+        default <R> Slice<R> findRowSliceAfter(Specification<Employee> spec, NameCursor after, int size,
+                        RowSelection<Employee, R> selection) {
+                Specification<Employee> seek = after == null ? spec : spec.and(EmployeeSpecification.after(after));
+                return findRowSlice(seek, PageRequest.of(0, size, EmployeeSpecification.KEYSET_ORDER), selection);
+        }
+
+        // [employeeId, managerId] pairs for building the in-memory HierarchyIndex
+        @Query("SELECT e.id, m.id FROM Employee e LEFT JOIN e.manager m")
+        List<Object[]> findAllManagerLinks();
+
+        // Employees with at least one direct report, i.e. every non-trivial scope root
+        @Query("SELECT DISTINCT e.manager.id FROM Employee e WHERE e.manager IS NOT NULL ORDER BY e.manager.id")
+        List<Long> findDistinctManagerIds();
+
         // Recursive query to find all subordinate IDs (direct and indirect reports)
         // This replaces the in-memory recursive check and allows unified access control
         @Query(value = "WITH RECURSIVE subordinates(id) AS (" +
@@ -50,12 +122,11 @@ public interface EmployeeRepository
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROJECT' " +
                         "  AND ma.\"year\" = :currentYear " +
-                        "  AND ma.\"month\" = :currentMonth " +
-                        "  AND ma.percentage > 0) " +
+                        "  AND ma.percentages[:currentMonth] > 0) " +
                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                         +
                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'MATERNITY') "
@@ -69,12 +140,11 @@ public interface EmployeeRepository
                                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                                         "AND NOT EXISTS (" +
                                         "  SELECT 1 FROM allocations a " +
-                                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                                         "  WHERE a.employee_id = e.id " +
                                         "  AND a.allocation_type = 'PROJECT' " +
                                         "  AND ma.\"year\" = :currentYear " +
-                                        "  AND ma.\"month\" = :currentMonth " +
-                                        "  AND ma.percentage > 0) " +
+                                        "  AND ma.percentages[:currentMonth] > 0) " +
                                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                                         +
                                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'MATERNITY') "
@@ -90,17 +160,16 @@ public interface EmployeeRepository
         // Find BENCH employees by IDs
         @Query(value = "SELECT DISTINCT e.* FROM employees e " +
                         "WHERE e.resignation_date IS NULL " +
-                        "AND e.id IN :employeeIds " +
+                        "AND e.id = ANY(:employeeIds) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROJECT' " +
                         "  AND ma.\"year\" = :currentYear " +
-                        "  AND ma.\"month\" = :currentMonth " +
-                        "  AND ma.percentage > 0) " +
+                        "  AND ma.percentages[:currentMonth] > 0) " +
                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                         +
                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'MATERNITY') "
@@ -109,24 +178,23 @@ public interface EmployeeRepository
                         +
                         "ORDER BY e.name", countQuery = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                                         "WHERE e.resignation_date IS NULL " +
-                                        "AND e.id IN :employeeIds " +
+                                        "AND e.id = ANY(:employeeIds) " +
                                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                                         "AND NOT EXISTS (" +
                                         "  SELECT 1 FROM allocations a " +
-                                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                                         "  WHERE a.employee_id = e.id " +
                                         "  AND a.allocation_type = 'PROJECT' " +
                                         "  AND ma.\"year\" = :currentYear " +
-                                        "  AND ma.\"month\" = :currentMonth " +
-                                        "  AND ma.percentage > 0) " +
+                                        "  AND ma.percentages[:currentMonth] > 0) " +
                                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                                         +
                                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'MATERNITY') "
                                         +
                                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'VACATION')", nativeQuery = true)
         Page<Employee> findBenchEmployeesByIds(
-                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("employeeIds") Long[] employeeIds,
                         @Param("search") String search,
                         @Param("managerId") Long managerId,
                         @Param("currentYear") int currentYear,
@@ -142,9 +210,9 @@ public interface EmployeeRepository
                         +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :currentYear AND ma.\"month\" = :currentMonth AND ma.percentage > 0) " +
+                        "  AND ma.\"year\" = :currentYear AND ma.percentages[:currentMonth] > 0) " +
                         "ORDER BY e.name", countQuery = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                                         "WHERE e.resignation_date IS NULL " +
                                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
@@ -153,9 +221,9 @@ public interface EmployeeRepository
                                         +
                                         "AND NOT EXISTS (" +
                                         "  SELECT 1 FROM allocations a " +
-                                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                                        "  AND ma.\"year\" = :currentYear AND ma.\"month\" = :currentMonth AND ma.percentage > 0)", nativeQuery = true)
+                                        "  AND ma.\"year\" = :currentYear AND ma.percentages[:currentMonth] > 0)", nativeQuery = true)
         Page<Employee> findProspectEmployees(
                         @Param("search") String search,
                         @Param("managerId") Long managerId,
@@ -164,29 +232,29 @@ public interface EmployeeRepository
                         Pageable pageable);
 
         @Query(value = "SELECT DISTINCT e.* FROM employees e " +
-                        "WHERE e.resignation_date IS NULL AND e.id IN :employeeIds " +
+                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:employeeIds) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                         +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :currentYear AND ma.\"month\" = :currentMonth AND ma.percentage > 0) " +
+                        "  AND ma.\"year\" = :currentYear AND ma.percentages[:currentMonth] > 0) " +
                         "ORDER BY e.name", countQuery = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
-                                        "WHERE e.resignation_date IS NULL AND e.id IN :employeeIds " +
+                                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:employeeIds) " +
                                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                                         "AND EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                                         +
                                         "AND NOT EXISTS (" +
                                         "  SELECT 1 FROM allocations a " +
-                                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                                        "  AND ma.\"year\" = :currentYear AND ma.\"month\" = :currentMonth AND ma.percentage > 0)", nativeQuery = true)
+                                        "  AND ma.\"year\" = :currentYear AND ma.percentages[:currentMonth] > 0)", nativeQuery = true)
         Page<Employee> findProspectEmployeesByIds(
-                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("employeeIds") Long[] employeeIds,
                         @Param("search") String search,
                         @Param("managerId") Long managerId,
                         @Param("currentYear") int currentYear,
@@ -194,10 +262,10 @@ public interface EmployeeRepository
                         Pageable pageable);
 
         default Page<Employee> findProspectEmployeesFiltered(
-                        List<Long> employeeIds, String search, Long managerId,
+                        AccessScope scope, String search, Long managerId,
                         int currentYear, int currentMonth, Pageable pageable) {
                 // Use Specification instead of native SQL - more type-safe and maintainable
-                return findAll(EmployeeSpecification.prospectEmployees(search, managerId, employeeIds,
+                return findAll(EmployeeSpecification.prospectEmployees(search, managerId, scope,
                                 currentYear, currentMonth), pageable);
         }
 
@@ -209,12 +277,11 @@ public interface EmployeeRepository
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROJECT' " +
                         "  AND ma.\"year\" = :currentYear " +
-                        "  AND ma.\"month\" = :currentMonth " +
-                        "  AND ma.percentage > 0" +
+                        "  AND ma.percentages[:currentMonth] > 0" +
                         ") " +
                         "ORDER BY e.name", countQuery = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                                         "WHERE e.resignation_date IS NULL " +
@@ -222,12 +289,11 @@ public interface EmployeeRepository
                                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                                         "AND EXISTS (" +
                                         "  SELECT 1 FROM allocations a " +
-                                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                                         "  WHERE a.employee_id = e.id " +
                                         "  AND a.allocation_type = 'PROJECT' " +
                                         "  AND ma.\"year\" = :currentYear " +
-                                        "  AND ma.\"month\" = :currentMonth " +
-                                        "  AND ma.percentage > 0" +
+                                        "  AND ma.percentages[:currentMonth] > 0" +
                                         ")", nativeQuery = true)
         Page<Employee> findActiveAllocatedEmployees(
                         @Param("search") String search,
@@ -239,34 +305,32 @@ public interface EmployeeRepository
         // Find ACTIVE allocated employees by IDs
         @Query(value = "SELECT DISTINCT e.* FROM employees e " +
                         "WHERE e.resignation_date IS NULL " +
-                        "AND e.id IN :employeeIds " +
+                        "AND e.id = ANY(:employeeIds) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROJECT' " +
                         "  AND ma.\"year\" = :currentYear " +
-                        "  AND ma.\"month\" = :currentMonth " +
-                        "  AND ma.percentage > 0" +
+                        "  AND ma.percentages[:currentMonth] > 0" +
                         ") " +
                         "ORDER BY e.name", countQuery = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                                         "WHERE e.resignation_date IS NULL " +
-                                        "AND e.id IN :employeeIds " +
+                                        "AND e.id = ANY(:employeeIds) " +
                                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                                         "AND EXISTS (" +
                                         "  SELECT 1 FROM allocations a " +
-                                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                                         "  WHERE a.employee_id = e.id " +
                                         "  AND a.allocation_type = 'PROJECT' " +
                                         "  AND ma.\"year\" = :currentYear " +
-                                        "  AND ma.\"month\" = :currentMonth " +
-                                        "  AND ma.percentage > 0" +
+                                        "  AND ma.percentages[:currentMonth] > 0" +
                                         ")", nativeQuery = true)
         Page<Employee> findActiveAllocatedEmployeesByIds(
-                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("employeeIds") Long[] employeeIds,
                         @Param("search") String search,
                         @Param("managerId") Long managerId,
                         @Param("currentYear") int currentYear,
@@ -301,7 +365,7 @@ public interface EmployeeRepository
         // Find employees by allocation type, restricted to IDs
         @Query(value = "SELECT DISTINCT e.* FROM employees e " +
                         "WHERE e.resignation_date IS NULL " +
-                        "AND e.id IN :employeeIds " +
+                        "AND e.id = ANY(:employeeIds) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND EXISTS (" +
@@ -311,7 +375,7 @@ public interface EmployeeRepository
                         ") " +
                         "ORDER BY e.name", countQuery = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                                         "WHERE e.resignation_date IS NULL " +
-                                        "AND e.id IN :employeeIds " +
+                                        "AND e.id = ANY(:employeeIds) " +
                                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                                         "AND EXISTS (" +
@@ -320,40 +384,39 @@ public interface EmployeeRepository
                                         "  AND CAST(a.allocation_type AS text) = :allocationType" +
                                         ")", nativeQuery = true)
         Page<Employee> findEmployeesByAllocationTypeByIds(
-                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("employeeIds") Long[] employeeIds,
                         @Param("search") String search,
                         @Param("managerId") Long managerId,
                         @Param("allocationType") String allocationType,
                         Pageable pageable);
 
-        // Unified routing methods: accept nullable employeeIds (null = no filter)
+        // Unified routing methods: accept an AccessScope (null or ALL = no filter)
 
         default Page<Employee> findBenchEmployeesFiltered(
-                        List<Long> employeeIds, String search, Long managerId,
+                        AccessScope scope, String search, Long managerId,
                         int currentYear, int currentMonth, Pageable pageable) {
                 // Use Specification instead of native SQL - more type-safe and maintainable
-                return findAll(EmployeeSpecification.benchEmployees(search, managerId, employeeIds,
+                return findAll(EmployeeSpecification.benchEmployees(search, managerId, scope,
                                 currentYear, currentMonth), pageable);
         }
 
         default Page<Employee> findActiveAllocatedEmployeesFiltered(
-                        List<Long> employeeIds, String search, Long managerId,
+                        AccessScope scope, String search, Long managerId,
                         int currentYear, int currentMonth, Pageable pageable) {
                 // Use Specification instead of native SQL - more type-safe and maintainable
-                return findAll(EmployeeSpecification.activeEmployees(search, managerId, employeeIds,
+                return findAll(EmployeeSpecification.activeEmployees(search, managerId, scope,
                                 currentYear, currentMonth), pageable);
         }
 
         default Page<Employee> findEmployeesByAllocationTypeFiltered(
-                        List<Long> employeeIds, String search, Long managerId,
+                        AccessScope scope, String search, Long managerId,
                         String allocationType, Pageable pageable) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (employeeIds != null && employeeIds.isEmpty()) {
+                if (scope != null && scope.isEmpty()) {
                         return Page.empty(pageable);
                 }
-                if (employeeIds == null)
+                if (scope == null || scope.isUnrestricted())
                         return findEmployeesByAllocationType(search, managerId, allocationType, pageable);
-                return findEmployeesByAllocationTypeByIds(employeeIds, search, managerId, allocationType, pageable);
+                return findEmployeesByAllocationTypeByIds(scope.toIdArray(), search, managerId, allocationType, pageable);
         }
 
         // --- Manager dropdown queries ---
@@ -366,24 +429,6 @@ public interface EmployeeRepository
                         "ORDER BY m.name")
         List<Employee> findDistinctManagers(@Param("search") String search);
 
-        @Query("SELECT DISTINCT m FROM Employee m " +
-                        "WHERE m.resignationDate IS NULL " +
-                        "AND (:search IS NULL OR LOWER(m.name) LIKE :search) " +
-                        "AND EXISTS (SELECT 1 FROM Employee e WHERE e.manager = m AND e.resignationDate IS NULL AND e.id IN :ids) "
-                        +
-                        "ORDER BY m.name")
-        List<Employee> findDistinctManagersByIds(@Param("ids") List<Long> ids, @Param("search") String search);
-
-        default List<Employee> findDistinctManagersFiltered(List<Long> ids, String search) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
-                        return java.util.Collections.emptyList();
-                }
-                if (ids == null)
-                        return findDistinctManagers(search);
-                return findDistinctManagersByIds(ids, search);
-        }
-
         // 2. Standard allocation type filter (e.g. PROJECT, PROSPECT)
         @Query(value = "SELECT DISTINCT m.* FROM employees m " +
                         "WHERE m.resignation_date IS NULL " +
@@ -400,21 +445,20 @@ public interface EmployeeRepository
                         "AND (CAST(:search AS text) IS NULL OR LOWER(m.name) LIKE :search) " +
                         "AND EXISTS (SELECT 1 FROM employees e " +
                         "  JOIN allocations a ON a.employee_id = e.id " +
-                        "  WHERE e.manager_id = m.id AND e.resignation_date IS NULL AND e.id IN :ids " +
+                        "  WHERE e.manager_id = m.id AND e.resignation_date IS NULL AND e.id = ANY(:ids) " +
                         "  AND CAST(a.allocation_type AS text) = :type) " +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersByAllocationTypeByIds(
-                        @Param("ids") List<Long> ids, @Param("type") String type, @Param("search") String search);
+                        @Param("ids") Long[] ids, @Param("type") String type, @Param("search") String search);
 
-        default List<Employee> findDistinctManagersByAllocationTypeFiltered(List<Long> ids, String type,
+        default List<Employee> findDistinctManagersByAllocationTypeFiltered(AccessScope scope, String type,
                         String search) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctManagersByAllocationType(type, search);
-                return findDistinctManagersByAllocationTypeByIds(ids, type, search);
+                return findDistinctManagersByAllocationTypeByIds(scope.toIdArray(), type, search);
         }
 
         // 3. BENCH: managers with employees who have no active PROJECT allocation this
@@ -425,9 +469,9 @@ public interface EmployeeRepository
                         "AND EXISTS (" +
                         "  SELECT 1 FROM employees e WHERE e.manager_id = m.id AND e.resignation_date IS NULL " +
                         "  AND NOT EXISTS (" +
-                        "    SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "    SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "    WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "    AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "    AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         "  )" +
                         ") ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfBenchEmployees(
@@ -438,24 +482,23 @@ public interface EmployeeRepository
                         "AND (CAST(:search AS text) IS NULL OR LOWER(m.name) LIKE :search) " +
                         "AND EXISTS (" +
                         "  SELECT 1 FROM employees e WHERE e.manager_id = m.id AND e.resignation_date IS NULL " +
-                        "  AND e.id IN :ids AND NOT EXISTS (" +
-                        "    SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  AND e.id = ANY(:ids) AND NOT EXISTS (" +
+                        "    SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "    WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "    AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "    AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         "  )" +
                         ") ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfBenchEmployeesByIds(
-                        @Param("ids") List<Long> ids,
+                        @Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month, @Param("search") String search);
 
-        default List<Employee> findDistinctManagersOfBenchFiltered(List<Long> ids, int year, int month, String search) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+        default List<Employee> findDistinctManagersOfBenchFiltered(AccessScope scope, int year, int month, String search) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctManagersOfBenchEmployees(year, month, search);
-                return findDistinctManagersOfBenchEmployeesByIds(ids, year, month, search);
+                return findDistinctManagersOfBenchEmployeesByIds(scope.toIdArray(), year, month, search);
         }
 
         // New method: Find managers of BENCH employees where EMPLOYEE matches search
@@ -465,9 +508,9 @@ public interface EmployeeRepository
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerSearch AS text) IS NULL OR LOWER(m.name) LIKE :managerSearch) " +
                         "AND NOT EXISTS (" +
-                        "  SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         ") " +
                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                         +
@@ -483,13 +526,13 @@ public interface EmployeeRepository
         @Query(value = "SELECT DISTINCT m.* FROM employees m " +
                         "JOIN employees e ON e.manager_id = m.id " +
                         "WHERE m.resignation_date IS NULL AND e.resignation_date IS NULL " +
-                        "AND e.id IN :ids " +
+                        "AND e.id = ANY(:ids) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerSearch AS text) IS NULL OR LOWER(m.name) LIKE :managerSearch) " +
                         "AND NOT EXISTS (" +
-                        "  SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         ") " +
                         "AND NOT EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT') "
                         +
@@ -499,19 +542,18 @@ public interface EmployeeRepository
                         +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfBenchByEmployeeSearchByIds(
-                        @Param("ids") List<Long> ids,
+                        @Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month,
                         @Param("search") String search, @Param("managerSearch") String managerSearch);
 
-        default List<Employee> findDistinctManagersOfBenchByEmployeeSearchFiltered(List<Long> ids, int year, int month,
+        default List<Employee> findDistinctManagersOfBenchByEmployeeSearchFiltered(AccessScope scope, int year, int month,
                         String search, String managerSearch) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctManagersOfBenchByEmployeeSearch(year, month, search, managerSearch);
-                return findDistinctManagersOfBenchByEmployeeSearchByIds(ids, year, month, search, managerSearch);
+                return findDistinctManagersOfBenchByEmployeeSearchByIds(scope.toIdArray(), year, month, search, managerSearch);
         }
 
         // 4. ACTIVE: managers with employees who have an active PROJECT allocation this
@@ -522,9 +564,9 @@ public interface EmployeeRepository
                         "AND EXISTS (" +
                         "  SELECT 1 FROM employees e WHERE e.manager_id = m.id AND e.resignation_date IS NULL " +
                         "  AND EXISTS (" +
-                        "    SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "    SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "    WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "    AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "    AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         "  )" +
                         ") ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfActiveEmployees(
@@ -535,25 +577,24 @@ public interface EmployeeRepository
                         "AND (CAST(:search AS text) IS NULL OR LOWER(m.name) LIKE :search) " +
                         "AND EXISTS (" +
                         "  SELECT 1 FROM employees e WHERE e.manager_id = m.id AND e.resignation_date IS NULL " +
-                        "  AND e.id IN :ids AND EXISTS (" +
-                        "    SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  AND e.id = ANY(:ids) AND EXISTS (" +
+                        "    SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "    WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "    AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "    AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         "  )" +
                         ") ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfActiveEmployeesByIds(
-                        @Param("ids") List<Long> ids,
+                        @Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month, @Param("search") String search);
 
-        default List<Employee> findDistinctManagersOfActiveFiltered(List<Long> ids, int year, int month,
+        default List<Employee> findDistinctManagersOfActiveFiltered(AccessScope scope, int year, int month,
                         String search) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctManagersOfActiveEmployees(year, month, search);
-                return findDistinctManagersOfActiveEmployeesByIds(ids, year, month, search);
+                return findDistinctManagersOfActiveEmployeesByIds(scope.toIdArray(), year, month, search);
         }
 
         // Find managers of ACTIVE employees with employee name search (for faceted
@@ -565,9 +606,9 @@ public interface EmployeeRepository
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerSearch AS text) IS NULL OR LOWER(m.name) LIKE :managerSearch) " +
                         "AND EXISTS (" +
-                        "  SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         ") " +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfActiveByEmployeeSearch(
@@ -577,29 +618,28 @@ public interface EmployeeRepository
         @Query(value = "SELECT DISTINCT m.* FROM employees m " +
                         "JOIN employees e ON e.manager_id = m.id " +
                         "WHERE m.resignation_date IS NULL AND e.resignation_date IS NULL " +
-                        "AND e.id IN :ids " +
+                        "AND e.id = ANY(:ids) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerSearch AS text) IS NULL OR LOWER(m.name) LIKE :managerSearch) " +
                         "AND EXISTS (" +
-                        "  SELECT 1 FROM allocations a JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  SELECT 1 FROM allocations a JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0" +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0" +
                         ") " +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersOfActiveByEmployeeSearchByIds(
-                        @Param("ids") List<Long> ids,
+                        @Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month,
                         @Param("search") String search, @Param("managerSearch") String managerSearch);
 
-        default List<Employee> findDistinctManagersOfActiveByEmployeeSearchFiltered(List<Long> ids, int year, int month,
+        default List<Employee> findDistinctManagersOfActiveByEmployeeSearchFiltered(AccessScope scope, int year, int month,
                         String search, String managerSearch) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctManagersOfActiveByEmployeeSearch(year, month, search, managerSearch);
-                return findDistinctManagersOfActiveByEmployeeSearchByIds(ids, year, month, search, managerSearch);
+                return findDistinctManagersOfActiveByEmployeeSearchByIds(scope.toIdArray(), year, month, search, managerSearch);
         }
 
         // ===== Employee page filter dropdown queries =====
@@ -616,21 +656,20 @@ public interface EmployeeRepository
 
         @Query(value = "SELECT DISTINCT t.description FROM employees e " +
                         "JOIN tech_towers t ON e.tower = t.id " +
-                        "WHERE e.resignation_date IS NULL AND e.id IN :ids " +
+                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:ids) " +
                         "AND (CAST(:managerId AS bigint) IS NULL OR e.manager_id = :managerId) " +
                         "AND (:search IS NULL OR LOWER(e.name) LIKE :search OR LOWER(e.email) LIKE :search) " +
                         "ORDER BY t.description", nativeQuery = true)
-        List<String> findDistinctTowersByIds(@Param("ids") List<Long> ids, @Param("managerId") Long managerId,
+        List<String> findDistinctTowersByIds(@Param("ids") Long[] ids, @Param("managerId") Long managerId,
                         @Param("search") String search);
 
-        default List<String> findDistinctTowersFiltered(List<Long> ids, Long managerId, String search) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+        default List<String> findDistinctTowersFiltered(AccessScope scope, Long managerId, String search) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctTowers(managerId, search);
-                return findDistinctTowersByIds(ids, managerId, search);
+                return findDistinctTowersByIds(scope.toIdArray(), managerId, search);
         }
 
         // Distinct managers for employee page (managers whose reports match
@@ -654,24 +693,23 @@ public interface EmployeeRepository
                         "AND EXISTS (SELECT 1 FROM employees e " +
                         "  LEFT JOIN tech_towers t ON e.tower = t.id " +
                         "  WHERE e.manager_id = m.id AND e.resignation_date IS NULL " +
-                        "  AND e.id IN :ids " +
+                        "  AND e.id = ANY(:ids) " +
                         "  AND (:tower IS NULL OR t.description = :tower) " +
                         "  AND (:search IS NULL OR LOWER(e.name) LIKE :search OR LOWER(e.email) LIKE :search)) " +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersForEmployeeFiltersByIds(
-                        @Param("ids") List<Long> ids, @Param("tower") String tower,
+                        @Param("ids") Long[] ids, @Param("tower") String tower,
                         @Param("search") String search,
                         @Param("managerSearch") String managerSearch);
 
-        default List<Employee> findDistinctManagersForEmployeeFiltersFiltered(List<Long> ids, String tower,
+        default List<Employee> findDistinctManagersForEmployeeFiltersFiltered(AccessScope scope, String tower,
                         String search, String managerSearch) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
-                if (ids == null)
+                if (scope == null || scope.isUnrestricted())
                         return findDistinctManagersForEmployeeFilters(tower, search, managerSearch);
-                return findDistinctManagersForEmployeeFiltersByIds(ids, tower, search, managerSearch);
+                return findDistinctManagersForEmployeeFiltersByIds(scope.toIdArray(), tower, search, managerSearch);
         }
 
         // ===== Dashboard count queries =====
@@ -687,16 +725,16 @@ public interface EmployeeRepository
                         "  AND a.allocation_type = 'VACATION') " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0) " +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0) " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROSPECT')", nativeQuery = true)
         long countBenchEmployees(@Param("year") int year, @Param("month") int month);
 
         @Query(value = "SELECT COUNT(*) FROM employees e " +
-                        "WHERE e.resignation_date IS NULL AND e.id IN :ids " +
+                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:ids) " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'MATERNITY') " +
@@ -705,39 +743,39 @@ public interface EmployeeRepository
                         "  AND a.allocation_type = 'VACATION') " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0) " +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0) " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROSPECT')", nativeQuery = true)
-        long countBenchEmployeesByIds(@Param("ids") List<Long> ids, @Param("year") int year, @Param("month") int month);
+        long countBenchEmployeesByIds(@Param("ids") Long[] ids, @Param("year") int year, @Param("month") int month);
 
-        default long countBenchEmployeesFiltered(List<Long> ids, int year, int month) {
-                return count(com.atlas.specification.EmployeeSpecification.benchEmployees(null, null, ids, year,
+        default long countBenchEmployeesFiltered(AccessScope scope, int year, int month) {
+                return count(com.atlas.specification.EmployeeSpecification.benchEmployees(null, null, scope, year,
                                 month));
         }
 
         // Count ACTIVE employees: have PROJECT allocation with % > 0 this month
         @Query(value = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                         "JOIN allocations a ON a.employee_id = e.id " +
-                        "JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "WHERE e.resignation_date IS NULL " +
                         "AND a.allocation_type = 'PROJECT' " +
-                        "AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0", nativeQuery = true)
+                        "AND ma.\"year\" = :year AND ma.percentages[:month] > 0", nativeQuery = true)
         long countActiveAllocatedEmployees(@Param("year") int year, @Param("month") int month);
 
         @Query(value = "SELECT COUNT(DISTINCT e.id) FROM employees e " +
                         "JOIN allocations a ON a.employee_id = e.id " +
-                        "JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
-                        "WHERE e.resignation_date IS NULL AND e.id IN :ids " +
+                        "JOIN allocation_years ma ON ma.allocation_id = a.id " +
+                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:ids) " +
                         "AND a.allocation_type = 'PROJECT' " +
-                        "AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0", nativeQuery = true)
-        long countActiveAllocatedEmployeesByIds(@Param("ids") List<Long> ids,
+                        "AND ma.\"year\" = :year AND ma.percentages[:month] > 0", nativeQuery = true)
+        long countActiveAllocatedEmployeesByIds(@Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month);
 
-        default long countActiveAllocatedEmployeesFiltered(List<Long> ids, int year, int month) {
-                return count(com.atlas.specification.EmployeeSpecification.activeEmployees(null, null, ids, year,
+        default long countActiveAllocatedEmployeesFiltered(AccessScope scope, int year, int month) {
+                return count(com.atlas.specification.EmployeeSpecification.activeEmployees(null, null, scope, year,
                                 month));
         }
 
@@ -748,60 +786,77 @@ public interface EmployeeRepository
                         "  AND a.allocation_type = 'PROSPECT') " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0)", nativeQuery = true)
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0)", nativeQuery = true)
         long countProspectEmployees(@Param("year") int year, @Param("month") int month);
 
         @Query(value = "SELECT COUNT(*) FROM employees e " +
-                        "WHERE e.resignation_date IS NULL AND e.id IN :ids " +
+                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:ids) " +
                         "AND EXISTS (SELECT 1 FROM allocations a WHERE a.employee_id = e.id " +
                         "  AND a.allocation_type = 'PROSPECT') " +
                         "AND NOT EXISTS (" +
                         "  SELECT 1 FROM allocations a " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE a.employee_id = e.id AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0)", nativeQuery = true)
-        long countProspectEmployeesByIds(@Param("ids") List<Long> ids,
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0)", nativeQuery = true)
+        long countProspectEmployeesByIds(@Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month);
 
-        default long countProspectEmployeesFiltered(List<Long> ids, int year, int month) {
-                return count(com.atlas.specification.EmployeeSpecification.prospectEmployees(null, null, ids, year,
+        default long countProspectEmployeesFiltered(AccessScope scope, int year, int month) {
+                return count(com.atlas.specification.EmployeeSpecification.prospectEmployees(null, null, scope, year,
                                 month));
         }
 
         // Average allocation % for active employees
         @Query(value = "SELECT COALESCE(AVG(emp_total), 0) FROM (" +
-                        "  SELECT SUM(ma.percentage) AS emp_total FROM employees e " +
+                        "  SELECT SUM(ma.percentages[:month]) AS emp_total FROM employees e " +
                         "  JOIN allocations a ON a.employee_id = e.id " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
                         "  WHERE e.resignation_date IS NULL " +
                         "  AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0 " +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0 " +
                         "  GROUP BY e.id" +
                         ") sub", nativeQuery = true)
         double averageAllocationPercentage(@Param("year") int year, @Param("month") int month);
 
         @Query(value = "SELECT COALESCE(AVG(emp_total), 0) FROM (" +
-                        "  SELECT SUM(ma.percentage) AS emp_total FROM employees e " +
+                        "  SELECT SUM(ma.percentages[:month]) AS emp_total FROM employees e " +
                         "  JOIN allocations a ON a.employee_id = e.id " +
-                        "  JOIN monthly_allocations ma ON ma.allocation_id = a.id " +
-                        "  WHERE e.resignation_date IS NULL AND e.id IN :ids " +
+                        "  JOIN allocation_years ma ON ma.allocation_id = a.id " +
+                        "  WHERE e.resignation_date IS NULL AND e.id = ANY(:ids) " +
                         "  AND a.allocation_type = 'PROJECT' " +
-                        "  AND ma.\"year\" = :year AND ma.\"month\" = :month AND ma.percentage > 0 " +
+                        "  AND ma.\"year\" = :year AND ma.percentages[:month] > 0 " +
                         "  GROUP BY e.id" +
                         ") sub", nativeQuery = true)
-        double averageAllocationPercentageByIds(@Param("ids") List<Long> ids,
+        double averageAllocationPercentageByIds(@Param("ids") Long[] ids,
                         @Param("year") int year, @Param("month") int month);
 
-        default double averageAllocationPercentageFiltered(List<Long> ids, int year, int month) {
-                // Handle empty list case - IN () clause fails in native SQL
-                if (ids != null && ids.isEmpty()) {
+        // Same average read from the status read model: one row per active employee
+        @Query(value = "SELECT COALESCE(AVG(CAST(s.total_pct AS double precision)), 0) " +
+                        "FROM employee_month_status s JOIN employees e ON e.id = s.employee_id " +
+                        "WHERE e.resignation_date IS NULL " +
+                        "AND s.\"year\" = :year AND s.\"month\" = :month AND s.status = 'ACTIVE'", nativeQuery = true)
+        double averageAllocationPercentageFromStatus(@Param("year") int year, @Param("month") int month);
+
+        @Query(value = "SELECT COALESCE(AVG(CAST(s.total_pct AS double precision)), 0) " +
+                        "FROM employee_month_status s JOIN employees e ON e.id = s.employee_id " +
+                        "WHERE e.resignation_date IS NULL AND e.id = ANY(:ids) " +
+                        "AND s.\"year\" = :year AND s.\"month\" = :month AND s.status = 'ACTIVE'", nativeQuery = true)
+        double averageAllocationPercentageFromStatusByIds(@Param("ids") Long[] ids,
+                        @Param("year") int year, @Param("month") int month);
+
+        default double averageAllocationPercentageFiltered(AccessScope scope, int year, int month) {
+                if (scope != null && scope.isEmpty()) {
                         return 0.0;
                 }
-                if (ids == null)
-                        return averageAllocationPercentage(year, month);
-                return averageAllocationPercentageByIds(ids, year, month);
+                // Months past the read model horizon fall back to the monthly rows
+                boolean materialized = EmployeeMonthStatus.isMaterialized(year, month);
+                if (scope == null || scope.isUnrestricted())
+                        return materialized ? averageAllocationPercentageFromStatus(year, month)
+                                        : averageAllocationPercentage(year, month);
+                return materialized ? averageAllocationPercentageFromStatusByIds(scope.toIdArray(), year, month)
+                                : averageAllocationPercentageByIds(scope.toIdArray(), year, month);
         }
 
         // ===== Managers for Allocations Page (with allocation type filter) =====
@@ -828,12 +883,12 @@ public interface EmployeeRepository
                         "WHERE e.manager_id IS NOT NULL " +
                         "AND e.resignation_date IS NULL " +
                         "AND m.resignation_date IS NULL " +
-                        "AND e.id IN :employeeIds " +
+                        "AND e.id = ANY(:employeeIds) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerSearch AS text) IS NULL OR LOWER(m.name) LIKE :managerSearch) " +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersFromAllocationsAllTypesByIds(
-                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("employeeIds") Long[] employeeIds,
                         @Param("search") String search,
                         @Param("managerSearch") String managerSearch);
 
@@ -859,51 +914,46 @@ public interface EmployeeRepository
                         "WHERE e.manager_id IS NOT NULL " +
                         "AND e.resignation_date IS NULL " +
                         "AND m.resignation_date IS NULL " +
-                        "AND e.id IN :employeeIds " +
+                        "AND e.id = ANY(:employeeIds) " +
                         "AND CAST(a.allocation_type AS text) = CAST(:allocationType AS text) " +
                         "AND (CAST(:search AS text) IS NULL OR LOWER(e.name) LIKE :search) " +
                         "AND (CAST(:managerSearch AS text) IS NULL OR LOWER(m.name) LIKE :managerSearch) " +
                         "ORDER BY m.name", nativeQuery = true)
         List<Employee> findDistinctManagersFromAllocationsByTypeAndIds(
-                        @Param("employeeIds") List<Long> employeeIds,
+                        @Param("employeeIds") Long[] employeeIds,
                         @Param("allocationType") String allocationType,
                         @Param("search") String search,
                         @Param("managerSearch") String managerSearch);
 
         default List<Employee> findDistinctManagersFromAllocationsFiltered(
                         String allocationType,
-                        List<Long> employeeIds,
+                        AccessScope scope,
                         String search,
                         String managerSearch) {
                 // Format search parameters with wildcards, pass NULL for empty search
                 // Queries use (CAST(:param AS text) IS NULL OR condition) pattern
-                String searchParam = (search != null && !search.trim().isEmpty())
-                                ? "%" + search.trim().toLowerCase() + "%"
-                                : null;
-                String managerSearchParam = (managerSearch != null && !managerSearch.trim().isEmpty())
-                                ? "%" + managerSearch.trim().toLowerCase() + "%"
-                                : null;
-
-                // Handle empty list case - IN () clause fails in native SQL
-                if (employeeIds != null && employeeIds.isEmpty()) {
+                String searchParam = TextSearch.containsPattern(search);
+                String managerSearchParam = TextSearch.containsPattern(managerSearch);
+
+                if (scope != null && scope.isEmpty()) {
                         return java.util.Collections.emptyList();
                 }
 
                 // Route to appropriate query based on whether allocationType filter is present
                 if (allocationType == null) {
                         // No type filter - show all
-                        if (employeeIds == null) {
+                        if (scope == null || scope.isUnrestricted()) {
                                 return findDistinctManagersFromAllocationsAllTypes(searchParam, managerSearchParam);
                         }
-                        return findDistinctManagersFromAllocationsAllTypesByIds(employeeIds, searchParam,
+                        return findDistinctManagersFromAllocationsAllTypesByIds(scope.toIdArray(), searchParam,
                                         managerSearchParam);
                 } else {
                         // Specific type filter
-                        if (employeeIds == null) {
+                        if (scope == null || scope.isUnrestricted()) {
                                 return findDistinctManagersFromAllocationsByType(allocationType, searchParam,
                                                 managerSearchParam);
                         }
-                        return findDistinctManagersFromAllocationsByTypeAndIds(employeeIds, allocationType, searchParam,
+                        return findDistinctManagersFromAllocationsByTypeAndIds(scope.toIdArray(), allocationType, searchParam,
                                         managerSearchParam);
                 }
         }
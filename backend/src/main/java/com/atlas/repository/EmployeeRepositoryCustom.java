@@ -1,6 +1,11 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Employee;
+import com.atlas.repository.projection.RowSelection;
+import com.atlas.security.AccessScope;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 
@@ -19,7 +24,7 @@ public interface EmployeeRepositoryCustom {
      * @param tower Tower filter
      * @param managerId Manager ID filter (applied to subordinates)
      * @param status Status filter (employee or allocation status)
-     * @param accessibleIds List of accessible employee IDs for ABAC
+     * @param scope ABAC scope of the current user
      * @param managerName Manager name search filter
      * @param year Year for status checks (e.g., PROSPECT, ACTIVE, BENCH in specific month)
      * @param month Month for status checks (e.g., PROSPECT, ACTIVE, BENCH in specific month)
@@ -30,8 +35,38 @@ public interface EmployeeRepositoryCustom {
             String tower,
             Long managerId,
             String status,
-            List<Long> accessibleIds,
+            AccessScope scope,
             String managerName,
             Integer year,
             Integer month);
+
+    /**
+     * Counts for every employees-page filter facet in a single statement.
+     * The filtered employees are read once, joined to the status read model
+     * for the month, and grouped per facet; each facet ignores its own filter.
+     *
+     * @return rows of [facet ("STATUS", "TOWER" or "MANAGER"), value, manager id,
+     *         manager oracle id, count]; the manager columns are null for other facets
+     */
+    List<Object[]> findEmployeeFacetCounts(
+            String search,
+            String tower,
+            Long managerId,
+            String status,
+            AccessScope scope,
+            String managerName,
+            int year,
+            int month);
+
+    /**
+     * Page of the employees matching spec without counting all matches; the
+     * slice only knows whether another page follows.
+     */
+    Slice<Employee> findSlice(Specification<Employee> spec, Pageable pageable);
+
+    /**
+     * Same as findSlice, reading the columns of selection instead of managed
+     * entities.
+     */
+    <R> Slice<R> findRowSlice(Specification<Employee> spec, Pageable pageable, RowSelection<Employee, R> selection);
 }
@@ -1,15 +1,21 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Employee;
+import com.atlas.repository.projection.RowSelection;
+import com.atlas.security.AccessScope;
 import com.atlas.specification.EmployeeSpecification;
+import com.atlas.specification.TextSearch;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
@@ -31,7 +37,7 @@ public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
             String tower,
             Long managerId,
             String status,
-            List<Long> accessibleIds,
+            AccessScope scope,
             String managerName,
             Integer year,
             Integer month) {
@@ -46,7 +52,7 @@ public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
         // Build specification with all employee filters (these apply to subordinates)
         // Pass year/month so status checks (PROSPECT, ACTIVE, BENCH) use the selected month
         Specification<Employee> spec = EmployeeSpecification.withFilters(
-                search, tower, managerId, status, accessibleIds, managerName, year, month);
+                search, tower, managerId, status, scope, managerName, year, month);
 
         // Apply specification predicates to subordinates
         Predicate specPredicate = spec.toPredicate(root, query, cb);
@@ -69,4 +75,120 @@ public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
 
         return entityManager.createQuery(query).getResultList();
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findEmployeeFacetCounts(
+            String search,
+            String tower,
+            Long managerId,
+            String status,
+            AccessScope scope,
+            String managerName,
+            int year,
+            int month) {
+
+        // Filters shared by all facets narrow the CTE; facet-specific ones are
+        // applied per branch so a facet never filters on itself
+        StringBuilder base = new StringBuilder(
+                "SELECT e.id, e.manager_id, t.description AS tower, " +
+                "e.resignation_date IS NOT NULL AS resigned, s.status AS status, " +
+                "COALESCE(s.on_maternity, FALSE) AS on_maternity, COALESCE(s.on_vacation, FALSE) AS on_vacation, " +
+                "m.name AS manager_name, m.oracle_id AS manager_oracle_id, " +
+                "m.resignation_date IS NULL AS manager_current " +
+                "FROM employees e " +
+                "LEFT JOIN tech_towers t ON t.id = e.tower " +
+                "LEFT JOIN employees m ON m.id = e.manager_id " +
+                "LEFT JOIN employee_month_status s ON s.employee_id = e.id " +
+                "AND s.\"year\" = :year AND s.\"month\" = :month " +
+                "WHERE 1 = 1");
+        boolean scoped = scope != null && !scope.isUnrestricted();
+        if (scoped) {
+            base.append(" AND e.id = ANY(:ids)");
+        }
+        if (search != null) {
+            base.append(" AND (LOWER(e.name) LIKE :search OR LOWER(e.email) LIKE :search)");
+        }
+        if (managerName != null) {
+            base.append(" AND LOWER(m.name) LIKE :managerName");
+        }
+
+        String statusFilter = statusCondition(status);
+        String towerFilter = tower != null ? " AND f.tower = :tower" : "";
+        String managerFilter = managerId != null ? " AND f.manager_id = :managerId" : "";
+
+        String sql = "WITH f AS (" + base + ") " +
+                // Mutually exclusive primary statuses; leave-only months map to null
+                "SELECT 'STATUS', CASE WHEN f.resigned THEN 'RESIGNED' " +
+                "  WHEN f.status IN ('ACTIVE', 'PROSPECT') THEN f.status " +
+                "  WHEN f.status IS NULL OR f.status = 'BENCH' THEN 'BENCH' END, " +
+                "  CAST(NULL AS bigint), CAST(NULL AS integer), COUNT(*) " +
+                "FROM f WHERE 1 = 1" + towerFilter + managerFilter + " " +
+                "GROUP BY CASE WHEN f.resigned THEN 'RESIGNED' " +
+                "  WHEN f.status IN ('ACTIVE', 'PROSPECT') THEN f.status " +
+                "  WHEN f.status IS NULL OR f.status = 'BENCH' THEN 'BENCH' END " +
+                "UNION ALL " +
+                // Leave overlaps the primary statuses, so it is counted separately
+                "SELECT 'STATUS', 'MATERNITY', CAST(NULL AS bigint), CAST(NULL AS integer), COUNT(*) " +
+                "FROM f WHERE NOT f.resigned AND f.on_maternity" + towerFilter + managerFilter + " " +
+                "UNION ALL " +
+                "SELECT 'STATUS', 'VACATION', CAST(NULL AS bigint), CAST(NULL AS integer), COUNT(*) " +
+                "FROM f WHERE NOT f.resigned AND f.on_vacation" + towerFilter + managerFilter + " " +
+                "UNION ALL " +
+                "SELECT 'TOWER', f.tower, CAST(NULL AS bigint), CAST(NULL AS integer), COUNT(*) " +
+                "FROM f WHERE f.tower IS NOT NULL AND " + statusFilter + managerFilter + " " +
+                "GROUP BY f.tower " +
+                "UNION ALL " +
+                "SELECT 'MANAGER', f.manager_name, f.manager_id, f.manager_oracle_id, COUNT(*) " +
+                "FROM f WHERE f.manager_id IS NOT NULL AND f.manager_current AND " + statusFilter + towerFilter + " " +
+                "GROUP BY f.manager_id, f.manager_name, f.manager_oracle_id";
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("year", year);
+        query.setParameter("month", month);
+        if (scoped) {
+            query.setParameter("ids", scope.toIdArray());
+        }
+        if (search != null) {
+            query.setParameter("search", TextSearch.containsPattern(search));
+        }
+        if (managerName != null) {
+            query.setParameter("managerName", TextSearch.containsPattern(managerName));
+        }
+        if (tower != null) {
+            query.setParameter("tower", tower);
+        }
+        if (managerId != null) {
+            query.setParameter("managerId", managerId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * SQL form of the EmployeeSpecification.withFilters status filter over
+     * the read model columns of the facet CTE.
+     */
+    private static String statusCondition(String status) {
+        String key = status != null ? status.toUpperCase() : "";
+        return switch (key) {
+            case "RESIGNED" -> "f.resigned";
+            case "ACTIVE" -> "NOT f.resigned AND f.status = 'ACTIVE'";
+            case "PROSPECT" -> "NOT f.resigned AND f.status = 'PROSPECT'";
+            case "BENCH" -> "NOT f.resigned AND (f.status IS NULL OR f.status = 'BENCH')";
+            case "MATERNITY" -> "NOT f.resigned AND f.on_maternity";
+            case "VACATION" -> "NOT f.resigned AND f.on_vacation";
+            default -> "NOT f.resigned";
+        };
+    }
+
+    @Override
+    public Slice<Employee> findSlice(Specification<Employee> spec, Pageable pageable) {
+        return SliceQueries.findSlice(entityManager, Employee.class, spec, pageable);
+    }
+
+    @Override
+    public <R> Slice<R> findRowSlice(Specification<Employee> spec, Pageable pageable,
+            RowSelection<Employee, R> selection) {
+        return SliceQueries.findRowSlice(entityManager, Employee.class, spec, pageable, selection);
+    }
 }
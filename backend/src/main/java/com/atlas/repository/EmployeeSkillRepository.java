@@ -1,7 +1,10 @@
 package com.atlas.repository;
 
 import com.atlas.entity.EmployeeSkill;
+import com.atlas.repository.projection.EmployeeSkillRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,6 +21,17 @@ public interface EmployeeSkillRepository extends JpaRepository<EmployeeSkill, In
      */
     List<EmployeeSkill> findByEmployeeId(Long employeeId);
 
+    /**
+     * Skills of several employees as rows, for the listing endpoints.
+     *
+     * @param employeeIds the employee IDs
+     * @return one row per skill assignment, ordered by employee
+     */
+    @Query("SELECT new com.atlas.repository.projection.EmployeeSkillRow(es.employee.id, s.description, "
+            + "es.skillLevel, es.skillGrade) FROM EmployeeSkill es JOIN es.skill s "
+            + "WHERE es.employee.id IN :employeeIds ORDER BY es.employee.id, es.id")
+    List<EmployeeSkillRow> findRowsByEmployeeIds(@Param("employeeIds") List<Long> employeeIds);
+
     /**
      * Find a specific skill assignment for an employee.
      *
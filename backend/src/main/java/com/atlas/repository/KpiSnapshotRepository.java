@@ -0,0 +1,18 @@
+package com.atlas.repository;
+
+import com.atlas.entity.KpiSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KpiSnapshotRepository extends JpaRepository<KpiSnapshot, KpiSnapshot.Key> {
+
+        boolean existsByYearAndMonth(Integer year, Integer month);
+
+        @Modifying(flushAutomatically = true)
+        @Query(value = "DELETE FROM kpi_snapshot WHERE \"year\" = :year AND \"month\" = :month", nativeQuery = true)
+        int deleteByMonth(@Param("year") int year, @Param("month") int month);
+}
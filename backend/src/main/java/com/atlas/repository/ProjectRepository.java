@@ -1,15 +1,18 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Allocation;
-import com.atlas.entity.Employee;
 import com.atlas.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -26,48 +29,25 @@ public interface ProjectRepository extends JpaSpecificationExecutor<Project>, Jp
                 return findByStatus(Project.ProjectStatus.ACTIVE);
         }
 
-        default long countActiveProjects() {
-                return countByStatus(Project.ProjectStatus.ACTIVE);
-        }
-
-        @Query("SELECT DISTINCT a.project FROM Allocation a WHERE a.employee IN :employees AND a.allocationType = :allocationType AND a.project.status = :projectStatus")
-        List<Project> findActiveProjectsByEmployeesWithParams(
-                        @Param("employees") List<Employee> employees,
-                        @Param("allocationType") Allocation.AllocationType allocationType,
-                        @Param("projectStatus") Project.ProjectStatus projectStatus);
-
-        default List<Project> findActiveProjectsByEmployees(List<Employee> employees) {
-                return findActiveProjectsByEmployeesWithParams(employees,
-                                Allocation.AllocationType.PROJECT, Project.ProjectStatus.ACTIVE);
-        }
-
-        @Query("SELECT DISTINCT a.project FROM Allocation a WHERE a.employee IN :employees AND a.allocationType = :allocationType")
-        List<Project> findProjectsByEmployeesWithParams(
-                        @Param("employees") List<Employee> employees,
-                        @Param("allocationType") Allocation.AllocationType allocationType);
+        // Cursor-backed read of the active projects for the streaming export
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+        @Query("SELECT p FROM Project p WHERE p.status = :status ORDER BY p.id")
+        Stream<Project> streamByStatus(@Param("status") Project.ProjectStatus status);
 
-        default List<Project> findProjectsByEmployees(List<Employee> employees) {
-                return findProjectsByEmployeesWithParams(employees,
-                                Allocation.AllocationType.PROJECT);
+        default Stream<Project> streamActiveProjects() {
+                return streamByStatus(Project.ProjectStatus.ACTIVE);
         }
 
-        @Query("SELECT COUNT(DISTINCT a.project) FROM Allocation a WHERE a.employee IN :employees AND a.allocationType = :allocationType AND a.project.status = :projectStatus")
-        long countActiveProjectsByEmployeesWithParams(
-                        @Param("employees") List<Employee> employees,
-                        @Param("allocationType") Allocation.AllocationType allocationType,
-                        @Param("projectStatus") Project.ProjectStatus projectStatus);
-
-        default long countActiveProjectsByEmployees(List<Employee> employees) {
-                return countActiveProjectsByEmployeesWithParams(employees,
-                                Allocation.AllocationType.PROJECT, Project.ProjectStatus.ACTIVE);
+        default long countActiveProjects() {
+                return countByStatus(Project.ProjectStatus.ACTIVE);
         }
 
         @Query(value = "SELECT COUNT(DISTINCT a.project_id) FROM allocations a " +
                         "JOIN projects p ON p.id = a.project_id " +
-                        "WHERE a.employee_id IN :employeeIds " +
+                        "WHERE a.employee_id = ANY(:employeeIds) " +
                         "AND CAST(a.allocation_type AS text) = 'PROJECT' " +
                         "AND CAST(p.status AS text) = 'ACTIVE'", nativeQuery = true)
-        long countActiveProjectsByEmployeeIds(@Param("employeeIds") List<Long> employeeIds);
+        long countActiveProjectsByEmployeeIds(@Param("employeeIds") Long[] employeeIds);
 
         boolean existsByProjectId(String projectId);
 
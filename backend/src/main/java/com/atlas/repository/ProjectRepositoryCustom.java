@@ -1,5 +1,11 @@
 package com.atlas.repository;
 
+import com.atlas.entity.Project;
+import com.atlas.repository.projection.RowSelection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
 import java.util.List;
 
 /**
@@ -22,4 +28,11 @@ public interface ProjectRepositoryCustom {
             com.atlas.entity.Project.ProjectStatus status,
             String search,
             List<Long> projectIds);
+
+    /**
+     * Page of the columns of selection for the projects matching spec,
+     * without counting all matches; the slice only knows whether another
+     * page follows.
+     */
+    <R> Slice<R> findRowSlice(Specification<Project> spec, Pageable pageable, RowSelection<Project, R> selection);
 }
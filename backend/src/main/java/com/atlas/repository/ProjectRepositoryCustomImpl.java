@@ -1,6 +1,7 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Project;
+import com.atlas.repository.projection.RowSelection;
 import com.atlas.specification.ProjectSpecification;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -8,6 +9,8 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
@@ -47,4 +50,10 @@ public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
 
         return entityManager.createQuery(query).getResultList();
     }
+
+    @Override
+    public <R> Slice<R> findRowSlice(Specification<Project> spec, Pageable pageable,
+            RowSelection<Project, R> selection) {
+        return SliceQueries.findRowSlice(entityManager, Project.class, spec, pageable, selection);
+    }
 }
@@ -1,8 +1,11 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Skill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,11 +16,13 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
 
     /**
      * Find all skills that are NOT currently assigned to a specific employee.
-     * Used for populating the "add skill" dropdown.
+     * Used for populating the "add skill" dropdown. The result is held in the
+     * query cache; any write to skills or employee_skills invalidates it.
      *
      * @param employeeId the employee ID
      * @return list of available skills
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT s FROM Skill s WHERE s.id NOT IN " +
            "(SELECT es.skill.id FROM EmployeeSkill es WHERE es.employee.id = :employeeId) " +
            "ORDER BY s.description ASC")
@@ -0,0 +1,99 @@
+package com.atlas.repository;
+
+import com.atlas.repository.projection.RowSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Offset pages without a total: the counterpart of
+ * JpaSpecificationExecutor.findAll(spec, pageable) for listings that do not
+ * need the count query it always runs alongside, reading either entities or
+ * constructor-projected rows.
+ */
+final class SliceQueries {
+
+    private SliceQueries() {
+    }
+
+    /**
+     * Reads one row past the page to tell whether another page follows.
+     */
+    static <T> Slice<T> findSlice(EntityManager entityManager, Class<T> type, Specification<T> spec,
+            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root);
+        filter(query, root, cb, spec, pageable);
+        return slice(entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList(), pageable);
+    }
+
+    /**
+     * Same as findSlice, selecting rows instead of entities.
+     */
+    static <T, R> Slice<R> findRowSlice(EntityManager entityManager, Class<T> type, Specification<T> spec,
+            Pageable pageable, RowSelection<T, R> selection) {
+        return slice(rows(entityManager, type, spec, pageable, selection, pageable.getPageSize() + 1), pageable);
+    }
+
+    /**
+     * Every row matching spec, unpaged and in no particular order.
+     */
+    static <T, R> List<R> findRows(EntityManager entityManager, Class<T> type, Specification<T> spec,
+            RowSelection<T, R> selection) {
+        return rows(entityManager, type, spec, Pageable.unpaged(), selection, -1);
+    }
+
+    // Untyped query: a constructor selection cannot be typed before its root
+    // exists. Its result type (Object) still tells specifications it is not a
+    // count query.
+    @SuppressWarnings("unchecked")
+    private static <T, R> List<R> rows(EntityManager entityManager, Class<T> type, Specification<T> spec,
+            Pageable pageable, RowSelection<T, R> selection, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery();
+        Root<T> root = query.from(type);
+        query.select(selection.select(root, cb));
+        filter(query, root, cb, spec, pageable);
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+        }
+        if (maxResults > 0) {
+            typedQuery.setMaxResults(maxResults);
+        }
+        return (List<R>) typedQuery.getResultList();
+    }
+
+    private static <T> void filter(CriteriaQuery<?> query, Root<T> root, CriteriaBuilder cb, Specification<T> spec,
+            Pageable pageable) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // An explicit sort replaces any order the specification set
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+    }
+
+    private static <T> Slice<T> slice(List<T> rows, Pageable pageable) {
+        int size = pageable.getPageSize();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,14 @@
+package com.atlas.repository;
+
+/**
+ * Shared settings of the cursor-backed {@code Stream} queries behind the
+ * streaming exports.
+ */
+public final class StreamingQueries {
+
+    /** Rows per JDBC round trip; one fetch fills one export chunk. */
+    public static final String FETCH_SIZE = "500";
+
+    private StreamingQueries() {
+    }
+}
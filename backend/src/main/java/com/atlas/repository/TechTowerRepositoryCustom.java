@@ -1,5 +1,7 @@
 package com.atlas.repository;
 
+import com.atlas.security.AccessScope;
+
 import java.util.List;
 
 /**
@@ -16,7 +18,7 @@ public interface TechTowerRepositoryCustom {
      * @param tower Tower filter (should be null when getting distinct towers)
      * @param managerId Manager ID filter
      * @param status Employee status filter (ACTIVE, BENCH, PROSPECT, etc.)
-     * @param accessibleIds List of accessible employee IDs for ABAC
+     * @param scope ABAC scope of the current user
      * @param managerName Manager name search filter
      * @return List of distinct tower descriptions, sorted alphabetically
      */
@@ -25,7 +27,7 @@ public interface TechTowerRepositoryCustom {
             String tower,
             Long managerId,
             String status,
-            List<Long> accessibleIds,
+            AccessScope scope,
             String managerName
     );
 }
@@ -2,6 +2,7 @@ package com.atlas.repository;
 
 import com.atlas.entity.Employee;
 import com.atlas.entity.TechTower;
+import com.atlas.security.AccessScope;
 import com.atlas.specification.EmployeeSpecification;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -31,7 +32,7 @@ public class TechTowerRepositoryCustomImpl implements TechTowerRepositoryCustom
             String tower,
             Long managerId,
             String status,
-            List<Long> accessibleIds,
+            AccessScope scope,
             String managerName) {
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -43,7 +44,7 @@ public class TechTowerRepositoryCustomImpl implements TechTowerRepositoryCustom
 
         // Build specification with all employee filters
         Specification<Employee> spec = EmployeeSpecification.withFilters(
-                search, tower, managerId, status, accessibleIds, managerName);
+                search, tower, managerId, status, scope, managerName);
 
         // Apply specification predicates
         Predicate predicate = spec.toPredicate(root, query, cb);
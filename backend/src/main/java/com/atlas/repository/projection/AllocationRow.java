@@ -0,0 +1,45 @@
+package com.atlas.repository.projection;
+
+import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
+import com.atlas.entity.Employee;
+import com.atlas.entity.Project;
+import com.atlas.specification.MonthVector;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.time.LocalDate;
+
+/**
+ * The allocation columns of AllocationDTO plus its percentage in one month,
+ * read through a left join on that year's month vector (at most one per
+ * allocation).
+ */
+public record AllocationRow(
+        Long id,
+        Long employeeId,
+        String employeeName,
+        Integer employeeOracleId,
+        Long projectId,
+        String projectName,
+        LocalDate startDate,
+        LocalDate endDate,
+        Allocation.AllocationType allocationType,
+        Integer monthPercentage) {
+
+    /**
+     * Selection with monthPercentage taken from the given month, null when
+     * the allocation has no percentage for it.
+     */
+    public static RowSelection<Allocation, AllocationRow> inMonth(int year, int month) {
+        return (root, cb) -> {
+            Join<Allocation, Employee> employee = root.join("employee", JoinType.INNER);
+            Join<Allocation, Project> project = root.join("project", JoinType.LEFT);
+            Join<Allocation, AllocationYear> yearRow = MonthVector.joinYear(root, cb, year, JoinType.LEFT);
+            return cb.construct(AllocationRow.class,
+                    root.get("id"), employee.get("id"), employee.get("name"), employee.get("oracleId"),
+                    project.get("id"), project.get("description"), root.get("startDate"), root.get("endDate"),
+                    root.get("allocationType"), MonthVector.percentage(cb, yearRow, month));
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.atlas.repository.projection;
+
+import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
+import com.atlas.entity.Employee;
+import com.atlas.entity.Project;
+import com.atlas.specification.MonthVector;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+/**
+ * One year of an allocation's month vector with the employee and project
+ * it belongs to, for the allocation timeline.
+ */
+public record AllocationTimelineRow(
+        Long allocationId,
+        Long employeeId,
+        String employeeName,
+        Long projectId,
+        String projectName,
+        Allocation.AllocationType allocationType,
+        Integer year,
+        Short[] percentages) {
+
+    /**
+     * Selection of the allocations' vectors for the years fromYear..toYear,
+     * one row per allocation and year.
+     */
+    public static RowSelection<Allocation, AllocationTimelineRow> between(int fromYear, int toYear) {
+        return (root, cb) -> {
+            Join<Allocation, Employee> employee = root.join("employee", JoinType.INNER);
+            Join<Allocation, Project> project = root.join("project", JoinType.LEFT);
+            Join<Allocation, AllocationYear> yearRow = MonthVector.joinYears(root, cb, fromYear, toYear);
+            return cb.construct(AllocationTimelineRow.class,
+                    root.get("id"), employee.get("id"), employee.get("name"),
+                    project.get("id"), project.get("description"), root.get("allocationType"),
+                    yearRow.get("year"), yearRow.get("percentages"));
+        };
+    }
+
+    /**
+     * The percentage of the month (1-12), or null when there is none.
+     */
+    public Integer percentage(int month) {
+        Short percentage = percentages[month - 1];
+        return percentage != null ? percentage.intValue() : null;
+    }
+}
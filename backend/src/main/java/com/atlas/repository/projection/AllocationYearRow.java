@@ -0,0 +1,32 @@
+package com.atlas.repository.projection;
+
+import com.atlas.dto.MonthlyAllocationDTO;
+import com.atlas.entity.AllocationYear;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An allocation's month vector for one year, read without the entity.
+ */
+public record AllocationYearRow(
+        Long allocationId,
+        Integer year,
+        Short[] percentages) {
+
+    /**
+     * The months that have a percentage, in month order. Ids are
+     * AllocationYear.monthKey values, unique within the allocation.
+     */
+    public List<MonthlyAllocationDTO> toDTOs() {
+        List<MonthlyAllocationDTO> months = new ArrayList<>();
+        for (int month = 1; month <= AllocationYear.MONTHS; month++) {
+            Short percentage = percentages[month - 1];
+            if (percentage != null) {
+                months.add(new MonthlyAllocationDTO(AllocationYear.monthKey(year, month),
+                        allocationId, year, month, percentage.intValue()));
+            }
+        }
+        return months;
+    }
+}
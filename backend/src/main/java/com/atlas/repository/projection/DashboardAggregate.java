@@ -0,0 +1,22 @@
+package com.atlas.repository.projection;
+
+/**
+ * Projection of the dashboard KPIs computed in one statement by
+ * DashboardAggregateRepository.
+ */
+public interface DashboardAggregate {
+    long getTotalEmployees();
+
+    long getActiveEmployees();
+
+    long getBenchCount();
+
+    long getProspectCount();
+
+    /**
+     * Average total PROJECT percentage over ACTIVE employees, 0 when there are none.
+     */
+    double getAverageAllocation();
+
+    long getActiveProjects();
+}
@@ -0,0 +1,50 @@
+package com.atlas.repository.projection;
+
+import com.atlas.entity.Employee;
+import com.atlas.entity.TechTower;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.time.LocalDate;
+
+/**
+ * The employee columns of EmployeeDTO, with the manager and tower names
+ * read through left joins.
+ */
+public record EmployeeRow(
+        Long id,
+        Integer oracleId,
+        String name,
+        String email,
+        Employee.Gender gender,
+        String grade,
+        Employee.JobLevel jobLevel,
+        String title,
+        Employee.HiringType hiringType,
+        String location,
+        String legalEntity,
+        String costCenter,
+        String nationality,
+        LocalDate hireDate,
+        LocalDate resignationDate,
+        String reasonOfLeave,
+        Integer towerId,
+        String towerName,
+        String parentTowerName,
+        Long managerId,
+        String managerName) {
+
+    public static final RowSelection<Employee, EmployeeRow> SELECTION = (root, cb) -> {
+        Join<Employee, Employee> manager = root.join("manager", JoinType.LEFT);
+        Join<Employee, TechTower> tower = root.join("tower", JoinType.LEFT);
+        Join<TechTower, TechTower> parentTower = tower.join("parentTower", JoinType.LEFT);
+        return cb.construct(EmployeeRow.class,
+                root.get("id"), root.get("oracleId"), root.get("name"), root.get("email"),
+                root.get("gender"), root.get("grade"), root.get("jobLevel"), root.get("title"),
+                root.get("hiringType"), root.get("location"), root.get("legalEntity"),
+                root.get("costCenter"), root.get("nationality"), root.get("hireDate"),
+                root.get("resignationDate"), root.get("reasonOfLeave"),
+                tower.get("id"), tower.get("description"), parentTower.get("description"),
+                manager.get("id"), manager.get("name"));
+    };
+}
@@ -0,0 +1,13 @@
+package com.atlas.repository.projection;
+
+import com.atlas.entity.EmployeeSkill;
+
+/**
+ * One skill of an employee as shown in EmployeeDTO.
+ */
+public record EmployeeSkillRow(
+        Long employeeId,
+        String skillName,
+        EmployeeSkill.SkillLevel skillLevel,
+        EmployeeSkill.SkillGrade skillGrade) {
+}
@@ -0,0 +1,22 @@
+package com.atlas.repository.projection;
+
+import com.atlas.entity.Employee;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+/**
+ * The employee columns of EmployeeAllocationSummaryDTO.
+ */
+public record EmployeeSummaryRow(
+        Long id,
+        String name,
+        String email,
+        Integer oracleId,
+        String managerName) {
+
+    public static final RowSelection<Employee, EmployeeSummaryRow> SELECTION = (root, cb) -> {
+        Join<Employee, Employee> manager = root.join("manager", JoinType.LEFT);
+        return cb.construct(EmployeeSummaryRow.class,
+                root.get("id"), root.get("name"), root.get("email"), root.get("oracleId"), manager.get("name"));
+    };
+}
@@ -0,0 +1,34 @@
+package com.atlas.repository.projection;
+
+import com.atlas.entity.Employee;
+import com.atlas.entity.Project;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.time.LocalDate;
+
+/**
+ * The project columns of ProjectDTO, with the manager name read through a
+ * left join.
+ */
+public record ProjectRow(
+        Long id,
+        String projectId,
+        String description,
+        Project.ProjectType projectType,
+        String region,
+        String vertical,
+        LocalDate startDate,
+        LocalDate endDate,
+        Project.ProjectStatus status,
+        Long managerId,
+        String managerName) {
+
+    public static final RowSelection<Project, ProjectRow> SELECTION = (root, cb) -> {
+        Join<Project, Employee> manager = root.join("manager", JoinType.LEFT);
+        return cb.construct(ProjectRow.class,
+                root.get("id"), root.get("projectId"), root.get("description"), root.get("projectType"),
+                root.get("region"), root.get("vertical"), root.get("startDate"), root.get("endDate"),
+                root.get("status"), manager.get("id"), manager.get("name"));
+    };
+}
@@ -0,0 +1,19 @@
+package com.atlas.repository.projection;
+
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Columns of a constructor projection over entity T, for Criteria queries
+ * that filter with the entity's Specifications but read rows instead of
+ * managed entities (no hydration, no dirty-check snapshots).
+ */
+@FunctionalInterface
+public interface RowSelection<T, R> {
+
+    /**
+     * Typically cb.construct(R.class, ...) over root and its joins.
+     */
+    CompoundSelection<R> select(Root<T> root, CriteriaBuilder cb);
+}
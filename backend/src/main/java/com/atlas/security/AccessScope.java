@@ -0,0 +1,118 @@
+package com.atlas.security;
+
+import com.atlas.entity.EmployeeHierarchy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ABAC scope: which employees the current user may see.
+ * Renders as one of three forms so large subtrees never bind thousands of
+ * parameters into an IN clause:
+ * <ul>
+ * <li>ALL - whole company, no predicate at all</li>
+ * <li>SUBTREE - semi-join against the employee_hierarchy closure table</li>
+ * <li>IDS - a single array parameter (= ANY(:ids)) in native queries; a short,
+ * padded IN list in Criteria queries</li>
+ * </ul>
+ * Use AccessScopeResolver to pick the form for a user.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class AccessScope {
+
+    public enum Kind {
+        ALL, SUBTREE, IDS
+    }
+
+    private static final AccessScope ALL = new AccessScope(Kind.ALL, null, null);
+    private static final AccessScope NONE = new AccessScope(Kind.IDS, null, List.of());
+
+    private final Kind kind;
+    private final Long rootEmployeeId;
+    private final List<Long> employeeIds;
+
+    private AccessScope(Kind kind, Long rootEmployeeId, List<Long> employeeIds) {
+        this.kind = kind;
+        this.rootEmployeeId = rootEmployeeId;
+        this.employeeIds = employeeIds;
+    }
+
+    public static AccessScope all() {
+        return ALL;
+    }
+
+    public static AccessScope none() {
+        return NONE;
+    }
+
+    /**
+     * The given employee and everyone below them.
+     *
+     * @param subtreeIds the subtree members, used where a join is not possible
+     *                   (native queries take them as one array parameter)
+     */
+    public static AccessScope subtree(Long rootEmployeeId, List<Long> subtreeIds) {
+        return new AccessScope(Kind.SUBTREE, rootEmployeeId, List.copyOf(subtreeIds));
+    }
+
+    /**
+     * Explicit ID list. Null means no restriction, matching the old
+     * "null employeeIds = no filter" convention.
+     */
+    public static AccessScope ids(Collection<Long> employeeIds) {
+        if (employeeIds == null) {
+            return ALL;
+        }
+        return employeeIds.isEmpty() ? NONE : new AccessScope(Kind.IDS, null, List.copyOf(employeeIds));
+    }
+
+    public boolean isUnrestricted() {
+        return kind == Kind.ALL;
+    }
+
+    public boolean isEmpty() {
+        return kind == Kind.IDS && employeeIds.isEmpty();
+    }
+
+    /**
+     * Member IDs as a single array parameter for native queries
+     * ({@code e.id = ANY(:ids)}). Null when unrestricted.
+     */
+    public Long[] toIdArray() {
+        return kind == Kind.ALL ? null : employeeIds.toArray(new Long[0]);
+    }
+
+    /**
+     * Criteria predicate restricting the given employee id expression to this scope.
+     */
+    public Predicate toPredicate(Expression<Long> employeeId, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        switch (kind) {
+            case SUBTREE:
+                Subquery<Long> subtree = query.subquery(Long.class);
+                Root<EmployeeHierarchy> h = subtree.from(EmployeeHierarchy.class);
+                subtree.select(h.get("descendantId"));
+                subtree.where(cb.equal(h.get("ancestorId"), rootEmployeeId));
+                return employeeId.in(subtree);
+            case IDS:
+                if (employeeIds.isEmpty()) {
+                    return cb.disjunction(); // 1=0
+                }
+                // Only small scopes resolve to IDS; with in_clause_parameter_padding the
+                // list binds in power-of-two buckets so statements stay cacheable
+                return employeeId.in(employeeIds);
+            default:
+                return cb.conjunction();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.atlas.security;
+
+import com.atlas.entity.Employee;
+import com.atlas.entity.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The authenticated caller, resolved once per request by JwtAuthenticationFilter
+ * and stored in the SecurityContext. Controllers take it as an
+ * {@code @AuthenticationPrincipal} argument instead of reloading the user.
+ *
+ * Usually built straight from token claims plus the in-memory HierarchyIndex,
+ * so authenticating a request needs no database round trip.
+ *
+ * The access scope is computed on first use and reused for the rest of the request.
+ */
+@Getter
+public class AtlasPrincipal implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long userId;
+    private final Long employeeId;
+    private final boolean topLevel;
+    private final String username;
+    private final String impersonator;
+
+    /**
+     * The caller as a User for service calls. When built from a token this is a
+     * stub carrying only ids and the manager link; load the row for anything else.
+     */
+    private final User user;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<User, AccessScope> scopeResolver;
+
+    @Getter(AccessLevel.NONE)
+    private volatile AccessScope accessScope;
+
+    public AtlasPrincipal(User user, String impersonator, Function<User, AccessScope> scopeResolver) {
+        this.user = user;
+        this.userId = user.getId();
+        this.employeeId = user.getEmployee() != null ? user.getEmployee().getId() : null;
+        this.topLevel = user.isTopLevel();
+        this.username = user.getUsername();
+        this.impersonator = impersonator;
+        this.scopeResolver = scopeResolver;
+    }
+
+    /**
+     * Builds the principal from verified claims without loading the user.
+     *
+     * @param managerId the employee's current manager from the hierarchy index, null if top-level
+     */
+    public static AtlasPrincipal fromToken(VerifiedToken token, Long managerId,
+            Function<User, AccessScope> scopeResolver) {
+        Employee employee = Employee.builder()
+                .id(token.getEmployeeId())
+                .manager(managerId != null ? Employee.builder().id(managerId).build() : null)
+                .build();
+        User user = User.builder()
+                .id(token.getUserId())
+                .username(token.getSubject())
+                .employee(employee)
+                .build();
+        return new AtlasPrincipal(user, token.getImpersonator(), scopeResolver);
+    }
+
+    public boolean isImpersonating() {
+        return impersonator != null;
+    }
+
+    public AccessScope getAccessScope() {
+        AccessScope scope = accessScope;
+        if (scope == null) {
+            scope = scopeResolver.apply(user);
+            accessScope = scope;
+        }
+        return scope;
+    }
+
+    /**
+     * The principal of the current request, if it was authenticated by token.
+     */
+    public static Optional<AtlasPrincipal> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AtlasPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    // Token-authenticated; the password hash is never needed past login
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
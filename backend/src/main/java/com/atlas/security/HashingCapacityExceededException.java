@@ -0,0 +1,11 @@
+package com.atlas.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; mapped to HTTP 429.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
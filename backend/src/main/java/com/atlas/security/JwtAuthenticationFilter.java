@@ -1,5 +1,8 @@
 package com.atlas.security;
 
+import com.atlas.entity.User;
+import com.atlas.service.AccessScopeResolver;
+import com.atlas.service.HierarchyIndex;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +10,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -21,6 +23,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final AccessScopeResolver accessScopeResolver;
+    private final HierarchyIndex hierarchyIndex;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -28,12 +33,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            VerifiedToken token = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt).orElse(null) : null;
+
+            if (token != null && !revocationRegistry.isRevoked(token)) {
+                AtlasPrincipal principal = toPrincipal(token);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, token, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -45,6 +51,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AtlasPrincipal toPrincipal(VerifiedToken token) {
+        // Fast path: ids from the token, manager link from the in-memory org tree
+        if (token.getUserId() != null && token.getEmployeeId() != null
+                && hierarchyIndex.contains(token.getEmployeeId())) {
+            return AtlasPrincipal.fromToken(token, hierarchyIndex.getManagerId(token.getEmployeeId()),
+                    accessScopeResolver::compute);
+        }
+        // Older tokens without id claims, or an employee the index hasn't picked up yet
+        User user = userDetailsService.getUserByUsername(token.getSubject());
+        return new AtlasPrincipal(user, token.getImpersonator(), accessScopeResolver::compute);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,78 +1,96 @@
 package com.atlas.security;
 
+import com.atlas.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMPLOYEE_ID = "eid";
+    static final String CLAIM_IMPERSONATOR = "impersonator";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Built once; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername(), null);
+    public String generateToken(User user) {
+        return generateToken(user, null);
     }
 
-    public String generateImpersonationToken(String targetUsername, String impersonatorUsername) {
-        return generateToken(targetUsername, impersonatorUsername);
+    public String generateImpersonationToken(User targetUser, String impersonatorUsername) {
+        return generateToken(targetUser, impersonatorUsername);
     }
 
-    private String generateToken(String subject, String impersonator) {
+    private String generateToken(User user, String impersonator) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         var builder = Jwts.builder()
-                .subject(subject)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey());
+                .signWith(signingKey);
 
+        if (user.getEmployee() != null) {
+            builder.claim(CLAIM_EMPLOYEE_ID, user.getEmployee().getId());
+        }
         if (impersonator != null) {
-            builder.claim("impersonator", impersonator);
+            builder.claim(CLAIM_IMPERSONATOR, impersonator);
         }
 
         return builder.compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return getClaims(token).getSubject();
-    }
-
-    public String getImpersonatorFromToken(String token) {
-        return getClaims(token).get("impersonator", String.class);
-    }
-
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Checks signature and expiry and extracts all claims in one parse.
+     * Empty if the token is malformed, tampered with or expired.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        Claims claims;
         try {
-            getClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
+        return Optional.of(VerifiedToken.builder()
+                .tokenId(claims.getId())
+                .subject(claims.getSubject())
+                .userId(longClaim(claims, CLAIM_USER_ID))
+                .employeeId(longClaim(claims, CLAIM_EMPLOYEE_ID))
+                .impersonator(claims.get(CLAIM_IMPERSONATOR, String.class))
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .build());
+    }
+
+    // Small numbers deserialize as Integer, so read through Number
+    private static Long longClaim(Claims claims, String name) {
+        Number value = claims.get(name, Number.class);
+        return value != null ? value.longValue() : null;
     }
 }
@@ -0,0 +1,149 @@
+package com.atlas.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedicated, bounded pool for password hashing so a login storm cannot pin every
+ * request thread on BCrypt. When all workers are busy and the queue is full, new
+ * work is rejected immediately with HashingCapacityExceededException (HTTP 429)
+ * instead of piling up behind the ones already waiting.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(
+            @Value("${atlas.security.hashing.threads:0}") int threads,
+            @Value("${atlas.security.hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${atlas.security.hashing.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hashing-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for its result.
+     */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                totalWaitNanos.addAndGet(System.nanoTime() - submittedAt);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            log.warn("Password hashing saturated: {} active, {} queued, {} rejected so far",
+                    executor.getActiveCount(), executor.getQueue().size(), rejectedCount.get());
+            throw new HashingCapacityExceededException("Too many concurrent login attempts, please retry");
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.incrementAndGet();
+            throw new HashingCapacityExceededException("Password hashing timed out, please retry");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueRemainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Mean time tasks spent queued before a worker picked them up.
+     */
+    public double getAverageQueueWaitMillis() {
+        long started = executor.getCompletedTaskCount() + executor.getActiveCount();
+        return started == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / started;
+    }
+
+    public Stats getStats() {
+        return Stats.builder()
+                .poolSize(getPoolSize())
+                .activeCount(getActiveCount())
+                .queueDepth(getQueueDepth())
+                .queueRemainingCapacity(getQueueRemainingCapacity())
+                .completedCount(getCompletedCount())
+                .rejectedCount(getRejectedCount())
+                .averageQueueWaitMillis(getAverageQueueWaitMillis())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Getter
+    @Builder
+    public static class Stats {
+        private final int poolSize;
+        private final int activeCount;
+        private final int queueDepth;
+        private final int queueRemainingCapacity;
+        private final long completedCount;
+        private final long rejectedCount;
+        private final double averageQueueWaitMillis;
+    }
+}
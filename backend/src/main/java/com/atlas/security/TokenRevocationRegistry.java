@@ -0,0 +1,59 @@
+package com.atlas.security;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token revocation, checked on every request without touching the database.
+ * Tracks single revoked tokens (logout) until they expire, and a per-user cutoff
+ * up to which all tokens but one are invalid (password change).
+ *
+ * State is per instance and lost on restart; tokens remain bounded by jwt.expiration.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Cutoff> cutoffByUser = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.getTokenId() != null && revokedTokens.containsKey(token.getTokenId())) {
+            return true;
+        }
+        if (token.getUserId() == null) {
+            return false;
+        }
+        Cutoff cutoff = cutoffByUser.get(token.getUserId());
+        if (cutoff == null || token.getIssuedAt() == null || token.getIssuedAt().isAfter(cutoff.at())) {
+            return false;
+        }
+        return token.getTokenId() == null || !token.getTokenId().equals(cutoff.keptTokenId());
+    }
+
+    public void revoke(VerifiedToken token) {
+        purgeExpired();
+        if (token.getTokenId() != null) {
+            revokedTokens.put(token.getTokenId(), token.getExpiresAt() != null ? token.getExpiresAt() : Instant.MAX);
+        }
+    }
+
+    /**
+     * Invalidates every token of the user issued up to the given instant except
+     * the one with keptTokenId (null keeps none). iat has whole-second precision,
+     * so tokens issued in the cutoff's second count as issued up to it.
+     */
+    public void revokeAllExcept(Long userId, Instant cutoff, String keptTokenId) {
+        cutoffByUser.merge(userId, new Cutoff(cutoff, keptTokenId), (a, b) -> a.at().isAfter(b.at()) ? a : b);
+    }
+
+    private record Cutoff(Instant at, String keptTokenId) {
+    }
+
+    private void purgeExpired() {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+}
@@ -0,0 +1,30 @@
+package com.atlas.security;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked.
+ * Produced by a single parse in JwtTokenProvider.verify.
+ */
+@Getter
+@Builder
+@ToString
+public class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    // Null for tokens issued before the id claims were added
+    private final Long userId;
+    private final Long employeeId;
+    private final String impersonator;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public boolean isImpersonation() {
+        return impersonator != null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.atlas.service;
+
+import com.atlas.entity.Employee;
+import com.atlas.entity.User;
+import com.atlas.security.AccessScope;
+import com.atlas.security.AtlasPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Picks the cheapest AccessScope form for a user's subtree:
+ * ALL when the subtree covers every employee, IDS for small teams, and a
+ * closure-table semi-join (SUBTREE) above the configured threshold.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessScopeResolver {
+
+    private final HierarchyIndex hierarchyIndex;
+    private final EmployeeHierarchyService employeeHierarchyService;
+
+    @Value("${atlas.access-scope.ids-threshold:200}")
+    private int idsThreshold;
+
+    /**
+     * Returns the scope for the user, reusing the one already computed for the
+     * current request when the user is the authenticated principal.
+     */
+    public AccessScope resolve(User user) {
+        return AtlasPrincipal.current()
+                .filter(principal -> principal.getUserId() != null && principal.getUserId().equals(user.getId()))
+                .map(AtlasPrincipal::getAccessScope)
+                .orElseGet(() -> compute(user));
+    }
+
+    public AccessScope compute(User user) {
+        Employee employee = user.getEmployee();
+        if (employee == null) {
+            return AccessScope.none();
+        }
+        return computeForEmployee(employee.getId());
+    }
+
+    /**
+     * Returns the scope rooted at the employee, as seen by a user linked to it.
+     */
+    public AccessScope computeForEmployee(Long rootId) {
+        List<Long> subtreeIds = hierarchyIndex.getSubtreeIds(rootId);
+        if (subtreeIds.isEmpty()) {
+            // Not in the snapshot yet (created in a transaction that hasn't committed)
+            subtreeIds = employeeHierarchyService.getSubtreeIds(rootId);
+        } else if (subtreeIds.size() == hierarchyIndex.size()) {
+            return AccessScope.all();
+        }
+
+        if (subtreeIds.size() <= idsThreshold) {
+            return AccessScope.ids(subtreeIds);
+        }
+        return AccessScope.subtree(rootId, subtreeIds);
+    }
+}
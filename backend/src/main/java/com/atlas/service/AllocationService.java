@@ -1,32 +1,57 @@
 package com.atlas.service;
 
 import com.atlas.dto.AllocationDTO;
+import com.atlas.dto.AllocationFacetsDTO;
+import com.atlas.dto.AllocationTimelineDTO;
+import com.atlas.dto.CursorSlice;
 import com.atlas.dto.EmployeeAllocationSummaryDTO;
+import com.atlas.dto.EmployeeTimelineDTO;
+import com.atlas.dto.FacetValueDTO;
 import com.atlas.dto.MonthlyAllocationDTO;
+import com.atlas.dto.ProjectTimelineDTO;
 import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
 import com.atlas.entity.Employee;
+import com.atlas.entity.EmployeeMonthStatus;
 import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.Project;
 import com.atlas.entity.User;
 import com.atlas.repository.AllocationRepository;
+import com.atlas.repository.AllocationYearRepository;
 import com.atlas.repository.EmployeeRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
 import com.atlas.repository.ProjectRepository;
+import com.atlas.repository.projection.AllocationRow;
+import com.atlas.repository.projection.AllocationTimelineRow;
+import com.atlas.repository.projection.EmployeeSummaryRow;
+import com.atlas.repository.projection.RowSelection;
+import com.atlas.security.AccessScope;
 import com.atlas.specification.AllocationSpecification;
 import com.atlas.specification.EmployeeSpecification;
+import com.atlas.specification.NameCursor;
+import com.atlas.specification.TextSearch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,16 +59,27 @@ import java.util.stream.Collectors;
 public class AllocationService {
 
     private final AllocationRepository allocationRepository;
-    private final MonthlyAllocationRepository monthlyAllocationRepository;
+    private final AllocationYearRepository allocationYearRepository;
     private final EmployeeRepository employeeRepository;
     private final ProjectRepository projectRepository;
     private final EmployeeService employeeService;
+    private final HierarchyIndex hierarchyIndex;
+    private final ProjectVisibilityIndex projectVisibilityIndex;
+    private final EmployeeMonthStatusService employeeMonthStatusService;
+    private final DataVersions dataVersions;
+    private final ChunkedStreamer chunkedStreamer;
+    private final TotalCountCache totalCountCache;
 
-    public List<AllocationDTO> getAllAllocations(User currentUser) {
-        List<Allocation> allocations = getFilteredAllocations(currentUser);
-        return allocations.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Every allocation the user can see, handed to the sink chunk by chunk
+     * instead of materializing the whole list.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllAllocations(User currentUser, Consumer<AllocationDTO> sink) {
+        AccessScope scope = currentUser.isTopLevel() ? AccessScope.all() : employeeService.getAccessScope(currentUser);
+        LocalDate today = LocalDate.now();
+        chunkedStreamer.forEachChunk(allocationRepository.streamInScope(scope),
+                allocations -> toDTOsWithMonths(allocations, today.getYear(), today.getMonthValue()).forEach(sink));
     }
 
     // Paginated version with search and filters - uses database-level pagination
@@ -51,6 +87,80 @@ public class AllocationService {
             Pageable pageable, String search, String allocationType, Long managerId,
             Integer year, Integer month) {
 
+        Specification<Allocation> spec = listingSpec(currentUser, search, allocationType, managerId, year, month);
+        if (spec == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Slice<AllocationRow> rows = allocationRepository.findRowSlice(spec, pageable, currentMonthRows());
+        Page<AllocationRow> page = PageableExecutionUtils.getPage(rows.getContent(), pageable,
+                () -> allocationRepository.count(spec));
+        return toDTOs(page);
+    }
+
+    /**
+     * Same as above with a choice of how the total is obtained: with CACHED
+     * or NONE the page is read without its count query.
+     */
+    public Slice<AllocationDTO> getAllAllocations(User currentUser,
+            Pageable pageable, CountMode count, String search, String allocationType, Long managerId,
+            Integer year, Integer month) {
+        if (count == CountMode.EXACT) {
+            return getAllAllocations(currentUser, pageable, search, allocationType, managerId, year, month);
+        }
+
+        Specification<Allocation> spec = listingSpec(currentUser, search, allocationType, managerId, year, month);
+        if (spec == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Slice<AllocationRow> rows = allocationRepository.findRowSlice(spec, pageable, currentMonthRows());
+        if (count == CountMode.CACHED) {
+            rows = totalCountCache.toPage(rows,
+                    Arrays.asList("allocations", currentUser.getId(), search, allocationType, managerId, year, month),
+                    () -> allocationRepository.count(spec),
+                    DataVersions.Aggregate.ALLOCATIONS, DataVersions.Aggregate.EMPLOYEES);
+        }
+        return toDTOs(rows);
+    }
+
+    /**
+     * Listing rows carry the current month's percentage, like toDTO(Allocation).
+     */
+    private static RowSelection<Allocation, AllocationRow> currentMonthRows() {
+        LocalDate today = LocalDate.now();
+        return AllocationRow.inMonth(today.getYear(), today.getMonthValue());
+    }
+
+    /**
+     * DTOs for a page of allocation rows, with the monthly rows of the whole
+     * page read in one query; keeps the page's total if it has one.
+     */
+    private Slice<AllocationDTO> toDTOs(Slice<AllocationRow> rows) {
+        Map<Long, List<MonthlyAllocationDTO>> monthsByAllocation = monthsOf(rows.getContent());
+        return rows.map(row -> toDTO(row, monthsByAllocation.getOrDefault(row.id(), List.of())));
+    }
+
+    private Page<AllocationDTO> toDTOs(Page<AllocationRow> rows) {
+        Map<Long, List<MonthlyAllocationDTO>> monthsByAllocation = monthsOf(rows.getContent());
+        return rows.map(row -> toDTO(row, monthsByAllocation.getOrDefault(row.id(), List.of())));
+    }
+
+    private Map<Long, List<MonthlyAllocationDTO>> monthsOf(List<AllocationRow> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> allocationIds = rows.stream().map(AllocationRow::id).collect(Collectors.toList());
+        return allocationYearRepository.findDTOsByAllocationIds(allocationIds).stream()
+                .collect(Collectors.groupingBy(MonthlyAllocationDTO::getAllocationId));
+    }
+
+    /**
+     * Allocations-page filters for the user, or null when the user can see no one.
+     */
+    private Specification<Allocation> listingSpec(User currentUser, String search, String allocationType,
+            Long managerId, Integer year, Integer month) {
+
         // Default to current month if not provided
         if (year == null) {
             year = LocalDate.now().getYear();
@@ -71,130 +181,193 @@ public class AllocationService {
         String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim()
                 : null;
 
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
-        if (accessibleIds != null && accessibleIds.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, 0);
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        if (scope.isEmpty()) {
+            return null;
         }
 
-        Specification<Allocation> spec = AllocationSpecification
-                .withFilters(allocationTypeEnum, managerId, searchParam, accessibleIds, year, month);
-
-        Page<Allocation> allocationPage = allocationRepository.findAll(spec, pageable);
-        return allocationPage.map(this::toDTO);
+        return AllocationSpecification
+                .withFilters(allocationTypeEnum, managerId, searchParam, scope, year, month);
     }
 
     public Page<EmployeeAllocationSummaryDTO> getGroupedAllocations(User currentUser,
             Pageable pageable, String search, String allocationType, Long managerId,
             Integer year, Integer month) {
 
-        // Default to current month if not provided
-        if (year == null) {
-            year = LocalDate.now().getYear();
-        }
-        if (month == null) {
-            month = LocalDate.now().getMonthValue();
+        GroupedFilter filter = new GroupedFilter(search, allocationType, managerId, year, month);
+
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        if (scope.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
         }
 
-        final boolean isBenchFilter = "BENCH".equalsIgnoreCase(allocationType);
+        Specification<Employee> spec = filter.toSpec(scope);
+        Slice<EmployeeSummaryRow> rows = employeeRepository.findRowSlice(spec, pageable, EmployeeSummaryRow.SELECTION);
 
-        Allocation.AllocationType temp = null;
-        if (!isBenchFilter && allocationType != null && !allocationType.trim().isEmpty()) {
-            try {
-                temp = Allocation.AllocationType.valueOf(allocationType.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Not a valid type, ignore
-            }
+        return PageableExecutionUtils.getPage(summarize(rows.getContent(), filter), pageable,
+                () -> employeeRepository.count(spec));
+    }
+
+    /**
+     * Same as above with a choice of how the total is obtained: with CACHED
+     * or NONE the page is read without its count query.
+     */
+    public Slice<EmployeeAllocationSummaryDTO> getGroupedAllocations(User currentUser,
+            Pageable pageable, CountMode count, String search, String allocationType, Long managerId,
+            Integer year, Integer month) {
+        if (count == CountMode.EXACT) {
+            return getGroupedAllocations(currentUser, pageable, search, allocationType, managerId, year, month);
         }
-        final Allocation.AllocationType filterTypeEnum = temp;
 
-        String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
-        int currentYear = year;
-        int currentMonth = month;
+        GroupedFilter filter = new GroupedFilter(search, allocationType, managerId, year, month);
 
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
-        if (accessibleIds != null && accessibleIds.isEmpty()) {
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        if (scope.isEmpty()) {
             return new PageImpl<>(List.of(), pageable, 0);
         }
 
-        // Build employee filter specification
-        Specification<Employee> spec;
+        Specification<Employee> spec = filter.toSpec(scope);
+        Slice<EmployeeSummaryRow> rows = employeeRepository.findRowSlice(spec, pageable, EmployeeSummaryRow.SELECTION);
+        if (count == CountMode.CACHED) {
+            rows = totalCountCache.toPage(rows,
+                    Arrays.asList("grouped", currentUser.getId(), filter.search, filter.bench, filter.type,
+                            managerId, filter.year, filter.month),
+                    () -> employeeRepository.count(spec),
+                    DataVersions.Aggregate.EMPLOYEES, DataVersions.Aggregate.ALLOCATIONS);
+        }
 
-        if (isBenchFilter) {
-            // BENCH: employees with no allocations
-            spec = EmployeeSpecification.withFilters(
-                    searchParam, null, managerId, "BENCH", accessibleIds, null, currentYear, currentMonth);
-        } else if (filterTypeEnum != null) {
-            // Allocation type filter: get employees who have at least one allocation of this type
-            // Use base filters (search, manager, access) + allocation type existence check
-            spec = EmployeeSpecification.baseFiltersWithAllocationType(
-                    searchParam, managerId, accessibleIds, filterTypeEnum, currentYear, currentMonth);
-        } else {
-            // No type filter: get all employees
-            spec = EmployeeSpecification.withFilters(
-                    searchParam, null, managerId, null, accessibleIds, null, currentYear, currentMonth);
+        List<EmployeeAllocationSummaryDTO> summaries = summarize(rows.getContent(), filter);
+        return rows instanceof Page<EmployeeSummaryRow> page
+                ? new PageImpl<>(summaries, pageable, page.getTotalElements())
+                : new SliceImpl<>(summaries, pageable, rows.hasNext());
+    }
+
+    /**
+     * Keyset-paginated version of the above: the employees after the cursor
+     * in name, id order, so a deep page costs the same as the first.
+     */
+    public CursorSlice<EmployeeAllocationSummaryDTO> getGroupedAllocations(User currentUser,
+            NameCursor after, int size, String search, String allocationType, Long managerId,
+            Integer year, Integer month) {
+
+        GroupedFilter filter = new GroupedFilter(search, allocationType, managerId, year, month);
+
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        if (scope.isEmpty()) {
+            return new CursorSlice<>(List.of(), size, null);
         }
 
-        Page<Employee> employeePage = employeeRepository.findAll(spec, pageable);
+        Slice<EmployeeSummaryRow> rows = employeeRepository.findRowSliceAfter(filter.toSpec(scope), after, size,
+                EmployeeSummaryRow.SELECTION);
 
-        List<Employee> employees = employeePage.getContent();
-        if (employees.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, employeePage.getTotalElements());
+        return new CursorSlice<>(summarize(rows.getContent(), filter), size,
+                NameCursor.next(rows, row -> NameCursor.of(row.name(), row.id())));
+    }
+
+    /**
+     * Normalized filters of the grouped view, shared by its offset and keyset
+     * variants.
+     */
+    private static final class GroupedFilter {
+        final boolean bench;
+        final Allocation.AllocationType type;
+        final String search;
+        final Long managerId;
+        final int year;
+        final int month;
+
+        GroupedFilter(String search, String allocationType, Long managerId, Integer year, Integer month) {
+            this.bench = "BENCH".equalsIgnoreCase(allocationType);
+
+            Allocation.AllocationType temp = null;
+            if (!bench && allocationType != null && !allocationType.trim().isEmpty()) {
+                try {
+                    temp = Allocation.AllocationType.valueOf(allocationType.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    // Not a valid type, ignore
+                }
+            }
+            this.type = temp;
+
+            this.search = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
+            this.managerId = managerId;
+            // Default to current month if not provided
+            this.year = year != null ? year : LocalDate.now().getYear();
+            this.month = month != null ? month : LocalDate.now().getMonthValue();
         }
 
-        // Batch-fetch allocations for the employees on this page
-        List<Long> employeeIds = employees.stream()
-                .map(Employee::getId)
-                .collect(Collectors.toList());
+        Specification<Employee> toSpec(AccessScope scope) {
+            return filterSpec(scope).and(EmployeeSpecification.byRelevance(search));
+        }
 
-        Specification<Allocation> allocationSpec;
-        if (isBenchFilter) {
-            allocationSpec = null; // Bench employees have no active allocations
-        } else {
-            allocationSpec = AllocationSpecification.withFilters(
-                    filterTypeEnum, null, null, employeeIds, currentYear, currentMonth);
+        private Specification<Employee> filterSpec(AccessScope scope) {
+            if (bench) {
+                // BENCH: employees with no allocations
+                return EmployeeSpecification.withFilters(
+                        search, null, managerId, "BENCH", scope, null, year, month);
+            }
+            if (type != null) {
+                // Allocation type filter: get employees who have at least one allocation of this type
+                // Use base filters (search, manager, access) + allocation type existence check
+                return EmployeeSpecification.baseFiltersWithAllocationType(
+                        search, managerId, scope, type, year, month);
+            }
+            // No type filter: get all employees
+            return EmployeeSpecification.withFilters(
+                    search, null, managerId, null, scope, null, year, month);
         }
+    }
 
-        List<Allocation> allocations = isBenchFilter ? List.of() : allocationRepository.findAll(allocationSpec);
+    /**
+     * Allocation summaries for one page of employees, in page order.
+     */
+    private List<EmployeeAllocationSummaryDTO> summarize(List<EmployeeSummaryRow> employees, GroupedFilter filter) {
+        if (employees.isEmpty()) {
+            return List.of();
+        }
 
-        // Get allocation IDs for batch-fetching monthly allocations
-        List<Long> allocationIds = allocations.stream()
-                .map(Allocation::getId)
+        // Batch-fetch allocations for the employees on this page, with their
+        // percentage in the selected month (bench employees have no active allocations)
+        List<Long> employeeIds = employees.stream()
+                .map(EmployeeSummaryRow::id)
                 .collect(Collectors.toList());
 
-        // Batch-fetch monthly allocations for current year/month
-        Map<Long, Integer> currentMonthAllocations = allocationIds.isEmpty() ? java.util.Map.of()
-                : monthlyAllocationRepository
-                        .findByAllocationIdsAndYearAndMonth(allocationIds, currentYear, currentMonth)
-                        .stream()
-                        .collect(Collectors.toMap(
-                                ma -> ma.getAllocation().getId(),
-                                ma -> ma.getPercentage(),
-                                (a, b) -> a));
+        List<AllocationRow> allocations = filter.bench ? List.of()
+                : allocationRepository.findRows(
+                        AllocationSpecification.withFilters(
+                                filter.type, null, null, AccessScope.ids(employeeIds), filter.year, filter.month),
+                        AllocationRow.inMonth(filter.year, filter.month));
+
+        Map<Long, List<MonthlyAllocationDTO>> monthsByAllocation = monthsOf(allocations);
 
         // Group allocations by employee ID
-        Map<Long, List<Allocation>> allocationsByEmployee = allocations.stream()
-                .collect(Collectors.groupingBy(a -> a.getEmployee().getId()));
-
-        // Fetch distinct project counts directly from the DB, filtered by allocation type
-        // For BENCH, filterTypeEnum is null, so we won't count any projects (BENCH employees have no allocations)
-        // For PROJECT/PROSPECT/etc., we count only projects matching that type
-        String allocationTypeString = filterTypeEnum != null ? filterTypeEnum.name() : null;
-        Map<Long, Long> projectCountMap = monthlyAllocationRepository
-                .findDistinctProjectCountByEmployeeIdsAndYearMonth(employeeIds, currentYear, currentMonth, allocationTypeString)
-                .stream()
-                .collect(Collectors.toMap(
-                        row -> (Long) row[0],
-                        row -> (Long) row[1]));
+        Map<Long, List<AllocationRow>> allocationsByEmployee = allocations.stream()
+                .collect(Collectors.groupingBy(AllocationRow::employeeId));
+
+        // Fetch distinct project counts, filtered by allocation type
+        // For BENCH, filter.type is null, so we won't count any projects (BENCH employees have no allocations)
+        // Unfiltered counts come from the status read model; per-type counts still need the monthly rows
+        Map<Long, Long> projectCountMap;
+        if (filter.type == null && EmployeeMonthStatus.isMaterialized(filter.year, filter.month)) {
+            projectCountMap = employeeMonthStatusService.getProjectCounts(employeeIds, filter.year, filter.month);
+        } else {
+            String allocationTypeString = filter.type != null ? filter.type.name() : null;
+            projectCountMap = allocationYearRepository
+                    .findDistinctProjectCountByEmployeeIdsAndYearMonth(employeeIds, filter.year, filter.month,
+                            allocationTypeString)
+                    .stream()
+                    .collect(Collectors.toMap(
+                            row -> (Long) row[0],
+                            row -> (Long) row[1]));
+        }
 
         // Build summary DTOs for each employee on the page
         List<EmployeeAllocationSummaryDTO> summaries = employees.stream()
                 .map(emp -> {
                     // Allocations are perfectly filtered from the DB mapping
-                    List<Allocation> filteredAllocations = allocationsByEmployee
-                            .getOrDefault(emp.getId(), List.of());
-
-                    List<AllocationDTO> allocationDTOs = filteredAllocations.stream()
-                            .map(a -> toDTOWithCurrentMonth(a, currentYear, currentMonth, currentMonthAllocations))
+                    List<AllocationDTO> allocationDTOs = allocationsByEmployee
+                            .getOrDefault(emp.id(), List.of()).stream()
+                            .map(a -> toDTO(a, monthsByAllocation.getOrDefault(a.id(), List.of())))
                             .collect(Collectors.toList());
 
                     double totalPercentage = allocationDTOs.stream()
@@ -204,19 +377,18 @@ public class AllocationService {
                             .sum();
 
                     return EmployeeAllocationSummaryDTO.builder()
-                            .employeeId(emp.getId())
-                            .employeeName(emp.getName())
-                            .employeeEmail(emp.getEmail())
-                            .employeeOracleId(emp.getOracleId() != null ? String.valueOf(emp.getOracleId()) : null)
-                            .managerName(emp.getManager() != null ? emp.getManager().getName() : null)
+                            .employeeId(emp.id())
+                            .employeeName(emp.name())
+                            .employeeEmail(emp.email())
+                            .employeeOracleId(emp.oracleId() != null ? String.valueOf(emp.oracleId()) : null)
+                            .managerName(emp.managerName())
                             .totalAllocationPercentage(totalPercentage)
-                            .projectCount(projectCountMap.getOrDefault(emp.getId(), 0L).intValue())
+                            .projectCount(projectCountMap.getOrDefault(emp.id(), 0L).intValue())
                             .allocations(allocationDTOs)
                             .build();
                 }).collect(Collectors.toList());
 
-        return new PageImpl<>(summaries, pageable, employeePage.getTotalElements());
-
+        return summaries;
     }
 
     public AllocationDTO getAllocationById(Long id, User currentUser) {
@@ -235,35 +407,34 @@ public class AllocationService {
         if (month == null)
             month = LocalDate.now().getMonthValue();
 
-        final int targetYear = year;
-        final int targetMonth = month;
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        return toDTOsWithMonths(allocationRepository.findByEmployeeIdInScope(employeeId, scope), year, month);
+    }
 
-        List<Allocation> allEmployeeAllocations = allocationRepository.findByEmployeeIdWithDetails(employeeId).stream()
-                .filter(a -> hasAccessToAllocation(currentUser, a))
-                .collect(Collectors.toList());
+    public List<AllocationDTO> getAllocationsByProject(Long projectId, User currentUser) {
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        LocalDate now = LocalDate.now();
+        return toDTOsWithMonths(allocationRepository.findByProjectIdInScope(projectId, scope),
+                now.getYear(), now.getMonthValue());
+    }
 
-        List<Long> allocationIds = allEmployeeAllocations.stream()
+    /**
+     * Maps allocations to DTOs with a single query for all their monthly rows,
+     * so the statement count does not grow with the number of allocations.
+     */
+    private List<AllocationDTO> toDTOsWithMonths(List<Allocation> allocations, int year, int month) {
+        if (allocations.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> allocationIds = allocations.stream()
                 .map(Allocation::getId)
                 .collect(Collectors.toList());
+        Map<Long, List<MonthlyAllocation>> monthsByAllocation = allocationYearRepository
+                .findByAllocationIds(allocationIds).stream()
+                .collect(Collectors.groupingBy(ma -> ma.getAllocation().getId()));
 
-        Map<Long, Integer> currentMonthAllocations = allocationIds.isEmpty() ? Map.of()
-                : monthlyAllocationRepository
-                        .findByAllocationIdsAndYearAndMonth(allocationIds, targetYear, targetMonth)
-                        .stream()
-                        .collect(Collectors.toMap(
-                                ma -> ma.getAllocation().getId(),
-                                MonthlyAllocation::getPercentage,
-                                (a, b) -> a));
-
-        return allEmployeeAllocations.stream()
-                .map(a -> toDTOWithCurrentMonth(a, targetYear, targetMonth, currentMonthAllocations))
-                .collect(Collectors.toList());
-    }
-
-    public List<AllocationDTO> getAllocationsByProject(Long projectId, User currentUser) {
-        return allocationRepository.findByProjectIdWithDetails(projectId).stream()
-                .filter(a -> hasAccessToAllocation(currentUser, a))
-                .map(this::toDTO)
+        return allocations.stream()
+                .map(a -> toDTO(a, year, month, monthsByAllocation.getOrDefault(a.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
@@ -298,12 +469,13 @@ public class AllocationService {
                 .startDate(dto.getStartDate())
                 .endDate(dto.getEndDate())
                 .allocationType(allocationType)
-                .monthlyAllocations(new ArrayList<>())
                 .build();
 
         allocation = allocationRepository.save(allocation);
+        projectVisibilityIndex.onAllocationCreated(allocation);
 
         // Create monthly allocations for the entire date range if percentage provided
+        Map<YearMonth, Integer> percentages = new TreeMap<>();
         if (dto.getMonthlyAllocations() != null && !dto.getMonthlyAllocations().isEmpty()
                 && (allocationType == Allocation.AllocationType.PROJECT
                         || allocationType == Allocation.AllocationType.PROSPECT)) {
@@ -315,13 +487,7 @@ public class AllocationService {
                                     + ". Must be between 1 and 100.");
                 }
 
-                MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                        .allocation(allocation)
-                        .year(monthDto.getYear())
-                        .month(monthDto.getMonth())
-                        .percentage(monthDto.getPercentage())
-                        .build();
-                monthlyAllocationRepository.save(monthlyAlloc);
+                percentages.put(YearMonth.of(monthDto.getYear(), monthDto.getMonth()), monthDto.getPercentage());
             }
         } else if (dto.getCurrentMonthAllocation() != null &&
                 (allocationType == Allocation.AllocationType.PROJECT
@@ -337,13 +503,7 @@ public class AllocationService {
                 LocalDate endMonth = end.withDayOfMonth(1);
 
                 while (!current.isAfter(endMonth)) {
-                    MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                            .allocation(allocation)
-                            .year(current.getYear())
-                            .month(current.getMonthValue())
-                            .percentage(dto.getCurrentMonthAllocation())
-                            .build();
-                    monthlyAllocationRepository.save(monthlyAlloc);
+                    percentages.put(YearMonth.from(current), dto.getCurrentMonthAllocation());
                     current = current.plusMonths(1);
                 }
             } else {
@@ -351,20 +511,33 @@ public class AllocationService {
                 int year = dto.getYear() != null ? dto.getYear() : LocalDate.now().getYear();
                 int month = LocalDate.now().getMonthValue();
 
-                MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                        .allocation(allocation)
-                        .year(year)
-                        .month(month)
-                        .percentage(dto.getCurrentMonthAllocation())
-                        .build();
-                monthlyAllocationRepository.save(monthlyAlloc);
+                percentages.put(YearMonth.of(year, month), dto.getCurrentMonthAllocation());
             }
         }
+        saveMonths(allocation, percentages);
+
+        employeeMonthStatusService.refreshEmployee(employee.getId());
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.ALLOCATIONS);
 
         allocation = allocationRepository.findByIdWithDetails(allocation.getId()).orElse(allocation);
         return toDTO(allocation);
     }
 
+    /**
+     * Writes the month percentages into the allocation's year vectors, with
+     * one read and one save per year instead of per month.
+     */
+    private void saveMonths(Allocation allocation, Map<YearMonth, Integer> percentages) {
+        Map<Integer, List<YearMonth>> monthsByYear = percentages.keySet().stream()
+                .collect(Collectors.groupingBy(YearMonth::getYear, TreeMap::new, Collectors.toList()));
+        monthsByYear.forEach((year, months) -> {
+            AllocationYear row = allocationYearRepository.findByAllocationIdAndYear(allocation.getId(), year)
+                    .orElseGet(() -> AllocationYear.builder().allocation(allocation).year(year).build());
+            months.forEach(ym -> row.setPercentage(ym.getMonthValue(), percentages.get(ym)));
+            allocationYearRepository.save(row);
+        });
+    }
+
     private void validateAllocationPercentage(Integer percentage) {
         if (percentage == null) {
             return;
@@ -386,6 +559,7 @@ public class AllocationService {
                             "Delete this allocation and create a new one with the desired type.");
         }
 
+        Map<YearMonth, Integer> percentages = new TreeMap<>();
         if (dto.getMonthlyAllocations() != null && !dto.getMonthlyAllocations().isEmpty()
                 && (allocation.getAllocationType() == Allocation.AllocationType.PROJECT
                         || allocation.getAllocationType() == Allocation.AllocationType.PROSPECT)) {
@@ -395,22 +569,7 @@ public class AllocationService {
                     throw new RuntimeException("Invalid percentage. Must be between 1 and 100.");
                 }
 
-                MonthlyAllocation existing = monthlyAllocationRepository
-                        .findByAllocationIdAndYearAndMonth(id, monthDto.getYear(), monthDto.getMonth())
-                        .orElse(null);
-
-                if (existing != null) {
-                    existing.setPercentage(monthDto.getPercentage());
-                    monthlyAllocationRepository.save(existing);
-                } else {
-                    MonthlyAllocation newMonthlyAlloc = MonthlyAllocation.builder()
-                            .allocation(allocation)
-                            .year(monthDto.getYear())
-                            .month(monthDto.getMonth())
-                            .percentage(monthDto.getPercentage())
-                            .build();
-                    monthlyAllocationRepository.save(newMonthlyAlloc);
-                }
+                percentages.put(YearMonth.of(monthDto.getYear(), monthDto.getMonth()), monthDto.getPercentage());
             }
         } else if (dto.getCurrentMonthAllocation() != null
                 && (allocation.getAllocationType() == Allocation.AllocationType.PROJECT
@@ -436,22 +595,7 @@ public class AllocationService {
                             (yearLocal == currentSystemYear && monthLocal < currentSystemMonth);
 
                     if (!isPastMonth) {
-                        MonthlyAllocation existing = monthlyAllocationRepository
-                                .findByAllocationIdAndYearAndMonth(id, yearLocal, monthLocal)
-                                .orElse(null);
-
-                        if (existing != null) {
-                            existing.setPercentage(dto.getCurrentMonthAllocation());
-                            monthlyAllocationRepository.save(existing);
-                        } else {
-                            MonthlyAllocation newMonthlyAlloc = MonthlyAllocation.builder()
-                                    .allocation(allocation)
-                                    .year(yearLocal)
-                                    .month(monthLocal)
-                                    .percentage(dto.getCurrentMonthAllocation())
-                                    .build();
-                            monthlyAllocationRepository.save(newMonthlyAlloc);
-                        }
+                        percentages.put(YearMonth.of(yearLocal, monthLocal), dto.getCurrentMonthAllocation());
                     }
                     current = current.plusMonths(1);
                 }
@@ -459,50 +603,26 @@ public class AllocationService {
                 int currentYear = LocalDate.now().getYear();
                 int currentMonth = LocalDate.now().getMonthValue();
 
-                MonthlyAllocation existing = monthlyAllocationRepository
-                        .findByAllocationIdAndYearAndMonth(id, currentYear, currentMonth)
-                        .orElse(null);
-
-                if (existing != null) {
-                    existing.setPercentage(dto.getCurrentMonthAllocation());
-                    monthlyAllocationRepository.save(existing);
-                } else {
-                    MonthlyAllocation newMonthlyAlloc = MonthlyAllocation.builder()
-                            .allocation(allocation)
-                            .year(currentYear)
-                            .month(currentMonth)
-                            .percentage(dto.getCurrentMonthAllocation())
-                            .build();
-                    monthlyAllocationRepository.save(newMonthlyAlloc);
-                }
+                percentages.put(YearMonth.of(currentYear, currentMonth), dto.getCurrentMonthAllocation());
             }
         }
+        saveMonths(allocation, percentages);
 
         allocation = allocationRepository.save(allocation);
+        employeeMonthStatusService.refreshEmployee(allocation.getEmployee().getId());
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.ALLOCATIONS);
         return toDTO(allocation);
     }
 
     @Transactional
     public void deleteAllocation(Long id) {
-        if (!allocationRepository.existsById(id)) {
-            throw new RuntimeException("Allocation not found: " + id);
-        }
+        Allocation allocation = allocationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Allocation not found: " + id));
         // Monthly allocations will be deleted automatically due to CascadeType.ALL
-        allocationRepository.deleteById(id);
-    }
-
-    private List<Allocation> getFilteredAllocations(User user) {
-        if (user.isTopLevel()) {
-            return allocationRepository.findAllWithEmployeeAndProject();
-        }
-
-        List<Employee> accessible = employeeService.getAccessibleEmployees(user);
-        if (accessible.isEmpty()) {
-            return List.of();
-        }
-
-        List<Long> ids = accessible.stream().map(Employee::getId).collect(Collectors.toList());
-        return allocationRepository.findByEmployeeIdsWithDetails(ids);
+        allocationRepository.delete(allocation);
+        projectVisibilityIndex.onAllocationDeleted(allocation);
+        employeeMonthStatusService.refreshEmployee(allocation.getEmployee().getId());
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.ALLOCATIONS);
     }
 
     private boolean hasAccessToAllocation(User user, Allocation allocation) {
@@ -515,19 +635,8 @@ public class AllocationService {
             return false;
         }
 
-        Employee allocationEmployee = allocation.getEmployee();
-        if (userEmployee.getId().equals(allocationEmployee.getId())) {
-            return true;
-        }
-
-        Employee mgr = allocationEmployee.getManager();
-        while (mgr != null) {
-            if (mgr.getId().equals(userEmployee.getId())) {
-                return true;
-            }
-            mgr = mgr.getManager();
-        }
-        return false;
+        // O(1) interval check; no lazy walk up the manager chain
+        return hierarchyIndex.isInSubtree(userEmployee.getId(), allocation.getEmployee().getId());
     }
 
     private AllocationDTO toDTO(Allocation allocation) {
@@ -536,7 +645,7 @@ public class AllocationService {
 
         // Fetch ONLY the percentage value from database (Projection query)
         // This avoids lazy loading ALL monthlyAllocations and filtering in-memory
-        Integer currentMonthAlloc = monthlyAllocationRepository
+        Integer currentMonthAlloc = allocationYearRepository
                 .findPercentageByAllocationIdAndYearMonth(allocation.getId(), currentYear, currentMonth)
                 .orElse(null);
         Double allocationPercentage = currentMonthAlloc != null ? (double) currentMonthAlloc : 0.0;
@@ -544,7 +653,7 @@ public class AllocationService {
         List<MonthlyAllocationDTO> monthlyAllocations = allocation.getMonthlyAllocations() != null
                 ? allocation.getMonthlyAllocations().stream()
                         .map(ma -> MonthlyAllocationDTO.builder()
-                                .id(ma.getId())
+                                .id(AllocationYear.monthKey(ma.getYear(), ma.getMonth()))
                                 .allocationId(allocation.getId())
                                 .year(ma.getYear())
                                 .month(ma.getMonth())
@@ -572,22 +681,23 @@ public class AllocationService {
                 .build();
     }
 
-    private AllocationDTO toDTOWithCurrentMonth(Allocation allocation, int year, int month,
-            Map<Long, Integer> currentMonthAllocations) {
-        Integer currentMonthAlloc = currentMonthAllocations.get(allocation.getId());
+    private AllocationDTO toDTO(Allocation allocation, int year, int month, List<MonthlyAllocation> months) {
+        Integer currentMonthAlloc = months.stream()
+                .filter(ma -> Integer.valueOf(year).equals(ma.getYear()) && Integer.valueOf(month).equals(ma.getMonth()))
+                .map(MonthlyAllocation::getPercentage)
+                .findFirst()
+                .orElse(null);
         Double allocationPercentage = currentMonthAlloc != null ? (double) currentMonthAlloc : 0.0;
 
-        List<MonthlyAllocationDTO> monthlyAllocations = allocation.getMonthlyAllocations() != null
-                ? allocation.getMonthlyAllocations().stream()
-                        .map(ma -> MonthlyAllocationDTO.builder()
-                                .id(ma.getId())
-                                .allocationId(allocation.getId())
-                                .year(ma.getYear())
-                                .month(ma.getMonth())
-                                .percentage(ma.getPercentage())
-                                .build())
-                        .collect(Collectors.toList())
-                : new ArrayList<>();
+        List<MonthlyAllocationDTO> monthlyAllocations = months.stream()
+                .map(ma -> MonthlyAllocationDTO.builder()
+                        .id(AllocationYear.monthKey(ma.getYear(), ma.getMonth()))
+                        .allocationId(allocation.getId())
+                        .year(ma.getYear())
+                        .month(ma.getMonth())
+                        .percentage(ma.getPercentage())
+                        .build())
+                .collect(Collectors.toList());
 
         return AllocationDTO.builder()
                 .id(allocation.getId())
@@ -608,6 +718,29 @@ public class AllocationService {
                 .build();
     }
 
+    /**
+     * DTO of a projected row, whose month percentage is the one displayed.
+     */
+    private AllocationDTO toDTO(AllocationRow row, List<MonthlyAllocationDTO> months) {
+        Integer currentMonthAlloc = row.monthPercentage();
+        Double allocationPercentage = currentMonthAlloc != null ? (double) currentMonthAlloc : 0.0;
+
+        return AllocationDTO.builder()
+                .id(row.id())
+                .employeeId(row.employeeId())
+                .employeeName(row.employeeName())
+                .employeeOracleId(row.employeeOracleId() != null ? String.valueOf(row.employeeOracleId()) : null)
+                .projectId(row.projectId())
+                .projectName(row.projectName())
+                .startDate(row.startDate())
+                .endDate(row.endDate())
+                .allocationType(row.allocationType())
+                .currentMonthAllocation(currentMonthAlloc)
+                .allocationPercentage(allocationPercentage)
+                .monthlyAllocations(months)
+                .build();
+    }
+
     public List<Map<String, Object>> getManagersForAllocations(User currentUser, String allocationType, String search,
             String managerSearch, Integer year, Integer month) {
         // Default to current month if not provided
@@ -618,7 +751,7 @@ public class AllocationService {
             month = LocalDate.now().getMonthValue();
         }
 
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
+        AccessScope scope = employeeService.getAccessScope(currentUser);
 
         String searchTerm = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
         String managerSearchTerm = (managerSearch != null && !managerSearch.trim().isEmpty())
@@ -635,7 +768,7 @@ public class AllocationService {
         // This ensures managers shown have subordinates with allocations in the
         // selected month
         List<Employee> distinctManagers = employeeRepository.findDistinctManagersByEmployeeSpec(
-                searchTerm, null, null, statusParam, accessibleIds, managerSearchTerm, year, month);
+                searchTerm, null, null, statusParam, scope, managerSearchTerm, year, month);
 
         return distinctManagers.stream()
                 .map(m -> {
@@ -660,13 +793,13 @@ public class AllocationService {
 
         String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
 
-        // Get accessible employee IDs for ABAC filtering
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
+        // ABAC scope of the current user
+        AccessScope scope = employeeService.getAccessScope(currentUser);
 
         // Use custom repository method for DB-level distinct allocation types
         // This avoids in-memory distinct operations on large result sets
         List<Allocation.AllocationType> types = allocationRepository.findDistinctAllocationTypesBySpec(
-                managerId, searchParam, accessibleIds, year, month);
+                managerId, searchParam, scope, year, month);
 
         // Convert to list of strings (PROJECT, PROSPECT, VACATION, MATERNITY)
         List<String> typeNames = types.stream()
@@ -680,10 +813,8 @@ public class AllocationService {
         boolean shouldIncludeBench = (allocationType == null || allocationType.trim().isEmpty()
                 || "BENCH".equalsIgnoreCase(allocationType));
 
-        if (shouldIncludeBench && (accessibleIds == null || !accessibleIds.isEmpty())) {
-            String searchWithWildcards = (search != null && !search.trim().isEmpty())
-                    ? "%" + search.trim().toLowerCase() + "%"
-                    : null;
+        if (shouldIncludeBench && !scope.isEmpty()) {
+            String searchWithWildcards = TextSearch.containsPattern(search);
 
             // Use paginated query with page size 1 just to check if any bench employees
             // exist
@@ -692,7 +823,7 @@ public class AllocationService {
             // across all months since they have no allocations (per constitution)
             Specification<Employee> benchSpec = EmployeeSpecification
                     .withFilters(
-                            searchWithWildcards, null, managerId, "BENCH", accessibleIds, null, year, month);
+                            searchWithWildcards, null, managerId, "BENCH", scope, null, year, month);
 
             Page<Employee> benchPage = employeeRepository.findAll(benchSpec, Pageable.ofSize(1));
 
@@ -705,9 +836,9 @@ public class AllocationService {
     }
 
     public List<String> getAvailableMonths(User currentUser, String allocationType, Long managerId, String search) {
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
+        AccessScope scope = employeeService.getAccessScope(currentUser);
 
-        if (accessibleIds != null && accessibleIds.isEmpty()) {
+        if (scope.isEmpty()) {
             return List.of();
         }
 
@@ -732,7 +863,7 @@ public class AllocationService {
 
         // Get distinct year-month combinations from allocations matching filters
         List<String> availableMonths = allocationRepository.findDistinctAvailableMonths(
-                allocationTypeEnum, managerId, searchParam, accessibleIds);
+                allocationTypeEnum, managerId, searchParam, scope);
 
         // If no specific allocation type filter, show unlimited months
         // User can navigate to any time period - anyone without allocations appears as
@@ -745,6 +876,153 @@ public class AllocationService {
         return availableMonths;
     }
 
+    /**
+     * Month-by-month percentages over the range for every employee in scope
+     * with a percentage in it, read in one query over the year vectors that
+     * overlap the range. Each allocation becomes a dense vector aligned with
+     * the range's months; the employee's totals add up its PROJECT ones.
+     */
+    @Transactional(readOnly = true)
+    public AllocationTimelineDTO getTimeline(User currentUser, MonthRange range) {
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        List<String> months = range.labels();
+        if (scope.isEmpty()) {
+            return AllocationTimelineDTO.builder().months(months).employees(List.of()).build();
+        }
+
+        List<AllocationTimelineRow> rows = allocationRepository.findRows(
+                AllocationSpecification.withFilters(null, null, null, scope, null, null),
+                AllocationTimelineRow.between(range.from().getYear(), range.to().getYear()));
+
+        Map<Long, EmployeeTimelineDTO> employees = new LinkedHashMap<>();
+        Map<Long, ProjectTimelineDTO> projects = new HashMap<>();
+        for (AllocationTimelineRow row : rows) {
+            for (int month = 1; month <= AllocationYear.MONTHS; month++) {
+                Integer percentage = row.percentage(month);
+                int index = range.indexOf(YearMonth.of(row.year(), month));
+                if (percentage == null || index < 0) {
+                    continue;
+                }
+                EmployeeTimelineDTO employee = employees.computeIfAbsent(row.employeeId(),
+                        id -> EmployeeTimelineDTO.builder()
+                                .employeeId(id)
+                                .employeeName(row.employeeName())
+                                .totals(new ArrayList<>(Collections.nCopies(months.size(), 0)))
+                                .projects(new ArrayList<>())
+                                .build());
+                ProjectTimelineDTO project = projects.computeIfAbsent(row.allocationId(), id -> {
+                    ProjectTimelineDTO created = ProjectTimelineDTO.builder()
+                            .allocationId(id)
+                            .projectId(row.projectId())
+                            .projectName(row.projectName())
+                            .allocationType(row.allocationType())
+                            .percentages(new ArrayList<>(Collections.nCopies(months.size(), null)))
+                            .build();
+                    employee.getProjects().add(created);
+                    return created;
+                });
+                project.getPercentages().set(index, percentage);
+                if (row.allocationType() == Allocation.AllocationType.PROJECT) {
+                    employee.getTotals().set(index, employee.getTotals().get(index) + percentage);
+                }
+            }
+        }
+
+        List<EmployeeTimelineDTO> timeline = new ArrayList<>(employees.values());
+        timeline.sort(Comparator.comparing(EmployeeTimelineDTO::getEmployeeName)
+                .thenComparing(EmployeeTimelineDTO::getEmployeeId));
+        timeline.forEach(employee -> employee.getProjects().sort(Comparator.comparing(
+                ProjectTimelineDTO::getProjectName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ProjectTimelineDTO::getAllocationId)));
+        return AllocationTimelineDTO.builder().months(months).employees(timeline).build();
+    }
+
+    /**
+     * Allocation types, managers and available months for the allocations
+     * filter bar with their counts, from one scope resolution and one query.
+     * Follows getDistinctAllocationTypes and getAvailableMonths; the manager
+     * facet counts employees with an allocation of the selected type active
+     * in the month (or on the bench for BENCH).
+     */
+    public AllocationFacetsDTO getAllocationFacets(User currentUser, String allocationType, Long managerId,
+            String search, String managerSearch, Integer year, Integer month) {
+        if (year == null) {
+            year = LocalDate.now().getYear();
+        }
+        if (month == null) {
+            month = LocalDate.now().getMonthValue();
+        }
+
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        if (scope.isEmpty()) {
+            return AllocationFacetsDTO.builder()
+                    .allocationTypes(List.of()).managers(List.of()).availableMonths(List.of()).build();
+        }
+
+        String typeParam = (allocationType != null && !allocationType.trim().isEmpty()) ? allocationType.trim()
+                : null;
+        String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
+        String managerSearchParam = (managerSearch != null && !managerSearch.trim().isEmpty())
+                ? managerSearch.trim()
+                : null;
+
+        List<Object[]> rows = allocationRepository.findAllocationFacetCounts(typeParam, managerId, searchParam,
+                managerSearchParam, scope, year, month);
+
+        List<FacetValueDTO> types = new ArrayList<>();
+        FacetValueDTO benchType = null;
+        List<FacetValueDTO> managers = new ArrayList<>();
+        List<Long> monthKeys = new ArrayList<>();
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            long count = ((Number) row[3]).longValue();
+            if (count == 0) {
+                continue;
+            }
+            switch (facet) {
+                case "TYPE" -> {
+                    FacetValueDTO value = FacetValueDTO.builder().value((String) row[1]).count(count).build();
+                    if ("BENCH".equals(value.getValue())) {
+                        benchType = value;
+                    } else {
+                        types.add(value);
+                    }
+                }
+                case "MANAGER" -> managers.add(FacetValueDTO.builder()
+                        .id(((Number) row[2]).longValue())
+                        .value((String) row[1])
+                        .count(count)
+                        .build());
+                case "MONTH" -> monthKeys.add(((Number) row[2]).longValue());
+                default -> throw new IllegalStateException("Unknown facet: " + facet);
+            }
+        }
+
+        // Same order as getDistinctAllocationTypes: types alphabetically, BENCH last
+        types.sort(Comparator.comparing(FacetValueDTO::getValue));
+        if (benchType != null) {
+            types.add(benchType);
+        }
+        managers.sort(Comparator.comparing(FacetValueDTO::getValue));
+
+        List<String> availableMonths;
+        if (typeParam == null || "BENCH".equalsIgnoreCase(typeParam)) {
+            // No concrete type: every month is navigable, as in getAvailableMonths
+            availableMonths = generateAllMonths(120, 60);
+        } else {
+            availableMonths = monthKeys.stream()
+                    .sorted()
+                    .map(key -> String.format("%04d-%02d", key / 100, key % 100))
+                    .collect(Collectors.toList());
+        }
+
+        return AllocationFacetsDTO.builder()
+                .allocationTypes(types)
+                .managers(managers)
+                .availableMonths(availableMonths)
+                .build();
+    }
+
     /**
      * Generates a list of year-month strings in "YYYY-MM" format.
      *
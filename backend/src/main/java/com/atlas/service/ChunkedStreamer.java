@@ -0,0 +1,64 @@
+package com.atlas.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Walks a cursor-backed entity stream in fixed-size chunks for the streaming
+ * exports. Each chunk is mapped with the same batch lookups the paged
+ * endpoints use and then detached, so the persistence context never holds
+ * more than one chunk however large the result is.
+ *
+ * Must run inside a transaction: PostgreSQL only honours the fetch size
+ * (and keeps a server-side cursor) with autocommit off.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChunkedStreamer {
+
+    // Same as StreamingQueries.FETCH_SIZE, so each chunk is one JDBC fetch
+    public static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public <T> void forEachChunk(Stream<T> rows, Consumer<List<T>> chunkConsumer) {
+        try (rows) {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            rows.forEach(row -> {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, chunkConsumer);
+                }
+            });
+            if (!chunk.isEmpty()) {
+                flush(chunk, chunkConsumer);
+            }
+        }
+    }
+
+    /**
+     * Same as forEachChunk for an id list that is already in memory (e.g. from
+     * an index), loading one chunk of entities at a time.
+     */
+    public <T> void forEachIdChunk(List<Long> ids, Function<List<Long>, List<T>> loader,
+            Consumer<List<T>> chunkConsumer) {
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<T> chunk = new ArrayList<>(loader.apply(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))));
+            flush(chunk, chunkConsumer);
+        }
+    }
+
+    private <T> void flush(List<T> chunk, Consumer<List<T>> chunkConsumer) {
+        chunkConsumer.accept(chunk);
+        chunk.clear();
+        // Read-only transaction: nothing to flush, just drop the managed copies
+        entityManager.clear();
+    }
+}
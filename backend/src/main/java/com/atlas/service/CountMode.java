@@ -0,0 +1,30 @@
+package com.atlas.service;
+
+/**
+ * How a paged listing reports its total (the "count" request parameter).
+ * <ul>
+ * <li>EXACT - runs the count query with every page (the default)</li>
+ * <li>CACHED - reuses a total counted recently for the same filters and data
+ * versions</li>
+ * <li>NONE - no total at all; the response only says whether a next page
+ * exists</li>
+ * </ul>
+ */
+public enum CountMode {
+    EXACT, CACHED, NONE;
+
+    /**
+     * Case-insensitive; a missing or unknown value means EXACT, like the other
+     * listing filters that ignore values they do not recognize.
+     */
+    public static CountMode parse(String value) {
+        if (value != null) {
+            for (CountMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+        }
+        return EXACT;
+    }
+}
@@ -1,63 +1,84 @@
 package com.atlas.service;
 
 import com.atlas.dto.DashboardStatsDTO;
+import com.atlas.entity.KpiSnapshot;
 import com.atlas.entity.User;
-import com.atlas.repository.EmployeeRepository;
-import com.atlas.repository.ProjectRepository;
+import com.atlas.repository.DashboardAggregateRepository;
+import com.atlas.repository.projection.DashboardAggregate;
+import com.atlas.security.AccessScope;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final EmployeeService employeeService;
-    private final EmployeeRepository employeeRepository;
-    private final ProjectRepository projectRepository;
+    private final DashboardAggregateRepository dashboardAggregateRepository;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final KpiSnapshotService kpiSnapshotService;
 
+    /**
+     * Statistics for the user's scope in the current month, served from the
+     * cache shared by all users with the same scope root.
+     */
     public DashboardStatsDTO getStats(User currentUser) {
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
-
-        long totalEmployees;
-        if (accessibleIds == null) {
-            totalEmployees = employeeRepository.countActiveEmployees();
-        } else {
-            totalEmployees = accessibleIds.size();
+        AccessScope scope = employeeService.getAccessScope(currentUser);
+        YearMonth month = YearMonth.now();
+        if (scope.isEmpty()) {
+            return computeStats(scope, null, month);
         }
+        Long rootId = scope.isUnrestricted() ? null : currentUser.getEmployee().getId();
+        DashboardStatsCache.Key key = new DashboardStatsCache.Key(rootId, month.getYear(), month.getMonthValue());
+        return dashboardStatsCache.get(key, () -> computeStats(scope, rootId, month));
+    }
 
-        long activeProjects;
-        if (accessibleIds == null) {
-            activeProjects = projectRepository.countActiveProjects();
-        } else {
-            activeProjects = projectRepository.countActiveProjectsByEmployeeIds(accessibleIds);
+    public DashboardStatsCache.Stats getCacheStats(User currentUser) {
+        if (!currentUser.isTopLevel()) {
+            throw new RuntimeException("Access denied: dashboard cache statistics are restricted to top-level users");
         }
+        return dashboardStatsCache.getStats();
+    }
 
-        int currentYear = LocalDate.now().getYear();
-        int currentMonth = LocalDate.now().getMonthValue();
+    public int backfillKpiSnapshots(User currentUser, int months, boolean overwrite) {
+        if (!currentUser.isTopLevel()) {
+            throw new RuntimeException("Access denied: KPI snapshot backfill is restricted to top-level users");
+        }
+        if (months < 1 || months > 36) {
+            throw new RuntimeException("Backfill months must be between 1 and 36");
+        }
+        return kpiSnapshotService.backfill(months, overwrite);
+    }
 
-        long benchCount = employeeRepository.countBenchEmployeesFiltered(accessibleIds, currentYear, currentMonth);
-        long activeEmployeeCount = employeeRepository.countActiveAllocatedEmployeesFiltered(accessibleIds, currentYear,
-                currentMonth);
-        long prospectCount = employeeRepository.countProspectEmployeesFiltered(accessibleIds, currentYear,
-                currentMonth);
-        double avgAllocation = employeeRepository.averageAllocationPercentageFiltered(accessibleIds, currentYear,
-                currentMonth);
+    /**
+     * Live KPIs for the month; trends compare them with the previous month's
+     * snapshot of the same scope root (0 when none was captured).
+     */
+    private DashboardStatsDTO computeStats(AccessScope scope, Long rootId, YearMonth month) {
+        DashboardAggregate kpis = dashboardAggregateRepository.aggregateFiltered(scope, month.getYear(),
+                month.getMonthValue());
+        Optional<KpiSnapshot> previous = scope.isEmpty() ? Optional.empty()
+                : kpiSnapshotService.findSnapshot(rootId, month.minusMonths(1));
 
         return DashboardStatsDTO.builder()
-                .totalEmployees(totalEmployees)
-                .activeEmployees(activeEmployeeCount)
-                .averageAllocation(Math.round(avgAllocation * 10.0) / 10.0)
-                .benchCount(benchCount)
-                .prospectCount(prospectCount)
-                .activeProjects(activeProjects)
+                .totalEmployees(kpis.getTotalEmployees())
+                .activeEmployees(kpis.getActiveEmployees())
+                .averageAllocation(Math.round(kpis.getAverageAllocation() * 10.0) / 10.0)
+                .benchCount(kpis.getBenchCount())
+                .prospectCount(kpis.getProspectCount())
+                .activeProjects(kpis.getActiveProjects())
                 .pendingProjects(0L)
-                .employeeTrend(5.0)
-                .allocationTrend(2.5)
-                .benchTrend(-3.0)
-                .projectTrend(10.0)
+                .employeeTrend(previous.map(p -> KpiSnapshotService.percentChange(
+                        kpis.getTotalEmployees(), p.getTotalEmployees())).orElse(0.0))
+                .allocationTrend(previous.map(p -> KpiSnapshotService.percentChange(
+                        kpis.getAverageAllocation(), p.getAverageAllocation())).orElse(0.0))
+                .benchTrend(previous.map(p -> KpiSnapshotService.percentChange(
+                        kpis.getBenchCount(), p.getBenchCount())).orElse(0.0))
+                .projectTrend(previous.map(p -> KpiSnapshotService.percentChange(
+                        kpis.getActiveProjects(), p.getActiveProjects())).orElse(0.0))
                 .build();
     }
 }
@@ -0,0 +1,221 @@
+package com.atlas.service;
+
+import com.atlas.dto.DashboardStatsDTO;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of dashboard statistics keyed by (scope root, year, month).
+ * The root is the employee whose subtree the scope covers, or null for the
+ * org-wide scope shared by everyone who sees all employees.
+ *
+ * A change to an employee's data can only affect the entries rooted at that
+ * employee or one of its managers, plus the org-wide entry, so writers report
+ * the touched employees and exactly those roots are evicted once the
+ * transaction commits. Entries also expire after a fixed time as a backstop.
+ */
+@Slf4j
+@Component
+public class DashboardStatsCache {
+
+    private final HierarchyIndex hierarchyIndex;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Key, Entry> entries;
+
+    // Bumped on every invalidation; a load that overlaps one is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    public DashboardStatsCache(HierarchyIndex hierarchyIndex,
+            @Value("${atlas.dashboard.cache.max-entries:1000}") int maxEntries,
+            @Value("${atlas.dashboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.hierarchyIndex = hierarchyIndex;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > DashboardStatsCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached statistics for the key, or loads and caches them.
+     */
+    public DashboardStatsDTO get(Key key, Supplier<DashboardStatsDTO> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                hits.incrementAndGet();
+                return entry.stats;
+            }
+        }
+        misses.incrementAndGet();
+        long startGeneration = generation.get();
+        DashboardStatsDTO stats = loader.get();
+        long loadedAt = System.nanoTime();
+        loadNanos.addAndGet(loadedAt - now);
+        synchronized (entries) {
+            if (generation.get() == startGeneration) {
+                entries.put(key, new Entry(stats, loadedAt));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Evicts, after commit, every entry whose scope contains one of the
+     * employees: entries rooted at the employee or any of its managers.
+     * The chain is read now, so call before moving an employee.
+     */
+    public void onEmployeesChanged(Collection<Long> employeeIds) {
+        Set<Long> roots = new HashSet<>();
+        for (Long employeeId : employeeIds) {
+            addManagerChain(employeeId, roots);
+        }
+        evictAfterCommit(roots);
+    }
+
+    /**
+     * Evicts, after commit, the entries affected by moving an employee (and
+     * its subtree) under a new manager: both the old and the new manager chain.
+     */
+    public void onManagerChanged(Long employeeId, Long newManagerId) {
+        Set<Long> roots = new HashSet<>();
+        addManagerChain(employeeId, roots);
+        if (newManagerId != null) {
+            addManagerChain(newManagerId, roots);
+        }
+        evictAfterCommit(roots);
+    }
+
+    /**
+     * Drops every entry after commit, e.g. after bulk loads.
+     */
+    public void invalidateAll() {
+        evictAfterCommit(null);
+    }
+
+    public Stats getStats() {
+        long loads = misses.get();
+        synchronized (entries) {
+            return Stats.builder()
+                    .size(entries.size())
+                    .maxEntries(maxEntries)
+                    .hits(hits.get())
+                    .misses(loads)
+                    .evictions(evictions.get())
+                    .invalidations(invalidations.get())
+                    .averageLoadMillis(loads == 0 ? 0.0 : loadNanos.get() / 1_000_000.0 / loads)
+                    .build();
+        }
+    }
+
+    private void addManagerChain(Long employeeId, Set<Long> roots) {
+        // Bounded by the snapshot size in case of a reporting cycle
+        Long current = employeeId;
+        for (int i = 0; current != null && i <= hierarchyIndex.size(); i++) {
+            if (!roots.add(current)) {
+                break;
+            }
+            current = hierarchyIndex.getManagerId(current);
+        }
+    }
+
+    // roots == null means every entry
+    private void evictAfterCommit(Set<Long> roots) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(roots);
+            return;
+        }
+        // One eviction per transaction covering every reported root
+        PendingEviction pending = (PendingEviction) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingEviction batch = new PendingEviction();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardStatsCache.this);
+                    if (status == STATUS_COMMITTED) {
+                        evict(batch.all ? null : batch.roots);
+                    }
+                }
+            });
+            pending = batch;
+        }
+        if (roots == null) {
+            pending.all = true;
+        } else {
+            pending.roots.addAll(roots);
+        }
+    }
+
+    private void evict(Set<Long> roots) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            int before = entries.size();
+            if (roots == null) {
+                entries.clear();
+            } else {
+                // The org-wide entry (null root) covers every employee
+                entries.keySet().removeIf(key -> key.rootEmployeeId() == null
+                        || roots.contains(key.rootEmployeeId()));
+            }
+            invalidations.addAndGet(before - entries.size());
+        }
+        log.debug("Invalidated dashboard stats for {} scope roots", roots == null ? "all" : roots.size());
+    }
+
+    /**
+     * @param rootEmployeeId root of the scope's subtree; null for the org-wide scope
+     */
+    public record Key(Long rootEmployeeId, int year, int month) {
+    }
+
+    private record Entry(DashboardStatsDTO stats, long loadedAt) {
+    }
+
+    private static class PendingEviction {
+        private final Set<Long> roots = new HashSet<>();
+        private boolean all;
+    }
+
+    @Getter
+    @Builder
+    public static class Stats {
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final double averageLoadMillis;
+    }
+}
@@ -0,0 +1,62 @@
+package com.atlas.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version per data aggregate, bumped by the write
+ * paths once their transaction commits. GET endpoints derive ETags from the
+ * versions they read, so an unchanged version means an unchanged response.
+ *
+ * Versions start from the boot time, so tags issued before a restart never
+ * match again. A reader takes the versions before running its queries: a
+ * commit landing in between at worst costs the client one extra refetch.
+ */
+@Component
+public class DataVersions {
+
+    public enum Aggregate {
+        EMPLOYEES, ALLOCATIONS, PROJECTS, SKILLS, DELEGATES
+    }
+
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+
+    public DataVersions() {
+        long epoch = System.currentTimeMillis();
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong(epoch));
+        }
+    }
+
+    public long get(Aggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+
+    /**
+     * Bumps the aggregates once the current transaction commits, or right away
+     * outside a transaction.
+     */
+    public void bumpAfterCommit(Aggregate... aggregates) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(aggregates);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(aggregates);
+            }
+        });
+    }
+
+    private void bump(Aggregate... aggregates) {
+        for (Aggregate aggregate : aggregates) {
+            versions.get(aggregate).incrementAndGet();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.atlas.entity.Employee;
 import com.atlas.entity.User;
 import com.atlas.repository.DelegateRepository;
 import com.atlas.repository.UserRepository;
+import com.atlas.specification.TextSearch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,19 +21,15 @@ public class DelegateService {
 
         private final DelegateRepository delegateRepository;
         private final UserRepository userRepository;
+        private final DelegationGraph delegationGraph;
+        private final DataVersions dataVersions;
 
-        @Transactional(readOnly = true)
         public List<DelegateResponse> getMyDelegates(String delegatorUsername) {
-                return delegateRepository.findAllByDelegator_UsernameIgnoreCase(delegatorUsername).stream()
-                                .map(this::toResponse)
-                                .collect(Collectors.toList());
+                return delegationGraph.getDelegatesOf(delegatorUsername);
         }
 
-        @Transactional(readOnly = true)
         public List<DelegateResponse> getAvailableAccounts(String delegateUsername) {
-                return delegateRepository.findAllByDelegate_UsernameIgnoreCase(delegateUsername).stream()
-                                .map(this::toResponse)
-                                .collect(Collectors.toList());
+                return delegationGraph.getDelegatorsOf(delegateUsername);
         }
 
         @Transactional
@@ -66,7 +63,10 @@ public class DelegateService {
                                 .delegate(delegateUser)
                                 .build();
 
-                return toResponse(delegateRepository.save(delegate));
+                DelegateResponse response = toResponse(delegateRepository.save(delegate));
+                delegationGraph.addAfterCommit(response, delegateEmp.getId());
+                dataVersions.bumpAfterCommit(DataVersions.Aggregate.DELEGATES);
+                return response;
         }
 
         @Transactional
@@ -79,12 +79,12 @@ public class DelegateService {
                 }
 
                 delegateRepository.delete(delegate);
+                delegationGraph.removeAfterCommit(delegate.getId());
+                dataVersions.bumpAfterCommit(DataVersions.Aggregate.DELEGATES);
         }
 
         public boolean canImpersonate(String impersonatorUsername, String targetUsername) {
-                return delegateRepository.existsByDelegator_UsernameIgnoreCaseAndDelegate_UsernameIgnoreCase(
-                                targetUsername,
-                                impersonatorUsername);
+                return delegationGraph.hasDelegated(targetUsername, impersonatorUsername);
         }
 
         @Transactional(readOnly = true)
@@ -95,9 +95,7 @@ public class DelegateService {
                 Employee delegatorEmp = delegator.getEmployee();
 
                 // Exclude existing delegates
-                List<Long> excludedIds = delegateRepository.findAllByDelegator(delegator).stream()
-                                .map(d -> d.getDelegate().getEmployee().getId())
-                                .collect(Collectors.toList());
+                List<Long> excludedIds = delegationGraph.getDelegateEmployeeIds(delegatorUsername);
                 if (excludedIds.isEmpty()) {
                         excludedIds = null; // optimize query
                 }
@@ -106,7 +104,7 @@ public class DelegateService {
                 return userRepository.findPotentialDelegatesDirectReports(
                                 delegatorEmp.getId(),
                                 excludedIds,
-                                search != null ? "%" + search.toLowerCase() + "%" : null).stream()
+                                TextSearch.containsPattern(search)).stream()
                                 .map(this::toEmployeeDTO)
                                 .collect(Collectors.toList());
         }
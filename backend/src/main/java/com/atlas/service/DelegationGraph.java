@@ -0,0 +1,218 @@
+package com.atlas.service;
+
+import com.atlas.dto.DelegateResponse;
+import com.atlas.repository.DelegateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-memory copy of the delegates table, indexed both ways
+ * (delegator -> delegates, delegate -> delegators) by lower-cased username.
+ * Loaded with a single query on first use; grants and revocations are written
+ * through once their transaction commits, so reads never hit the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DelegationGraph {
+
+    private final DelegateRepository delegateRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * True if the delegator has granted the delegate access to their account.
+     */
+    public boolean hasDelegated(String delegatorUsername, String delegateUsername) {
+        return current().pairs.contains(pairKey(delegatorUsername, delegateUsername));
+    }
+
+    /**
+     * Delegations granted by the user, oldest first.
+     */
+    public List<DelegateResponse> getDelegatesOf(String delegatorUsername) {
+        return toResponses(current().byDelegator.get(normalize(delegatorUsername)));
+    }
+
+    /**
+     * Delegations the user has received, oldest first.
+     */
+    public List<DelegateResponse> getDelegatorsOf(String delegateUsername) {
+        return toResponses(current().byDelegate.get(normalize(delegateUsername)));
+    }
+
+    /**
+     * Employee ids of everyone the user has already delegated to.
+     */
+    public List<Long> getDelegateEmployeeIds(String delegatorUsername) {
+        List<Edge> edges = current().byDelegator.getOrDefault(normalize(delegatorUsername), List.of());
+        List<Long> ids = new ArrayList<>(edges.size());
+        for (Edge edge : edges) {
+            ids.add(edge.delegateEmployeeId());
+        }
+        return ids;
+    }
+
+    /**
+     * Adds the delegation once the current transaction commits.
+     */
+    public void addAfterCommit(DelegateResponse delegation, Long delegateEmployeeId) {
+        Edge edge = new Edge(delegation.getId(), delegation.getCreatedAt(),
+                delegation.getDelegatorUsername(), delegation.getDelegatorName(),
+                delegation.getDelegateUsername(), delegation.getDelegateName(), delegateEmployeeId);
+        afterCommit(() -> apply(edges -> edges.put(edge.id(), edge)));
+    }
+
+    /**
+     * Removes the delegation once the current transaction commits.
+     */
+    public void removeAfterCommit(Long delegationId) {
+        afterCommit(() -> apply(edges -> edges.remove(delegationId)));
+    }
+
+    /**
+     * Drops the snapshot; the next read reloads it.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Drops the snapshot once the current transaction commits, for writes that
+     * change the employee names the edges carry.
+     */
+    public void invalidateAfterCommit() {
+        afterCommit(this::invalidate);
+    }
+
+    private synchronized void apply(Consumer<Map<Long, Edge>> change) {
+        // Nothing loaded yet: the next load reads the committed row anyway
+        if (snapshot == null) {
+            return;
+        }
+        Map<Long, Edge> edges = new LinkedHashMap<>(snapshot.edgesById);
+        change.accept(edges);
+        snapshot = Snapshot.of(edges.values());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    private Snapshot load() {
+        List<Edge> edges = new ArrayList<>();
+        for (Object[] row : delegateRepository.findAllDelegationRows()) {
+            edges.add(new Edge((Long) row[0], (LocalDateTime) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5], (Long) row[6]));
+        }
+        log.debug("Loaded delegation graph ({} delegations)", edges.size());
+        return Snapshot.of(edges);
+    }
+
+    private static List<DelegateResponse> toResponses(List<Edge> edges) {
+        if (edges == null) {
+            return new ArrayList<>();
+        }
+        // Fresh DTOs per call: DelegateResponse is mutable and leaves the service
+        List<DelegateResponse> responses = new ArrayList<>(edges.size());
+        for (Edge edge : edges) {
+            responses.add(DelegateResponse.builder()
+                    .id(edge.id())
+                    .delegatorName(edge.delegatorName())
+                    .delegatorUsername(edge.delegatorUsername())
+                    .delegateName(edge.delegateName())
+                    .delegateUsername(edge.delegateUsername())
+                    .createdAt(edge.createdAt())
+                    .build());
+        }
+        return responses;
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String pairKey(String delegatorUsername, String delegateUsername) {
+        return normalize(delegatorUsername) + '\n' + normalize(delegateUsername);
+    }
+
+    private record Edge(Long id, LocalDateTime createdAt, String delegatorUsername, String delegatorName,
+            String delegateUsername, String delegateName, Long delegateEmployeeId) {
+    }
+
+    /**
+     * Immutable view of all delegations.
+     */
+    private static final class Snapshot {
+        private final Map<Long, Edge> edgesById;
+        private final Map<String, List<Edge>> byDelegator;
+        private final Map<String, List<Edge>> byDelegate;
+        private final Set<String> pairs;
+
+        private Snapshot(Map<Long, Edge> edgesById, Map<String, List<Edge>> byDelegator,
+                Map<String, List<Edge>> byDelegate, Set<String> pairs) {
+            this.edgesById = edgesById;
+            this.byDelegator = byDelegator;
+            this.byDelegate = byDelegate;
+            this.pairs = pairs;
+        }
+
+        static Snapshot of(Collection<Edge> edges) {
+            List<Edge> sorted = new ArrayList<>(edges);
+            sorted.sort(Comparator.comparing(Edge::id));
+
+            Map<Long, Edge> edgesById = new LinkedHashMap<>();
+            Map<String, List<Edge>> byDelegator = new HashMap<>();
+            Map<String, List<Edge>> byDelegate = new HashMap<>();
+            Set<String> pairs = new HashSet<>();
+            for (Edge edge : sorted) {
+                edgesById.put(edge.id(), edge);
+                byDelegator.computeIfAbsent(normalize(edge.delegatorUsername()), k -> new ArrayList<>()).add(edge);
+                byDelegate.computeIfAbsent(normalize(edge.delegateUsername()), k -> new ArrayList<>()).add(edge);
+                pairs.add(pairKey(edge.delegatorUsername(), edge.delegateUsername()));
+            }
+            byDelegator.replaceAll((k, v) -> Collections.unmodifiableList(v));
+            byDelegate.replaceAll((k, v) -> Collections.unmodifiableList(v));
+            return new Snapshot(Collections.unmodifiableMap(edgesById), byDelegator, byDelegate, pairs);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.atlas.service;
+
+import com.atlas.entity.Employee;
+import com.atlas.repository.EmployeeHierarchyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps the employee_hierarchy closure table in sync with Employee.manager.
+ * Every write path that creates an employee or changes a manager link must
+ * go through here so ABAC lookups never need a recursive walk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeHierarchyService {
+
+    private final EmployeeHierarchyRepository employeeHierarchyRepository;
+    private final HierarchyIndex hierarchyIndex;
+    private final DashboardStatsCache dashboardStatsCache;
+
+    /**
+     * Returns the employee itself plus all direct and indirect reports.
+     */
+    public List<Long> getSubtreeIds(Long employeeId) {
+        return employeeHierarchyRepository.findDescendantIds(employeeId);
+    }
+
+    public boolean isInSubtree(Long ancestorId, Long employeeId) {
+        return employeeHierarchyRepository.existsByAncestorIdAndDescendantId(ancestorId, employeeId);
+    }
+
+    /**
+     * Registers a freshly saved employee under its manager (if any).
+     */
+    @Transactional
+    public void onEmployeeCreated(Employee employee) {
+        Long managerId = employee.getManager() != null ? employee.getManager().getId() : null;
+        employeeHierarchyRepository.insertEmployee(employee.getId(), managerId);
+        dashboardStatsCache.onManagerChanged(employee.getId(), managerId);
+        hierarchyIndex.rebuildAfterCommit();
+    }
+
+    /**
+     * Moves the employee's whole subtree under the new manager.
+     * Pass null to make the employee a root.
+     */
+    @Transactional
+    public void onManagerChanged(Long employeeId, Long newManagerId) {
+        if (newManagerId != null && hierarchyIndex.isInSubtree(employeeId, newManagerId)) {
+            throw new RuntimeException("Invalid manager: employee " + newManagerId
+                    + " reports to employee " + employeeId);
+        }
+        // Old manager chain must be read before the move
+        dashboardStatsCache.onManagerChanged(employeeId, newManagerId);
+        employeeHierarchyRepository.detachSubtree(employeeId);
+        if (newManagerId != null) {
+            employeeHierarchyRepository.attachSubtree(employeeId, newManagerId);
+        }
+        hierarchyIndex.rebuildAfterCommit();
+    }
+
+    /**
+     * Recomputes the closure table from scratch. Used after bulk loads and to
+     * backfill databases created before the table existed.
+     */
+    @Transactional
+    public void rebuild() {
+        employeeHierarchyRepository.deleteAllRows();
+        int rows = employeeHierarchyRepository.insertAllFromManagerLinks();
+        log.info("Rebuilt employee hierarchy closure table ({} rows)", rows);
+        hierarchyIndex.rebuildAfterCommit();
+        dashboardStatsCache.invalidateAll();
+    }
+
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (employeeHierarchyRepository.count() == 0) {
+            rebuild();
+        }
+    }
+}
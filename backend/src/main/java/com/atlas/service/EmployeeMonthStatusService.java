@@ -0,0 +1,68 @@
+package com.atlas.service;
+
+import com.atlas.entity.EmployeeMonthStatus;
+import com.atlas.repository.EmployeeMonthStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the employee_month_status read model in sync with allocations.
+ * Every write path that creates, changes or deletes an allocation must call
+ * refreshEmployee in the same transaction; bulk loads call rebuild instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeMonthStatusService {
+
+    private final EmployeeMonthStatusRepository employeeMonthStatusRepository;
+    private final DashboardStatsCache dashboardStatsCache;
+
+    /**
+     * Recomputes all months of one employee from their current allocations.
+     * Pending changes in the persistence context are flushed first, and the
+     * dashboard statistics of every scope containing the employee are evicted.
+     */
+    @Transactional
+    public void refreshEmployee(Long employeeId) {
+        employeeMonthStatusRepository.deleteByEmployee(employeeId);
+        employeeMonthStatusRepository.insertFromAllocations(employeeId, EmployeeMonthStatus.horizonKey());
+        dashboardStatsCache.onEmployeesChanged(List.of(employeeId));
+    }
+
+    /**
+     * Recomputes the whole read model. Runs at startup, after bulk imports and
+     * at the start of every month so open-ended ranges keep covering the horizon.
+     */
+    @Transactional
+    @Scheduled(cron = "${atlas.status-read-model.rebuild-cron:0 0 2 1 * *}")
+    public void rebuild() {
+        employeeMonthStatusRepository.deleteAllRows();
+        int rows = employeeMonthStatusRepository.insertFromAllocations(null, EmployeeMonthStatus.horizonKey());
+        log.info("Rebuilt employee month status read model ({} rows)", rows);
+        dashboardStatsCache.invalidateAll();
+    }
+
+    /**
+     * Distinct projects with a positive percentage per employee in the month
+     * (any allocation type). Employees without any are absent from the map.
+     */
+    public Map<Long, Long> getProjectCounts(Collection<Long> employeeIds, int year, int month) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        List<EmployeeMonthStatus> rows = employeeMonthStatusRepository
+                .findByEmployeeIdInAndYearAndMonth(employeeIds, year, month);
+        return rows.stream()
+                .filter(row -> row.getProjectCount() > 0)
+                .collect(Collectors.toMap(EmployeeMonthStatus::getEmployeeId, row -> row.getProjectCount().longValue()));
+    }
+}
@@ -1,28 +1,45 @@
 package com.atlas.service;
 
+import com.atlas.dto.CursorSlice;
 import com.atlas.dto.EmployeeDTO;
+import com.atlas.dto.EmployeeFacetsDTO;
+import com.atlas.dto.FacetValueDTO;
 import com.atlas.entity.Allocation;
 import com.atlas.entity.Employee;
 import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.User;
 import com.atlas.repository.AllocationRepository;
+import com.atlas.repository.AllocationYearRepository;
 import com.atlas.repository.EmployeeRepository;
 import com.atlas.repository.EmployeeSkillRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
 import com.atlas.repository.TechTowerRepository;
+import com.atlas.repository.projection.AllocationRow;
+import com.atlas.repository.projection.EmployeeRow;
+import com.atlas.repository.projection.EmployeeSkillRow;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.AllocationSpecification;
 import com.atlas.specification.EmployeeSpecification;
+import com.atlas.specification.NameCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,14 +50,25 @@ public class EmployeeService {
     private final AllocationRepository allocationRepository;
     private final EmployeeSkillRepository employeeSkillRepository;
     private final TechTowerRepository techTowerRepository;
-    private final MonthlyAllocationRepository monthlyAllocationRepository;
+    private final AllocationYearRepository allocationYearRepository;
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final HierarchyIndex hierarchyIndex;
+    private final AccessScopeResolver accessScopeResolver;
+    private final DataVersions dataVersions;
+    private final ChunkedStreamer chunkedStreamer;
+    private final TotalCountCache totalCountCache;
 
-    public List<EmployeeDTO> getAllEmployees(User currentUser) {
-        List<Employee> employees = getFilteredEmployees(currentUser);
-        Map<Long, List<Allocation>> allocationsByEmployee = batchFetchAllocations(employees);
-        return employees.stream()
-                .map(e -> toDTO(e, allocationsByEmployee.getOrDefault(e.getId(), Collections.emptyList())))
-                .collect(Collectors.toList());
+    /**
+     * Every employee the user can see, handed to the sink chunk by chunk
+     * instead of materializing the whole list.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(User currentUser, Consumer<EmployeeDTO> sink) {
+        chunkedStreamer.forEachChunk(employeeRepository.streamInScope(getAccessScope(currentUser)), employees -> {
+            Map<Long, List<Allocation>> allocationsByEmployee = batchFetchAllocations(employees);
+            employees.forEach(e -> sink.accept(
+                    toDTO(e, allocationsByEmployee.getOrDefault(e.getId(), Collections.emptyList()))));
+        });
     }
 
     // Paginated version with search and dynamic status filtering - uses DB-level
@@ -49,32 +77,89 @@ public class EmployeeService {
             Pageable pageable, String search, Long managerId, String tower,
             String status) {
 
+        Specification<Employee> spec = listingSpec(currentUser, search, managerId, tower, status);
+        if (spec == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        // DB-level pagination with all filters applied via Specification, reading rows
+        Slice<EmployeeRow> rows = employeeRepository.findRowSlice(spec, pageable, EmployeeRow.SELECTION);
+
+        return PageableExecutionUtils.getPage(toDTOs(rows.getContent()), pageable,
+                () -> employeeRepository.count(spec));
+    }
+
+    /**
+     * Same as above with a choice of how the total is obtained: with CACHED
+     * or NONE the page is read without its count query.
+     */
+    public Slice<EmployeeDTO> getAllEmployees(User currentUser,
+            Pageable pageable, CountMode count, String search, Long managerId, String tower,
+            String status) {
+        if (count == CountMode.EXACT) {
+            return getAllEmployees(currentUser, pageable, search, managerId, tower, status);
+        }
+
+        Specification<Employee> spec = listingSpec(currentUser, search, managerId, tower, status);
+        if (spec == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Slice<EmployeeRow> rows = employeeRepository.findRowSlice(spec, pageable, EmployeeRow.SELECTION);
+        if (count == CountMode.CACHED) {
+            rows = totalCountCache.toPage(rows,
+                    Arrays.asList("employees", currentUser.getId(), search, managerId, tower, status),
+                    () -> employeeRepository.count(spec),
+                    DataVersions.Aggregate.EMPLOYEES, DataVersions.Aggregate.ALLOCATIONS);
+        }
+
+        List<EmployeeDTO> content = toDTOs(rows.getContent());
+        return rows instanceof Page<EmployeeRow> page
+                ? new PageImpl<>(content, pageable, page.getTotalElements())
+                : new SliceImpl<>(content, pageable, rows.hasNext());
+    }
+
+    /**
+     * Keyset-paginated version of the above: the page after the cursor in
+     * name, id order, without an OFFSET scan or a count query.
+     */
+    public CursorSlice<EmployeeDTO> getAllEmployees(User currentUser,
+            NameCursor after, int size, String search, Long managerId, String tower,
+            String status) {
+
+        Specification<Employee> spec = listingSpec(currentUser, search, managerId, tower, status);
+        if (spec == null) {
+            return new CursorSlice<>(List.of(), size, null);
+        }
+
+        Slice<EmployeeRow> rows = employeeRepository.findRowSliceAfter(spec, after, size, EmployeeRow.SELECTION);
+
+        return new CursorSlice<>(toDTOs(rows.getContent()), size,
+                NameCursor.next(rows, row -> NameCursor.of(row.name(), row.id())));
+    }
+
+    /**
+     * Employees-page filters for the user, or null when the user can see no one.
+     */
+    private Specification<Employee> listingSpec(User currentUser, String search, Long managerId, String tower,
+            String status) {
         // Normalize filters
         String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
         String towerParam = (tower != null && !tower.trim().isEmpty()) ? tower.trim() : null;
         String statusParam = (status != null && !status.trim().isEmpty()) ? status.trim() : null;
 
-        // Get accessible employee IDs for non-top-level users
-        List<Long> accessibleIds = null;
+        Specification<Employee> spec = EmployeeSpecification.withFilters(
+                searchParam, towerParam, managerId, statusParam, null, null);
+
+        // Non-top-level users only see their subtree
         if (!currentUser.isTopLevel()) {
-            List<Employee> accessibleEmployees = getAccessibleEmployees(currentUser);
-            if (accessibleEmployees.isEmpty()) {
-                return new PageImpl<>(List.of(), pageable, 0);
+            AccessScope scope = getAccessScope(currentUser);
+            if (scope.isEmpty()) {
+                return null;
             }
-            accessibleIds = accessibleEmployees.stream()
-                    .map(Employee::getId)
-                    .collect(Collectors.toList());
+            spec = spec.and(EmployeeSpecification.inScope(scope));
         }
-
-        // DB-level pagination with all filters applied via Specification
-        Page<Employee> employeePage = employeeRepository.findAll(
-                EmployeeSpecification.withFilters(searchParam, towerParam, managerId, statusParam, accessibleIds, null),
-                pageable);
-
-        // Batch fetch allocations for page content only
-        Map<Long, List<Allocation>> allocationsByEmployee = batchFetchAllocations(employeePage.getContent());
-
-        return employeePage.map(e -> toDTO(e, allocationsByEmployee.getOrDefault(e.getId(), Collections.emptyList())));
+        return spec.and(EmployeeSpecification.byRelevance(searchParam));
     }
 
     public EmployeeDTO getEmployeeById(Long id, User currentUser) {
@@ -89,31 +174,26 @@ public class EmployeeService {
         return toDTO(employee);
     }
 
-    public List<Employee> getAccessibleEmployees(User user) {
-        Employee currentEmployee = user.getEmployee();
-        if (currentEmployee == null) {
-            return Collections.emptyList();
-        }
-        // Unified ABAC: Everyone sees their subtree (themselves + descendants)
-        // using efficient recursive DB query
-        List<Long> ids = employeeRepository.findAllSubordinateIds(currentEmployee.getId());
-        return employeeRepository.findAllById(ids);
+    /**
+     * Returns the ABAC scope for query filtering. Prefer this over
+     * getAccessibleEmployeeIds when building queries: large subtrees render as a
+     * closure-table join instead of a bound ID list.
+     */
+    public AccessScope getAccessScope(User user) {
+        return accessScopeResolver.resolve(user);
     }
 
     /**
      * Returns accessible employee IDs for access control filtering.
      * Unified ABAC: Returns ID list for ALL users (admins included).
+     * Read from the employee_hierarchy closure table.
      */
     public List<Long> getAccessibleEmployeeIds(User user) {
         Employee currentEmployee = user.getEmployee();
         if (currentEmployee == null) {
             return Collections.emptyList();
         }
-        return employeeRepository.findAllSubordinateIds(currentEmployee.getId());
-    }
-
-    private List<Employee> getFilteredEmployees(User user) {
-        return getAccessibleEmployees(user);
+        return employeeHierarchyService.getSubtreeIds(currentEmployee.getId());
     }
 
     private boolean hasAccessToEmployee(User user, Employee employee) {
@@ -127,10 +207,9 @@ public class EmployeeService {
             return true;
         }
 
-        // Hierarchy check using unified recursive query
-        // This implicitly handles admins (their ID list contains everyone)
-        List<Long> accessibleIds = getAccessibleEmployeeIds(user);
-        return accessibleIds.contains(employee.getId());
+        // O(1) interval check against the in-memory org tree
+        // This implicitly handles admins (everyone is in their subtree)
+        return hierarchyIndex.isInSubtree(userEmployee.getId(), employee.getId());
     }
 
     private Map<Long, List<Allocation>> batchFetchAllocations(List<Employee> employees) {
@@ -151,18 +230,6 @@ public class EmployeeService {
         int currentYear = LocalDate.now().getYear();
         int currentMonth = LocalDate.now().getMonthValue();
 
-        // Derive employee status from allocations and resignationDate
-        String employeeStatus;
-        if (employee.getResignationDate() != null) {
-            employeeStatus = "RESIGNED";
-        } else if (allocations.stream().anyMatch(a -> a.getAllocationType() == Allocation.AllocationType.MATERNITY)) {
-            employeeStatus = "MATERNITY";
-        } else if (allocations.stream().anyMatch(a -> a.getAllocationType() == Allocation.AllocationType.VACATION)) {
-            employeeStatus = "VACATION";
-        } else {
-            employeeStatus = "ACTIVE";
-        }
-
         // Batch-fetch monthly allocations for current month (database-level filtering)
         // This avoids N lazy loads and in-memory filtering
         List<Long> allocationIds = allocations.stream()
@@ -171,7 +238,7 @@ public class EmployeeService {
 
         Map<Long, Integer> currentMonthAllocations = Collections.emptyMap();
         if (!allocationIds.isEmpty()) {
-            currentMonthAllocations = monthlyAllocationRepository
+            currentMonthAllocations = allocationYearRepository
                     .findByAllocationIdsAndYearAndMonth(allocationIds, currentYear, currentMonth)
                     .stream()
                     .collect(Collectors.toMap(
@@ -179,44 +246,10 @@ public class EmployeeService {
                             MonthlyAllocation::getPercentage,
                             (a, b) -> a));
         }
-
-        // Derive allocation status from PROJECT/PROSPECT allocations
-        boolean hasActive = false;
-        boolean hasProspect = false;
-        int totalAllocation = 0;
-
-        for (Allocation allocation : allocations) {
-            if (allocation.getAllocationType() == Allocation.AllocationType.PROSPECT) {
-                hasProspect = true;
-                // PROSPECT allocations have percentages, so add them to total
-                Integer alloc = currentMonthAllocations.get(allocation.getId());
-                if (alloc != null && alloc > 0) {
-                    totalAllocation += alloc;
-                }
-            } else if (allocation.getAllocationType() == Allocation.AllocationType.PROJECT) {
-                Integer alloc = currentMonthAllocations.get(allocation.getId());
-                if (alloc != null && alloc > 0) {
-                    totalAllocation += alloc;
-                    hasActive = true;
-                }
-            }
-        }
-
-        // Determine allocation status
-        String allocationStatus;
-        if ("RESIGNED".equals(employeeStatus) || "MATERNITY".equals(employeeStatus)
-                || "VACATION".equals(employeeStatus)) {
-            // These employees are not considered bench
-            allocationStatus = hasActive ? "ACTIVE" : (hasProspect ? "PROSPECT" : null);
-        } else {
-            if (hasActive) {
-                allocationStatus = "ACTIVE";
-            } else if (hasProspect) {
-                allocationStatus = "PROSPECT";
-            } else {
-                allocationStatus = "BENCH";
-            }
-        }
+        Map<Long, Integer> percentages = currentMonthAllocations;
+        List<MonthLoad> loads = allocations.stream()
+                .map(a -> new MonthLoad(a.getAllocationType(), percentages.get(a.getId())))
+                .collect(Collectors.toList());
 
         // Tower info from TechTower entity
         String towerName = null;
@@ -240,7 +273,7 @@ public class EmployeeService {
                         .build())
                 .collect(Collectors.toList());
 
-        return EmployeeDTO.builder()
+        EmployeeDTO dto = EmployeeDTO.builder()
                 .id(employee.getId())
                 .oracleId(employee.getOracleId())
                 .name(employee.getName())
@@ -263,10 +296,134 @@ public class EmployeeService {
                 .managerId(employee.getManager() != null ? employee.getManager().getId() : null)
                 .managerName(employee.getManager() != null ? employee.getManager().getName() : null)
                 .skills(skillDTOs)
-                .status(employeeStatus)
-                .totalAllocation((double) totalAllocation)
-                .allocationStatus(allocationStatus)
                 .build();
+        applyStatus(dto, loads);
+        return dto;
+    }
+
+    /**
+     * DTOs for a page of employee rows in page order. Allocations (with the
+     * current month's percentage) and skills are read for the whole page in
+     * one query each.
+     */
+    private List<EmployeeDTO> toDTOs(List<EmployeeRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now();
+        List<Long> ids = rows.stream().map(EmployeeRow::id).collect(Collectors.toList());
+
+        Map<Long, List<MonthLoad>> loadsByEmployee = allocationRepository
+                .findRows(AllocationSpecification.forEmployees(ids),
+                        AllocationRow.inMonth(today.getYear(), today.getMonthValue()))
+                .stream()
+                .collect(Collectors.groupingBy(AllocationRow::employeeId,
+                        Collectors.mapping(a -> new MonthLoad(a.allocationType(), a.monthPercentage()),
+                                Collectors.toList())));
+        Map<Long, List<EmployeeDTO.EmployeeSkillDTO>> skillsByEmployee = employeeSkillRepository
+                .findRowsByEmployeeIds(ids)
+                .stream()
+                .collect(Collectors.groupingBy(EmployeeSkillRow::employeeId,
+                        Collectors.mapping(es -> EmployeeDTO.EmployeeSkillDTO.builder()
+                                .skillName(es.skillName())
+                                .skillLevel(es.skillLevel() != null ? es.skillLevel().name() : null)
+                                .skillGrade(es.skillGrade() != null ? es.skillGrade().name() : null)
+                                .build(), Collectors.toList())));
+
+        return rows.stream().map(row -> {
+            EmployeeDTO dto = EmployeeDTO.builder()
+                    .id(row.id())
+                    .oracleId(row.oracleId())
+                    .name(row.name())
+                    .gender(row.gender() != null ? row.gender().name() : null)
+                    .grade(row.grade())
+                    .jobLevel(row.jobLevel() != null ? row.jobLevel().name() : null)
+                    .title(row.title())
+                    .hiringType(row.hiringType() != null ? row.hiringType().name() : null)
+                    .location(row.location())
+                    .legalEntity(row.legalEntity())
+                    .costCenter(row.costCenter())
+                    .nationality(row.nationality())
+                    .hireDate(row.hireDate())
+                    .resignationDate(row.resignationDate())
+                    .reasonOfLeave(row.reasonOfLeave())
+                    .email(row.email())
+                    .towerId(row.towerId())
+                    .towerName(row.towerName())
+                    .parentTowerName(row.parentTowerName())
+                    .managerId(row.managerId())
+                    .managerName(row.managerName())
+                    .skills(skillsByEmployee.getOrDefault(row.id(), List.of()))
+                    .build();
+            applyStatus(dto, loadsByEmployee.getOrDefault(row.id(), List.of()));
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * An allocation's type and its percentage in the current month (null if none).
+     */
+    private record MonthLoad(Allocation.AllocationType type, Integer percentage) {
+    }
+
+    /**
+     * Sets status, totalAllocation and allocationStatus, derived from the
+     * resignation date and the employee's allocations this month.
+     */
+    private static void applyStatus(EmployeeDTO dto, List<MonthLoad> allocations) {
+        // Derive employee status from allocations and resignationDate
+        String employeeStatus;
+        if (dto.getResignationDate() != null) {
+            employeeStatus = "RESIGNED";
+        } else if (allocations.stream().anyMatch(a -> a.type() == Allocation.AllocationType.MATERNITY)) {
+            employeeStatus = "MATERNITY";
+        } else if (allocations.stream().anyMatch(a -> a.type() == Allocation.AllocationType.VACATION)) {
+            employeeStatus = "VACATION";
+        } else {
+            employeeStatus = "ACTIVE";
+        }
+
+        // Derive allocation status from PROJECT/PROSPECT allocations
+        boolean hasActive = false;
+        boolean hasProspect = false;
+        int totalAllocation = 0;
+
+        for (MonthLoad allocation : allocations) {
+            if (allocation.type() == Allocation.AllocationType.PROSPECT) {
+                hasProspect = true;
+                // PROSPECT allocations have percentages, so add them to total
+                Integer alloc = allocation.percentage();
+                if (alloc != null && alloc > 0) {
+                    totalAllocation += alloc;
+                }
+            } else if (allocation.type() == Allocation.AllocationType.PROJECT) {
+                Integer alloc = allocation.percentage();
+                if (alloc != null && alloc > 0) {
+                    totalAllocation += alloc;
+                    hasActive = true;
+                }
+            }
+        }
+
+        // Determine allocation status
+        String allocationStatus;
+        if ("RESIGNED".equals(employeeStatus) || "MATERNITY".equals(employeeStatus)
+                || "VACATION".equals(employeeStatus)) {
+            // These employees are not considered bench
+            allocationStatus = hasActive ? "ACTIVE" : (hasProspect ? "PROSPECT" : null);
+        } else {
+            if (hasActive) {
+                allocationStatus = "ACTIVE";
+            } else if (hasProspect) {
+                allocationStatus = "PROSPECT";
+            } else {
+                allocationStatus = "BENCH";
+            }
+        }
+
+        dto.setStatus(employeeStatus);
+        dto.setTotalAllocation((double) totalAllocation);
+        dto.setAllocationStatus(allocationStatus);
     }
 
     public long countActiveEmployees() {
@@ -275,7 +432,7 @@ public class EmployeeService {
 
     public List<String> getDistinctStatuses(User currentUser, Long managerId, String tower, String search,
             String managerSearch) {
-        List<Long> accessibleIds = getAccessibleEmployeeIds(currentUser);
+        AccessScope scope = getAccessScope(currentUser);
         String towerParam = (tower != null && !tower.trim().isEmpty()) ? tower.trim() : null;
         String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
         String managerSearchParam = (managerSearch != null && !managerSearch.trim().isEmpty()) ? managerSearch.trim()
@@ -284,7 +441,7 @@ public class EmployeeService {
         List<String> result = new ArrayList<>();
         for (String s : allStatuses) {
             long count = employeeRepository.count(
-                    EmployeeSpecification.withFilters(searchParam, towerParam, managerId, s, accessibleIds,
+                    EmployeeSpecification.withFilters(searchParam, towerParam, managerId, s, scope,
                             managerSearchParam));
             if (count > 0) {
                 result.add(s);
@@ -295,7 +452,7 @@ public class EmployeeService {
 
     public List<String> getDistinctTowers(User currentUser, Long managerId, String status, String search,
             String managerSearch) {
-        List<Long> accessibleIds = getAccessibleEmployeeIds(currentUser);
+        AccessScope scope = getAccessScope(currentUser);
         String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
         String statusParam = (status != null && !status.trim().isEmpty()) ? status.trim() : null;
         String managerSearchParam = (managerSearch != null && !managerSearch.trim().isEmpty()) ? managerSearch.trim()
@@ -303,12 +460,12 @@ public class EmployeeService {
 
         // Use TechTowerRepository custom method with EmployeeSpecification
         return techTowerRepository.findDistinctDescriptionsByEmployeeSpec(
-                searchParam, null, managerId, statusParam, accessibleIds, managerSearchParam);
+                searchParam, null, managerId, statusParam, scope, managerSearchParam);
     }
 
     public List<EmployeeDTO> getAccessibleManagers(User currentUser, String tower, String status, String search,
             String managerSearch) {
-        List<Long> accessibleIds = getAccessibleEmployeeIds(currentUser);
+        AccessScope scope = getAccessScope(currentUser);
         String towerParam = (tower != null && !tower.trim().isEmpty()) ? tower.trim() : null;
         String statusParam = (status != null && !status.trim().isEmpty()) ? status.trim() : null;
         String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
@@ -319,7 +476,7 @@ public class EmployeeService {
         // This avoids in-memory filtering and sorting of large result sets
         // Pass null for year/month to default to current month (employee page context)
         List<Employee> managers = employeeRepository.findDistinctManagersByEmployeeSpec(
-                searchParam, towerParam, null, statusParam, accessibleIds, managerSearchParam, null, null);
+                searchParam, towerParam, null, statusParam, scope, managerSearchParam, null, null);
 
         return managers.stream()
                 .map(m -> EmployeeDTO.builder()
@@ -330,12 +487,74 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Statuses, towers and managers for the employees filter bar with their
+     * counts, from one scope resolution and one query. Mirrors
+     * getDistinctStatuses, getDistinctTowers and getAccessibleManagers: each
+     * facet applies the other filters but not its own.
+     */
+    public EmployeeFacetsDTO getEmployeeFacets(User currentUser, Long managerId, String tower, String status,
+            String search, String managerSearch) {
+        AccessScope scope = getAccessScope(currentUser);
+        if (scope.isEmpty()) {
+            return EmployeeFacetsDTO.builder().statuses(List.of()).towers(List.of()).managers(List.of()).build();
+        }
+        String towerParam = (tower != null && !tower.trim().isEmpty()) ? tower.trim() : null;
+        String statusParam = (status != null && !status.trim().isEmpty()) ? status.trim() : null;
+        String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
+        String managerSearchParam = (managerSearch != null && !managerSearch.trim().isEmpty()) ? managerSearch.trim()
+                : null;
+        LocalDate today = LocalDate.now();
+
+        List<Object[]> rows = employeeRepository.findEmployeeFacetCounts(searchParam, towerParam, managerId,
+                statusParam, scope, managerSearchParam, today.getYear(), today.getMonthValue());
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        List<FacetValueDTO> towers = new ArrayList<>();
+        List<FacetValueDTO> managers = new ArrayList<>();
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            String value = (String) row[1];
+            long count = ((Number) row[4]).longValue();
+            if (value == null || count == 0) {
+                continue;
+            }
+            switch (facet) {
+                case "STATUS" -> statusCounts.put(value, count);
+                case "TOWER" -> towers.add(FacetValueDTO.builder().value(value).count(count).build());
+                case "MANAGER" -> managers.add(FacetValueDTO.builder()
+                        .id(((Number) row[2]).longValue())
+                        .value(value)
+                        .oracleId(row[3] != null ? ((Number) row[3]).intValue() : null)
+                        .count(count)
+                        .build());
+                default -> throw new IllegalStateException("Unknown facet: " + facet);
+            }
+        }
+
+        // Same order as getDistinctStatuses
+        List<FacetValueDTO> statuses = new ArrayList<>();
+        for (String s : List.of("ACTIVE", "BENCH", "PROSPECT", "MATERNITY", "VACATION", "RESIGNED")) {
+            Long count = statusCounts.get(s);
+            if (count != null) {
+                statuses.add(FacetValueDTO.builder().value(s).count(count).build());
+            }
+        }
+        towers.sort(Comparator.comparing(FacetValueDTO::getValue));
+        managers.sort(Comparator.comparing(FacetValueDTO::getValue));
+
+        return EmployeeFacetsDTO.builder().statuses(statuses).towers(towers).managers(managers).build();
+    }
+
     @Transactional
     public Employee createEmployee(Employee employee) {
         if (employeeRepository.existsByEmail(employee.getEmail())) {
             throw new RuntimeException("Employee with email already exists: " + employee.getEmail());
         }
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        employeeHierarchyService.onEmployeeCreated(saved);
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.EMPLOYEES);
+        return saved;
     }
 
     @Transactional
@@ -344,6 +563,17 @@ public class EmployeeService {
                 .orElseThrow(() -> new RuntimeException("Employee not found: " + id));
 
         // Update fields as needed
-        return employeeRepository.save(existing);
+        // Manager change: move the whole subtree in the closure table
+        Employee newManager = updatedEmployee.getManager();
+        Long currentManagerId = existing.getManager() != null ? existing.getManager().getId() : null;
+        if (newManager != null && !newManager.getId().equals(currentManagerId)) {
+            Employee manager = employeeRepository.findById(newManager.getId())
+                    .orElseThrow(() -> new RuntimeException("Manager not found: " + newManager.getId()));
+            employeeHierarchyService.onManagerChanged(existing.getId(), manager.getId());
+            existing.setManager(manager);
+        }
+        Employee saved = employeeRepository.save(existing);
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.EMPLOYEES);
+        return saved;
     }
 }
@@ -28,7 +28,8 @@ public class EmployeeSkillService {
     private final EmployeeRepository employeeRepository;
     private final SkillRepository skillRepository;
     private final EmployeeSkillRepository employeeSkillRepository;
-    private final EmployeeService employeeService;
+    private final HierarchyIndex hierarchyIndex;
+    private final DataVersions dataVersions;
 
     /**
      * Get all skills currently assigned to an employee.
@@ -99,6 +100,7 @@ public class EmployeeSkillService {
                 .build();
 
         EmployeeSkill saved = employeeSkillRepository.save(employeeSkill);
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.SKILLS);
         return toEmployeeSkillDTO(saved);
     }
 
@@ -124,6 +126,7 @@ public class EmployeeSkillService {
                 .orElseThrow(() -> new RuntimeException("Skill " + skillId + " is not assigned to employee " + employeeId));
 
         employeeSkillRepository.delete(employeeSkill);
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.SKILLS);
     }
 
     /**
@@ -134,8 +137,8 @@ public class EmployeeSkillService {
      * @throws RuntimeException if access is denied
      */
     private void validateAccess(Long employeeId, User currentUser) {
-        List<Long> accessibleIds = employeeService.getAccessibleEmployeeIds(currentUser);
-        if (!accessibleIds.contains(employeeId)) {
+        Employee userEmployee = currentUser.getEmployee();
+        if (userEmployee == null || !hierarchyIndex.isInSubtree(userEmployee.getId(), employeeId)) {
             throw new RuntimeException("Access denied to employee: " + employeeId);
         }
     }
@@ -0,0 +1,57 @@
+package com.atlas.service;
+
+import com.atlas.dto.CacheRegionStatsDTO;
+import com.atlas.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reports on the Hibernate second-level and query cache regions holding the
+ * reference entities (towers, skills, projects).
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsDTO> getRegionStats(User currentUser) {
+        if (!currentUser.isTopLevel()) {
+            throw new RuntimeException("Access denied: entity cache statistics are restricted to top-level users");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        for (String regionName : sortedRegionNames(statistics)) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(toDTO(regionName, region));
+            }
+        }
+        return regions;
+    }
+
+    private List<String> sortedRegionNames(Statistics statistics) {
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        return Arrays.asList(names);
+    }
+
+    private CacheRegionStatsDTO toDTO(String regionName, CacheRegionStatistics region) {
+        long lookups = region.getHitCount() + region.getMissCount();
+        return CacheRegionStatsDTO.builder()
+                .regionName(regionName)
+                .hits(region.getHitCount())
+                .misses(region.getMissCount())
+                .puts(region.getPutCount())
+                .hitRatio(lookups == 0 ? 0.0 : Math.round(region.getHitCount() * 1000.0 / lookups) / 1000.0)
+                .build();
+    }
+}
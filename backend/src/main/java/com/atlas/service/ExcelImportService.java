@@ -1,6 +1,7 @@
 package com.atlas.service;
 
 import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
 import com.atlas.entity.Employee;
 import com.atlas.entity.Project;
 import com.atlas.repository.AllocationRepository;
@@ -29,6 +30,11 @@ public class ExcelImportService {
     private final EmployeeRepository employeeRepository;
     private final ProjectRepository projectRepository;
     private final AllocationRepository allocationRepository;
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final ProjectVisibilityIndex projectVisibilityIndex;
+    private final EmployeeMonthStatusService employeeMonthStatusService;
+    private final DataVersions dataVersions;
+    private final DelegationGraph delegationGraph;
 
     @Transactional
     public int importEmployees(MultipartFile file) throws Exception {
@@ -95,6 +101,7 @@ public class ExcelImportService {
                         .build();
 
                 final Employee savedEmployee = employeeRepository.save(employee);
+                employeeHierarchyService.onEmployeeCreated(savedEmployee);
 
                 // Create allocation if project ID exists
                 String projectId = getStringValue(row, columnIndex.get("Project ID"));
@@ -120,6 +127,7 @@ public class ExcelImportService {
                             .build();
 
                     allocation = allocationRepository.save(allocation);
+                    projectVisibilityIndex.onAllocationCreated(allocation);
 
                     // Parse monthly allocations from Excel and create MonthlyAllocation entries
                     int year = LocalDate.now().getYear();
@@ -131,7 +139,7 @@ public class ExcelImportService {
                         if (allocValue != null && !allocValue.isEmpty()) {
                             try {
                                 int percentage = (int) Double.parseDouble(allocValue);
-                                if (percentage > 0) {
+                                if (percentage > 0 && percentage <= AllocationYear.MAX_PERCENTAGE) {
                                     allocation.setAllocationForYearMonth(year, m + 1, percentage);
                                 }
                             } catch (NumberFormatException ignored) {
@@ -146,6 +154,13 @@ public class ExcelImportService {
             }
         }
 
+        // One set-based pass instead of a refresh per imported row
+        employeeMonthStatusService.rebuild();
+        // Delegation listings carry employee names, which the import may have changed
+        delegationGraph.invalidateAfterCommit();
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.EMPLOYEES, DataVersions.Aggregate.PROJECTS,
+                DataVersions.Aggregate.ALLOCATIONS);
+
         return imported;
     }
 
@@ -0,0 +1,249 @@
+package com.atlas.service;
+
+import com.atlas.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory snapshot of the org tree for subtree membership checks.
+ * Each employee gets an Euler-tour interval [enter, exit] from a pre-order
+ * walk. An employee sits in X's subtree exactly when its enter number falls
+ * inside X's interval, and X's subtree is the contiguous slice of the pre-order.
+ *
+ * The snapshot is immutable and replaced wholesale (copy-on-write) after any
+ * transaction that changes a manager link commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HierarchyIndex {
+
+    private final EmployeeRepository employeeRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * True if employeeId is ancestorId itself or any direct/indirect report.
+     */
+    public boolean isInSubtree(Long ancestorId, Long employeeId) {
+        return current().isInSubtree(ancestorId, employeeId);
+    }
+
+    /**
+     * The employee itself plus all direct and indirect reports, in pre-order.
+     */
+    public List<Long> getSubtreeIds(Long ancestorId) {
+        return current().getSubtreeIds(ancestorId);
+    }
+
+    public int getSubtreeSize(Long ancestorId) {
+        return current().getSubtreeSize(ancestorId);
+    }
+
+    public boolean contains(Long employeeId) {
+        return current().contains(employeeId);
+    }
+
+    /**
+     * Manager of the employee, or null for top-level employees and unknown ids.
+     */
+    public Long getManagerId(Long employeeId) {
+        return current().getManagerId(employeeId);
+    }
+
+    /**
+     * Number of employees in the current snapshot.
+     */
+    public int size() {
+        return current().size();
+    }
+
+    /**
+     * Reloads the manager links and swaps in a fresh snapshot.
+     */
+    public synchronized void rebuild() {
+        Snapshot fresh = Snapshot.build(employeeRepository.findAllManagerLinks());
+        snapshot = fresh;
+        log.debug("Rebuilt hierarchy index ({} employees)", fresh.size());
+    }
+
+    /**
+     * Schedules a rebuild once the current transaction commits (at most one per
+     * transaction), or rebuilds immediately when no transaction is active.
+     */
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(HierarchyIndex.this);
+                if (status == STATUS_COMMITTED) {
+                    rebuild();
+                }
+            }
+        });
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Immutable pre-order numbering of the org tree.
+     */
+    static final class Snapshot {
+        private final Map<Long, Integer> enterById;
+        private final int[] exit;
+        private final Long[] idsInPreOrder;
+        private final Map<Long, Long> managerById;
+
+        private Snapshot(Map<Long, Integer> enterById, int[] exit, Long[] idsInPreOrder,
+                Map<Long, Long> managerById) {
+            this.enterById = enterById;
+            this.exit = exit;
+            this.idsInPreOrder = idsInPreOrder;
+            this.managerById = managerById;
+        }
+
+        /**
+         * @param links rows of [employeeId, managerId]; managerId may be null
+         */
+        static Snapshot build(List<Object[]> links) {
+            Map<Long, List<Long>> children = new HashMap<>();
+            List<Long> roots = new ArrayList<>();
+            Map<Long, Long> managerById = new HashMap<>();
+            for (Object[] row : links) {
+                managerById.put((Long) row[0], (Long) row[1]);
+            }
+            for (Map.Entry<Long, Long> entry : managerById.entrySet()) {
+                Long managerId = entry.getValue();
+                if (managerId == null || !managerById.containsKey(managerId)) {
+                    roots.add(entry.getKey());
+                } else {
+                    children.computeIfAbsent(managerId, k -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+            Collections.sort(roots);
+            children.values().forEach(Collections::sort);
+
+            int n = managerById.size();
+            Map<Long, Integer> enterById = new HashMap<>(n * 2);
+            int[] exit = new int[n];
+            Long[] idsInPreOrder = new Long[n];
+            int[] counter = { 0 };
+
+            for (Long root : roots) {
+                walk(root, children, enterById, exit, idsInPreOrder, counter);
+            }
+            // Employees caught in a reporting cycle are unreachable from any root;
+            // number them as their own trees so every id gets an interval
+            if (counter[0] < n) {
+                List<Long> remaining = new ArrayList<>(managerById.keySet());
+                Collections.sort(remaining);
+                for (Long id : remaining) {
+                    if (!enterById.containsKey(id)) {
+                        walk(id, children, enterById, exit, idsInPreOrder, counter);
+                    }
+                }
+            }
+            return new Snapshot(enterById, exit, idsInPreOrder, managerById);
+        }
+
+        private static void walk(Long start, Map<Long, List<Long>> children, Map<Long, Integer> enterById,
+                int[] exit, Long[] idsInPreOrder, int[] counter) {
+            // Iterative DFS: number a node on entry, close its interval once
+            // every child has been visited
+            Deque<Long> path = new ArrayDeque<>();
+            Deque<Integer> nextChild = new ArrayDeque<>();
+            enter(start, enterById, idsInPreOrder, counter);
+            path.push(start);
+            nextChild.push(0);
+            while (!path.isEmpty()) {
+                Long id = path.peek();
+                List<Long> kids = children.getOrDefault(id, List.of());
+                int i = nextChild.pop();
+                while (i < kids.size() && enterById.containsKey(kids.get(i))) {
+                    i++;
+                }
+                if (i < kids.size()) {
+                    nextChild.push(i + 1);
+                    Long child = kids.get(i);
+                    enter(child, enterById, idsInPreOrder, counter);
+                    path.push(child);
+                    nextChild.push(0);
+                } else {
+                    path.pop();
+                    exit[enterById.get(id)] = counter[0] - 1;
+                }
+            }
+        }
+
+        private static void enter(Long id, Map<Long, Integer> enterById, Long[] idsInPreOrder, int[] counter) {
+            int enter = counter[0]++;
+            enterById.put(id, enter);
+            idsInPreOrder[enter] = id;
+        }
+
+        boolean isInSubtree(Long ancestorId, Long employeeId) {
+            Integer a = enterById.get(ancestorId);
+            Integer x = enterById.get(employeeId);
+            if (a == null || x == null) {
+                return false;
+            }
+            return a <= x && x <= exit[a];
+        }
+
+        List<Long> getSubtreeIds(Long ancestorId) {
+            Integer a = enterById.get(ancestorId);
+            if (a == null) {
+                return List.of();
+            }
+            return Collections.unmodifiableList(Arrays.asList(idsInPreOrder).subList(a, exit[a] + 1));
+        }
+
+        int getSubtreeSize(Long ancestorId) {
+            Integer a = enterById.get(ancestorId);
+            return a == null ? 0 : exit[a] - a + 1;
+        }
+
+        boolean contains(Long employeeId) {
+            return enterById.containsKey(employeeId);
+        }
+
+        Long getManagerId(Long employeeId) {
+            return managerById.get(employeeId);
+        }
+
+        int size() {
+            return idsInPreOrder.length;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.atlas.service;
+
+/**
+ * Thrown for a malformed or oversized month range; mapped to HTTP 400.
+ */
+public class InvalidMonthRangeException extends RuntimeException {
+
+    public InvalidMonthRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,151 @@
+package com.atlas.service;
+
+import com.atlas.entity.KpiSnapshot;
+import com.atlas.repository.DashboardAggregateRepository;
+import com.atlas.repository.EmployeeRepository;
+import com.atlas.repository.KpiSnapshotRepository;
+import com.atlas.repository.projection.DashboardAggregate;
+import com.atlas.security.AccessScope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Captures the dashboard KPIs of every scope root when a month closes.
+ * Scope roots are the org-wide scope plus every employee with reports whose
+ * subtree is not the whole organization; employees without reports get no
+ * snapshot, so their trends read as 0.
+ *
+ * A month is captured once: later runs skip it unless asked to overwrite, since
+ * a recompute reads today's data. Backfilled months are computed the same way,
+ * so their totalEmployees and activeProjects are the current figures rather
+ * than the month's, and only the month-dependent counts are historical.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KpiSnapshotService {
+
+    private final KpiSnapshotRepository kpiSnapshotRepository;
+    private final DashboardAggregateRepository dashboardAggregateRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AccessScopeResolver accessScopeResolver;
+    private final DashboardStatsCache dashboardStatsCache;
+
+    @Value("${atlas.kpi-snapshot.initial-backfill-months:3}")
+    private int initialBackfillMonths;
+
+    /**
+     * Snapshots the month that just ended. Runs after the status read model
+     * rebuild on the first of the month.
+     */
+    @Transactional
+    @Scheduled(cron = "${atlas.kpi-snapshot.month-close-cron:0 30 2 1 * *}")
+    public void closePreviousMonth() {
+        snapshotMonth(YearMonth.now().minusMonths(1), false);
+    }
+
+    /**
+     * Snapshots each of the given number of months before the current one.
+     * Months that already have snapshots are kept unless overwrite is set, in
+     * which case they are recomputed from current data.
+     */
+    @Transactional
+    public int backfill(int months, boolean overwrite) {
+        int rows = 0;
+        for (int i = 1; i <= months; i++) {
+            rows += snapshotMonth(YearMonth.now().minusMonths(i), overwrite);
+        }
+        return rows;
+    }
+
+    /**
+     * Seeds the store on first start so trends are available right away.
+     */
+    @Transactional
+    public void backfillIfEmpty() {
+        if (kpiSnapshotRepository.count() == 0) {
+            backfill(initialBackfillMonths, false);
+        }
+    }
+
+    /**
+     * Computes and stores the snapshots of every scope root for the month.
+     * A month that already has snapshots is left alone (returning 0) unless
+     * overwrite is set.
+     */
+    @Transactional
+    public int snapshotMonth(YearMonth month, boolean overwrite) {
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        if (!overwrite && kpiSnapshotRepository.existsByYearAndMonth(year, monthValue)) {
+            log.info("KPI snapshots for {} already captured, skipping", month);
+            return 0;
+        }
+        LocalDateTime capturedAt = LocalDateTime.now();
+
+        List<KpiSnapshot> snapshots = new ArrayList<>();
+        snapshots.add(toSnapshot(KpiSnapshot.ORG_WIDE_ROOT, month, capturedAt,
+                dashboardAggregateRepository.aggregateFiltered(AccessScope.all(), year, monthValue)));
+        for (Long managerId : employeeRepository.findDistinctManagerIds()) {
+            AccessScope scope = accessScopeResolver.computeForEmployee(managerId);
+            if (scope.isUnrestricted()) {
+                continue; // Same numbers as the org-wide snapshot
+            }
+            snapshots.add(toSnapshot(managerId, month, capturedAt,
+                    dashboardAggregateRepository.aggregateFiltered(scope, year, monthValue)));
+        }
+
+        kpiSnapshotRepository.deleteByMonth(year, monthValue);
+        kpiSnapshotRepository.saveAll(snapshots);
+        // Cached dashboards carry trends against the old snapshots
+        dashboardStatsCache.invalidateAll();
+        log.info("Captured {} KPI snapshots for {}", snapshots.size(), month);
+        return snapshots.size();
+    }
+
+    /**
+     * Snapshot of the scope root for the month; a null root means org-wide.
+     */
+    public Optional<KpiSnapshot> findSnapshot(Long rootEmployeeId, YearMonth month) {
+        Long scopeRootId = rootEmployeeId != null ? rootEmployeeId : KpiSnapshot.ORG_WIDE_ROOT;
+        return kpiSnapshotRepository.findById(
+                new KpiSnapshot.Key(scopeRootId, month.getYear(), month.getMonthValue()));
+    }
+
+    /**
+     * Relative change from previous to current in percent, rounded to one
+     * decimal; 0 when there is no previous value to compare against.
+     */
+    public static double percentChange(double current, double previous) {
+        if (previous == 0) {
+            return 0.0;
+        }
+        return Math.round((current - previous) / previous * 1000.0) / 10.0;
+    }
+
+    private KpiSnapshot toSnapshot(Long scopeRootId, YearMonth month, LocalDateTime capturedAt,
+            DashboardAggregate kpis) {
+        return KpiSnapshot.builder()
+                .scopeRootId(scopeRootId)
+                .year(month.getYear())
+                .month(month.getMonthValue())
+                .totalEmployees(kpis.getTotalEmployees())
+                .activeEmployees(kpis.getActiveEmployees())
+                .benchCount(kpis.getBenchCount())
+                .prospectCount(kpis.getProspectCount())
+                .averageAllocation(kpis.getAverageAllocation())
+                .activeProjects(kpis.getActiveProjects())
+                .capturedAt(capturedAt)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.atlas.service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inclusive range of months, the "from" and "to" ("YYYY-MM") parameters of
+ * the allocation timeline.
+ */
+public record MonthRange(YearMonth from, YearMonth to) {
+
+    /** Longest range served in one response. */
+    public static final int MAX_MONTHS = 36;
+
+    /** Months covered when "to" is omitted. */
+    public static final int DEFAULT_MONTHS = 12;
+
+    /**
+     * A missing "from" means the current month and a missing "to" a year
+     * from "from".
+     */
+    public static MonthRange parse(String from, String to) {
+        YearMonth start = from == null || from.isBlank() ? YearMonth.now() : parseMonth(from);
+        YearMonth end = to == null || to.isBlank() ? start.plusMonths(DEFAULT_MONTHS - 1) : parseMonth(to);
+        if (end.isBefore(start)) {
+            throw new InvalidMonthRangeException("Invalid month range: " + start + " is after " + end);
+        }
+        MonthRange range = new MonthRange(start, end);
+        if (range.size() > MAX_MONTHS) {
+            throw new InvalidMonthRangeException(
+                    "Invalid month range: at most " + MAX_MONTHS + " months, got " + range.size());
+        }
+        return range;
+    }
+
+    private static YearMonth parseMonth(String value) {
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidMonthRangeException("Invalid month: " + value + " (expected YYYY-MM)");
+        }
+    }
+
+    public int size() {
+        return indexOf(to) + 1;
+    }
+
+    /**
+     * Position of the month in the range, or -1 when outside it.
+     */
+    public int indexOf(YearMonth month) {
+        int index = (month.getYear() - from.getYear()) * 12 + month.getMonthValue() - from.getMonthValue();
+        return month.isBefore(from) || month.isAfter(to) ? -1 : index;
+    }
+
+    /**
+     * The months as "YYYY-MM", chronological.
+     */
+    public List<String> labels() {
+        List<String> labels = new ArrayList<>(size());
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            labels.add(month.toString());
+        }
+        return labels;
+    }
+}
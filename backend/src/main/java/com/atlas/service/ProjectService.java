@@ -2,17 +2,22 @@ package com.atlas.service;
 
 import com.atlas.dto.ProjectDTO;
 import com.atlas.entity.Allocation;
-import com.atlas.entity.Employee;
 import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.Project;
 import com.atlas.entity.User;
 import com.atlas.repository.AllocationRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
+import com.atlas.repository.AllocationYearRepository;
 import com.atlas.repository.ProjectRepository;
+import com.atlas.repository.projection.AllocationRow;
+import com.atlas.repository.projection.ProjectRow;
+import com.atlas.specification.AllocationSpecification;
+import com.atlas.specification.TextSearch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +25,7 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,7 +35,11 @@ public class ProjectService {
     private final EmployeeService employeeService;
     private final ProjectRepository projectRepository;
     private final AllocationRepository allocationRepository;
-    private final MonthlyAllocationRepository monthlyAllocationRepository;
+    private final AllocationYearRepository allocationYearRepository;
+    private final ProjectVisibilityIndex projectVisibilityIndex;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final DataVersions dataVersions;
+    private final ChunkedStreamer chunkedStreamer;
 
     public List<ProjectDTO> getAllProjects(User currentUser) {
         List<Project> projects = getFilteredProjects(currentUser);
@@ -39,6 +49,26 @@ public class ProjectService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streaming counterpart of getAllProjects(User): hands the DTOs to the
+     * sink chunk by chunk instead of materializing the whole list.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProjects(User currentUser, Consumer<ProjectDTO> sink) {
+        Consumer<List<Project>> writeChunk = projects -> {
+            Map<Long, List<Allocation>> allocationsByProject = batchFetchAllocations(projects);
+            projects.forEach(p -> sink.accept(
+                    toDTO(p, allocationsByProject.getOrDefault(p.getId(), Collections.emptyList()))));
+        };
+        List<Long> projectIds = getFilteredProjectIds(currentUser);
+        if (projectIds == null) {
+            chunkedStreamer.forEachChunk(projectRepository.streamActiveProjects(), writeChunk);
+        } else {
+            // Visible ids already come from the in-memory index
+            chunkedStreamer.forEachIdChunk(projectIds, projectRepository::findAllById, writeChunk);
+        }
+    }
+
     // Paginated version with search and filters - uses database-level pagination
     public Page<ProjectDTO> getAllProjects(User currentUser,
             Pageable pageable, String search, String region, String status) {
@@ -60,11 +90,13 @@ public class ProjectService {
         }
 
         org.springframework.data.jpa.domain.Specification<Project> spec = com.atlas.specification.ProjectSpecification
-                .withFilters(statusEnum, regionParam, search, projectIds);
+                .withFilters(statusEnum, regionParam, search, projectIds)
+                .and(com.atlas.specification.ProjectSpecification.byRelevance(search));
 
-        Page<Project> projectPage = projectRepository.findAll(spec, pageable);
-        Map<Long, List<Allocation>> allocationsByProject = batchFetchAllocations(projectPage.getContent());
-        return projectPage.map(p -> toDTO(p, allocationsByProject.getOrDefault(p.getId(), Collections.emptyList())));
+        // Rows carry the manager name, so no project or manager entity is loaded
+        Slice<ProjectRow> rows = projectRepository.findRowSlice(spec, pageable, ProjectRow.SELECTION);
+        return PageableExecutionUtils.getPage(toDTOs(rows.getContent()), pageable,
+                () -> projectRepository.count(spec));
     }
 
     public List<String> getDistinctRegions(Project.ProjectStatus status, String search, User user) {
@@ -76,9 +108,7 @@ public class ProjectService {
     }
 
     public List<String> getDistinctStatuses(String region, String search, User user) {
-        String searchParam = (search != null && !search.trim().isEmpty())
-                ? "%" + search.trim().toLowerCase() + "%"
-                : null;
+        String searchParam = TextSearch.containsPattern(search);
         List<Long> filteredIds = getFilteredProjectIds(user);
 
         List<Project.ProjectStatus> statuses;
@@ -123,6 +153,9 @@ public class ProjectService {
                 .build();
 
         project = projectRepository.save(project);
+        // No allocations yet, so only the org-wide project count changes
+        dashboardStatsCache.onEmployeesChanged(List.of());
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.PROJECTS);
         return toDTO(project);
     }
 
@@ -132,8 +165,10 @@ public class ProjectService {
                 .orElseThrow(() -> new RuntimeException("Project not found: " + id));
 
         // Only update editable fields: status, startDate, endDate
-        if (projectDTO.getStatus() != null) {
+        if (projectDTO.getStatus() != null && projectDTO.getStatus() != project.getStatus()) {
             project.setStatus(projectDTO.getStatus());
+            // Active project counts change for every scope containing an allocated employee
+            dashboardStatsCache.onEmployeesChanged(projectVisibilityIndex.getEmployeeIds(id));
         }
         if (projectDTO.getStartDate() != null) {
             project.setStartDate(projectDTO.getStartDate());
@@ -143,6 +178,7 @@ public class ProjectService {
         }
 
         project = projectRepository.save(project);
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.PROJECTS);
         return toDTO(project);
     }
 
@@ -155,32 +191,23 @@ public class ProjectService {
         if (user.isTopLevel()) {
             return null;
         }
-        List<Employee> employees = employeeService.getAccessibleEmployees(user);
-        if (employees.isEmpty()) {
-            return List.of();
-        }
-        return projectRepository.findProjectsByEmployees(employees).stream()
-                .map(Project::getId).collect(Collectors.toList());
+        return projectVisibilityIndex.getVisibleProjectIds(employeeService.getAccessScope(user));
     }
 
     private List<Project> getFilteredProjects(User user) {
-        if (user.isTopLevel()) {
+        List<Long> projectIds = getFilteredProjectIds(user);
+        if (projectIds == null) {
+            // Top-level users and unrestricted scopes list the same active projects
             return projectRepository.findActiveProjects();
         }
-        List<Employee> employees = employeeService.getAccessibleEmployees(user);
-        if (employees.isEmpty()) {
-            return List.of();
-        }
-        return projectRepository.findProjectsByEmployees(employees);
+        return projectIds.isEmpty() ? List.of() : projectRepository.findAllById(projectIds);
     }
 
     private boolean hasAccessToProject(User user, Project project) {
         if (user.isTopLevel()) {
             return true;
         }
-
-        List<Project> accessibleProjects = getFilteredProjects(user);
-        return accessibleProjects.stream().anyMatch(p -> p.getId().equals(project.getId()));
+        return projectVisibilityIndex.isVisible(project.getId(), employeeService.getAccessScope(user));
     }
 
     private Map<Long, List<Allocation>> batchFetchAllocations(List<Project> projects) {
@@ -209,7 +236,7 @@ public class ProjectService {
 
         Map<Long, Integer> currentMonthAllocations = Collections.emptyMap();
         if (!allocationIds.isEmpty()) {
-            currentMonthAllocations = monthlyAllocationRepository
+            currentMonthAllocations = allocationYearRepository
                     .findByAllocationIdsAndYearAndMonth(allocationIds, currentYear, currentMonth)
                     .stream()
                     .collect(Collectors.toMap(
@@ -218,19 +245,10 @@ public class ProjectService {
                             (a, b) -> a));
         }
 
-        // Calculate average allocation across employees with >0% allocation
-        int totalAllocation = 0;
-        int count = 0;
-
-        for (Allocation allocation : allocations) {
-            Integer alloc = currentMonthAllocations.get(allocation.getId());
-            if (alloc != null && alloc > 0) {
-                totalAllocation += alloc;
-                count++;
-            }
-        }
-
-        double avgAllocation = count > 0 ? (double) totalAllocation / count : 0.0;
+        Map<Long, Integer> percentages = currentMonthAllocations;
+        double avgAllocation = averageAllocation(allocations.stream()
+                .map(a -> percentages.get(a.getId()))
+                .collect(Collectors.toList()));
 
         return ProjectDTO.builder()
                 .id(project.getId())
@@ -249,6 +267,60 @@ public class ProjectService {
                 .build();
     }
 
+    /**
+     * DTOs for a page of project rows in page order, with the current month's
+     * PROJECT allocations of the whole page read in one query.
+     */
+    private List<ProjectDTO> toDTOs(List<ProjectRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now();
+        List<Long> ids = rows.stream().map(ProjectRow::id).collect(Collectors.toList());
+        Map<Long, List<Integer>> percentagesByProject = allocationRepository
+                .findRows(AllocationSpecification.forProjects(ids, Allocation.AllocationType.PROJECT),
+                        AllocationRow.inMonth(today.getYear(), today.getMonthValue()))
+                .stream()
+                .collect(Collectors.groupingBy(AllocationRow::projectId,
+                        Collectors.mapping(AllocationRow::monthPercentage, Collectors.toList())));
+
+        return rows.stream().map(row -> {
+            List<Integer> percentages = percentagesByProject.getOrDefault(row.id(), List.of());
+            return ProjectDTO.builder()
+                    .id(row.id())
+                    .projectId(row.projectId())
+                    .description(row.description())
+                    .projectType(row.projectType())
+                    .region(row.region())
+                    .vertical(row.vertical())
+                    .startDate(row.startDate())
+                    .endDate(row.endDate())
+                    .status(row.status())
+                    .managerId(row.managerId())
+                    .managerName(row.managerName())
+                    .allocatedEmployees(percentages.size())
+                    .averageAllocation(averageAllocation(percentages))
+                    .build();
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Average allocation across employees with >0% allocation this month.
+     */
+    private static double averageAllocation(List<Integer> percentages) {
+        int totalAllocation = 0;
+        int count = 0;
+
+        for (Integer alloc : percentages) {
+            if (alloc != null && alloc > 0) {
+                totalAllocation += alloc;
+                count++;
+            }
+        }
+
+        return count > 0 ? (double) totalAllocation / count : 0.0;
+    }
+
     public long countActiveProjects() {
         return projectRepository.countActiveProjects();
     }
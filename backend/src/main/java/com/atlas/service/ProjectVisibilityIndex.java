@@ -0,0 +1,247 @@
+package com.atlas.service;
+
+import com.atlas.entity.Allocation;
+import com.atlas.repository.AllocationRepository;
+import com.atlas.security.AccessScope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory map of which employees hold a PROJECT allocation on which project,
+ * in both directions. A project is visible to a user when at least one of its
+ * allocated employees is inside the user's access scope, so a single-project
+ * check is a handful of HierarchyIndex interval tests instead of a query.
+ *
+ * Each (project, employee) pair is reference-counted by allocation, so deleting
+ * one of several allocations on the same project keeps the pair. Changes are
+ * collected per transaction and applied to a fresh snapshot on commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectVisibilityIndex {
+
+    private final AllocationRepository allocationRepository;
+    private final HierarchyIndex hierarchyIndex;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * True if any employee allocated to the project is inside the scope.
+     */
+    public boolean isVisible(Long projectId, AccessScope scope) {
+        if (scope == null || scope.isUnrestricted()) {
+            return true;
+        }
+        if (scope.isEmpty()) {
+            return false;
+        }
+        Map<Long, Integer> employees = current().employeesByProject.get(projectId);
+        if (employees == null) {
+            return false;
+        }
+        if (scope.getKind() == AccessScope.Kind.SUBTREE) {
+            Long rootId = scope.getRootEmployeeId();
+            for (Long employeeId : employees.keySet()) {
+                if (hierarchyIndex.isInSubtree(rootId, employeeId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        Set<Long> scopeIds = new HashSet<>(scope.getEmployeeIds());
+        for (Long employeeId : employees.keySet()) {
+            if (scopeIds.contains(employeeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ids of all projects visible within the scope, ascending; null when the
+     * scope is unrestricted (no filter).
+     */
+    public List<Long> getVisibleProjectIds(AccessScope scope) {
+        if (scope == null || scope.isUnrestricted()) {
+            return null;
+        }
+        Map<Long, Set<Long>> projectsByEmployee = current().projectsByEmployee;
+        Set<Long> projectIds = new TreeSet<>();
+        for (Long employeeId : scope.getEmployeeIds()) {
+            Set<Long> projects = projectsByEmployee.get(employeeId);
+            if (projects != null) {
+                projectIds.addAll(projects);
+            }
+        }
+        return new ArrayList<>(projectIds);
+    }
+
+    /**
+     * Ids of the employees with a PROJECT allocation on the project.
+     */
+    public Set<Long> getEmployeeIds(Long projectId) {
+        Map<Long, Integer> employees = current().employeesByProject.get(projectId);
+        return employees == null ? Set.of() : Set.copyOf(employees.keySet());
+    }
+
+    /**
+     * Records a newly saved allocation once the current transaction commits.
+     */
+    public void onAllocationCreated(Allocation allocation) {
+        record(allocation, 1);
+    }
+
+    /**
+     * Records a deleted allocation once the current transaction commits.
+     */
+    public void onAllocationDeleted(Allocation allocation) {
+        record(allocation, -1);
+    }
+
+    /**
+     * Drops the snapshot; the next read reloads it.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private void record(Allocation allocation, int delta) {
+        if (allocation.getAllocationType() != Allocation.AllocationType.PROJECT
+                || allocation.getProject() == null || allocation.getEmployee() == null) {
+            return;
+        }
+        Change change = new Change(allocation.getProject().getId(), allocation.getEmployee().getId(), delta);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(change));
+            return;
+        }
+        // One batch per transaction so bulk imports swap the snapshot once
+        @SuppressWarnings("unchecked")
+        List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Change> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProjectVisibilityIndex.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(batch);
+                    }
+                }
+            });
+            pending = batch;
+        }
+        pending.add(change);
+    }
+
+    private synchronized void apply(Collection<Change> changes) {
+        // Nothing loaded yet: the next load reads the committed rows anyway
+        if (snapshot == null || changes.isEmpty()) {
+            return;
+        }
+        snapshot = snapshot.with(changes);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    private Snapshot load() {
+        List<Change> pairs = new ArrayList<>();
+        for (Object[] row : allocationRepository.countProjectAllocationsByProjectAndEmployee()) {
+            pairs.add(new Change((Long) row[0], (Long) row[1], ((Number) row[2]).intValue()));
+        }
+        log.debug("Loaded project visibility index ({} project/employee pairs)", pairs.size());
+        return new Snapshot(Map.of(), Map.of()).with(pairs);
+    }
+
+    private record Change(Long projectId, Long employeeId, int delta) {
+    }
+
+    /**
+     * Immutable pair counts plus the reverse employee -> projects map.
+     */
+    private static final class Snapshot {
+        private final Map<Long, Map<Long, Integer>> employeesByProject;
+        private final Map<Long, Set<Long>> projectsByEmployee;
+
+        private Snapshot(Map<Long, Map<Long, Integer>> employeesByProject, Map<Long, Set<Long>> projectsByEmployee) {
+            this.employeesByProject = employeesByProject;
+            this.projectsByEmployee = projectsByEmployee;
+        }
+
+        /**
+         * Copy with the changes applied; only the touched inner maps are copied.
+         */
+        Snapshot with(Collection<Change> changes) {
+            Map<Long, Map<Long, Integer>> byProject = new HashMap<>(employeesByProject);
+            Map<Long, Set<Long>> byEmployee = new HashMap<>(projectsByEmployee);
+            Set<Long> touchedProjects = new HashSet<>();
+            Set<Long> touchedEmployees = new HashSet<>();
+
+            for (Change change : changes) {
+                Map<Long, Integer> counts = byProject.get(change.projectId());
+                if (touchedProjects.add(change.projectId())) {
+                    counts = counts == null ? new HashMap<>() : new HashMap<>(counts);
+                    byProject.put(change.projectId(), counts);
+                }
+                Set<Long> projects = byEmployee.get(change.employeeId());
+                if (touchedEmployees.add(change.employeeId())) {
+                    projects = projects == null ? new HashSet<>() : new HashSet<>(projects);
+                    byEmployee.put(change.employeeId(), projects);
+                }
+
+                int count = counts.getOrDefault(change.employeeId(), 0) + change.delta();
+                if (count > 0) {
+                    counts.put(change.employeeId(), count);
+                    projects.add(change.projectId());
+                } else {
+                    counts.remove(change.employeeId());
+                    projects.remove(change.projectId());
+                }
+            }
+
+            for (Long projectId : touchedProjects) {
+                Map<Long, Integer> counts = byProject.get(projectId);
+                if (counts.isEmpty()) {
+                    byProject.remove(projectId);
+                } else {
+                    byProject.put(projectId, Collections.unmodifiableMap(counts));
+                }
+            }
+            for (Long employeeId : touchedEmployees) {
+                Set<Long> projects = byEmployee.get(employeeId);
+                if (projects.isEmpty()) {
+                    byEmployee.remove(employeeId);
+                } else {
+                    byEmployee.put(employeeId, Collections.unmodifiableSet(projects));
+                }
+            }
+            return new Snapshot(byProject, byEmployee);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.atlas.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of listing totals for count=cached, so paging through a
+ * listing counts its matches once rather than with every page.
+ *
+ * The key holds the filters (including whoever's scope they run in), the
+ * current month that status filters default to, and the versions of the data
+ * the count reads, so any committed write starts a fresh count. The TTL only
+ * bounds drift from changes that bump no version.
+ */
+@Component
+public class TotalCountCache {
+
+    private final DataVersions dataVersions;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Key, Entry> entries;
+
+    public TotalCountCache(DataVersions dataVersions,
+            @Value("${atlas.count.cache.max-entries:10000}") int maxEntries,
+            @Value("${atlas.count.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.dataVersions = dataVersions;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > TotalCountCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Turns an uncounted slice into a page whose total comes from the cache.
+     * Like JpaSpecificationExecutor.findAll, the first and last pages derive
+     * the total from their own size without counting.
+     *
+     * @param filters   listing name and every value that shapes its matches
+     * @param counter   the count query to run on a miss
+     * @param dependsOn aggregates whose writes can change the count
+     */
+    public <T> Page<T> toPage(Slice<T> slice, List<?> filters, LongSupplier counter,
+            DataVersions.Aggregate... dependsOn) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(),
+                () -> get(filters, counter, dependsOn));
+    }
+
+    long get(List<?> filters, LongSupplier counter, DataVersions.Aggregate... dependsOn) {
+        // Versions are read before counting, so a concurrent write only costs a recount
+        List<Long> versions = new ArrayList<>(dependsOn.length);
+        for (DataVersions.Aggregate aggregate : dependsOn) {
+            versions.add(dataVersions.get(aggregate));
+        }
+        Key key = new Key(filters, YearMonth.now(), versions);
+
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.countedAt < ttlNanos) {
+                return entry.total;
+            }
+        }
+        long total = counter.getAsLong();
+        synchronized (entries) {
+            entries.put(key, new Entry(total, System.nanoTime()));
+        }
+        return total;
+    }
+
+    private record Key(List<?> filters, YearMonth month, List<Long> versions) {
+    }
+
+    private record Entry(long total, long countedAt) {
+    }
+}
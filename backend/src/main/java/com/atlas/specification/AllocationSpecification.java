@@ -2,21 +2,70 @@ package com.atlas.specification;
 
 import com.atlas.entity.Allocation;
 import com.atlas.entity.Employee;
-import com.atlas.entity.MonthlyAllocation;
+import com.atlas.entity.AllocationYear;
+import com.atlas.security.AccessScope;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class AllocationSpecification {
 
+    /**
+     * All allocations of one employee that fall inside the caller's access scope.
+     */
+    public static Specification<Allocation> forEmployee(Long employeeId, AccessScope scope) {
+        return (root, query, cb) -> {
+            Join<Allocation, Employee> employeeJoin = root.join("employee", JoinType.INNER);
+            Predicate byEmployee = cb.equal(employeeJoin.get("id"), employeeId);
+            if (scope == null || scope.isUnrestricted()) {
+                return byEmployee;
+            }
+            return cb.and(byEmployee, scope.toPredicate(employeeJoin.get("id"), query, cb));
+        };
+    }
+
+    /**
+     * All allocations on one project whose employee is inside the caller's access scope.
+     */
+    public static Specification<Allocation> forProject(Long projectId, AccessScope scope) {
+        return (root, query, cb) -> {
+            Predicate byProject = cb.equal(root.get("project").get("id"), projectId);
+            if (scope == null || scope.isUnrestricted()) {
+                return byProject;
+            }
+            Join<Allocation, Employee> employeeJoin = root.join("employee", JoinType.INNER);
+            return cb.and(byProject, scope.toPredicate(employeeJoin.get("id"), query, cb));
+        };
+    }
+
+    /**
+     * All allocations of the given employees, for building a page of employee
+     * rows; the employees were already checked against the caller's scope.
+     */
+    public static Specification<Allocation> forEmployees(Collection<Long> employeeIds) {
+        return (root, query, cb) -> root.get("employee").get("id").in(employeeIds);
+    }
+
+    /**
+     * Allocations of one type on the given projects, for building a page of
+     * project rows.
+     */
+    public static Specification<Allocation> forProjects(Collection<Long> projectIds,
+            Allocation.AllocationType allocationType) {
+        return (root, query, cb) -> cb.and(
+                root.get("project").get("id").in(projectIds),
+                cb.equal(root.get("allocationType"), allocationType));
+    }
+
     public static Specification<Allocation> withFilters(
             Allocation.AllocationType allocationType,
             Long managerId,
             String search,
-            List<Long> accessibleEmployeeIds,
+            AccessScope scope,
             Integer year,
             Integer month) {
         return (root, query, cb) -> {
@@ -26,12 +75,8 @@ public class AllocationSpecification {
             // repository)
             Join<Allocation, Employee> employeeJoin = root.join("employee", JoinType.INNER);
             // Access Control (ABAC)
-            if (accessibleEmployeeIds != null) {
-                if (accessibleEmployeeIds.isEmpty()) {
-                    predicates.add(cb.disjunction()); // 1=0
-                } else {
-                    predicates.add(employeeJoin.get("id").in(accessibleEmployeeIds));
-                }
+            if (scope != null && !scope.isUnrestricted()) {
+                predicates.add(scope.toPredicate(employeeJoin.get("id"), query, cb));
             }
 
             // Allocation Type filter
@@ -46,10 +91,7 @@ public class AllocationSpecification {
 
             // Search Filter (Employee Name or Email)
             if (search != null && !search.trim().isEmpty()) {
-                String searchLike = "%" + search.trim().toLowerCase() + "%";
-                Predicate employeeNameLike = cb.like(cb.lower(employeeJoin.get("name")), searchLike);
-                Predicate employeeEmailLike = cb.like(cb.lower(employeeJoin.get("email")), searchLike);
-                predicates.add(cb.or(employeeNameLike, employeeEmailLike));
+                predicates.add(TextSearch.matches(cb, search, employeeJoin.get("name"), employeeJoin.get("email")));
             }
 
             // Month/Year Filter (Date Range)
@@ -63,15 +105,11 @@ public class AllocationSpecification {
                 Predicate endDateCheck = cb.greaterThanOrEqualTo(root.get("endDate"), firstDayOfMonth);
                 Predicate dateOverlap = cb.and(startDateCheck, cb.or(endDateNull, endDateCheck));
 
-                // Join with MonthlyAllocation to enforce DB-level percentage > 0 checks
-                Join<Allocation, MonthlyAllocation> monthlyJoin = root.join("monthlyAllocations", JoinType.LEFT);
-                monthlyJoin.on(cb.and(
-                        cb.equal(monthlyJoin.get("year"), year),
-                        cb.equal(monthlyJoin.get("month"), month)));
+                // Join with the year's month vector to enforce DB-level percentage > 0 checks
+                Join<Allocation, AllocationYear> yearJoin = MonthVector.joinYear(root, cb, year, JoinType.LEFT);
+                Expression<Integer> percentage = MonthVector.percentage(cb, yearJoin, month);
 
-                Predicate hasPositivePercentage = cb.and(
-                        cb.isNotNull(monthlyJoin.get("id")),
-                        cb.greaterThan(monthlyJoin.get("percentage"), 0));
+                Predicate hasPositivePercentage = cb.greaterThan(percentage, 0);
 
                 // PROJECT uniquely requires a positive percentage record
                 Predicate isProject = cb.equal(root.get("allocationType"), Allocation.AllocationType.PROJECT);
@@ -84,7 +122,7 @@ public class AllocationSpecification {
                         isProspect,
                         cb.or(
                                 hasPositivePercentage,
-                                cb.and(cb.isNull(monthlyJoin.get("id")), dateOverlap)));
+                                cb.and(cb.isNull(percentage), dateOverlap)));
 
                 // NON-CLIENT allocations (MATERNITY, VACATION) strictly rely on date
                 // bounds
@@ -2,21 +2,72 @@ package com.atlas.specification;
 
 import com.atlas.entity.Allocation;
 import com.atlas.entity.Employee;
-import com.atlas.entity.MonthlyAllocation;
+import com.atlas.entity.EmployeeMonthStatus;
+import com.atlas.entity.AllocationYear;
+import com.atlas.security.AccessScope;
 import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 public class EmployeeSpecification {
 
+    /**
+     * Order of keyset-paginated listings; id breaks ties between equal names.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("name", "id");
+
+    /**
+     * Orders employee listings with a search term by how well the name or
+     * email matches it; see TextSearch.orderByRelevance.
+     */
+    public static Specification<Employee> byRelevance(String search) {
+        return TextSearch.orderByRelevance(search, root -> root.get("name"), root -> root.get("email"));
+    }
+
+    /**
+     * Keyset predicate: employees after the cursor in KEYSET_ORDER, i.e.
+     * (name, id) > (cursor name, cursor id). Seeks on the (name, id) index
+     * instead of skipping the previous pages.
+     */
+    public static Specification<Employee> after(NameCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("name"), cursor.getName()),
+                cb.and(
+                        cb.equal(root.get("name"), cursor.getName()),
+                        cb.greaterThan(root.get("id"), cursor.getId())));
+    }
+
+    /**
+     * Subquery for the employee's row in the status read model for the month,
+     * restricted by the given condition. Only valid for materialized months.
+     */
+    private static Subquery<Long> monthStatusRow(Root<Employee> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+            int year, int month, Function<Root<EmployeeMonthStatus>, Predicate> condition) {
+        Subquery<Long> sub = query.subquery(Long.class);
+        Root<EmployeeMonthStatus> s = sub.from(EmployeeMonthStatus.class);
+        sub.select(s.get("employeeId"));
+        sub.where(cb.and(
+                cb.equal(s.get("employeeId"), root.get("id")),
+                cb.equal(s.get("year"), year),
+                cb.equal(s.get("month"), month),
+                condition.apply(s)));
+        return sub;
+    }
+
     /**
      * Employees with no allocations (BENCH status)
      * BENCH = No active PROJECT AND no PROSPECT/MATERNITY/VACATION
      */
     public static Specification<Employee> isBench(int currentYear, int currentMonth) {
+        if (EmployeeMonthStatus.isMaterialized(currentYear, currentMonth)) {
+            return (root, query, cb) -> cb.not(cb.exists(monthStatusRow(root, query, cb, currentYear, currentMonth,
+                    s -> cb.notEqual(s.get("status"), EmployeeMonthStatus.Status.BENCH))));
+        }
         return (root, query, cb) -> {
             java.time.LocalDate firstDayOfMonth = java.time.LocalDate.of(currentYear, currentMonth, 1);
             java.time.LocalDate lastDayOfMonth = firstDayOfMonth.withDayOfMonth(firstDayOfMonth.lengthOfMonth());
@@ -26,14 +77,12 @@ public class EmployeeSpecification {
             // No active PROJECT allocation
             Subquery<Long> activeAllocationSubquery = query.subquery(Long.class);
             Root<Allocation> allocRoot = activeAllocationSubquery.from(Allocation.class);
-            Join<Allocation, MonthlyAllocation> maJoin = allocRoot.join("monthlyAllocations");
+            Join<Allocation, AllocationYear> maJoin = MonthVector.joinYear(allocRoot, cb, currentYear, JoinType.INNER);
             activeAllocationSubquery.select(allocRoot.get("employee").get("id"));
             activeAllocationSubquery.where(cb.and(
                     cb.equal(allocRoot.get("employee"), root),
                     cb.equal(allocRoot.get("allocationType"), Allocation.AllocationType.PROJECT),
-                    cb.equal(maJoin.get("year"), currentYear),
-                    cb.equal(maJoin.get("month"), currentMonth),
-                    cb.gt(maJoin.get("percentage"), 0)));
+                    MonthVector.isAllocated(cb, maJoin, currentMonth)));
             predicates.add(cb.not(cb.exists(activeAllocationSubquery)));
 
             // Exclude PROSPECT
@@ -84,6 +133,10 @@ public class EmployeeSpecification {
      * Checks for PROSPECT allocations active in the specified month
      */
     public static Specification<Employee> isProspect(int currentYear, int currentMonth) {
+        if (EmployeeMonthStatus.isMaterialized(currentYear, currentMonth)) {
+            return (root, query, cb) -> cb.exists(monthStatusRow(root, query, cb, currentYear, currentMonth,
+                    s -> cb.equal(s.get("status"), EmployeeMonthStatus.Status.PROSPECT)));
+        }
         return (root, query, cb) -> {
             // Calculate first and last day of the month for date range overlap
             java.time.LocalDate firstDayOfMonth = java.time.LocalDate.of(currentYear, currentMonth, 1);
@@ -106,14 +159,12 @@ public class EmployeeSpecification {
             // No active PROJECT allocation in the selected month
             Subquery<Long> activeSubquery = query.subquery(Long.class);
             Root<Allocation> aRoot = activeSubquery.from(Allocation.class);
-            Join<Allocation, MonthlyAllocation> amaJoin = aRoot.join("monthlyAllocations");
+            Join<Allocation, AllocationYear> amaJoin = MonthVector.joinYear(aRoot, cb, currentYear, JoinType.INNER);
             activeSubquery.select(aRoot.get("employee").get("id"));
             activeSubquery.where(cb.and(
                     cb.equal(aRoot.get("employee"), root),
                     cb.equal(aRoot.get("allocationType"), Allocation.AllocationType.PROJECT),
-                    cb.equal(amaJoin.get("year"), currentYear),
-                    cb.equal(amaJoin.get("month"), currentMonth),
-                    cb.gt(amaJoin.get("percentage"), 0)));
+                    MonthVector.isAllocated(cb, amaJoin, currentMonth)));
 
             return cb.and(
                     cb.exists(prospectSubquery),
@@ -125,47 +176,81 @@ public class EmployeeSpecification {
      * Employees with active PROJECT allocation (ACTIVE status)
      */
     public static Specification<Employee> isActive(int currentYear, int currentMonth) {
+        if (EmployeeMonthStatus.isMaterialized(currentYear, currentMonth)) {
+            return (root, query, cb) -> cb.exists(monthStatusRow(root, query, cb, currentYear, currentMonth,
+                    s -> cb.equal(s.get("status"), EmployeeMonthStatus.Status.ACTIVE)));
+        }
         return (root, query, cb) -> {
             Subquery<Long> allocationSubquery = query.subquery(Long.class);
             Root<Allocation> allocRoot = allocationSubquery.from(Allocation.class);
-            Join<Allocation, MonthlyAllocation> maJoin = allocRoot.join("monthlyAllocations");
+            Join<Allocation, AllocationYear> maJoin = MonthVector.joinYear(allocRoot, cb, currentYear, JoinType.INNER);
             allocationSubquery.select(allocRoot.get("employee").get("id"));
             allocationSubquery.where(cb.and(
                     cb.equal(allocRoot.get("employee"), root),
                     cb.equal(allocRoot.get("allocationType"), Allocation.AllocationType.PROJECT),
-                    cb.equal(maJoin.get("year"), currentYear),
-                    cb.equal(maJoin.get("month"), currentMonth),
-                    cb.gt(maJoin.get("percentage"), 0)));
+                    MonthVector.isAllocated(cb, maJoin, currentMonth)));
 
             return cb.exists(allocationSubquery);
         };
     }
 
     /**
-     * Base filters (search, managerId, employeeIds, active only)
+     * Employees with a MATERNITY or VACATION allocation active in the month,
+     * regardless of any other allocation (MATERNITY/VACATION status filters)
      */
-    private static Specification<Employee> baseFilters(String search, Long managerId, List<Long> employeeIds) {
+    public static Specification<Employee> isOnLeave(Allocation.AllocationType leaveType, int currentYear,
+            int currentMonth) {
+        if (EmployeeMonthStatus.isMaterialized(currentYear, currentMonth)) {
+            String flag = leaveType == Allocation.AllocationType.MATERNITY ? "onMaternity" : "onVacation";
+            return (root, query, cb) -> cb.exists(monthStatusRow(root, query, cb, currentYear, currentMonth,
+                    s -> cb.isTrue(s.get(flag))));
+        }
+        return (root, query, cb) -> {
+            // Date range overlap: startDate <= lastDayOfMonth AND (endDate IS NULL OR
+            // endDate >= firstDayOfMonth)
+            LocalDate firstDayOfMonth = LocalDate.of(currentYear, currentMonth, 1);
+            LocalDate lastDayOfMonth = firstDayOfMonth.withDayOfMonth(firstDayOfMonth.lengthOfMonth());
+
+            Subquery<Long> leaveSubquery = query.subquery(Long.class);
+            Root<Allocation> lRoot = leaveSubquery.from(Allocation.class);
+            leaveSubquery.select(lRoot.get("employee").get("id"));
+            leaveSubquery.where(cb.and(
+                    cb.equal(lRoot.get("employee"), root),
+                    cb.equal(lRoot.get("allocationType"), leaveType),
+                    cb.lessThanOrEqualTo(lRoot.get("startDate"), lastDayOfMonth),
+                    cb.or(
+                            cb.isNull(lRoot.get("endDate")),
+                            cb.greaterThanOrEqualTo(lRoot.get("endDate"), firstDayOfMonth))));
+
+            return cb.exists(leaveSubquery);
+        };
+    }
+
+    /**
+     * ABAC filter: employee is inside the given access scope.
+     */
+    public static Specification<Employee> inScope(AccessScope scope) {
+        return (root, query, cb) -> scope.toPredicate(root.get("id"), query, cb);
+    }
+
+    /**
+     * Base filters (search, managerId, access scope, active only)
+     */
+    private static Specification<Employee> baseFilters(String search, Long managerId, AccessScope scope) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Active employees only (not resigned)
             predicates.add(cb.isNull(root.get("resignationDate")));
 
-            // Employee IDs filter (for ABAC)
-            if (employeeIds != null) {
-                if (employeeIds.isEmpty()) {
-                    predicates.add(cb.or()); // Force false predicate
-                } else {
-                    predicates.add(root.get("id").in(employeeIds));
-                }
+            // Access scope filter (for ABAC)
+            if (scope != null && !scope.isUnrestricted()) {
+                predicates.add(scope.toPredicate(root.get("id"), query, cb));
             }
 
             // Search filter (name or email)
             if (search != null && !search.trim().isEmpty()) {
-                String searchLike = "%" + search.toLowerCase() + "%";
-                Predicate nameLike = cb.like(cb.lower(root.get("name")), searchLike);
-                Predicate emailLike = cb.like(cb.lower(root.get("email")), searchLike);
-                predicates.add(cb.or(nameLike, emailLike));
+                predicates.add(TextSearch.matches(cb, search, root.get("name"), root.get("email")));
             }
 
             // Manager filter
@@ -184,7 +269,7 @@ public class EmployeeSpecification {
      * regardless of other allocation types they may have.
      */
     public static Specification<Employee> baseFiltersWithAllocationType(
-            String search, Long managerId, List<Long> employeeIds,
+            String search, Long managerId, AccessScope scope,
             Allocation.AllocationType allocationType, int currentYear, int currentMonth) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -192,21 +277,14 @@ public class EmployeeSpecification {
             // Active employees only (not resigned)
             predicates.add(cb.isNull(root.get("resignationDate")));
 
-            // Employee IDs filter (for ABAC)
-            if (employeeIds != null) {
-                if (employeeIds.isEmpty()) {
-                    predicates.add(cb.or()); // Force false predicate
-                } else {
-                    predicates.add(root.get("id").in(employeeIds));
-                }
+            // Access scope filter (for ABAC)
+            if (scope != null && !scope.isUnrestricted()) {
+                predicates.add(scope.toPredicate(root.get("id"), query, cb));
             }
 
             // Search filter (name or email)
             if (search != null && !search.trim().isEmpty()) {
-                String searchLike = "%" + search.toLowerCase() + "%";
-                Predicate nameLike = cb.like(cb.lower(root.get("name")), searchLike);
-                Predicate emailLike = cb.like(cb.lower(root.get("email")), searchLike);
-                predicates.add(cb.or(nameLike, emailLike));
+                predicates.add(TextSearch.matches(cb, search, root.get("name"), root.get("email")));
             }
 
             // Manager filter
@@ -220,14 +298,13 @@ public class EmployeeSpecification {
             if (allocationType == Allocation.AllocationType.PROJECT || allocationType == Allocation.AllocationType.PROSPECT) {
                 Subquery<Long> allocationSubquery = query.subquery(Long.class);
                 Root<Allocation> allocRoot = allocationSubquery.from(Allocation.class);
-                Join<Allocation, MonthlyAllocation> maJoin = allocRoot.join("monthlyAllocations");
+                Join<Allocation, AllocationYear> maJoin = MonthVector.joinYear(allocRoot, cb, currentYear,
+                        JoinType.INNER);
                 allocationSubquery.select(allocRoot.get("employee").get("id"));
                 allocationSubquery.where(cb.and(
                         cb.equal(allocRoot.get("employee"), root),
                         cb.equal(allocRoot.get("allocationType"), allocationType),
-                        cb.equal(maJoin.get("year"), currentYear),
-                        cb.equal(maJoin.get("month"), currentMonth),
-                        cb.gt(maJoin.get("percentage"), 0)));
+                        MonthVector.isAllocated(cb, maJoin, currentMonth)));
                 predicates.add(cb.exists(allocationSubquery));
             } else {
                 // MATERNITY or VACATION: check date overlap with selected month
@@ -254,27 +331,27 @@ public class EmployeeSpecification {
     /**
      * Complete filter for BENCH employees (composable)
      */
-    public static Specification<Employee> benchEmployees(String search, Long managerId, List<Long> employeeIds,
+    public static Specification<Employee> benchEmployees(String search, Long managerId, AccessScope scope,
             int currentYear, int currentMonth) {
-        return Specification.where(baseFilters(search, managerId, employeeIds))
+        return Specification.where(baseFilters(search, managerId, scope))
                 .and(isBench(currentYear, currentMonth));
     }
 
     /**
      * Complete filter for ACTIVE employees (composable)
      */
-    public static Specification<Employee> activeEmployees(String search, Long managerId, List<Long> employeeIds,
+    public static Specification<Employee> activeEmployees(String search, Long managerId, AccessScope scope,
             int currentYear, int currentMonth) {
-        return Specification.where(baseFilters(search, managerId, employeeIds))
+        return Specification.where(baseFilters(search, managerId, scope))
                 .and(isActive(currentYear, currentMonth));
     }
 
     /**
      * Complete filter for PROSPECT employees (composable)
      */
-    public static Specification<Employee> prospectEmployees(String search, Long managerId, List<Long> employeeIds,
+    public static Specification<Employee> prospectEmployees(String search, Long managerId, AccessScope scope,
             int currentYear, int currentMonth) {
-        return Specification.where(baseFilters(search, managerId, employeeIds))
+        return Specification.where(baseFilters(search, managerId, scope))
                 .and(isProspect(currentYear, currentMonth));
     }
 
@@ -283,12 +360,12 @@ public class EmployeeSpecification {
             String tower,
             Long managerId,
             String status,
-            List<Long> employeeIds,
+            AccessScope scope,
             String managerName) {
         // Default to current month if not specified
         int currentYear = LocalDate.now().getYear();
         int currentMonth = LocalDate.now().getMonthValue();
-        return withFilters(search, tower, managerId, status, employeeIds, managerName, currentYear, currentMonth);
+        return withFilters(search, tower, managerId, status, scope, managerName, currentYear, currentMonth);
     }
 
     public static Specification<Employee> withFilters(
@@ -296,7 +373,7 @@ public class EmployeeSpecification {
             String tower,
             Long managerId,
             String status,
-            List<Long> employeeIds,
+            AccessScope scope,
             String managerName,
             Integer year,
             Integer month) {
@@ -310,13 +387,9 @@ public class EmployeeSpecification {
                 predicates.add(cb.isNull(root.get("resignationDate")));
             }
 
-            // Employee IDs filter (for ABAC hierarchy-based access)
-            if (employeeIds != null) {
-                if (employeeIds.isEmpty()) {
-                    predicates.add(cb.or()); // Force false predicate
-                } else {
-                    predicates.add(root.get("id").in(employeeIds));
-                }
+            // Access scope filter (for ABAC hierarchy-based access)
+            if (scope != null && !scope.isUnrestricted()) {
+                predicates.add(scope.toPredicate(root.get("id"), query, cb));
             }
 
             // Tower filter (match by tower description)
@@ -331,16 +404,12 @@ public class EmployeeSpecification {
 
             // Manager Name filter (for manager dropdown search)
             if (managerName != null && !managerName.trim().isEmpty()) {
-                String searchLike = "%" + managerName.toLowerCase() + "%";
-                predicates.add(cb.like(cb.lower(root.get("manager").get("name")), searchLike));
+                predicates.add(TextSearch.matches(cb, managerName, root.get("manager").get("name")));
             }
 
             // Search filter (name and email only)
             if (search != null && !search.trim().isEmpty()) {
-                String searchLike = "%" + search.toLowerCase() + "%";
-                Predicate nameLike = cb.like(cb.lower(root.get("name")), searchLike);
-                Predicate emailLike = cb.like(cb.lower(root.get("email")), searchLike);
-                predicates.add(cb.or(nameLike, emailLike));
+                predicates.add(TextSearch.matches(cb, search, root.get("name"), root.get("email")));
             }
 
             // Status filter
@@ -366,50 +435,18 @@ public class EmployeeSpecification {
                     predicates.add(activeSpec.toPredicate(root, query, cb));
 
                 } else if ("MATERNITY".equalsIgnoreCase(status)) {
-                    // MATERNITY = Has allocation of type MATERNITY active in the selected month
-                    // Date range overlap: startDate <= lastDayOfMonth AND (endDate IS NULL OR
-                    // endDate >= firstDayOfMonth)
-                    LocalDate firstDayOfMonth = LocalDate.of(currentYear, currentMonth, 1);
-                    LocalDate lastDayOfMonth = firstDayOfMonth.withDayOfMonth(firstDayOfMonth.lengthOfMonth());
-
-                    Subquery<Long> maternitySubquery = query.subquery(Long.class);
-                    Root<Allocation> mRoot = maternitySubquery.from(Allocation.class);
-                    maternitySubquery.select(mRoot.get("employee").get("id"));
-                    maternitySubquery.where(cb.and(
-                            cb.equal(mRoot.get("employee"), root),
-                            cb.equal(mRoot.get("allocationType"), Allocation.AllocationType.MATERNITY),
-                            cb.lessThanOrEqualTo(mRoot.get("startDate"), lastDayOfMonth),
-                            cb.or(
-                                    cb.isNull(mRoot.get("endDate")),
-                                    cb.greaterThanOrEqualTo(mRoot.get("endDate"), firstDayOfMonth))));
-
-                    predicates.add(cb.exists(maternitySubquery));
+                    predicates.add(isOnLeave(Allocation.AllocationType.MATERNITY, currentYear, currentMonth)
+                            .toPredicate(root, query, cb));
 
                 } else if ("VACATION".equalsIgnoreCase(status)) {
-                    // VACATION = Has allocation of type VACATION active in the selected month
-                    // Date range overlap: startDate <= lastDayOfMonth AND (endDate IS NULL OR
-                    // endDate >= firstDayOfMonth)
-                    LocalDate firstDayOfMonth = LocalDate.of(currentYear, currentMonth, 1);
-                    LocalDate lastDayOfMonth = firstDayOfMonth.withDayOfMonth(firstDayOfMonth.lengthOfMonth());
-
-                    Subquery<Long> vacationSubquery = query.subquery(Long.class);
-                    Root<Allocation> vRoot = vacationSubquery.from(Allocation.class);
-                    vacationSubquery.select(vRoot.get("employee").get("id"));
-                    vacationSubquery.where(cb.and(
-                            cb.equal(vRoot.get("employee"), root),
-                            cb.equal(vRoot.get("allocationType"), Allocation.AllocationType.VACATION),
-                            cb.lessThanOrEqualTo(vRoot.get("startDate"), lastDayOfMonth),
-                            cb.or(
-                                    cb.isNull(vRoot.get("endDate")),
-                                    cb.greaterThanOrEqualTo(vRoot.get("endDate"), firstDayOfMonth))));
-
-                    predicates.add(cb.exists(vacationSubquery));
+                    predicates.add(isOnLeave(Allocation.AllocationType.VACATION, currentYear, currentMonth)
+                            .toPredicate(root, query, cb));
                 }
                 // RESIGNED is handled above (resignationDate IS NOT NULL)
             }
 
-            query.distinct(true);
-
+            // No DISTINCT: every join above is to-one, so rows cannot repeat, and
+            // PostgreSQL rejects DISTINCT with an ORDER BY on expressions (byRelevance)
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
@@ -0,0 +1,11 @@
+package com.atlas.specification;
+
+/**
+ * Thrown for a malformed pagination cursor; mapped to HTTP 400.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.atlas.specification;
+
+import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Criteria access to an allocation's percentage in one month, read from the
+ * AllocationYear vector of that year. Native queries use percentages[month]
+ * directly.
+ */
+public final class MonthVector {
+
+    /** Hibernate array function reading one element (1-based) of an array. */
+    private static final String ARRAY_GET = "array_get";
+
+    private MonthVector() {
+    }
+
+    /**
+     * The allocation's row for the year; with a LEFT join the row (and so
+     * every percentage read from it) is null when the allocation has none.
+     */
+    public static Join<Allocation, AllocationYear> joinYear(From<?, Allocation> allocation, CriteriaBuilder cb,
+            int year, JoinType joinType) {
+        Join<Allocation, AllocationYear> row = allocation.join("years", joinType);
+        row.on(cb.equal(row.get("year"), year));
+        return row;
+    }
+
+    /**
+     * The allocation's rows for the years fromYear..toYear, a range scan on
+     * the (allocation_id, year) key; allocations without one drop out.
+     */
+    public static Join<Allocation, AllocationYear> joinYears(From<?, Allocation> allocation, CriteriaBuilder cb,
+            int fromYear, int toYear) {
+        Join<Allocation, AllocationYear> row = allocation.join("years", JoinType.INNER);
+        row.on(cb.between(row.get("year"), fromYear, toYear));
+        return row;
+    }
+
+    /**
+     * The percentage of the month in the row, null when there is none.
+     */
+    public static Expression<Integer> percentage(CriteriaBuilder cb, Path<AllocationYear> row, int month) {
+        return cb.function(ARRAY_GET, Short.class, row.get("percentages"), cb.literal(month)).as(Integer.class);
+    }
+
+    /**
+     * The row has a positive percentage for the month.
+     */
+    public static Predicate isAllocated(CriteriaBuilder cb, Path<AllocationYear> row, int month) {
+        return cb.gt(percentage(cb, row, month), 0);
+    }
+}
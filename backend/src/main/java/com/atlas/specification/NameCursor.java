@@ -0,0 +1,76 @@
+package com.atlas.specification;
+
+import com.atlas.entity.Employee;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset position in an employee listing ordered by name, then id: the last
+ * row of the previous page. Clients get it as an opaque URL-safe token and
+ * send it back as the "after" parameter.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class NameCursor {
+
+    private final String name;
+    private final Long id;
+
+    private NameCursor(String name, Long id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    public static NameCursor of(Employee employee) {
+        return of(employee.getName(), employee.getId());
+    }
+
+    public static NameCursor of(String name, Long id) {
+        return new NameCursor(name, id);
+    }
+
+    /**
+     * Token for the page following the slice, or null when it is the last.
+     */
+    public static String next(Slice<Employee> slice) {
+        return next(slice, NameCursor::of);
+    }
+
+    /**
+     * Same as above for a slice of rows, given the cursor of a row.
+     */
+    public static <T> String next(Slice<T> slice, Function<T, NameCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        return slice.hasNext() ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+    }
+
+    /**
+     * Parses a token; a blank one means the first page and yields null.
+     */
+    public static NameCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The id never contains the separator, so the name may
+            int separator = key.indexOf(':');
+            return new NameCursor(key.substring(separator + 1), Long.valueOf(key.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+}
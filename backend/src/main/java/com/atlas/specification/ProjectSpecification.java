@@ -29,10 +29,7 @@ public class ProjectSpecification {
 
             // Search filter
             if (search != null && !search.trim().isEmpty()) {
-                String searchLike = "%" + search.trim().toLowerCase() + "%";
-                Predicate descLike = cb.like(cb.lower(root.get("description")), searchLike);
-                Predicate idLike = cb.like(cb.lower(root.get("projectId")), searchLike);
-                predicates.add(cb.or(descLike, idLike));
+                predicates.add(TextSearch.matches(cb, search, root.get("description"), root.get("projectId")));
             }
 
             // Project IDs filter (Access Control)
@@ -62,6 +59,14 @@ public class ProjectSpecification {
         };
     }
 
+    /**
+     * Orders project listings with a search term by how well the description
+     * or project id matches it; see TextSearch.orderByRelevance.
+     */
+    public static Specification<Project> byRelevance(String search) {
+        return TextSearch.orderByRelevance(search, root -> root.get("description"), root -> root.get("projectId"));
+    }
+
     public static Specification<Project> distinctRegionsFilter(
             Project.ProjectStatus status,
             String search,
@@ -0,0 +1,114 @@
+package com.atlas.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Substring search shared by every search box (employees, managers,
+ * projects). Terms are normalized (trimmed, lower-cased) and always matched
+ * as {@code LOWER(column) LIKE '%term%'}, the exact expression the pg_trgm
+ * GIN indexes are built on, so PostgreSQL answers them from the index
+ * instead of scanning the table.
+ *
+ * Relevance is the trigram similarity between the column and the term
+ * (see SearchFunctionContributor); databases without pg_trgm rank exact,
+ * prefix and substring matches instead.
+ */
+public final class TextSearch {
+
+    /** Hibernate function ranking a lower-cased column against a term, 0..1. */
+    public static final String SIMILARITY = "text_similarity";
+
+    private TextSearch() {
+    }
+
+    /**
+     * The term as matched: trimmed and lower-cased, or null when blank.
+     */
+    public static String normalize(String term) {
+        if (term == null || term.trim().isEmpty()) {
+            return null;
+        }
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * LIKE pattern matching the term anywhere, for native queries comparing
+     * against {@code LOWER(column)}; null when the term is blank. Wildcards
+     * in the term are kept, as the search boxes have always accepted them.
+     */
+    public static String containsPattern(String term) {
+        String normalized = normalize(term);
+        if (normalized == null) {
+            return null;
+        }
+        return "%" + normalized + "%";
+    }
+
+    /**
+     * Any of the columns contains the term; null when the term is blank.
+     */
+    @SafeVarargs
+    public static Predicate matches(CriteriaBuilder cb, String term, Expression<String>... columns) {
+        String pattern = containsPattern(term);
+        if (pattern == null) {
+            return null;
+        }
+        List<Predicate> likes = new ArrayList<>(columns.length);
+        for (Expression<String> column : columns) {
+            likes.add(cb.like(cb.lower(column), pattern));
+        }
+        return likes.size() == 1 ? likes.get(0) : cb.or(likes.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Best similarity of the term to any of the columns.
+     */
+    @SafeVarargs
+    public static Expression<Double> relevance(CriteriaBuilder cb, String term, Expression<String>... columns) {
+        String normalized = normalize(term);
+        Expression<Double> best = null;
+        for (Expression<String> column : columns) {
+            Expression<Double> score = cb.function(SIMILARITY, Double.class, cb.lower(column), cb.literal(normalized));
+            best = best == null ? score : cb.function("greatest", Double.class, best, score);
+        }
+        return best;
+    }
+
+    /**
+     * Orders entity and row queries by relevance to the term, then by the
+     * first column and id so offset pages stay stable. Adds no predicate,
+     * leaves count queries alone and is replaced by any explicit sort, so it
+     * can be and-ed onto a filter specification; a blank term keeps the
+     * default order.
+     */
+    @SafeVarargs
+    public static <T> Specification<T> orderByRelevance(String term, Function<Root<T>, Path<String>>... columns) {
+        return (root, query, cb) -> {
+            // Count queries are the ones selecting a Long
+            if (normalize(term) != null && !Long.class.equals(query.getResultType())) {
+                @SuppressWarnings("unchecked")
+                Expression<String>[] paths = new Expression[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    paths[i] = columns[i].apply(root);
+                }
+                List<Order> orders = new ArrayList<>();
+                orders.add(cb.desc(relevance(cb, term, paths)));
+                orders.add(cb.asc(paths[0]));
+                orders.add(cb.asc(root.get("id")));
+                query.orderBy(orders);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,94 @@
+-- ============================================================================
+-- Atlas baseline schema: the tables Hibernate's ddl-auto=update produced
+-- before migrations took over. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and skip it.
+-- ============================================================================
+
+CREATE TABLE tech_towers (
+    id SERIAL PRIMARY KEY,
+    description VARCHAR(255),
+    parent_tower_id INTEGER REFERENCES tech_towers (id)
+);
+
+CREATE TABLE skills (
+    id SERIAL PRIMARY KEY,
+    description VARCHAR(255),
+    tower_id INTEGER REFERENCES tech_towers (id)
+);
+
+CREATE TABLE employees (
+    id BIGSERIAL PRIMARY KEY,
+    oracle_id INTEGER UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    gender VARCHAR(255) CHECK (gender IN ('MALE', 'FEMALE')),
+    grade VARCHAR(255),
+    job_level VARCHAR(255)
+        CHECK (job_level IN ('ENTRY_LEVEL', 'MID_LEVEL', 'ADVANCED_MANAGER_LEVEL', 'EXECUTIVE_LEVEL')),
+    title VARCHAR(255),
+    hiring_type VARCHAR(255) CHECK (hiring_type IN ('FULL_TIME', 'PART_TIME')),
+    location VARCHAR(255),
+    legal_entity VARCHAR(255),
+    cost_center VARCHAR(255),
+    nationality VARCHAR(255),
+    hire_date DATE,
+    resignation_date DATE,
+    reason_of_leave VARCHAR(255),
+    manager_id BIGINT REFERENCES employees (id),
+    tower INTEGER REFERENCES tech_towers (id)
+);
+
+CREATE TABLE employees_skills (
+    id SERIAL PRIMARY KEY,
+    employee_id BIGINT REFERENCES employees (id),
+    skill_id INTEGER REFERENCES skills (id),
+    skill_level VARCHAR(255) CHECK (skill_level IN ('PRIMARY', 'SECONDARY')),
+    skill_grade VARCHAR(255) CHECK (skill_grade IN ('ADVANCED', 'INTERMEDIATE', 'BEGINNER'))
+);
+
+CREATE TABLE projects (
+    id BIGSERIAL PRIMARY KEY,
+    project_id VARCHAR(255) UNIQUE,
+    description VARCHAR(255),
+    project_type VARCHAR(255) CHECK (project_type IN ('PROJECT', 'OPPORTUNITY')),
+    region VARCHAR(255),
+    vertical VARCHAR(255),
+    start_date DATE,
+    end_date DATE,
+    status VARCHAR(255) CHECK (status IN ('ACTIVE', 'COMPLETED', 'ON_HOLD')),
+    manager_id BIGINT REFERENCES employees (id)
+);
+
+CREATE TABLE allocations (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL REFERENCES employees (id),
+    project_id BIGINT REFERENCES projects (id),
+    allocation_type VARCHAR(255) CHECK (allocation_type IN ('PROJECT', 'PROSPECT', 'VACATION', 'MATERNITY')),
+    start_date DATE,
+    end_date DATE
+);
+
+CREATE TABLE monthly_allocations (
+    id BIGSERIAL PRIMARY KEY,
+    allocation_id BIGINT NOT NULL REFERENCES allocations (id),
+    "year" INTEGER NOT NULL,
+    "month" INTEGER NOT NULL,
+    percentage INTEGER NOT NULL,
+    UNIQUE (allocation_id, "year", "month")
+);
+
+CREATE TABLE users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    employee_id BIGINT NOT NULL UNIQUE REFERENCES employees (id)
+);
+
+CREATE TABLE delegates (
+    id BIGSERIAL PRIMARY KEY,
+    delegator_id BIGINT NOT NULL REFERENCES users (id),
+    delegate_id BIGINT NOT NULL REFERENCES users (id),
+    created_at TIMESTAMP(6),
+    UNIQUE (delegator_id, delegate_id)
+);
@@ -0,0 +1,42 @@
+-- ============================================================================
+-- Read models introduced with the migrations: the employee hierarchy closure
+-- table, the per-month employee status and the monthly KPI snapshots. Not in
+-- V1, which is the schema existing databases already have and skip.
+-- ============================================================================
+
+CREATE TABLE employee_hierarchy (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_employee_hierarchy_descendant ON employee_hierarchy (descendant_id);
+
+CREATE TABLE employee_month_status (
+    employee_id BIGINT NOT NULL,
+    "year" INTEGER NOT NULL,
+    "month" INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('ACTIVE', 'PROSPECT', 'MATERNITY', 'VACATION', 'BENCH')),
+    project_count INTEGER NOT NULL,
+    total_pct INTEGER NOT NULL,
+    on_maternity BOOLEAN NOT NULL,
+    on_vacation BOOLEAN NOT NULL,
+    PRIMARY KEY ("month", "year", employee_id)
+);
+
+CREATE INDEX idx_employee_month_status_month ON employee_month_status ("year", "month", status);
+
+CREATE TABLE kpi_snapshot (
+    scope_root_id BIGINT NOT NULL,
+    "year" INTEGER NOT NULL,
+    "month" INTEGER NOT NULL,
+    total_employees BIGINT NOT NULL,
+    active_employees BIGINT NOT NULL,
+    bench_count BIGINT NOT NULL,
+    prospect_count BIGINT NOT NULL,
+    active_projects BIGINT NOT NULL,
+    average_allocation FLOAT(53) NOT NULL,
+    captured_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY ("month", "year", scope_root_id)
+);
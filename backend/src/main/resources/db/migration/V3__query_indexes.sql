@@ -0,0 +1,54 @@
+-- ============================================================================
+-- Index set for the hot predicates of the Specifications and native queries.
+-- QueryPlanRegressionTest explains the matching queries against a seeded
+-- database and fails if any of them falls back to a sequential scan.
+-- IF NOT EXISTS: databases baselined from ddl-auto=update may already have
+-- the indexes Hibernate created from @Index.
+-- ============================================================================
+
+-- Status filters and every NOT EXISTS probe: allocations of an employee by type
+CREATE INDEX IF NOT EXISTS idx_allocations_employee_type
+    ON allocations (employee_id, allocation_type);
+
+-- Project views, project counts and ABAC project access: allocations of a project by type
+CREATE INDEX IF NOT EXISTS idx_allocations_project_type
+    ON allocations (project_id, allocation_type);
+
+-- Direct reports, manager filters and the hierarchy rebuild; resigned
+-- employees are excluded by every one of these queries
+CREATE INDEX IF NOT EXISTS idx_employees_manager_active
+    ON employees (manager_id) WHERE resignation_date IS NULL;
+
+-- Tower filters and tower dropdowns
+CREATE INDEX IF NOT EXISTS idx_employees_tower_active
+    ON employees (tower) WHERE resignation_date IS NULL;
+
+-- Keyset pagination and the default name ordering of employee listings
+CREATE INDEX IF NOT EXISTS idx_employees_name_id
+    ON employees (name, id);
+
+-- "Allocated this month" probes: (year, month, percentage > 0), answered
+-- index-only through the included allocation id
+CREATE INDEX IF NOT EXISTS idx_monthly_allocations_month
+    ON monthly_allocations ("year", "month", percentage) INCLUDE (allocation_id);
+
+-- Foreign keys looked up from the parent side
+CREATE INDEX IF NOT EXISTS idx_projects_manager ON projects (manager_id);
+CREATE INDEX IF NOT EXISTS idx_employees_skills_employee ON employees_skills (employee_id);
+CREATE INDEX IF NOT EXISTS idx_employees_skills_skill ON employees_skills (skill_id);
+CREATE INDEX IF NOT EXISTS idx_skills_tower ON skills (tower_id);
+CREATE INDEX IF NOT EXISTS idx_delegates_delegate ON delegates (delegate_id);
+
+-- Substring search (TextSearch): trigram GIN indexes on the same LOWER(column)
+-- expressions the search predicates use. pg_trgm is a trusted extension since
+-- PostgreSQL 13, so the database owner may create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_employees_name_trgm
+    ON employees USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_email_trgm
+    ON employees USING gin (LOWER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_projects_description_trgm
+    ON projects USING gin (LOWER(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_projects_project_id_trgm
+    ON projects USING gin (LOWER(project_id) gin_trgm_ops);
@@ -0,0 +1,39 @@
+-- ============================================================================
+-- Monthly percentages move from one monthly_allocations row per month to one
+-- allocation_years row per allocation and year, holding a vector of 12
+-- percentages (January first; NULL where the month has none). Twelve times
+-- fewer rows to store, join and index, and a year is read or written at once.
+-- ============================================================================
+
+CREATE TABLE allocation_years (
+    id BIGSERIAL PRIMARY KEY,
+    allocation_id BIGINT NOT NULL REFERENCES allocations (id),
+    "year" INTEGER NOT NULL,
+    percentages SMALLINT[] NOT NULL,
+    UNIQUE (allocation_id, "year")
+);
+
+INSERT INTO allocation_years (allocation_id, "year", percentages)
+SELECT allocation_id, "year", ARRAY[
+    MAX(CASE WHEN "month" = 1 THEN percentage END),
+    MAX(CASE WHEN "month" = 2 THEN percentage END),
+    MAX(CASE WHEN "month" = 3 THEN percentage END),
+    MAX(CASE WHEN "month" = 4 THEN percentage END),
+    MAX(CASE WHEN "month" = 5 THEN percentage END),
+    MAX(CASE WHEN "month" = 6 THEN percentage END),
+    MAX(CASE WHEN "month" = 7 THEN percentage END),
+    MAX(CASE WHEN "month" = 8 THEN percentage END),
+    MAX(CASE WHEN "month" = 9 THEN percentage END),
+    MAX(CASE WHEN "month" = 10 THEN percentage END),
+    MAX(CASE WHEN "month" = 11 THEN percentage END),
+    MAX(CASE WHEN "month" = 12 THEN percentage END)]::SMALLINT[]
+FROM monthly_allocations
+GROUP BY allocation_id, "year";
+
+-- "Allocated this month" probes: the year's vectors, read index-only and
+-- filtered on percentages[month] > 0
+CREATE INDEX idx_allocation_years_year
+    ON allocation_years ("year") INCLUDE (allocation_id, percentages);
+
+-- Also drops idx_monthly_allocations_month
+DROP TABLE monthly_allocations;
@@ -0,0 +1,8 @@
+-- ============================================================================
+-- Per-employee access to the status read model. The primary key leads with
+-- ("month", "year"), so refreshing one employee (deleteByEmployee) and the
+-- employee's status history had to walk the whole table.
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_employee_month_status_employee
+    ON employee_month_status (employee_id, "year", "month");
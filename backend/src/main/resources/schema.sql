@@ -1,6 +0,0 @@
--- PostgreSQL enum types for Atlas
--- DISABLED: Now using @Enumerated(EnumType.STRING) which creates VARCHAR columns
--- These enum types caused type mismatch errors with Hibernate
-
--- Dummy statement to prevent "empty script" error
-SELECT 1;
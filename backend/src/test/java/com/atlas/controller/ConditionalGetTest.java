@@ -0,0 +1,126 @@
+package com.atlas.controller;
+
+import com.atlas.service.DataVersions;
+import com.atlas.service.MonthRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ETag derivation from data versions and the 304 short-circuit.
+ */
+@DisplayName("Conditional GET Tests")
+public class ConditionalGetTest {
+
+    private DataVersions dataVersions;
+    private ConditionalGet conditionalGet;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        dataVersions = new DataVersions();
+        conditionalGet = new ConditionalGet(dataVersions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private MockHttpServletResponse get(String etag, String managerId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.setParameter("managerId", managerId);
+        if (etag != null) {
+            request.addHeader("If-None-Match", etag);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<List<String>> entity = conditionalGet.respond(new ServletWebRequest(request, response), 7L,
+                () -> {
+                    loads.incrementAndGet();
+                    return List.of("alice");
+                }, DataVersions.Aggregate.EMPLOYEES);
+        if (entity != null) {
+            response.setStatus(entity.getStatusCode().value());
+        }
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without loading the body")
+    void shouldShortCircuitUnchangedData() {
+        String etag = get(null, "1").getHeader("ETag");
+        assertThat(etag).isNotNull();
+
+        MockHttpServletResponse response = get(etag, "1");
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeaders("ETag")).containsExactly(etag);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(get(etag, "2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should change the ETag only when a dependent aggregate is bumped")
+    void shouldTrackDependentVersions() {
+        String etag = get(null, "1").getHeader("ETag");
+
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.DELEGATES);
+        assertThat(get(etag, "1").getStatus()).isEqualTo(304);
+
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.EMPLOYEES);
+        MockHttpServletResponse response = get(etag, "1");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should not match a response for a different resolved default")
+    void shouldKeyOnResolvedValue() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/allocations/timeline");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        conditionalGet.respondResolved(new ServletWebRequest(first, firstResponse), 7L,
+                new MonthRange(YearMonth.of(2026, 9), YearMonth.of(2027, 8)), () -> "timeline",
+                DataVersions.Aggregate.ALLOCATIONS);
+        String etag = firstResponse.getHeader("ETag");
+
+        // Same request and data versions once the default range has moved on a month
+        MockHttpServletRequest next = new MockHttpServletRequest("GET", "/api/allocations/timeline");
+        next.addHeader("If-None-Match", etag);
+        MockHttpServletResponse nextResponse = new MockHttpServletResponse();
+        ResponseEntity<String> entity = conditionalGet.respondResolved(new ServletWebRequest(next, nextResponse), 7L,
+                new MonthRange(YearMonth.of(2026, 10), YearMonth.of(2027, 9)), () -> "timeline",
+                DataVersions.Aggregate.ALLOCATIONS);
+
+        assertThat(entity).isNotNull();
+        assertThat(nextResponse.getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should bump versions only once the transaction commits")
+    void shouldBumpAfterCommit() {
+        long before = dataVersions.get(DataVersions.Aggregate.ALLOCATIONS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        dataVersions.bumpAfterCommit(DataVersions.Aggregate.ALLOCATIONS);
+        assertThat(dataVersions.get(DataVersions.Aggregate.ALLOCATIONS)).isEqualTo(before);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(dataVersions.get(DataVersions.Aggregate.ALLOCATIONS)).isEqualTo(before + 1);
+    }
+}
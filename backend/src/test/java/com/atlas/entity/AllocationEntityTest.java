@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Unit tests for Allocation entity helper methods.
@@ -61,14 +62,7 @@ public class AllocationEntityTest {
     @DisplayName("Should return correct percentage when monthly allocation exists")
     void shouldReturnCorrectPercentageWhenMonthlyAllocationExists() {
         // Given: Allocation with monthly data
-        MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                .id(1L)
-                .allocation(allocation)
-                .year(2025)
-                .month(6)
-                .percentage(75)
-                .build();
-        allocation.getMonthlyAllocations().add(monthlyAlloc);
+        allocation.setAllocationForYearMonth(2025, 6, 75);
 
         // When: Get allocation for that year/month
         Integer result = allocation.getAllocationForYearMonth(2025, 6);
@@ -81,30 +75,9 @@ public class AllocationEntityTest {
     @DisplayName("Should return correct percentage when multiple monthly allocations exist")
     void shouldReturnCorrectPercentageWithMultipleMonthlyAllocations() {
         // Given: Allocation with multiple monthly data points
-        MonthlyAllocation monthlyAlloc1 = MonthlyAllocation.builder()
-                .id(1L)
-                .allocation(allocation)
-                .year(2025)
-                .month(5)
-                .percentage(50)
-                .build();
-        MonthlyAllocation monthlyAlloc2 = MonthlyAllocation.builder()
-                .id(2L)
-                .allocation(allocation)
-                .year(2025)
-                .month(6)
-                .percentage(100)
-                .build();
-        MonthlyAllocation monthlyAlloc3 = MonthlyAllocation.builder()
-                .id(3L)
-                .allocation(allocation)
-                .year(2025)
-                .month(7)
-                .percentage(25)
-                .build();
-        allocation.getMonthlyAllocations().add(monthlyAlloc1);
-        allocation.getMonthlyAllocations().add(monthlyAlloc2);
-        allocation.getMonthlyAllocations().add(monthlyAlloc3);
+        allocation.setAllocationForYearMonth(2025, 5, 50);
+        allocation.setAllocationForYearMonth(2025, 6, 100);
+        allocation.setAllocationForYearMonth(2025, 7, 25);
 
         // When: Get allocation for June 2025
         Integer result = allocation.getAllocationForYearMonth(2025, 6);
@@ -117,22 +90,8 @@ public class AllocationEntityTest {
     @DisplayName("Should distinguish between different years")
     void shouldDistinguishBetweenDifferentYears() {
         // Given: Same month but different years
-        MonthlyAllocation monthlyAlloc2024 = MonthlyAllocation.builder()
-                .id(1L)
-                .allocation(allocation)
-                .year(2024)
-                .month(6)
-                .percentage(50)
-                .build();
-        MonthlyAllocation monthlyAlloc2025 = MonthlyAllocation.builder()
-                .id(2L)
-                .allocation(allocation)
-                .year(2025)
-                .month(6)
-                .percentage(100)
-                .build();
-        allocation.getMonthlyAllocations().add(monthlyAlloc2024);
-        allocation.getMonthlyAllocations().add(monthlyAlloc2025);
+        allocation.setAllocationForYearMonth(2024, 6, 50);
+        allocation.setAllocationForYearMonth(2025, 6, 100);
 
         // When: Get allocations for different years
         Integer result2024 = allocation.getAllocationForYearMonth(2024, 6);
@@ -147,14 +106,7 @@ public class AllocationEntityTest {
     @DisplayName("Should return null for year/month combination that doesn't exist")
     void shouldReturnNullForNonExistentYearMonth() {
         // Given: Allocation with some monthly data
-        MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                .id(1L)
-                .allocation(allocation)
-                .year(2025)
-                .month(6)
-                .percentage(100)
-                .build();
-        allocation.getMonthlyAllocations().add(monthlyAlloc);
+        allocation.setAllocationForYearMonth(2025, 6, 100);
 
         // When: Get allocation for different month
         Integer result = allocation.getAllocationForYearMonth(2025, 7);
@@ -167,14 +119,7 @@ public class AllocationEntityTest {
     @DisplayName("Should handle zero percentage correctly")
     void shouldHandleZeroPercentageCorrectly() {
         // Given: Allocation with 0% monthly allocation
-        MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                .id(1L)
-                .allocation(allocation)
-                .year(2025)
-                .month(6)
-                .percentage(0)
-                .build();
-        allocation.getMonthlyAllocations().add(monthlyAlloc);
+        allocation.setAllocationForYearMonth(2025, 6, 0);
 
         // When: Get allocation for that year/month
         Integer result = allocation.getAllocationForYearMonth(2025, 6);
@@ -190,14 +135,7 @@ public class AllocationEntityTest {
         int currentYear = LocalDate.now().getYear();
         int currentMonth = LocalDate.now().getMonthValue();
 
-        MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                .id(1L)
-                .allocation(allocation)
-                .year(currentYear)
-                .month(currentMonth)
-                .percentage(80)
-                .build();
-        allocation.getMonthlyAllocations().add(monthlyAlloc);
+        allocation.setAllocationForYearMonth(currentYear, currentMonth, 80);
 
         // When: Get allocation for current year/month
         Integer result = allocation.getAllocationForYearMonth(currentYear, currentMonth);
@@ -212,15 +150,8 @@ public class AllocationEntityTest {
         // Given: Many monthly allocations across 2 years (24 months)
         for (int year = 2024; year <= 2025; year++) {
             for (int month = 1; month <= 12; month++) {
-                int percentage = (year * 100) + month; // Unique value per year/month
-                MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                        .id((long) ((year - 2024) * 12 + month))
-                        .allocation(allocation)
-                        .year(year)
-                        .month(month)
-                        .percentage(percentage)
-                        .build();
-                allocation.getMonthlyAllocations().add(monthlyAlloc);
+                int percentage = (year - 2024) * 12 + month; // Unique value per year/month
+                allocation.setAllocationForYearMonth(year, month, percentage);
             }
         }
 
@@ -230,8 +161,44 @@ public class AllocationEntityTest {
         Integer result2024Jun = allocation.getAllocationForYearMonth(2024, 6);
 
         // Then: Should correctly filter each one
-        assertThat(result2024Jan).isEqualTo(2024 * 100 + 1);  // 202401
-        assertThat(result2025Dec).isEqualTo(2025 * 100 + 12); // 202512
-        assertThat(result2024Jun).isEqualTo(2024 * 100 + 6);  // 202406
+        assertThat(result2024Jan).isEqualTo(1);
+        assertThat(result2025Dec).isEqualTo(24);
+        assertThat(result2024Jun).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should reject percentages a short cannot hold instead of storing a wrapped value")
+    void shouldRejectOutOfRangePercentages() {
+        // Given: Values that do not fit a short (202401 would wrap to 5793)
+        for (int year = 2024; year <= 2025; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int percentage = (year * 100) + month; // Unique value per year/month
+                int y = year;
+                int m = month;
+                assertThatThrownBy(() -> allocation.setAllocationForYearMonth(y, m, percentage))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining(String.valueOf(percentage));
+            }
+        }
+        assertThatThrownBy(() -> allocation.setAllocationForYearMonth(2025, 6, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Then: Nothing was stored, not even an empty year
+        assertThat(allocation.getAllocationForYearMonth(2024, 1)).isNull();
+        assertThat(allocation.getAllocationForYearMonth(2025, 12)).isNull();
+        assertThat(allocation.getYears()).isEmpty();
+
+        // And the bounds themselves are accepted
+        allocation.setAllocationForYearMonth(2025, 1, 0);
+        allocation.setAllocationForYearMonth(2025, 2, 100);
+        assertThat(allocation.getAllocationForYearMonth(2025, 2)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should key each month of an allocation uniquely and in order")
+    void shouldKeyMonthsUniquelyAndInOrder() {
+        // December and the following January are adjacent keys
+        assertThat(AllocationYear.monthKey(2025, 12) + 1).isEqualTo(AllocationYear.monthKey(2026, 1));
+        assertThat(AllocationYear.monthKey(2026, 1)).isLessThan(AllocationYear.monthKey(2026, 2));
     }
 }
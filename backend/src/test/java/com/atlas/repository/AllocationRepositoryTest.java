@@ -1,13 +1,23 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Allocation;
+import com.atlas.entity.Employee;
+import com.atlas.entity.MonthlyAllocation;
+import com.atlas.repository.projection.AllocationTimelineRow;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.AllocationSpecification;
+import com.atlas.specification.EmployeeSpecification;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * Tests for AllocationRepository filtration and faceted search logic.
@@ -75,6 +85,77 @@ public class AllocationRepositoryTest extends RepositoryTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("Access-Scoped Queries")
+    class ScopedQueryTests {
+
+        @Test
+        @DisplayName("Should return only in-scope allocations of a project")
+        void shouldFilterProjectAllocationsByScope() {
+            AccessScope scope = AccessScope.ids(List.of(employeeActive.getId()));
+
+            List<Allocation> scoped = allocationRepository.findByProjectIdInScope(project1.getId(), scope);
+            List<Allocation> unrestricted = allocationRepository.findByProjectIdInScope(project1.getId(), AccessScope.all());
+
+            assertThat(scoped)
+                    .isNotEmpty()
+                    .allMatch(a -> a.getEmployee().getId().equals(employeeActive.getId()));
+            assertThat(unrestricted).hasSizeGreaterThan(scoped.size());
+            assertThat(allocationRepository.findByProjectIdInScope(project1.getId(), AccessScope.none())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return nothing for an employee outside the scope")
+        void shouldHideOutOfScopeEmployee() {
+            AccessScope scope = AccessScope.ids(List.of(employeeBench.getId()));
+
+            assertThat(allocationRepository.findByEmployeeIdInScope(employeeActive.getId(), scope)).isEmpty();
+            assertThat(allocationRepository.findByEmployeeIdInScope(employeeActive.getId(), AccessScope.all()))
+                    .isNotEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stream the allocations of the subtree through the closure table")
+        void shouldStreamSubtreeAllocations() {
+            List<Long> subtreeIds = employeeHierarchyRepository.findDescendantIds(manager1.getId());
+
+            List<Allocation> streamed;
+            try (Stream<Allocation> allocations = allocationRepository.streamInScope(
+                    AccessScope.subtree(manager1.getId(), subtreeIds))) {
+                streamed = allocations.toList();
+            }
+
+            assertThat(streamed)
+                    .isNotEmpty()
+                    .allMatch(a -> subtreeIds.contains(a.getEmployee().getId()));
+            assertThat(streamed).hasSameSizeAs(allocationRepository.findByEmployeeIdsWithDetails(subtreeIds));
+        }
+
+        @Test
+        @DisplayName("Should count PROJECT allocations per project and employee")
+        void shouldCountProjectAllocationPairs() {
+            List<Object[]> rows = allocationRepository.countProjectAllocationsByProjectAndEmployee();
+
+            assertThat(rows)
+                    .anyMatch(r -> r[0].equals(project1.getId()) && r[1].equals(employeeActive.getId())
+                            && ((Number) r[2]).longValue() == 1L)
+                    .noneMatch(r -> r[1].equals(employeeProspect.getId()));
+        }
+
+        @Test
+        @DisplayName("Should batch-load monthly rows of several allocations")
+        void shouldFindMonthlyRowsByAllocationIds() {
+            List<Long> allocationIds = allocationRepository.findByProjectIdInScope(project1.getId(), AccessScope.all())
+                    .stream().map(Allocation::getId).toList();
+
+            List<MonthlyAllocation> months = allocationYearRepository.findByAllocationIds(allocationIds);
+
+            assertThat(months)
+                    .hasSize(2)
+                    .allMatch(ma -> allocationIds.contains(ma.getAllocation().getId()));
+        }
+    }
+
     @Nested
     @DisplayName("Project-Specific Allocation Queries")
     class ProjectAllocationTests {
@@ -148,22 +229,106 @@ public class AllocationRepositoryTest extends RepositoryTestBase {
     }
 
     @Nested
-    @DisplayName("Employee-Based Allocation Queries")
-    class EmployeeAllocationTests {
+    @DisplayName("Faceted Search - Single Query Facets")
+    class AllocationFacetTests {
+
+        // facet -> value -> count (MONTH keyed by "YYYY-MM")
+        private Map<String, Map<String, Long>> facets(String allocationType, Long managerId, AccessScope scope) {
+            Map<String, Map<String, Long>> result = new HashMap<>();
+            for (Object[] row : allocationRepository.findAllocationFacetCounts(allocationType, managerId, null, null,
+                    scope, currentYear, currentMonth)) {
+                String value = "MONTH".equals(row[0])
+                        ? String.format("%04d-%02d", ((Number) row[2]).longValue() / 100,
+                                ((Number) row[2]).longValue() % 100)
+                        : (String) row[1];
+                result.computeIfAbsent((String) row[0], k -> new HashMap<>())
+                        .put(value, ((Number) row[3]).longValue());
+            }
+            return result;
+        }
+
+        private long benchCount(Long managerId, AccessScope scope) {
+            return employeeRepository.count(EmployeeSpecification.withFilters(
+                    null, null, managerId, "BENCH", scope, null, currentYear, currentMonth));
+        }
 
         @Test
-        @DisplayName("Should find allocations by employee objects")
-        void shouldFindAllocationsByEmployees() {
-            // Given: List of employee objects
-            List<com.atlas.entity.Employee> employees = List.of(employeeActive, employeeMultipleProjects);
+        @DisplayName("Should count the same allocation types as the dropdown query, plus BENCH")
+        void shouldMatchAllocationTypes() {
+            Map<String, Long> types = facets(null, null, null).get("TYPE");
+
+            List<Allocation.AllocationType> legacy = allocationRepository.findDistinctAllocationTypesBySpec(
+                    null, null, null, currentYear, currentMonth);
+            assertThat(types.keySet()).containsExactlyInAnyOrderElementsOf(
+                    Stream.concat(legacy.stream().map(Enum::name), Stream.of("BENCH"))
+                            .toList());
+            for (Allocation.AllocationType type : legacy) {
+                long employees = allocationRepository.findAll(AllocationSpecification.withFilters(
+                        type, null, null, null, currentYear, currentMonth))
+                        .stream().map(a -> a.getEmployee().getId()).distinct().count();
+                assertThat(types.get(type.name())).as(type.name()).isEqualTo(employees);
+            }
+            assertThat(types.get("BENCH")).isEqualTo(benchCount(null, null));
+        }
 
-            // When: Query allocations for these employees
-            List<Allocation> allocations = allocationRepository.findAllocationsByEmployees(employees);
+        @Test
+        @DisplayName("Should drop BENCH and list months with rows once a type is selected")
+        void shouldListMonthsForSelectedType() {
+            Map<String, Map<String, Long>> result = facets("PROJECT", null, null);
+
+            assertThat(result.get("TYPE")).doesNotContainKey("BENCH");
+            assertThat(result.get("MONTH").keySet()).containsExactlyInAnyOrderElementsOf(
+                    allocationRepository.findDistinctAvailableMonths(Allocation.AllocationType.PROJECT, null, null,
+                            null));
+            assertThat(facets(null, null, null)).doesNotContainKey("MONTH");
+        }
 
-            // Then: Allocations for both employees are returned
-            assertThat(allocations)
-                    .isNotEmpty()
-                    .allMatch(a -> employees.contains(a.getEmployee()));
+        @Test
+        @DisplayName("Should count bench employees per manager within the scope")
+        void shouldMatchBenchManagers() {
+            AccessScope scope = AccessScope.ids(employeeHierarchyRepository.findDescendantIds(ceo.getId()));
+            Map<String, Long> managers = facets("BENCH", null, scope).get("MANAGER");
+
+            List<Employee> legacy = employeeRepository.findDistinctManagersByEmployeeSpec(
+                    null, null, null, "BENCH", scope, null, currentYear, currentMonth);
+            assertThat(managers.keySet()).containsExactlyInAnyOrderElementsOf(
+                    legacy.stream().map(Employee::getName).toList());
+            for (Employee manager : legacy) {
+                assertThat(managers.get(manager.getName())).isEqualTo(benchCount(manager.getId(), scope));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Timeline Rows")
+    class TimelineTests {
+
+        @Test
+        @DisplayName("Should read the month vectors of the years in range, within scope")
+        void shouldReadVectorsInYearRange() {
+            AccessScope scope = AccessScope.ids(List.of(employeeActive.getId(), employeeMultipleProjects.getId()));
+
+            List<AllocationTimelineRow> rows = allocationRepository.findRows(
+                    AllocationSpecification.withFilters(null, null, null, scope, null, null),
+                    AllocationTimelineRow.between(currentYear - 1, currentYear));
+
+            assertThat(rows)
+                    .extracting(AllocationTimelineRow::employeeId, AllocationTimelineRow::projectName,
+                            AllocationTimelineRow::year, row -> row.percentage(currentMonth))
+                    .containsExactlyInAnyOrder(
+                            tuple(employeeActive.getId(), project1.getDescription(), currentYear, 100),
+                            tuple(employeeMultipleProjects.getId(), project1.getDescription(), currentYear, 50),
+                            tuple(employeeMultipleProjects.getId(), project2.getDescription(), currentYear, 50));
+        }
+
+        @Test
+        @DisplayName("Should skip allocations without a vector in the year range")
+        void shouldSkipYearsOutsideRange() {
+            List<AllocationTimelineRow> rows = allocationRepository.findRows(
+                    AllocationSpecification.withFilters(null, null, null, AccessScope.all(), null, null),
+                    AllocationTimelineRow.between(currentYear + 1, currentYear + 2));
+
+            assertThat(rows).isEmpty();
         }
     }
 
@@ -0,0 +1,116 @@
+package com.atlas.repository;
+
+import com.atlas.repository.projection.DashboardAggregate;
+import com.atlas.security.AccessScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parity tests: the single-statement aggregate must return exactly what the
+ * per-KPI queries over the live allocation rows return for the same scope and
+ * month.
+ */
+@DisplayName("Dashboard Aggregate Repository Tests")
+public class DashboardAggregateRepositoryTest extends RepositoryTestBase {
+
+        private static final String NOT_ACTIVE = "NOT EXISTS (SELECT 1 FROM allocations a "
+                        + "JOIN allocation_years ma ON ma.allocation_id = a.id WHERE a.employee_id = e.id "
+                        + "AND a.allocation_type = 'PROJECT' AND ma.\"year\" = :year AND ma.percentages[:month] > 0)";
+
+        @Autowired
+        private DashboardAggregateRepository dashboardAggregateRepository;
+
+        @Autowired
+        private NamedParameterJdbcTemplate jdbcTemplate;
+
+        /**
+         * Counts non-resigned employees in scope matching a condition written
+         * straight against allocations, with PROSPECT/MATERNITY/VACATION ranges
+         * checked against the month's first and last day.
+         */
+        private long countLive(AccessScope scope, String condition) {
+                LocalDate firstDay = LocalDate.of(currentYear, currentMonth, 1);
+                String inRange = "a.start_date <= :lastDay AND (a.end_date IS NULL OR a.end_date >= :firstDay)";
+                String sql = "SELECT COUNT(*) FROM employees e WHERE e.resignation_date IS NULL "
+                                + (scope.isUnrestricted() ? "" : "AND e.id IN (:ids) ")
+                                + "AND " + condition.replace(":inRange", inRange);
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                                .addValue("year", currentYear)
+                                .addValue("month", currentMonth)
+                                .addValue("firstDay", firstDay)
+                                .addValue("lastDay", firstDay.withDayOfMonth(firstDay.lengthOfMonth()))
+                                .addValue("ids", scope.getEmployeeIds());
+                return jdbcTemplate.queryForObject(sql, params, Long.class);
+        }
+
+        private void assertMatchesPerKpiQueries(AccessScope scope) {
+                DashboardAggregate aggregate = dashboardAggregateRepository.aggregateFiltered(scope, currentYear,
+                                currentMonth);
+
+                // Expected values are read from allocations and allocation_years, never
+                // from employee_month_status, so a stale read model shows up here instead
+                // of agreeing with itself. The native bench/prospect counts ignore the
+                // allocation date ranges, hence the EXISTS queries for those two
+                boolean all = scope.isUnrestricted();
+                Long[] ids = scope.toIdArray();
+                long totalEmployees = all ? employeeRepository.count() : scope.getEmployeeIds().size();
+                long activeEmployees = all ? employeeRepository.countActiveAllocatedEmployees(currentYear, currentMonth)
+                                : employeeRepository.countActiveAllocatedEmployeesByIds(ids, currentYear, currentMonth);
+                long benchCount = countLive(scope, NOT_ACTIVE + " AND NOT EXISTS (SELECT 1 FROM allocations a "
+                                + "WHERE a.employee_id = e.id AND a.allocation_type IN ('PROSPECT', 'MATERNITY', 'VACATION') "
+                                + "AND :inRange)");
+                long prospectCount = countLive(scope, NOT_ACTIVE + " AND EXISTS (SELECT 1 FROM allocations a "
+                                + "WHERE a.employee_id = e.id AND a.allocation_type = 'PROSPECT' AND :inRange)");
+                double averageAllocation = all
+                                ? employeeRepository.averageAllocationPercentage(currentYear, currentMonth)
+                                : employeeRepository.averageAllocationPercentageByIds(ids, currentYear, currentMonth);
+                long activeProjects = all ? projectRepository.countActiveProjects()
+                                : projectRepository.countActiveProjectsByEmployeeIds(ids);
+
+                assertThat(aggregate.getTotalEmployees()).isEqualTo(totalEmployees);
+                assertThat(aggregate.getActiveEmployees()).isEqualTo(activeEmployees);
+                assertThat(aggregate.getBenchCount()).isEqualTo(benchCount);
+                assertThat(aggregate.getProspectCount()).isEqualTo(prospectCount);
+                assertThat(aggregate.getAverageAllocation()).isEqualTo(averageAllocation);
+                assertThat(aggregate.getActiveProjects()).isEqualTo(activeProjects);
+        }
+
+        @Test
+        @DisplayName("Should match the live per-KPI queries for the whole organization")
+        void shouldMatchUnrestricted() {
+                assertMatchesPerKpiQueries(AccessScope.all());
+                DashboardAggregate aggregate = dashboardAggregateRepository.aggregateFiltered(AccessScope.all(),
+                                currentYear, currentMonth);
+                assertThat(aggregate.getActiveEmployees()).isPositive();
+                assertThat(aggregate.getBenchCount()).isPositive();
+                assertThat(aggregate.getProspectCount()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should match the live per-KPI queries for a manager's subtree")
+        void shouldMatchSubtree() {
+                List<Long> subtreeIds = employeeHierarchyRepository.findDescendantIds(manager1.getId());
+                assertMatchesPerKpiQueries(AccessScope.ids(subtreeIds));
+                assertMatchesPerKpiQueries(AccessScope.subtree(manager1.getId(), subtreeIds));
+        }
+
+        @Test
+        @DisplayName("Should return zeros for an empty scope")
+        void shouldReturnZerosForEmptyScope() {
+                DashboardAggregate aggregate = dashboardAggregateRepository.aggregateFiltered(AccessScope.none(),
+                                currentYear, currentMonth);
+
+                assertThat(aggregate.getTotalEmployees()).isZero();
+                assertThat(aggregate.getBenchCount()).isZero();
+                assertThat(aggregate.getAverageAllocation()).isZero();
+                assertThat(aggregate.getActiveProjects()).isZero();
+        }
+}
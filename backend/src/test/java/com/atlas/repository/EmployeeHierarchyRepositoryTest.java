@@ -0,0 +1,144 @@
+package com.atlas.repository;
+
+import com.atlas.entity.Employee;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.EmployeeSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the employee_hierarchy closure table and its maintenance queries.
+ */
+@DisplayName("Employee Hierarchy Repository Tests")
+public class EmployeeHierarchyRepositoryTest extends RepositoryTestBase {
+
+        @Nested
+        @DisplayName("Closure Table Rebuild")
+        class RebuildTests {
+
+                @Test
+                @DisplayName("Should match recursive subordinate query for every employee")
+                void shouldMatchRecursiveQuery() {
+                        for (Employee e : employeeRepository.findAll()) {
+                                assertThat(employeeHierarchyRepository.findDescendantIds(e.getId()))
+                                                .containsExactlyInAnyOrderElementsOf(
+                                                                employeeRepository.findAllSubordinateIds(e.getId()));
+                        }
+                }
+
+                @Test
+                @DisplayName("Should contain a self row at depth zero")
+                void shouldContainSelfRow() {
+                        assertThat(employeeHierarchyRepository.existsByAncestorIdAndDescendantId(
+                                        employeeBench.getId(), employeeBench.getId())).isTrue();
+                        assertThat(employeeHierarchyRepository.findDescendantIds(employeeBench.getId()))
+                                        .containsExactly(employeeBench.getId());
+                }
+        }
+
+        @Nested
+        @DisplayName("Incremental Maintenance")
+        class MaintenanceTests {
+
+                @Test
+                @DisplayName("Should register a new employee under all of its manager's ancestors")
+                void shouldInsertNewEmployee() {
+                        Employee newHire = employeeRepository.save(Employee.builder()
+                                        .oracleId(9000)
+                                        .name("New Hire")
+                                        .email("newhire@atlas.com")
+                                        .hireDate(LocalDate.now())
+                                        .manager(manager1)
+                                        .build());
+
+                        employeeHierarchyRepository.insertEmployee(newHire.getId(), manager1.getId());
+
+                        assertThat(employeeHierarchyRepository.findDescendantIds(manager1.getId()))
+                                        .contains(newHire.getId());
+                        assertThat(employeeHierarchyRepository.findDescendantIds(ceo.getId()))
+                                        .contains(newHire.getId());
+                        assertThat(employeeHierarchyRepository.findDescendantIds(manager2.getId()))
+                                        .doesNotContain(newHire.getId());
+                }
+
+                @Test
+                @DisplayName("Should move a whole subtree to a new manager")
+                void shouldMoveSubtree() {
+                        List<Long> manager1Subtree = employeeHierarchyRepository.findDescendantIds(manager1.getId());
+
+                        employeeHierarchyRepository.detachSubtree(manager1.getId());
+                        employeeHierarchyRepository.attachSubtree(manager1.getId(), manager2.getId());
+
+                        assertThat(employeeHierarchyRepository.findDescendantIds(manager2.getId()))
+                                        .containsAll(manager1Subtree);
+                        assertThat(employeeHierarchyRepository.findDescendantIds(ceo.getId()))
+                                        .containsAll(manager1Subtree);
+                        assertThat(employeeHierarchyRepository.findDescendantIds(manager1.getId()))
+                                        .containsExactlyInAnyOrderElementsOf(manager1Subtree);
+                }
+
+                @Test
+                @DisplayName("Should detach a subtree when manager is cleared")
+                void shouldDetachSubtree() {
+                        employeeHierarchyRepository.detachSubtree(manager1.getId());
+
+                        assertThat(employeeHierarchyRepository.findDescendantIds(ceo.getId()))
+                                        .doesNotContain(manager1.getId(), employeeActive.getId());
+                        assertThat(employeeHierarchyRepository.findDescendantIds(manager1.getId()))
+                                        .contains(manager1.getId());
+                }
+        }
+
+        @Nested
+        @DisplayName("Access Scope Forms")
+        class AccessScopeTests {
+
+                @Test
+                @DisplayName("Should filter employees to the manager's subtree via closure table join")
+                void shouldFilterBySubtree() {
+                        List<Long> subtreeIds = getAccessibleEmployeeIds(manager1);
+                        List<Employee> result = employeeRepository.findAll(EmployeeSpecification.inScope(
+                                        AccessScope.subtree(manager1.getId(), subtreeIds)));
+
+                        assertThat(result)
+                                        .extracting(Employee::getId)
+                                        .containsExactlyInAnyOrderElementsOf(subtreeIds);
+                }
+
+                @Test
+                @DisplayName("Should return the same employees for SUBTREE and IDS forms")
+                void shouldMatchIdsForm() {
+                        List<Long> subtreeIds = getAccessibleEmployeeIds(manager1);
+                        List<Employee> bySubtree = employeeRepository.findAll(EmployeeSpecification.withFilters(
+                                        null, null, null, "BENCH",
+                                        AccessScope.subtree(manager1.getId(), subtreeIds), null));
+                        List<Employee> byIds = employeeRepository.findAll(EmployeeSpecification.withFilters(
+                                        null, null, null, "BENCH", AccessScope.ids(subtreeIds), null));
+
+                        assertThat(bySubtree).containsExactlyInAnyOrderElementsOf(byIds);
+                }
+
+                @Test
+                @DisplayName("Should bind the scope as a single array parameter in native queries")
+                void shouldBindArrayInNativeQuery() {
+                        List<Long> subtreeIds = getAccessibleEmployeeIds(manager1);
+                        List<String> expected = employeeRepository.findAllById(subtreeIds).stream()
+                                        .filter(e -> e.getResignationDate() == null && e.getTower() != null)
+                                        .map(e -> e.getTower().getDescription())
+                                        .distinct()
+                                        .toList();
+
+                        assertThat(employeeRepository.findDistinctTowersFiltered(
+                                        AccessScope.subtree(manager1.getId(), subtreeIds), null, null))
+                                        .containsExactlyInAnyOrderElementsOf(expected);
+                        assertThat(employeeRepository.findDistinctTowersFiltered(AccessScope.none(), null, null))
+                                        .isEmpty();
+                }
+        }
+}
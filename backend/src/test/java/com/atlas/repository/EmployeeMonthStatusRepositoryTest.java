@@ -0,0 +1,138 @@
+package com.atlas.repository;
+
+import com.atlas.entity.Allocation;
+import com.atlas.entity.EmployeeMonthStatus;
+import com.atlas.specification.EmployeeSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the employee_month_status read model and its maintenance queries.
+ */
+@DisplayName("Employee Month Status Repository Tests")
+public class EmployeeMonthStatusRepositoryTest extends RepositoryTestBase {
+
+        private Optional<EmployeeMonthStatus> statusOf(Long employeeId, YearMonth ym) {
+                return employeeMonthStatusRepository.findById(
+                                new EmployeeMonthStatus.Key(employeeId, ym.getYear(), ym.getMonthValue()));
+        }
+
+        private Optional<EmployeeMonthStatus> currentStatusOf(Long employeeId) {
+                return statusOf(employeeId, YearMonth.of(currentYear, currentMonth));
+        }
+
+        @Nested
+        @DisplayName("Rebuild")
+        class RebuildTests {
+
+                @Test
+                @DisplayName("Should derive status, total and project count for the current month")
+                void shouldDeriveCurrentMonthRows() {
+                        EmployeeMonthStatus active = currentStatusOf(employeeActive.getId()).orElseThrow();
+                        assertThat(active.getStatus()).isEqualTo(EmployeeMonthStatus.Status.ACTIVE);
+                        assertThat(active.getTotalPct()).isEqualTo(100);
+                        assertThat(active.getProjectCount()).isEqualTo(1);
+
+                        EmployeeMonthStatus multi = currentStatusOf(employeeMultipleProjects.getId()).orElseThrow();
+                        assertThat(multi.getStatus()).isEqualTo(EmployeeMonthStatus.Status.ACTIVE);
+                        assertThat(multi.getTotalPct()).isEqualTo(100);
+                        assertThat(multi.getProjectCount()).isEqualTo(2);
+
+                        assertThat(currentStatusOf(employeeProspect.getId()).orElseThrow().getStatus())
+                                        .isEqualTo(EmployeeMonthStatus.Status.PROSPECT);
+
+                        EmployeeMonthStatus maternity = currentStatusOf(employeeMaternity.getId()).orElseThrow();
+                        assertThat(maternity.getStatus()).isEqualTo(EmployeeMonthStatus.Status.MATERNITY);
+                        assertThat(maternity.getOnMaternity()).isTrue();
+                        assertThat(maternity.getOnVacation()).isFalse();
+                        assertThat(maternity.getTotalPct()).isZero();
+                }
+
+                @Test
+                @DisplayName("Should leave bench months without a row")
+                void shouldSkipBenchMonths() {
+                        assertThat(currentStatusOf(employeeBench.getId())).isEmpty();
+                        assertThat(currentStatusOf(employeePastProspect.getId())).isEmpty();
+                        assertThat(statusOf(employeePastProspect.getId(), YearMonth.now().minusMonths(4)))
+                                        .map(EmployeeMonthStatus::getStatus)
+                                        .contains(EmployeeMonthStatus.Status.PROSPECT);
+                }
+
+                @Test
+                @DisplayName("Should expand open-ended ranges up to the horizon only")
+                void shouldStopOpenEndedRangesAtHorizon() {
+                        allocationRepository.save(Allocation.builder()
+                                        .employee(employeeBench)
+                                        .allocationType(Allocation.AllocationType.VACATION)
+                                        .startDate(LocalDate.now().withDayOfMonth(1))
+                                        .build());
+                        employeeMonthStatusRepository.deleteByEmployee(employeeBench.getId());
+                        employeeMonthStatusRepository.insertFromAllocations(employeeBench.getId(),
+                                        EmployeeMonthStatus.horizonKey());
+
+                        List<EmployeeMonthStatus> rows = employeeMonthStatusRepository
+                                        .findByEmployeeIdOrderByYearAscMonthAsc(employeeBench.getId());
+                        assertThat(rows).hasSize(EmployeeMonthStatus.HORIZON_MONTHS + 1);
+                        assertThat(rows).allMatch(EmployeeMonthStatus::getOnVacation);
+                        EmployeeMonthStatus last = rows.get(rows.size() - 1);
+                        assertThat(EmployeeMonthStatus.monthKey(last.getYear(), last.getMonth()))
+                                        .isEqualTo(EmployeeMonthStatus.horizonKey());
+                }
+        }
+
+        @Nested
+        @DisplayName("Incremental Maintenance")
+        class MaintenanceTests {
+
+                @Test
+                @DisplayName("Should refresh one employee without touching others")
+                void shouldRefreshSingleEmployee() {
+                        allocationRepository.deleteAll(allocationRepository.findAll().stream()
+                                        .filter(a -> a.getEmployee().getId().equals(employeeProspect.getId()))
+                                        .toList());
+
+                        employeeMonthStatusRepository.deleteByEmployee(employeeProspect.getId());
+                        employeeMonthStatusRepository.insertFromAllocations(employeeProspect.getId(),
+                                        EmployeeMonthStatus.horizonKey());
+
+                        assertThat(employeeMonthStatusRepository
+                                        .findByEmployeeIdOrderByYearAscMonthAsc(employeeProspect.getId())).isEmpty();
+                        assertThat(currentStatusOf(employeeActive.getId())).isPresent();
+                        assertThat(employeeRepository.count(EmployeeSpecification.benchEmployees(
+                                        null, null, null, currentYear, currentMonth)))
+                                        .isEqualTo(6);
+                }
+        }
+
+        @Nested
+        @DisplayName("Horizon Fallback")
+        class FallbackTests {
+
+                @Test
+                @DisplayName("Should answer months past the horizon from the allocations themselves")
+                void shouldFallBackBeyondHorizon() {
+                        allocationRepository.save(Allocation.builder()
+                                        .employee(employeeBench)
+                                        .allocationType(Allocation.AllocationType.MATERNITY)
+                                        .startDate(LocalDate.now())
+                                        .build());
+                        YearMonth beyond = YearMonth.now().plusMonths(EmployeeMonthStatus.HORIZON_MONTHS + 6);
+                        assertThat(EmployeeMonthStatus.isMaterialized(beyond.getYear(), beyond.getMonthValue()))
+                                        .isFalse();
+
+                        List<Long> onLeave = employeeRepository.findAll(EmployeeSpecification.isOnLeave(
+                                        Allocation.AllocationType.MATERNITY, beyond.getYear(), beyond.getMonthValue()))
+                                        .stream().map(e -> e.getId()).toList();
+
+                        assertThat(onLeave).contains(employeeBench.getId());
+                }
+        }
+}
@@ -1,16 +1,33 @@
 package com.atlas.repository;
 
 import com.atlas.entity.Employee;
+import com.atlas.repository.projection.AllocationRow;
+import com.atlas.repository.projection.EmployeeRow;
+import com.atlas.repository.projection.EmployeeSummaryRow;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.AllocationSpecification;
+import com.atlas.specification.EmployeeSpecification;
+import com.atlas.specification.InvalidCursorException;
+import com.atlas.specification.NameCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * Comprehensive tests for EmployeeRepository filtration logic.
@@ -136,7 +153,7 @@ public class EmployeeRepositoryTest extends RepositoryTestBase {
                         // When: Filter by accessible IDs
                         Page<Employee> result = employeeRepository.findAll(
                                         com.atlas.specification.EmployeeSpecification.withFilters(
-                                                        null, null, null, "BENCH", accessibleIds, null, currentYear,
+                                                        null, null, null, "BENCH", AccessScope.ids(accessibleIds), null, currentYear,
                                                         currentMonth),
                                         pageable);
 
@@ -163,7 +180,7 @@ public class EmployeeRepositoryTest extends RepositoryTestBase {
                         List<Long> accessibleIds = getAccessibleEmployeeIds(manager1);
 
                         // When: Count BENCH employees in accessible list
-                        long count = employeeRepository.countBenchEmployeesFiltered(accessibleIds, currentYear,
+                        long count = employeeRepository.countBenchEmployeesFiltered(AccessScope.ids(accessibleIds), currentYear,
                                         currentMonth);
 
                         // Then: Count matches filter
@@ -506,6 +523,311 @@ public class EmployeeRepositoryTest extends RepositoryTestBase {
                 }
         }
 
+        @Nested
+        @DisplayName("Employee Facets (Single Query)")
+        class EmployeeFacetTests {
+
+                private final List<String> statuses = List.of("ACTIVE", "BENCH", "PROSPECT", "MATERNITY", "VACATION",
+                                "RESIGNED");
+
+                // facet -> value -> count
+                private Map<String, Map<String, Long>> facets(String tower, Long managerId, String status,
+                                AccessScope scope) {
+                        Map<String, Map<String, Long>> result = new HashMap<>();
+                        for (Object[] row : employeeRepository.findEmployeeFacetCounts(null, tower, managerId, status,
+                                        scope, null, currentYear, currentMonth)) {
+                                if (row[1] != null) {
+                                        result.computeIfAbsent((String) row[0], k -> new HashMap<>())
+                                                        .put((String) row[1], ((Number) row[4]).longValue());
+                                }
+                        }
+                        return result;
+                }
+
+                private long legacyCount(String tower, Long managerId, String status, AccessScope scope) {
+                        return employeeRepository.count(com.atlas.specification.EmployeeSpecification.withFilters(
+                                        null, tower, managerId, status, scope, null, currentYear, currentMonth));
+                }
+
+                @Test
+                @DisplayName("Should count every status like the per-status queries")
+                void shouldMatchStatusCounts() {
+                        Map<String, Long> unfiltered = facets(null, null, null, null).get("STATUS");
+                        Map<String, Long> inEpis = facets("EPIS", null, "ACTIVE", null).get("STATUS");
+
+                        for (String status : statuses) {
+                                assertThat(unfiltered.getOrDefault(status, 0L)).as(status)
+                                                .isEqualTo(legacyCount(null, null, status, null));
+                                assertThat(inEpis.getOrDefault(status, 0L)).as("EPIS " + status)
+                                                .isEqualTo(legacyCount("EPIS", null, status, null));
+                        }
+                        assertThat(unfiltered.get("ACTIVE")).isPositive();
+                }
+
+                @Test
+                @DisplayName("Should list the same towers and managers as the dropdown queries")
+                void shouldMatchTowersAndManagers() {
+                        Map<String, Map<String, Long>> result = facets(null, null, "BENCH", null);
+
+                        assertThat(result.get("TOWER").keySet())
+                                        .containsExactlyInAnyOrderElementsOf(techTowerRepository
+                                                        .findDistinctDescriptionsByEmployeeSpec(null, null, null,
+                                                                        "BENCH", null, null));
+                        result.get("TOWER").forEach((tower, count) -> assertThat(count)
+                                        .isEqualTo(legacyCount(tower, null, "BENCH", null)));
+
+                        List<Employee> managers = employeeRepository.findDistinctManagersByEmployeeSpec(null, null,
+                                        null, "BENCH", null, null, currentYear, currentMonth);
+                        assertThat(result.get("MANAGER").keySet())
+                                        .containsExactlyInAnyOrderElementsOf(
+                                                        managers.stream().map(Employee::getName).toList());
+                        for (Employee manager : managers) {
+                                assertThat(result.get("MANAGER").get(manager.getName()))
+                                                .isEqualTo(legacyCount(null, manager.getId(), "BENCH", null));
+                        }
+                }
+
+                @Test
+                @DisplayName("Should restrict every facet to the access scope")
+                void shouldApplyScope() {
+                        AccessScope scope = AccessScope.ids(
+                                        employeeHierarchyRepository.findDescendantIds(manager1.getId()));
+                        Map<String, Map<String, Long>> result = facets(null, null, null, scope);
+
+                        for (String status : statuses) {
+                                assertThat(result.get("STATUS").getOrDefault(status, 0L)).as(status)
+                                                .isEqualTo(legacyCount(null, null, status, scope));
+                        }
+                        assertThat(result.get("MANAGER").keySet()).containsExactlyInAnyOrderElementsOf(
+                                        employeeRepository.findDistinctManagersByEmployeeSpec(null, null, null, null,
+                                                        scope, null, currentYear, currentMonth)
+                                                        .stream().map(Employee::getName).toList());
+                }
+        }
+
+        @Nested
+        @DisplayName("Streaming Export Reads")
+        class StreamingTests {
+
+                private List<Long> streamedIds(AccessScope scope) {
+                        try (Stream<Employee> employees = employeeRepository.streamInScope(scope)) {
+                                return employees.map(Employee::getId).toList();
+                        }
+                }
+
+                @Test
+                @DisplayName("Should stream every employee in id order for an unrestricted scope")
+                void shouldStreamEveryone() {
+                        List<Long> ids = streamedIds(AccessScope.all());
+
+                        assertThat(ids).hasSize((int) employeeRepository.count()).isSorted();
+                }
+
+                @Test
+                @DisplayName("Should stream the same subtree through the closure table and the id list")
+                void shouldStreamSubtree() {
+                        List<Long> subtreeIds = employeeHierarchyRepository.findDescendantIds(manager1.getId());
+
+                        assertThat(streamedIds(AccessScope.subtree(manager1.getId(), subtreeIds)))
+                                        .containsExactlyInAnyOrderElementsOf(subtreeIds);
+                        assertThat(streamedIds(AccessScope.ids(subtreeIds)))
+                                        .containsExactlyInAnyOrderElementsOf(subtreeIds);
+                        assertThat(streamedIds(AccessScope.none())).isEmpty();
+                }
+        }
+
+        @Nested
+        @DisplayName("Keyset Pagination")
+        class KeysetPaginationTests {
+
+                @Test
+                @DisplayName("Should walk every page in name, id order without gaps or repeats")
+                void shouldWalkPagesInKeysetOrder() {
+                        Specification<Employee> spec = EmployeeSpecification.withFilters(
+                                        null, null, null, null, null, null, currentYear, currentMonth);
+                        List<Long> expected = employeeRepository.findAll(spec, EmployeeSpecification.KEYSET_ORDER)
+                                        .stream().map(Employee::getId).toList();
+
+                        List<Long> walked = new ArrayList<>();
+                        NameCursor after = null;
+                        Slice<Employee> slice;
+                        do {
+                                slice = employeeRepository.findSliceAfter(spec, after, 2);
+                                assertThat(slice.getContent()).hasSizeLessThanOrEqualTo(2);
+                                slice.getContent().forEach(e -> walked.add(e.getId()));
+                                // Round-trip through the token, as a client would
+                                after = NameCursor.decode(NameCursor.next(slice));
+                        } while (slice.hasNext());
+
+                        assertThat(expected).hasSizeGreaterThan(2);
+                        assertThat(walked).containsExactlyElementsOf(expected);
+                        assertThat(after).isNull();
+                }
+
+                @Test
+                @DisplayName("Should read offset slices without a total")
+                void shouldReadOffsetSlices() {
+                        Specification<Employee> spec = EmployeeSpecification.withFilters(
+                                        null, null, null, null, null, null, currentYear, currentMonth);
+                        long total = employeeRepository.count(spec);
+                        Sort order = EmployeeSpecification.KEYSET_ORDER;
+
+                        Slice<Employee> first = employeeRepository.findSlice(spec, PageRequest.of(0, 2, order));
+                        Slice<Employee> last = employeeRepository.findSlice(spec,
+                                        PageRequest.of((int) ((total - 1) / 2), 2, order));
+
+                        assertThat(first.getContent()).extracting(Employee::getId).containsExactlyElementsOf(
+                                        employeeRepository.findAll(spec, PageRequest.of(0, 2, order)).stream()
+                                                        .map(Employee::getId).toList());
+                        assertThat(first.hasNext()).isTrue();
+                        assertThat(last.hasNext()).isFalse();
+                }
+
+                @Test
+                @DisplayName("Should break name ties by id and keep separators in names")
+                void shouldBreakNameTiesById() {
+                        Employee first = employeeRepository.save(Employee.builder()
+                                        .oracleId(99001).name("Zed: Same").email("zed1@atlas.com").build());
+                        Employee second = employeeRepository.save(Employee.builder()
+                                        .oracleId(99002).name("Zed: Same").email("zed2@atlas.com").build());
+                        Specification<Employee> spec = EmployeeSpecification.withFilters(
+                                        "zed: same", null, null, null, null, null, currentYear, currentMonth);
+
+                        Slice<Employee> page1 = employeeRepository.findSliceAfter(spec, null, 1);
+                        Slice<Employee> page2 = employeeRepository.findSliceAfter(spec,
+                                        NameCursor.decode(NameCursor.next(page1)), 1);
+
+                        assertThat(page1.getContent()).extracting(Employee::getId).containsExactly(first.getId());
+                        assertThat(page2.getContent()).extracting(Employee::getId).containsExactly(second.getId());
+                        assertThat(page2.hasNext()).isFalse();
+                }
+
+                @Test
+                @DisplayName("Should reject a malformed cursor token")
+                void shouldRejectMalformedCursor() {
+                        assertThat(NameCursor.decode("")).isNull();
+                        assertThatThrownBy(() -> NameCursor.decode("not-a-cursor"))
+                                        .isInstanceOf(InvalidCursorException.class);
+                }
+        }
+
+        @Nested
+        @DisplayName("Row Projections")
+        class RowProjectionTests {
+
+                @Test
+                @DisplayName("Should read manager and tower names into employee rows")
+                void shouldReadJoinedNames() {
+                        Specification<Employee> spec = EmployeeSpecification.withFilters(
+                                        null, null, null, null, null, null, currentYear, currentMonth);
+
+                        Slice<EmployeeRow> rows = employeeRepository.findRowSlice(spec,
+                                        PageRequest.of(0, 50, EmployeeSpecification.KEYSET_ORDER), EmployeeRow.SELECTION);
+
+                        // Same rows in the same order as the entity query
+                        assertThat(rows.getContent()).extracting(EmployeeRow::id).containsExactlyElementsOf(
+                                        employeeRepository.findAll(spec, EmployeeSpecification.KEYSET_ORDER).stream()
+                                                        .map(Employee::getId).toList());
+                        assertThat(rows.getContent())
+                                        .filteredOn(row -> row.id().equals(manager2.getId()))
+                                        .singleElement()
+                                        .satisfies(row -> {
+                                                assertThat(row.managerName()).isEqualTo("CEO User");
+                                                assertThat(row.towerName()).isEqualTo("Application");
+                                                assertThat(row.parentTowerName()).isEqualTo("EPIS");
+                                        });
+                        // Outer joins keep employees without manager or tower
+                        assertThat(rows.getContent())
+                                        .filteredOn(row -> row.id().equals(ceo.getId()))
+                                        .singleElement()
+                                        .satisfies(row -> {
+                                                assertThat(row.managerId()).isNull();
+                                                assertThat(row.towerName()).isNull();
+                                        });
+                }
+
+                @Test
+                @DisplayName("Should walk row pages in the same keyset order as entities")
+                void shouldWalkRowPages() {
+                        Specification<Employee> spec = EmployeeSpecification.withFilters(
+                                        null, null, null, null, null, null, currentYear, currentMonth);
+
+                        List<Long> walked = new ArrayList<>();
+                        NameCursor after = null;
+                        Slice<EmployeeSummaryRow> slice;
+                        do {
+                                slice = employeeRepository.findRowSliceAfter(spec, after, 2, EmployeeSummaryRow.SELECTION);
+                                slice.getContent().forEach(row -> walked.add(row.id()));
+                                after = NameCursor.decode(NameCursor.next(slice,
+                                                row -> NameCursor.of(row.name(), row.id())));
+                        } while (slice.hasNext());
+
+                        assertThat(walked).containsExactlyElementsOf(
+                                        employeeRepository.findAll(spec, EmployeeSpecification.KEYSET_ORDER).stream()
+                                                        .map(Employee::getId).toList());
+                }
+
+                @Test
+                @DisplayName("Should read the month's percentage into allocation rows")
+                void shouldReadMonthPercentage() {
+                        List<AllocationRow> rows = allocationRepository.findRows(
+                                        AllocationSpecification.forEmployees(
+                                                        List.of(employeeActive.getId(), employeeProspect.getId())),
+                                        AllocationRow.inMonth(currentYear, currentMonth));
+
+                        // PROSPECT allocations have no monthly row, so no percentage
+                        assertThat(rows)
+                                        .extracting(AllocationRow::employeeId, AllocationRow::projectName,
+                                                        AllocationRow::monthPercentage)
+                                        .containsExactlyInAnyOrder(
+                                                        tuple(employeeActive.getId(), project1.getDescription(), 100),
+                                                        tuple(employeeProspect.getId(), project2.getDescription(), null));
+                }
+        }
+
+        @Nested
+        @DisplayName("Search Relevance")
+        class SearchRelevanceTests {
+
+                private Specification<Employee> searchFor(String term) {
+                        return EmployeeSpecification.withFilters(
+                                        term, null, null, null, null, null, currentYear, currentMonth)
+                                        .and(EmployeeSpecification.byRelevance(term));
+                }
+
+                @Test
+                @DisplayName("Should rank exact, then prefix, then substring matches")
+                void shouldOrderByRelevance() {
+                        employeeRepository.save(Employee.builder()
+                                        .oracleId(99101).name("Joann Smith").email("js@atlas.com").build());
+                        employeeRepository.save(Employee.builder()
+                                        .oracleId(99102).name("Ann").email("a@atlas.com").build());
+                        employeeRepository.save(Employee.builder()
+                                        .oracleId(99103).name("Ann Lee").email("al@atlas.com").build());
+
+                        Page<Employee> result = employeeRepository.findAll(searchFor("  ANN "), PageRequest.of(0, 10));
+
+                        assertThat(result.getContent()).extracting(Employee::getName)
+                                        .containsExactly("Ann", "Ann Lee", "Joann Smith");
+                        assertThat(result.getTotalElements()).isEqualTo(3);
+                }
+
+                @Test
+                @DisplayName("Should let an explicit sort replace relevance order")
+                void shouldKeepExplicitSort() {
+                        employeeRepository.save(Employee.builder()
+                                        .oracleId(99104).name("Ann").email("a@atlas.com").build());
+                        employeeRepository.save(Employee.builder()
+                                        .oracleId(99105).name("Joann Smith").email("js@atlas.com").build());
+
+                        Page<Employee> result = employeeRepository.findAll(searchFor("ann"),
+                                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+
+                        assertThat(result.getContent()).extracting(Employee::getName)
+                                        .containsExactly("Joann Smith", "Ann");
+                }
+        }
+
         @Nested
         @DisplayName("Edge Cases")
         class EdgeCaseTests {
@@ -551,7 +873,7 @@ public class EmployeeRepositoryTest extends RepositoryTestBase {
                         // When: Query with empty IDs list
                         Page<Employee> result = employeeRepository.findAll(
                                         com.atlas.specification.EmployeeSpecification.withFilters(
-                                                        null, null, null, "BENCH", emptyIds, null, currentYear,
+                                                        null, null, null, "BENCH", AccessScope.ids(emptyIds), null, currentYear,
                                                         currentMonth),
                                         pageable);
 
@@ -2,6 +2,7 @@ package com.atlas.repository;
 
 import com.atlas.entity.Allocation;
 import com.atlas.entity.Employee;
+import com.atlas.security.AccessScope;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -285,7 +286,7 @@ public class FacetedSearchIntegrationTest extends RepositoryTestBase {
                         // When: Get ACTIVE employees with ABAC filter
                         Page<Employee> activeEmployees = employeeRepository.findAll(
                                         com.atlas.specification.EmployeeSpecification.withFilters(
-                                                        null, null, null, "ACTIVE", accessibleIds, null, currentYear,
+                                                        null, null, null, "ACTIVE", AccessScope.ids(accessibleIds), null, currentYear,
                                                         currentMonth),
                                         pageable);
 
@@ -296,7 +297,7 @@ public class FacetedSearchIntegrationTest extends RepositoryTestBase {
                         // When: Get managers with ABAC filter
                         List<Employee> managers = employeeRepository
                                         .findDistinctManagersOfActiveByEmployeeSearchFiltered(
-                                                        accessibleIds, currentYear, currentMonth, null, null);
+                                                        AccessScope.ids(accessibleIds), currentYear, currentMonth, null, null);
 
                         // Then: All managers should be managing employees in accessible IDs
                         assertThat(managers).isNotNull();
@@ -312,7 +313,7 @@ public class FacetedSearchIntegrationTest extends RepositoryTestBase {
                         // When: Query with empty accessible IDs
                         Page<Employee> benchEmployees = employeeRepository.findAll(
                                         com.atlas.specification.EmployeeSpecification.withFilters(
-                                                        null, null, null, "BENCH", emptyIds, null, currentYear,
+                                                        null, null, null, "BENCH", AccessScope.ids(emptyIds), null, currentYear,
                                                         currentMonth),
                                         pageable);
 
@@ -322,7 +323,7 @@ public class FacetedSearchIntegrationTest extends RepositoryTestBase {
                         // When: Get managers with empty accessible IDs
                         List<Employee> managers = employeeRepository
                                         .findDistinctManagersOfBenchByEmployeeSearchFiltered(
-                                                        emptyIds, currentYear, currentMonth, null, null);
+                                                        AccessScope.ids(emptyIds), currentYear, currentMonth, null, null);
 
                         // Then: No managers (as per MEMORY.md - IN () handling)
                         assertThat(managers).isEmpty();
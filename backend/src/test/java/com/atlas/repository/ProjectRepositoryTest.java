@@ -73,45 +73,6 @@ public class ProjectRepositoryTest extends RepositoryTestBase {
     @DisplayName("Employee-Based Project Queries")
     class EmployeeProjectTests {
 
-        @Test
-        @DisplayName("Should find active projects by employees")
-        void shouldFindActiveProjectsByEmployees() {
-            // Given: List of employees
-            List<com.atlas.entity.Employee> employees = List.of(employeeActive, employeeMultipleProjects);
-
-            // When: Find active projects for these employees
-            List<Project> projects = projectRepository.findActiveProjectsByEmployees(employees);
-
-            // Then: Projects are returned
-            assertThat(projects).isNotEmpty();
-        }
-
-        @Test
-        @DisplayName("Should find all projects by employees (including non-active)")
-        void shouldFindProjectsByEmployees() {
-            // Given: List of employees
-            List<com.atlas.entity.Employee> employees = List.of(employeeActive);
-
-            // When: Find all projects for these employees
-            List<Project> projects = projectRepository.findProjectsByEmployees(employees);
-
-            // Then: Projects are returned
-            assertThat(projects).isNotEmpty();
-        }
-
-        @Test
-        @DisplayName("Should count active projects by employees")
-        void shouldCountActiveProjectsByEmployees() {
-            // Given: List of employees
-            List<com.atlas.entity.Employee> employees = List.of(employeeActive, employeeMultipleProjects);
-
-            // When: Count active projects for these employees
-            long count = projectRepository.countActiveProjectsByEmployees(employees);
-
-            // Then: Count > 0
-            assertThat(count).isGreaterThan(0);
-        }
-
         @Test
         @DisplayName("Should count active projects by employee IDs")
         void shouldCountActiveProjectsByEmployeeIds() {
@@ -119,7 +80,7 @@ public class ProjectRepositoryTest extends RepositoryTestBase {
             List<Long> employeeIds = List.of(employeeActive.getId(), employeeMultipleProjects.getId());
 
             // When: Count active projects for these employee IDs
-            long count = projectRepository.countActiveProjectsByEmployeeIds(employeeIds);
+            long count = projectRepository.countActiveProjectsByEmployeeIds(employeeIds.toArray(new Long[0]));
 
             // Then: Count > 0
             assertThat(count).isGreaterThan(0);
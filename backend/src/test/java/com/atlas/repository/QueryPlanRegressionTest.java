@@ -0,0 +1,379 @@
+package com.atlas.repository;
+
+import com.atlas.entity.Allocation;
+import com.atlas.entity.Project;
+import com.atlas.repository.projection.AllocationRow;
+import com.atlas.repository.projection.AllocationTimelineRow;
+import com.atlas.repository.projection.EmployeeRow;
+import com.atlas.repository.projection.ProjectRow;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.AllocationSpecification;
+import com.atlas.specification.EmployeeSpecification;
+import com.atlas.specification.NameCursor;
+import com.atlas.specification.ProjectSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression tests for the hot queries, on PostgreSQL with the Flyway
+ * migrations applied (which also checks that ddl-auto=validate accepts them).
+ *
+ * Each case calls the repository method behind a hot endpoint, records the
+ * SQL it executes with its bound parameters, and explains that SQL against a
+ * seeded dataset with sequential scans disabled. A "Seq Scan" in the plan
+ * means no index can serve the query any more: an index was dropped, or the
+ * specification or query changed in a way its index no longer matches.
+ * Skipped when Docker is unavailable.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query Plan Regression Tests")
+public class QueryPlanRegressionTest {
+
+        @Container
+        static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+        @DynamicPropertySource
+        static void postgresProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.datasource.url", postgres::getJdbcUrl);
+                registry.add("spring.datasource.username", postgres::getUsername);
+                registry.add("spring.datasource.password", postgres::getPassword);
+                registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+                registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+                registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+                registry.add("spring.jpa.hibernate.naming.physical-strategy",
+                                () -> "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+                registry.add("spring.flyway.enabled", () -> "true");
+        }
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private EmployeeRepository employeeRepository;
+
+        @Autowired
+        private AllocationRepository allocationRepository;
+
+        @Autowired
+        private ProjectRepository projectRepository;
+
+        @Autowired
+        private DashboardAggregateRepository dashboardAggregateRepository;
+
+        @Autowired
+        private EmployeeHierarchyRepository employeeHierarchyRepository;
+
+        @Autowired
+        private EmployeeMonthStatusRepository employeeMonthStatusRepository;
+
+        /**
+         * 20,000 employees under 2,500 managers, two allocations each with six
+         * months of percentages, 500 projects and one month of status rows.
+         */
+        @BeforeAll
+        void seed() {
+                jdbcTemplate.execute("INSERT INTO tech_towers (id, description) "
+                                + "SELECT i, 'Tower ' || i FROM generate_series(1, 10) i");
+                jdbcTemplate.execute("INSERT INTO employees (id, oracle_id, name, email, tower, manager_id, resignation_date) "
+                                + "SELECT i, i, 'Employee ' || i, 'employee' || i || '@atlas.com', i % 10 + 1, "
+                                + "CASE WHEN i > 1 THEN (i - 2) / 8 + 1 END, "
+                                + "CASE WHEN i % 20 = 0 THEN DATE '2025-01-31' END "
+                                + "FROM generate_series(1, 20000) i");
+                jdbcTemplate.execute("INSERT INTO projects (id, project_id, description, status, manager_id) "
+                                + "SELECT i, 'PRJ-' || i, 'Project ' || i, 'ACTIVE', i % 2500 + 1 "
+                                + "FROM generate_series(1, 500) i");
+                jdbcTemplate.execute("INSERT INTO allocations (id, employee_id, project_id, allocation_type) "
+                                + "SELECT 2 * i - 1, i, i % 500 + 1, 'PROJECT' FROM generate_series(1, 20000) i "
+                                + "UNION ALL "
+                                + "SELECT 2 * i, i, CASE WHEN i % 10 = 0 THEN i % 500 + 1 END, "
+                                + "CASE i % 10 WHEN 0 THEN 'PROSPECT' WHEN 1 THEN 'VACATION' WHEN 2 THEN 'MATERNITY' "
+                                + "ELSE 'PROJECT' END FROM generate_series(1, 20000) i");
+                jdbcTemplate.execute("INSERT INTO allocation_years (allocation_id, \"year\", percentages) "
+                                + "SELECT a.id, 2026, CAST(array_fill((a.id % 5) * 25, ARRAY[6]) "
+                                + "|| array_fill(NULL::integer, ARRAY[6]) AS smallint[]) FROM allocations a");
+                jdbcTemplate.execute("INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) "
+                                + "SELECT id, id, 0 FROM employees "
+                                + "UNION ALL SELECT manager_id, id, 1 FROM employees WHERE manager_id IS NOT NULL");
+                jdbcTemplate.execute("INSERT INTO employee_month_status (employee_id, \"year\", \"month\", status, "
+                                + "project_count, total_pct, on_maternity, on_vacation) "
+                                + "SELECT i, 2026, 3, (ARRAY['ACTIVE','PROSPECT','MATERNITY','VACATION','BENCH'])[i % 5 + 1], "
+                                + "1, 100, false, false FROM generate_series(1, 20000) i");
+                jdbcTemplate.execute("ANALYZE");
+        }
+
+        static Stream<Arguments> hotQueries() {
+                AccessScope all = AccessScope.all();
+                Pageable firstPage = PageRequest.of(0, 20, EmployeeSpecification.KEYSET_ORDER);
+                return Stream.of(
+                                hotQuery("employee listing of a subtree", test -> test.employeeRepository.findRowSlice(
+                                                EmployeeSpecification.withFilters(null, null, null, null,
+                                                                test.subtree(), null, 2026, 3),
+                                                firstPage, EmployeeRow.SELECTION)),
+                                hotQuery("employee count of a subtree", test -> test.employeeRepository.count(
+                                                EmployeeSpecification.withFilters(null, null, null, null,
+                                                                test.subtree(), null, 2026, 3))),
+                                hotQuery("employee listing by manager", test -> test.employeeRepository.findRowSlice(
+                                                EmployeeSpecification.withFilters(null, null, 42L, null, all, null,
+                                                                2026, 3),
+                                                firstPage, EmployeeRow.SELECTION)),
+                                hotQuery("employee listing by tower", test -> test.employeeRepository.findRowSlice(
+                                                EmployeeSpecification.withFilters(null, "Tower 3", null, null, all,
+                                                                null, 2026, 3),
+                                                firstPage, EmployeeRow.SELECTION)),
+                                hotQuery("employee listing by status", test -> test.employeeRepository.findRowSlice(
+                                                EmployeeSpecification.withFilters(null, null, null, "BENCH",
+                                                                test.subtree(), null, 2026, 3),
+                                                firstPage, EmployeeRow.SELECTION)),
+                                hotQuery("employee search", test -> test.employeeRepository.findRowSlice(
+                                                EmployeeSpecification.withFilters("oyee 123", null, null, null, all,
+                                                                null, 2026, 3)
+                                                                .and(EmployeeSpecification.byRelevance("oyee 123")),
+                                                PageRequest.of(0, 20), EmployeeRow.SELECTION)),
+                                hotQuery("employee keyset page", test -> test.employeeRepository.findRowSliceAfter(
+                                                EmployeeSpecification.withFilters(null, null, null, null, all, null,
+                                                                2026, 3),
+                                                NameCursor.of("Employee 500", 500L), 20, EmployeeRow.SELECTION)),
+                                hotQuery("employee facets of a subtree", test -> test.employeeRepository
+                                                .findEmployeeFacetCounts(null, null, null, null, test.subtree(), null,
+                                                                2026, 3)),
+                                hotQuery("allocations of a page of employees", test -> test.allocationRepository
+                                                .findRows(AllocationSpecification.forEmployees(List.of(4242L, 4243L)),
+                                                                AllocationRow.inMonth(2026, 3))),
+                                hotQuery("allocations of a page of projects", test -> test.allocationRepository
+                                                .findRows(AllocationSpecification.forProjects(List.of(42L, 43L),
+                                                                Allocation.AllocationType.PROJECT),
+                                                                AllocationRow.inMonth(2026, 3))),
+                                hotQuery("allocation listing of a subtree", test -> test.allocationRepository
+                                                .findRowSlice(AllocationSpecification.withFilters(
+                                                                Allocation.AllocationType.PROJECT, null, null,
+                                                                test.subtree(), 2026, 3),
+                                                                PageRequest.of(0, 20), AllocationRow.inMonth(2026, 3))),
+                                hotQuery("allocation facets of a subtree", test -> test.allocationRepository
+                                                .findAllocationFacetCounts(null, null, null, null, test.subtree(),
+                                                                2026, 3)),
+                                hotQuery("timeline of a subtree", test -> test.allocationRepository.findRows(
+                                                AllocationSpecification.withFilters(null, null, null, test.subtree(),
+                                                                null, null),
+                                                AllocationTimelineRow.between(2026, 2027))),
+                                hotQuery("timeline of everyone", test -> test.allocationRepository.findRows(
+                                                AllocationSpecification.withFilters(null, null, null, all, null, null),
+                                                AllocationTimelineRow.between(2026, 2027))),
+                                hotQuery("dashboard of a subtree", test -> test.dashboardAggregateRepository
+                                                .aggregateFiltered(test.subtree(), 2026, 3)),
+                                hotQuery("month status of an employee", test -> test.employeeMonthStatusRepository
+                                                .findByEmployeeIdOrderByYearAscMonthAsc(4242L)),
+                                hotQuery("project search", test -> test.projectRepository.findRowSlice(
+                                                ProjectSpecification.withFilters(Project.ProjectStatus.ACTIVE, null,
+                                                                "ject 42", null)
+                                                                .and(ProjectSpecification.byRelevance("ject 42")),
+                                                PageRequest.of(0, 20), ProjectRow.SELECTION)));
+        }
+
+        private static Arguments hotQuery(String name, Consumer<QueryPlanRegressionTest> query) {
+                return Arguments.of(name, query);
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("hotQueries")
+        @DisplayName("Should serve hot queries from an index")
+        void shouldNotSeqScan(String name, Consumer<QueryPlanRegressionTest> query) {
+                List<RecordedStatement> statements = StatementRecorder.record(() -> query.accept(this));
+
+                assertThat(statements).as("statements of %s", name).isNotEmpty();
+                for (RecordedStatement statement : statements) {
+                        String plan = explain(statement);
+                        assertThat(plan).as("plan for %s:%n%s%n%s", name, statement.sql(), plan)
+                                        .doesNotContain("Seq Scan");
+                }
+        }
+
+        /**
+         * The subtree of manager 42 (themselves and their eight reports), as
+         * the access scope of a non-top-level user.
+         */
+        private AccessScope subtree() {
+                return AccessScope.subtree(42L, employeeHierarchyRepository.findDescendantIds(42L));
+        }
+
+        /**
+         * Explains the statement with its parameters bound the way the
+         * repository bound them, so the plan is the one for those values.
+         */
+        private String explain(RecordedStatement statement) {
+                return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                        try (Statement settings = connection.createStatement()) {
+                                settings.execute("SET enable_seqscan = off");
+                                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                                        statement.bind(explain);
+                                        StringBuilder plan = new StringBuilder();
+                                        try (ResultSet rs = explain.executeQuery()) {
+                                                while (rs.next()) {
+                                                        plan.append(rs.getString(1)).append('\n');
+                                                }
+                                        }
+                                        return plan.toString();
+                                } finally {
+                                        settings.execute("RESET enable_seqscan");
+                                }
+                        }
+                });
+        }
+
+        /**
+         * A query executed by a repository, with the setter calls that bound
+         * its parameters.
+         */
+        record RecordedStatement(String sql, List<Parameter> parameters) {
+
+                void bind(PreparedStatement statement) throws SQLException {
+                        for (Parameter parameter : parameters) {
+                                try {
+                                        parameter.setter().invoke(statement, parameter.args());
+                                } catch (ReflectiveOperationException e) {
+                                        throw new SQLException("Could not rebind parameter of " + sql, e);
+                                }
+                        }
+                }
+        }
+
+        record Parameter(Method setter, Object[] args) {
+        }
+
+        /**
+         * Wraps the data source so the queries run while recording are kept
+         * with their parameters. Only the statements of the calling thread are
+         * recorded; the seed and the EXPLAINs are not.
+         */
+        static final class StatementRecorder {
+
+                private static final ThreadLocal<List<RecordedStatement>> RECORDED = new ThreadLocal<>();
+
+                static List<RecordedStatement> record(Runnable action) {
+                        List<RecordedStatement> statements = new ArrayList<>();
+                        RECORDED.set(statements);
+                        try {
+                                action.run();
+                        } finally {
+                                RECORDED.remove();
+                        }
+                        return statements;
+                }
+
+                static DataSource wrap(DataSource dataSource) {
+                        return new DelegatingDataSource(dataSource) {
+                                @Override
+                                public Connection getConnection() throws SQLException {
+                                        return connection(super.getConnection());
+                                }
+
+                                @Override
+                                public Connection getConnection(String username, String password) throws SQLException {
+                                        return connection(super.getConnection(username, password));
+                                }
+                        };
+                }
+
+                private static Connection connection(Connection target) {
+                        return proxy(Connection.class, target, (method, args, result) -> {
+                                if (method.getName().equals("prepareStatement")) {
+                                        return statement((PreparedStatement) result, (String) args[0]);
+                                }
+                                return result;
+                        });
+                }
+
+                private static PreparedStatement statement(PreparedStatement target, String sql) {
+                        List<Parameter> parameters = new ArrayList<>();
+                        return proxy(PreparedStatement.class, target, (method, args, result) -> {
+                                String name = method.getName();
+                                if (name.startsWith("set") && args != null && args.length > 1
+                                                && args[0] instanceof Integer) {
+                                        parameters.add(new Parameter(method, args));
+                                } else if (name.equals("clearParameters")) {
+                                        parameters.clear();
+                                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                                        List<RecordedStatement> recorded = RECORDED.get();
+                                        if (recorded != null) {
+                                                recorded.add(new RecordedStatement(sql, List.copyOf(parameters)));
+                                        }
+                                }
+                                return result;
+                        });
+                }
+
+                private interface AfterCall {
+                        Object apply(Method method, Object[] args, Object result) throws Throwable;
+                }
+
+                @SuppressWarnings("unchecked")
+                private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+                        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                                        (proxy, method, args) -> {
+                                                Object result;
+                                                try {
+                                                        result = method.invoke(target, args);
+                                                } catch (InvocationTargetException e) {
+                                                        throw e.getCause();
+                                                }
+                                                return afterCall.apply(method, args, result);
+                                        });
+                }
+        }
+
+        @TestConfiguration
+        static class RecordingConfig {
+
+                @Bean
+                static BeanPostProcessor recordingDataSource() {
+                        return new BeanPostProcessor() {
+                                @Override
+                                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                        return bean instanceof DataSource dataSource
+                                                        ? StatementRecorder.wrap(dataSource)
+                                                        : bean;
+                                }
+                        };
+                }
+        }
+}
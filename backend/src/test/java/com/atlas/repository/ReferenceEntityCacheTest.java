@@ -0,0 +1,110 @@
+package com.atlas.repository;
+
+import com.atlas.entity.Project;
+import com.atlas.entity.Skill;
+import com.atlas.entity.TechTower;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache behaviour of the reference entities: a lookup after the
+ * persistence context is cleared is served from the cache, and updates are
+ * never hidden by a cached copy.
+ */
+@DisplayName("Reference Entity Cache Tests")
+public class ReferenceEntityCacheTest extends RepositoryTestBase {
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void resetCache() {
+                entityManager.flush();
+                entityManager.clear();
+                entityManagerFactory.getCache().evictAll();
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+        }
+
+        private CacheRegionStatistics region(Class<?> entityClass) {
+                return statistics.getDomainDataRegionStatistics(entityClass.getName());
+        }
+
+        // Entities inserted by the test transaction are never cached, so this
+        // test commits its own tower and reads it back in separate sessions
+        private <T> T inNewTransaction(Function<EntityManager, T> work) {
+                EntityManager session = entityManagerFactory.createEntityManager();
+                try {
+                        session.getTransaction().begin();
+                        T result = work.apply(session);
+                        session.getTransaction().commit();
+                        return result;
+                } finally {
+                        session.close();
+                }
+        }
+
+        @Test
+        @DisplayName("Should serve a tower from the cache in a fresh persistence context")
+        void shouldServeTowerFromCache() {
+                Integer towerId = inNewTransaction(session -> {
+                        TechTower tower = TechTower.builder().description("Data").build();
+                        session.persist(tower);
+                        return tower.getId();
+                });
+                try {
+                        String first = inNewTransaction(session -> session.find(TechTower.class, towerId).getDescription());
+                        String second = inNewTransaction(session -> session.find(TechTower.class, towerId).getDescription());
+                        assertThat(first).isEqualTo("Data");
+                        assertThat(second).isEqualTo("Data");
+
+                        assertThat(region(TechTower.class).getMissCount()).isEqualTo(1);
+                        assertThat(region(TechTower.class).getPutCount()).isEqualTo(1);
+                        assertThat(region(TechTower.class).getHitCount()).isEqualTo(1);
+                } finally {
+                        inNewTransaction(session -> {
+                                session.remove(session.find(TechTower.class, towerId));
+                                return null;
+                        });
+                }
+        }
+
+        @Test
+        @DisplayName("Should return the updated project rather than the cached copy")
+        void shouldNotServeStaleProject() {
+                Long projectId = project1.getId();
+                entityManager.find(Project.class, projectId);
+                entityManager.clear();
+
+                Project project = entityManager.find(Project.class, projectId);
+                project.setDescription("Renamed project");
+                entityManager.flush();
+                entityManager.clear();
+
+                assertThat(entityManager.find(Project.class, projectId).getDescription())
+                                .isEqualTo("Renamed project");
+        }
+
+        @Test
+        @DisplayName("Should expose a statistics region per cached entity")
+        void shouldRegisterEntityRegions() {
+                assertThat(statistics.getSecondLevelCacheRegionNames()).contains(
+                                TechTower.class.getName(), Skill.class.getName(), Project.class.getName());
+        }
+}
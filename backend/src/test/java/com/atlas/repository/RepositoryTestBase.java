@@ -32,7 +32,13 @@ public abstract class RepositoryTestBase {
         protected TechTowerRepository techTowerRepository;
 
         @Autowired
-        protected MonthlyAllocationRepository monthlyAllocationRepository;
+        protected AllocationYearRepository allocationYearRepository;
+
+        @Autowired
+        protected EmployeeHierarchyRepository employeeHierarchyRepository;
+
+        @Autowired
+        protected EmployeeMonthStatusRepository employeeMonthStatusRepository;
 
         // Test data holders
         protected Employee ceo;
@@ -77,12 +83,14 @@ public abstract class RepositoryTestBase {
 
                 // Create employee hierarchy
                 createEmployees();
+                employeeHierarchyRepository.insertAllFromManagerLinks();
 
                 // Create projects
                 createProjects();
 
                 // Create allocations
                 createAllocations();
+                employeeMonthStatusRepository.insertFromAllocations(null, EmployeeMonthStatus.horizonKey());
         }
 
         private void createEmployees() {
@@ -360,13 +368,8 @@ public abstract class RepositoryTestBase {
                                 .build();
                 activeAllocation = allocationRepository.save(activeAllocation);
 
-                MonthlyAllocation monthlyActive = MonthlyAllocation.builder()
-                                .allocation(activeAllocation)
-                                .year(currentYear)
-                                .month(currentMonth)
-                                .percentage(100)
-                                .build();
-                monthlyAllocationRepository.save(monthlyActive);
+                activeAllocation.setAllocationForYearMonth(currentYear, currentMonth, 100);
+                allocationRepository.save(activeAllocation);
 
                 // PROSPECT employee - PROSPECT allocation only
                 Allocation prospectAllocation = Allocation.builder()
@@ -418,13 +421,8 @@ public abstract class RepositoryTestBase {
                                 .build();
                 multiAllocation1 = allocationRepository.save(multiAllocation1);
 
-                MonthlyAllocation monthlyMulti1 = MonthlyAllocation.builder()
-                                .allocation(multiAllocation1)
-                                .year(currentYear)
-                                .month(currentMonth)
-                                .percentage(50)
-                                .build();
-                monthlyAllocationRepository.save(monthlyMulti1);
+                multiAllocation1.setAllocationForYearMonth(currentYear, currentMonth, 50);
+                allocationRepository.save(multiAllocation1);
 
                 Allocation multiAllocation2 = Allocation.builder()
                                 .employee(employeeMultipleProjects)
@@ -435,13 +433,8 @@ public abstract class RepositoryTestBase {
                                 .build();
                 multiAllocation2 = allocationRepository.save(multiAllocation2);
 
-                MonthlyAllocation monthlyMulti2 = MonthlyAllocation.builder()
-                                .allocation(multiAllocation2)
-                                .year(currentYear)
-                                .month(currentMonth)
-                                .percentage(50)
-                                .build();
-                monthlyAllocationRepository.save(monthlyMulti2);
+                multiAllocation2.setAllocationForYearMonth(currentYear, currentMonth, 50);
+                allocationRepository.save(multiAllocation2);
         }
 
         /**
@@ -0,0 +1,113 @@
+package com.atlas.security;
+
+import com.atlas.entity.Employee;
+import com.atlas.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for single-parse token verification and in-memory revocation.
+ */
+@DisplayName("JWT Token Provider Tests")
+public class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hmac";
+
+    private JwtTokenProvider tokenProvider;
+    private TokenRevocationRegistry revocationRegistry;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = newProvider(SECRET, 60_000L);
+        revocationRegistry = new TokenRevocationRegistry();
+        user = User.builder()
+                .id(7L)
+                .username("jdoe")
+                .employee(Employee.builder().id(42L).build())
+                .build();
+    }
+
+    private static JwtTokenProvider newProvider(String secret, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        provider.init();
+        return provider;
+    }
+
+    @Test
+    @DisplayName("Should return all claims from one verification pass")
+    void shouldVerifyAndExtractClaims() {
+        String token = tokenProvider.generateImpersonationToken(user, "admin");
+
+        VerifiedToken verified = tokenProvider.verify(token).orElseThrow();
+
+        assertThat(verified.getSubject()).isEqualTo("jdoe");
+        assertThat(verified.getUserId()).isEqualTo(7L);
+        assertThat(verified.getEmployeeId()).isEqualTo(42L);
+        assertThat(verified.getImpersonator()).isEqualTo("admin");
+        assertThat(verified.getTokenId()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should reject tampered, foreign and expired tokens")
+    void shouldRejectInvalidTokens() {
+        String[] parts = tokenProvider.generateToken(user).split("\\.");
+        String forged = tokenProvider.generateToken(User.builder().id(1L).username("admin").build()).split("\\.")[1];
+        String tampered = parts[0] + "." + forged + "." + parts[2];
+        String otherKey = newProvider(SECRET + "-other", 60_000L).generateToken(user);
+        String expired = newProvider(SECRET, -1_000L).generateToken(user);
+
+        assertThat(tokenProvider.verify(tampered)).isEmpty();
+        assertThat(tokenProvider.verify(otherKey)).isEmpty();
+        assertThat(tokenProvider.verify(expired)).isEmpty();
+        assertThat(tokenProvider.verify("not-a-jwt")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should revoke a single token and all tokens issued before a cutoff")
+    void shouldRevokeTokens() {
+        VerifiedToken first = tokenProvider.verify(tokenProvider.generateToken(user)).orElseThrow();
+        VerifiedToken second = tokenProvider.verify(tokenProvider.generateToken(user)).orElseThrow();
+
+        revocationRegistry.revoke(first);
+        assertThat(revocationRegistry.isRevoked(first)).isTrue();
+        assertThat(revocationRegistry.isRevoked(second)).isFalse();
+
+        revocationRegistry.revokeAllExcept(7L, Instant.now().plusSeconds(5), null);
+        assertThat(revocationRegistry.isRevoked(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should sign out sessions opened after the current one, keeping only the current token")
+    void shouldRevokeLaterTokensOnPasswordChange() {
+        VerifiedToken current = tokenProvider.verify(tokenProvider.generateToken(user)).orElseThrow();
+        // Another device logs in after the current session, within the same second
+        VerifiedToken later = tokenProvider.verify(tokenProvider.generateToken(user)).orElseThrow();
+        assertThat(later.getIssuedAt()).isAfterOrEqualTo(current.getIssuedAt());
+
+        revocationRegistry.revokeAllExcept(7L, Instant.now(), current.getTokenId());
+
+        assertThat(revocationRegistry.isRevoked(current)).isFalse();
+        assertThat(revocationRegistry.isRevoked(later)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave id claims empty for users without an employee")
+    void shouldOmitEmployeeClaim() {
+        user.setEmployee(null);
+
+        Optional<VerifiedToken> verified = tokenProvider.verify(tokenProvider.generateToken(user));
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getEmployeeId()).isNull();
+    }
+}
@@ -0,0 +1,65 @@
+package com.atlas.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput at each BCrypt cost through the bounded hashing pool.
+ * Not part of the regular suite (Surefire only picks up *Test classes); run with
+ * mvn test -Dtest=PasswordHashingBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@DisplayName("Password Hashing Benchmark")
+public class PasswordHashingBenchmark {
+
+    private static final int[] COSTS = { 8, 10, 12 };
+    private static final int CLIENTS = 64;
+    private static final long DURATION_MS = 3_000L;
+
+    @Test
+    @DisplayName("Report logins/sec per BCrypt cost")
+    void reportLoginsPerSecond() throws Exception {
+        System.out.printf("%-6s %12s %10s %12s%n", "cost", "logins/sec", "rejected", "avg wait ms");
+        for (int cost : COSTS) {
+            PasswordHashingExecutor hashing = new PasswordHashingExecutor(0, CLIENTS, 60_000L);
+            BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(cost, hashing);
+            String stored = new BCryptPasswordEncoder(cost).encode("password123");
+
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            long deadline = System.currentTimeMillis() + DURATION_MS;
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    int logins = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        try {
+                            if (encoder.matches("password123", stored)) {
+                                logins++;
+                            }
+                        } catch (HashingCapacityExceededException e) {
+                            // Counted by the executor; a real client would back off
+                        }
+                    }
+                    return logins;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+
+            System.out.printf("%-6d %12.1f %10d %12.2f%n", cost, total * 1000.0 / DURATION_MS,
+                    hashing.getRejectedCount(), hashing.getAverageQueueWaitMillis());
+            hashing.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.atlas.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the bounded password hashing pool and cost upgrades.
+ */
+@DisplayName("Password Hashing Executor Tests")
+public class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * ThreadPoolExecutor counts a task as completed only after its future is
+     * done, so the count can briefly lag the caller.
+     */
+    private void awaitCompletedCount(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCompletedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(executor.getCompletedCount()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should reject work immediately once workers and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 5_000L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> true));
+        while (executor.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> executor.execute(() -> true))
+                .isInstanceOf(HashingCapacityExceededException.class);
+        PasswordHashingExecutor.Stats saturated = executor.getStats();
+        assertThat(saturated.getActiveCount()).isEqualTo(1);
+        assertThat(saturated.getQueueDepth()).isEqualTo(1);
+        assertThat(saturated.getQueueRemainingCapacity()).isZero();
+        assertThat(saturated.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        awaitCompletedCount(2);
+        assertThat(executor.getQueueDepth()).isZero();
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and flag hashes below the configured cost")
+    void shouldEncodeAndDetectWeakerHashes() throws Exception {
+        executor = new PasswordHashingExecutor(2, 10, 5_000L);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, executor);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        awaitCompletedCount(3);
+        assertThat(executor.getQueueDepth()).isZero();
+        assertThat(executor.getRejectedCount()).isZero();
+    }
+}
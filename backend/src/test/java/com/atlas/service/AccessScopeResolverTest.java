@@ -0,0 +1,123 @@
+package com.atlas.service;
+
+import com.atlas.entity.Employee;
+import com.atlas.entity.User;
+import com.atlas.security.AccessScope;
+import com.atlas.security.AtlasPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccessScopeResolver form selection.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Access Scope Resolver Tests")
+public class AccessScopeResolverTest {
+
+    @Mock
+    private HierarchyIndex hierarchyIndex;
+
+    @Mock
+    private EmployeeHierarchyService employeeHierarchyService;
+
+    @InjectMocks
+    private AccessScopeResolver accessScopeResolver;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accessScopeResolver, "idsThreshold", 2);
+        user = new User();
+        user.setId(100L);
+        user.setEmployee(Employee.builder().id(1L).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should resolve NONE when user has no employee")
+    void shouldResolveNoneWithoutEmployee() {
+        user.setEmployee(null);
+
+        assertThat(accessScopeResolver.resolve(user).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should resolve ALL when subtree covers every employee")
+    void shouldResolveAllForWholeCompany() {
+        when(hierarchyIndex.getSubtreeIds(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(hierarchyIndex.size()).thenReturn(3);
+
+        assertThat(accessScopeResolver.resolve(user)).isEqualTo(AccessScope.all());
+    }
+
+    @Test
+    @DisplayName("Should resolve IDS for subtrees within the threshold")
+    void shouldResolveIdsForSmallSubtree() {
+        when(hierarchyIndex.getSubtreeIds(1L)).thenReturn(List.of(1L, 2L));
+        when(hierarchyIndex.size()).thenReturn(10);
+
+        AccessScope scope = accessScopeResolver.resolve(user);
+
+        assertThat(scope.getKind()).isEqualTo(AccessScope.Kind.IDS);
+        assertThat(scope.getEmployeeIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should resolve SUBTREE above the threshold")
+    void shouldResolveSubtreeForLargeSubtree() {
+        when(hierarchyIndex.getSubtreeIds(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(hierarchyIndex.size()).thenReturn(10);
+
+        AccessScope scope = accessScopeResolver.resolve(user);
+
+        assertThat(scope.getKind()).isEqualTo(AccessScope.Kind.SUBTREE);
+        assertThat(scope.getRootEmployeeId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the closure table when the index has not caught up")
+    void shouldFallBackToClosureTable() {
+        when(hierarchyIndex.getSubtreeIds(1L)).thenReturn(List.of());
+        when(employeeHierarchyService.getSubtreeIds(1L)).thenReturn(List.of(1L));
+
+        assertThat(accessScopeResolver.resolve(user).getEmployeeIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should reuse the scope already computed for the request principal")
+    void shouldReuseRequestPrincipalScope() {
+        AtomicInteger computations = new AtomicInteger();
+        AtlasPrincipal principal = new AtlasPrincipal(user, null, u -> {
+            computations.incrementAndGet();
+            return AccessScope.ids(List.of(1L));
+        });
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        accessScopeResolver.resolve(user);
+        AccessScope scope = accessScopeResolver.resolve(user);
+
+        assertThat(scope.getEmployeeIds()).containsExactly(1L);
+        assertThat(computations.get()).isEqualTo(1);
+    }
+}
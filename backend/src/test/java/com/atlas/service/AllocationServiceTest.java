@@ -1,35 +1,47 @@
 package com.atlas.service;
 
 import com.atlas.dto.AllocationDTO;
+import com.atlas.dto.CursorSlice;
 import com.atlas.entity.Allocation;
+import com.atlas.entity.AllocationYear;
 import com.atlas.entity.Employee;
+import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.Project;
 import com.atlas.repository.AllocationRepository;
+import com.atlas.repository.AllocationYearRepository;
 import com.atlas.repository.EmployeeRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
 import com.atlas.repository.ProjectRepository;
+import com.atlas.repository.projection.AllocationRow;
+import com.atlas.repository.projection.AllocationTimelineRow;
+import com.atlas.repository.projection.EmployeeSummaryRow;
+import com.atlas.security.AccessScope;
+import com.atlas.specification.NameCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for AllocationService DTO conversion methods.
  * Tests that the toDTO() method correctly fetches currentMonthAllocation
- * from the database using MonthlyAllocationRepository projection query.
+ * from the database using AllocationYearRepository projection query.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Allocation Service Tests")
@@ -39,7 +51,7 @@ public class AllocationServiceTest {
         private AllocationRepository allocationRepository;
 
         @Mock
-        private MonthlyAllocationRepository monthlyAllocationRepository;
+        private AllocationYearRepository allocationYearRepository;
 
         @Mock
         private EmployeeRepository employeeRepository;
@@ -50,6 +62,18 @@ public class AllocationServiceTest {
         @Mock
         private EmployeeService employeeService;
 
+        @Mock
+        private ProjectVisibilityIndex projectVisibilityIndex;
+
+        @Mock
+        private EmployeeMonthStatusService employeeMonthStatusService;
+
+        @Mock
+        private DataVersions dataVersions;
+
+        @Mock
+        private TotalCountCache totalCountCache;
+
         @InjectMocks
         private AllocationService allocationService;
 
@@ -82,7 +106,7 @@ public class AllocationServiceTest {
         void shouldPopulateCurrentMonthAllocationFromDatabaseQuery() throws Exception {
                 // Given: Allocation and mocked repository to return percentage
                 Allocation allocation = createBasicAllocation();
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(1L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.of(75));
 
@@ -99,7 +123,7 @@ public class AllocationServiceTest {
         void shouldSetCurrentMonthAllocationToNullWhenNoCurrentMonthData() throws Exception {
                 // Given: Allocation with no monthly data for current month
                 Allocation allocation = createBasicAllocation();
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(1L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.empty());
 
@@ -116,7 +140,7 @@ public class AllocationServiceTest {
         void shouldHandleAllocationWithNoMonthlyData() throws Exception {
                 // Given: Allocation with no monthly data at all
                 Allocation allocation = createBasicAllocation();
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 any(Long.class), any(Integer.class), any(Integer.class)))
                                 .thenReturn(Optional.empty());
 
@@ -139,10 +163,9 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2025, 1, 1))
                                 .endDate(LocalDate.of(2025, 12, 31))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(999L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.empty());
 
@@ -172,10 +195,9 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.MATERNITY)
                                 .startDate(LocalDate.now().minusMonths(2))
                                 .endDate(LocalDate.now().plusMonths(4))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(1L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.empty());
 
@@ -193,7 +215,7 @@ public class AllocationServiceTest {
         void shouldFetchCurrentMonthPercentageViaDatabaseProjection() throws Exception {
                 // Given: Allocation with mocked database response for 85%
                 Allocation allocation = createBasicAllocation();
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(1L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.of(85));
 
@@ -210,7 +232,7 @@ public class AllocationServiceTest {
         void shouldHandleZeroPercentageInCurrentMonth() throws Exception {
                 // Given: Allocation with 0% in current month
                 Allocation allocation = createBasicAllocation();
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(1L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.of(0));
 
@@ -230,7 +252,7 @@ public class AllocationServiceTest {
                 Allocation allocation = createBasicAllocation();
 
                 // Mock repository to return ONLY the percentage for current month
-                when(monthlyAllocationRepository.findPercentageByAllocationIdAndYearMonth(
+                when(allocationYearRepository.findPercentageByAllocationIdAndYearMonth(
                                 eq(1L), eq(currentYear), eq(currentMonth)))
                                 .thenReturn(Optional.of(75));
 
@@ -256,10 +278,50 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.now().minusMonths(6))
                                 .endDate(LocalDate.now().plusMonths(6))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
         }
 
+        private static org.springframework.data.domain.Slice<EmployeeSummaryRow> summaryRows(Employee... employees) {
+                return new org.springframework.data.domain.SliceImpl<>(java.util.Arrays.stream(employees)
+                                .map(AllocationServiceTest::summaryRow)
+                                .toList());
+        }
+
+        private static EmployeeSummaryRow summaryRow(Employee employee) {
+                return new EmployeeSummaryRow(employee.getId(), employee.getName(), employee.getEmail(),
+                                employee.getOracleId(), null);
+        }
+
+        /**
+         * The row the grouped listing reads for an allocation, with its
+         * percentage in the requested month (null when it has none).
+         */
+        private static AllocationRow allocationRow(Allocation allocation, Integer monthPercentage) {
+                return new AllocationRow(allocation.getId(), allocation.getEmployee().getId(),
+                                allocation.getEmployee().getName(), allocation.getEmployee().getOracleId(),
+                                allocation.getProject() != null ? allocation.getProject().getId() : null,
+                                allocation.getProject() != null ? allocation.getProject().getDescription() : null,
+                                allocation.getStartDate(), allocation.getEndDate(), allocation.getAllocationType(),
+                                monthPercentage);
+        }
+
+        /**
+         * The months written through the year rows saved to the repository.
+         */
+        private java.util.List<MonthlyAllocation> savedMonths() {
+                ArgumentCaptor<AllocationYear> saved = ArgumentCaptor.forClass(AllocationYear.class);
+                verify(allocationYearRepository, atLeastOnce()).save(saved.capture());
+                return saved.getAllValues().stream()
+                                .flatMap(row -> row.getMonths().stream())
+                                .toList();
+        }
+
+        private static AllocationYear yearRow(Long id, int year, int month, int percentage) {
+                AllocationYear row = AllocationYear.builder().id(id).year(year).build();
+                row.setPercentage(month, percentage);
+                return row;
+        }
+
         /**
          * Invokes the private toDTO method using reflection for testing purposes.
          * This allows us to test the DTO conversion logic in isolation.
@@ -299,7 +361,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 1, 1))
                                 .endDate(LocalDate.of(2026, 6, 30))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
                 // This allocation should be "active" in February 2026 because:
@@ -323,7 +384,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2025, 6, 1))
                                 .endDate(null) // Ongoing
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
                 // This allocation should be "active" in February 2026 because:
@@ -346,7 +406,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 1, 1))
                                 .endDate(LocalDate.of(2026, 1, 31))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
                 // This allocation should NOT be "active" in February 2026 because:
@@ -367,7 +426,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 3, 1))
                                 .endDate(LocalDate.of(2026, 3, 31))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
                 // This allocation should NOT be "active" in February 2026 because:
@@ -388,7 +446,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 2, 15))
                                 .endDate(LocalDate.of(2026, 2, 28))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
                 // This allocation should be "active" in February 2026 because:
@@ -411,7 +468,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 2, 1))
                                 .endDate(LocalDate.of(2026, 2, 20))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
                 // This allocation should be "active" in February 2026 because:
@@ -444,8 +500,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Mock repository to return PROJECT type only
                 when(allocationRepository.findDistinctAllocationTypesBySpec(
@@ -467,8 +523,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Mock repository to return PROJECT and PROSPECT types
                 when(allocationRepository.findDistinctAllocationTypesBySpec(
@@ -499,8 +555,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Mock repository to return empty (BENCH has no allocations)
                 when(allocationRepository.findDistinctAllocationTypesBySpec(
@@ -529,8 +585,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Mock repository to return PROSPECT type only
                 when(allocationRepository.findDistinctAllocationTypesBySpec(
@@ -552,8 +608,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // When: Get available months with NO filter
                 java.util.List<String> months = allocationService.getAvailableMonths(
@@ -569,8 +625,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // When: Get available months with BENCH filter
                 java.util.List<String> months = allocationService.getAvailableMonths(
@@ -586,8 +642,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Mock repository to return specific months with PROJECT allocations
                 when(allocationRepository.findDistinctAvailableMonths(
@@ -610,8 +666,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Create an employee with PROJECT allocation (ACTIVE status)
                 Employee activeEmployee = Employee.builder()
@@ -623,10 +679,8 @@ public class AllocationServiceTest {
 
                 // Mock employeeRepository to return employee when searching for ACTIVE status
                 // The key assertion: PROJECT allocation type → ACTIVE employee status mapping
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(activeEmployee)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(activeEmployee));
 
                 // Mock allocation for the active employee
                 Allocation allocation = Allocation.builder()
@@ -636,23 +690,12 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 2, 1))
                                 .endDate(null)
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(allocation));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(allocation, 75)));
 
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(any(), eq(2026), eq(2)))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .id(1L)
-                                                                .allocation(allocation)
-                                                                .year(2026)
-                                                                .month(2)
-                                                                .percentage(75)
-                                                                .build()));
-
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(1L), 2026, 2, "PROJECT"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -675,8 +718,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Create a BENCH employee (no allocations)
                 Employee benchEmployee = Employee.builder()
@@ -687,15 +730,12 @@ public class AllocationServiceTest {
                                 .build();
 
                 // Mock employeeRepository to return BENCH employee
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(benchEmployee)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(benchEmployee));
 
-                // Mock project count for BENCH (should be 0 projects)
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
-                                java.util.List.of(2L), 2026, 2, null))
-                                .thenReturn(java.util.Collections.emptyList());
+                // Mock project count for BENCH from the status read model (should be 0 projects)
+                when(employeeMonthStatusService.getProjectCounts(java.util.List.of(2L), 2026, 2))
+                                .thenReturn(java.util.Map.of());
 
                 // When: Get grouped allocations with BENCH filter
                 org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0,
@@ -710,14 +750,81 @@ public class AllocationServiceTest {
                 assertThat(result.getContent().get(0).getAllocations()).isEmpty();
         }
 
+        @Test
+        @DisplayName("getGroupedAllocations - keyset page should hand out the last employee as next cursor")
+        void getGroupedAllocations_keyset_shouldReturnNextCursor() {
+                com.atlas.entity.User mockUser = new com.atlas.entity.User();
+                mockUser.setId(1L);
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
+
+                Employee benchEmployee = Employee.builder()
+                                .id(2L)
+                                .oracleId(2000)
+                                .name("Bench Employee")
+                                .email("bench@atlas.com")
+                                .build();
+                NameCursor after = NameCursor.decode(NameCursor.of(Employee.builder().id(1L).name("Active Employee")
+                                .build()).encode());
+
+                // One more match follows, so the slice reports a next page
+                when(employeeRepository.<EmployeeSummaryRow>findRowSliceAfter(any(), eq(after), eq(1), any()))
+                                .thenReturn(new org.springframework.data.domain.SliceImpl<>(
+                                                java.util.List.of(summaryRow(benchEmployee)),
+                                                org.springframework.data.domain.PageRequest.ofSize(1), true));
+                when(employeeMonthStatusService.getProjectCounts(java.util.List.of(2L), 2026, 2))
+                                .thenReturn(java.util.Map.of());
+
+                CursorSlice<com.atlas.dto.EmployeeAllocationSummaryDTO> result = allocationService
+                                .getGroupedAllocations(mockUser, after, 1, null, "BENCH", null, 2026, 2);
+
+                assertThat(result.getContent()).extracting(com.atlas.dto.EmployeeAllocationSummaryDTO::getEmployeeId)
+                                .containsExactly(2L);
+                assertThat(result.hasNext()).isTrue();
+                assertThat(NameCursor.decode(result.getNextCursor())).isEqualTo(NameCursor.of(benchEmployee));
+        }
+
+        @Test
+        @DisplayName("getGroupedAllocations - count=none should return a slice without counting")
+        void getGroupedAllocations_countNone_shouldSkipCountQuery() {
+                com.atlas.entity.User mockUser = new com.atlas.entity.User();
+                mockUser.setId(1L);
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
+
+                Employee benchEmployee = Employee.builder()
+                                .id(2L)
+                                .oracleId(2000)
+                                .name("Bench Employee")
+                                .email("bench@atlas.com")
+                                .build();
+                org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(3,
+                                1);
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), eq(pageable), any()))
+                                .thenReturn(new org.springframework.data.domain.SliceImpl<>(
+                                                java.util.List.of(summaryRow(benchEmployee)), pageable, true));
+                when(employeeMonthStatusService.getProjectCounts(java.util.List.of(2L), 2026, 2))
+                                .thenReturn(java.util.Map.of());
+
+                org.springframework.data.domain.Slice<com.atlas.dto.EmployeeAllocationSummaryDTO> result = allocationService
+                                .getGroupedAllocations(mockUser, pageable, CountMode.NONE, null, "BENCH", null, 2026, 2);
+
+                assertThat(result).isNotInstanceOf(org.springframework.data.domain.Page.class);
+                assertThat(result.hasNext()).isTrue();
+                assertThat(result.getContent()).extracting(com.atlas.dto.EmployeeAllocationSummaryDTO::getEmployeeId)
+                                .containsExactly(2L);
+                verify(employeeRepository, never()).count(any(org.springframework.data.jpa.domain.Specification.class));
+                verifyNoInteractions(totalCountCache);
+        }
+
         @Test
         @DisplayName("getGroupedAllocations - PROSPECT filter should pass PROSPECT status unchanged")
         void getGroupedAllocations_prospectFilter_shouldPassProspectStatusUnchanged() {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Create an employee with PROSPECT allocation
                 Employee prospectEmployee = Employee.builder()
@@ -727,10 +834,8 @@ public class AllocationServiceTest {
                                 .email("prospect@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(prospectEmployee)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(prospectEmployee));
 
                 Allocation prospectAllocation = Allocation.builder()
                                 .id(2L)
@@ -739,23 +844,12 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROSPECT)
                                 .startDate(LocalDate.of(2026, 2, 1))
                                 .endDate(null)
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(prospectAllocation));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(prospectAllocation, 100)));
 
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(any(), eq(2026), eq(2)))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .id(2L)
-                                                                .allocation(prospectAllocation)
-                                                                .year(2026)
-                                                                .month(2)
-                                                                .percentage(100)
-                                                                .build()));
-
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(3L), 2026, 2, "PROSPECT"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -780,8 +874,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Create an employee with MATERNITY allocation
                 Employee maternityEmployee = Employee.builder()
@@ -791,10 +885,8 @@ public class AllocationServiceTest {
                                 .email("maternity@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(maternityEmployee)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(maternityEmployee));
 
                 Allocation maternityAllocation = Allocation.builder()
                                 .id(3L)
@@ -803,23 +895,12 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.MATERNITY)
                                 .startDate(LocalDate.of(2026, 1, 1))
                                 .endDate(LocalDate.of(2026, 6, 30))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(maternityAllocation));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(maternityAllocation, 100)));
 
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(any(), eq(2026), eq(2)))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .id(3L)
-                                                                .allocation(maternityAllocation)
-                                                                .year(2026)
-                                                                .month(2)
-                                                                .percentage(100)
-                                                                .build()));
-
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(4L), 2026, 2, "MATERNITY"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -844,8 +925,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L, 3L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L, 3L)));
 
                 // Create an employee with VACATION allocation
                 Employee vacationEmployee = Employee.builder()
@@ -855,10 +936,8 @@ public class AllocationServiceTest {
                                 .email("vacation@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(vacationEmployee)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(vacationEmployee));
 
                 Allocation vacationAllocation = Allocation.builder()
                                 .id(4L)
@@ -867,23 +946,12 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.VACATION)
                                 .startDate(LocalDate.of(2026, 2, 1))
                                 .endDate(LocalDate.of(2026, 2, 14))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(vacationAllocation));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(vacationAllocation, 100)));
 
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(any(), eq(2026), eq(2)))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .id(4L)
-                                                                .allocation(vacationAllocation)
-                                                                .year(2026)
-                                                                .month(2)
-                                                                .percentage(100)
-                                                                .build()));
-
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(5L), 2026, 2, "VACATION"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -910,8 +978,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L)));
 
                 // Employee #1: Has PROSPECT allocation in February 2026 (startDate: Feb 1,
                 // endDate: Feb 28)
@@ -937,10 +1005,8 @@ public class AllocationServiceTest {
                 // PROSPECT
                 // The key assertion: PROSPECT status check should use selected month (July),
                 // not any month
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(prospectInJul))); // Only employee with PROSPECT in
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(prospectInJul)); // Only employee with PROSPECT in
                                                                                     // July
 
                 // Mock allocation for Employee #2
@@ -952,16 +1018,10 @@ public class AllocationServiceTest {
                                 .endDate(java.time.LocalDate.of(2026, 7, 31))
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(prospectAllocation));
-
-                // No monthly allocations for PROSPECT (PROSPECT doesn't have MonthlyAllocation
-                // records)
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(200L), 2026, 7))
-                                .thenReturn(java.util.List.of());
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(prospectAllocation, null)));
 
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(2L), 2026, 7, "PROSPECT"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -985,8 +1045,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L)));
 
                 // Employee #1: Has MATERNITY allocation in March 2026 (startDate: Mar 1,
                 // endDate: Mar 31)
@@ -1010,10 +1070,8 @@ public class AllocationServiceTest {
 
                 // Mock employeeRepository to return only Employee #2 when filtering for August
                 // + MATERNITY
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(maternityInAug))); // Only employee with MATERNITY in
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(maternityInAug)); // Only employee with MATERNITY in
                                                                                      // August
 
                 // Mock allocation for Employee #2
@@ -1025,15 +1083,10 @@ public class AllocationServiceTest {
                                 .endDate(java.time.LocalDate.of(2026, 8, 31))
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(maternityAllocation));
-
-                // No monthly allocations for MATERNITY
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(300L), 2026, 8))
-                                .thenReturn(java.util.List.of());
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(maternityAllocation, null)));
 
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(2L), 2026, 8, "MATERNITY"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -1057,8 +1110,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L)));
 
                 // Employee #1: Has VACATION allocation in April 2026 (startDate: Apr 1,
                 // endDate: Apr 30)
@@ -1082,10 +1135,8 @@ public class AllocationServiceTest {
 
                 // Mock employeeRepository to return only Employee #2 when filtering for
                 // September + VACATION
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(vacationInSep))); // Only employee with VACATION in
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(vacationInSep)); // Only employee with VACATION in
                                                                                     // September
 
                 // Mock allocation for Employee #2
@@ -1097,15 +1148,10 @@ public class AllocationServiceTest {
                                 .endDate(java.time.LocalDate.of(2026, 9, 30))
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(vacationAllocation));
-
-                // No monthly allocations for VACATION
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(400L), 2026, 9))
-                                .thenReturn(java.util.List.of());
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(vacationAllocation, null)));
 
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(2L), 2026, 9, "VACATION"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -1129,8 +1175,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L)));
 
                 // Employee: Has PROSPECT allocation from June 1 to August 31, 2026 (spans 3
                 // months)
@@ -1143,10 +1189,8 @@ public class AllocationServiceTest {
                                 .build();
 
                 // Mock employeeRepository to return employee when filtering for July + PROSPECT
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(prospectWithOverlap)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(prospectWithOverlap));
 
                 // Mock allocation spanning June-August
                 Allocation prospectAllocation = Allocation.builder()
@@ -1157,14 +1201,10 @@ public class AllocationServiceTest {
                                 .endDate(java.time.LocalDate.of(2026, 8, 31))
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(prospectAllocation));
-
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(500L), 2026, 7))
-                                .thenReturn(java.util.List.of());
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(prospectAllocation, null)));
 
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(1L), 2026, 7, "PROSPECT"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -1193,8 +1233,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L)));
 
                 // Employee: Has PROSPECT allocation from January 1 to January 31, 2026
                 // Should NOT appear when filtering for July 2026 (allocation ended before
@@ -1208,10 +1248,8 @@ public class AllocationServiceTest {
 
                 // Mock employeeRepository to return empty list (employee should be filtered
                 // out)
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of())); // Empty because allocation ended before July
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows()); // Empty because allocation ended before July
 
                 // When: Get grouped allocations for July 2026 with PROSPECT filter
                 org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0,
@@ -1231,8 +1269,8 @@ public class AllocationServiceTest {
                 // Given: Mock user and accessible IDs
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L, 2L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L, 2L)));
 
                 // Manager entity
                 Employee manager = Employee.builder()
@@ -1249,7 +1287,7 @@ public class AllocationServiceTest {
                                 eq(null), // tower
                                 eq(null), // managerId
                                 eq("PROSPECT"), // status
-                                eq(java.util.List.of(1L, 2L)), // accessibleIds
+                                eq(AccessScope.ids(java.util.List.of(1L, 2L))), // accessibleIds
                                 eq(null), // managerName
                                 eq(2026), // year
                                 eq(7))) // month
@@ -1271,8 +1309,8 @@ public class AllocationServiceTest {
                 // Given: Mock user
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L)));
 
                 Employee manager = Employee.builder()
                                 .id(10L)
@@ -1292,7 +1330,7 @@ public class AllocationServiceTest {
                 // Then: Should have called repository with July 2026, not current month
                 org.mockito.Mockito.verify(employeeRepository).findDistinctManagersByEmployeeSpec(
                                 eq(null), eq(null), eq(null), eq("PROSPECT"),
-                                eq(java.util.List.of(1L)), eq(null),
+                                eq(AccessScope.ids(java.util.List.of(1L))), eq(null),
                                 eq(2026), eq(7)); // Verify year=2026, month=7 were passed
         }
 
@@ -1325,7 +1363,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 1, 1))
                                 .endDate(LocalDate.of(2026, 2, 28))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(savedAlloc);
                 when(allocationRepository.findByIdWithDetails(any())).thenReturn(Optional.of(savedAlloc));
@@ -1334,8 +1371,14 @@ public class AllocationServiceTest {
                 allocationService.createAllocation(requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(2))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                // Both months of 2026 are written in a single year row
+                org.mockito.Mockito.verify(allocationYearRepository, org.mockito.Mockito.times(1))
+                                .save(any(AllocationYear.class));
+                assertThat(savedMonths()).extracting(MonthlyAllocation::getMonth, MonthlyAllocation::getPercentage)
+                                .containsExactly(org.assertj.core.groups.Tuple.tuple(1, 50),
+                                                org.assertj.core.groups.Tuple.tuple(2, 75));
+                // Status read model is refreshed once, after all monthly rows are written
+                org.mockito.Mockito.verify(employeeMonthStatusService).refreshEmployee(employee.getId());
         }
 
         @Test
@@ -1361,7 +1404,6 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 1, 1))
                                 .endDate(LocalDate.of(2026, 3, 31))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(savedAlloc);
                 when(allocationRepository.findByIdWithDetails(any())).thenReturn(Optional.of(savedAlloc));
@@ -1371,8 +1413,7 @@ public class AllocationServiceTest {
 
                 // Then
                 // Jan, Feb, Mar = 3 months
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(3))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                assertThat(savedMonths()).hasSize(3).allMatch(ma -> ma.getPercentage() == 100);
         }
 
         @Test
@@ -1421,22 +1462,17 @@ public class AllocationServiceTest {
                 when(allocationRepository.findById(100L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
 
-                com.atlas.entity.MonthlyAllocation existingMonthly = com.atlas.entity.MonthlyAllocation.builder()
-                                .id(1L)
-                                .year(2026)
-                                .month(1)
-                                .percentage(40)
-                                .build();
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(100L, 2026, 1))
-                                .thenReturn(Optional.of(existingMonthly));
+                AllocationYear existingYear = yearRow(1L, 2026, 1, 40);
+                when(allocationYearRepository.findByAllocationIdAndYear(100L, 2026))
+                                .thenReturn(Optional.of(existingYear));
 
                 // When
                 allocationService.updateAllocation(100L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(1))
-                                .save(existingMonthly);
-                assertThat(existingMonthly.getPercentage()).isEqualTo(60);
+                org.mockito.Mockito.verify(allocationYearRepository, org.mockito.Mockito.times(1))
+                                .save(existingYear);
+                assertThat(existingYear.getPercentage(1)).isEqualTo(60);
         }
 
         @Test
@@ -1459,16 +1495,14 @@ public class AllocationServiceTest {
                 when(allocationRepository.findById(100L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
 
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(eq(100L), any(Integer.class),
-                                any(Integer.class)))
+                when(allocationYearRepository.findByAllocationIdAndYear(eq(100L), any(Integer.class)))
                                 .thenReturn(Optional.empty());
 
                 // When
                 allocationService.updateAllocation(100L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(2))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                assertThat(savedMonths()).hasSize(2);
         }
 
         @Test
@@ -1516,8 +1550,7 @@ public class AllocationServiceTest {
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
 
                 // Mock finding no existing monthly allocations
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(eq(101L), any(Integer.class),
-                                any(Integer.class)))
+                when(allocationYearRepository.findByAllocationIdAndYear(eq(101L), any(Integer.class)))
                                 .thenReturn(Optional.empty());
 
                 // When
@@ -1526,8 +1559,7 @@ public class AllocationServiceTest {
                 // Then
                 // 5 months total (2 past, 1 current, 2 future).
                 // It should ONLY save the current and future months (3 total saves).
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(3))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                assertThat(savedMonths()).hasSize(3);
         }
 
         @Test
@@ -1552,15 +1584,14 @@ public class AllocationServiceTest {
 
                 when(allocationRepository.findById(100L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(100L, 2026, 2))
+                when(allocationYearRepository.findByAllocationIdAndYear(100L, 2026))
                                 .thenReturn(Optional.empty());
 
                 // When
                 allocationService.updateAllocation(100L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(1))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                assertThat(savedMonths()).hasSize(1);
         }
 
         @Test
@@ -1587,22 +1618,17 @@ public class AllocationServiceTest {
                 when(allocationRepository.findById(105L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
 
-                com.atlas.entity.MonthlyAllocation existingMonthly = com.atlas.entity.MonthlyAllocation.builder()
-                                .id(2L)
-                                .year(2026)
-                                .month(5)
-                                .percentage(100)
-                                .build();
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(105L, 2026, 5))
-                                .thenReturn(Optional.of(existingMonthly));
+                AllocationYear existingYear = yearRow(2L, 2026, 5, 100);
+                when(allocationYearRepository.findByAllocationIdAndYear(105L, 2026))
+                                .thenReturn(Optional.of(existingYear));
 
                 // When
                 allocationService.updateAllocation(105L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(1))
-                                .save(existingMonthly);
-                assertThat(existingMonthly.getPercentage()).isEqualTo(80);
+                org.mockito.Mockito.verify(allocationYearRepository, org.mockito.Mockito.times(1))
+                                .save(existingYear);
+                assertThat(existingYear.getPercentage(5)).isEqualTo(80);
         }
 
         @Test
@@ -1622,15 +1648,13 @@ public class AllocationServiceTest {
 
                 when(allocationRepository.findById(100L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(eq(100L), any(Integer.class),
-                                any(Integer.class))).thenReturn(Optional.empty());
+                when(allocationYearRepository.findByAllocationIdAndYear(eq(100L), any(Integer.class))).thenReturn(Optional.empty());
 
                 // When
                 allocationService.updateAllocation(100L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(3))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                assertThat(savedMonths()).hasSize(3);
         }
 
         @Test
@@ -1677,15 +1701,14 @@ public class AllocationServiceTest {
 
                 when(allocationRepository.findById(100L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(100L, 2026, 2))
+                when(allocationYearRepository.findByAllocationIdAndYear(100L, 2026))
                                 .thenReturn(Optional.empty());
 
                 // When
                 allocationService.updateAllocation(100L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(1))
-                                .save(any(com.atlas.entity.MonthlyAllocation.class));
+                assertThat(savedMonths()).hasSize(1);
         }
 
         @Test
@@ -1703,22 +1726,26 @@ public class AllocationServiceTest {
                                 .allocationType(Allocation.AllocationType.PROJECT)
                                 .startDate(LocalDate.of(2026, 1, 1))
                                 .endDate(LocalDate.of(2026, 3, 31))
-                                .monthlyAllocations(new ArrayList<>())
                                 .build();
 
-                when(allocationRepository.findByEmployeeIdWithDetails(1L))
+                when(allocationRepository.findByEmployeeIdInScope(eq(1L), any()))
                                 .thenReturn(java.util.List.of(existingAlloc));
 
                 // We are requesting year 2026, month 2 (February). Mock returning a 60%
-                // allocation for this specific month.
-                com.atlas.entity.MonthlyAllocation mockMonthlyAlloc = new com.atlas.entity.MonthlyAllocation();
-                mockMonthlyAlloc.setId(500L);
+                // allocation for this specific month alongside January.
+                MonthlyAllocation january = new MonthlyAllocation();
+                january.setAllocation(existingAlloc);
+                january.setYear(2026);
+                january.setMonth(1);
+                january.setPercentage(40);
+                MonthlyAllocation mockMonthlyAlloc = new MonthlyAllocation();
                 mockMonthlyAlloc.setAllocation(existingAlloc);
+                mockMonthlyAlloc.setYear(2026);
+                mockMonthlyAlloc.setMonth(2);
                 mockMonthlyAlloc.setPercentage(60);
 
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(100L), 2026, 2))
-                                .thenReturn(java.util.List.of(mockMonthlyAlloc));
+                when(allocationYearRepository.findByAllocationIds(java.util.List.of(100L)))
+                                .thenReturn(java.util.List.of(january, mockMonthlyAlloc));
 
                 // When
                 java.util.List<AllocationDTO> dtos = allocationService.getAllocationsByEmployee(1L, 2026, 2, mockUser);
@@ -1727,6 +1754,30 @@ public class AllocationServiceTest {
                 assertThat(dtos).hasSize(1);
                 assertThat(dtos.get(0).getCurrentMonthAllocation()).isEqualTo(60);
                 assertThat(dtos.get(0).getAllocationPercentage()).isEqualTo(60.0);
+                assertThat(dtos.get(0).getMonthlyAllocations()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("getAllocationsByProject - Should filter by scope in the query and batch monthly rows")
+        void getAllocationsByProject_usesScopedQueryAndSingleMonthlyFetch() {
+                com.atlas.entity.User mockUser = new com.atlas.entity.User();
+                mockUser.setId(1L);
+                mockUser.setEmployee(employee);
+                AccessScope scope = AccessScope.ids(java.util.List.of(1L));
+                when(employeeService.getAccessScope(mockUser)).thenReturn(scope);
+
+                Allocation first = Allocation.builder().id(100L).employee(employee).project(project).build();
+                Allocation second = Allocation.builder().id(101L).employee(employee).project(project).build();
+                when(allocationRepository.findByProjectIdInScope(project.getId(), scope))
+                                .thenReturn(java.util.List.of(first, second));
+                when(allocationYearRepository.findByAllocationIds(java.util.List.of(100L, 101L)))
+                                .thenReturn(java.util.List.of());
+
+                java.util.List<AllocationDTO> dtos = allocationService.getAllocationsByProject(project.getId(), mockUser);
+
+                assertThat(dtos).extracting(AllocationDTO::getId).containsExactly(100L, 101L);
+                org.mockito.Mockito.verify(allocationYearRepository, org.mockito.Mockito.never())
+                                .findPercentageByAllocationIdAndYearMonth(any(), any(), any());
         }
 
         @Test
@@ -1754,16 +1805,15 @@ public class AllocationServiceTest {
                 when(allocationRepository.findById(100L)).thenReturn(Optional.of(existingAlloc));
                 when(allocationRepository.save(any(Allocation.class))).thenReturn(existingAlloc);
 
-                com.atlas.entity.MonthlyAllocation existingMonthly = com.atlas.entity.MonthlyAllocation.builder()
-                                .id(1L).year(2026).month(1).percentage(50).build();
-                when(monthlyAllocationRepository.findByAllocationIdAndYearAndMonth(100L, 2026, 1))
-                                .thenReturn(Optional.of(existingMonthly));
+                AllocationYear existingYear = yearRow(1L, 2026, 1, 50);
+                when(allocationYearRepository.findByAllocationIdAndYear(100L, 2026))
+                                .thenReturn(Optional.of(existingYear));
 
                 // When
                 allocationService.updateAllocation(100L, requestDto);
 
                 // Then
-                org.mockito.Mockito.verify(monthlyAllocationRepository, org.mockito.Mockito.times(0))
+                org.mockito.Mockito.verify(allocationYearRepository, org.mockito.Mockito.times(0))
                                 .delete(any());
         }
 
@@ -1773,8 +1823,8 @@ public class AllocationServiceTest {
                 // Given
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(1L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser))
-                                .thenReturn(java.util.List.of(1L));
+                when(employeeService.getAccessScope(mockUser))
+                                .thenReturn(AccessScope.ids(java.util.List.of(1L)));
 
                 Employee prospectEmp = Employee.builder()
                                 .id(1L)
@@ -1783,10 +1833,8 @@ public class AllocationServiceTest {
                                 .email("prospect@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(prospectEmp)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(prospectEmp));
 
                 Allocation prospectAllocation = Allocation.builder()
                                 .id(600L)
@@ -1796,21 +1844,10 @@ public class AllocationServiceTest {
                                 .endDate(java.time.LocalDate.of(2026, 12, 31))
                                 .build();
 
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(prospectAllocation));
-
-                com.atlas.entity.MonthlyAllocation monthlyEntity = com.atlas.entity.MonthlyAllocation.builder()
-                                .allocation(prospectAllocation)
-                                .year(2026)
-                                .month(7)
-                                .percentage(50)
-                                .build();
-
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(600L), 2026, 7))
-                                .thenReturn(java.util.List.of(monthlyEntity));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(prospectAllocation, 50)));
 
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(1L), 2026, 7, "PROSPECT"))
                                 .thenReturn(java.util.Collections.emptyList());
 
@@ -1837,7 +1874,7 @@ public class AllocationServiceTest {
                 // Given: Employee with both PROJECT and PROSPECT allocations in the selected month
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(100L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser)).thenReturn(null);
+                when(employeeService.getAccessScope(mockUser)).thenReturn(AccessScope.all());
 
                 Employee emp = Employee.builder()
                                 .id(1L)
@@ -1847,10 +1884,8 @@ public class AllocationServiceTest {
                                 .build();
 
                 // Employee spec should return this employee when filtered by ACTIVE status (PROJECT → ACTIVE mapping)
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(emp)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(emp));
 
                 Project project1 = Project.builder().id(1L).description("Project 1").build();
                 Project project2 = Project.builder().id(2L).description("Project 2").build();
@@ -1879,27 +1914,11 @@ public class AllocationServiceTest {
                                 .build();
 
                 // AllocationSpec with PROJECT filter returns only PROJECT allocations
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(projectAlloc1, projectAlloc2));
-
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(100L, 101L), 2026, 2))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(projectAlloc1)
-                                                                .year(2026)
-                                                                .month(2)
-                                                                .percentage(50)
-                                                                .build(),
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(projectAlloc2)
-                                                                .year(2026)
-                                                                .month(2)
-                                                                .percentage(30)
-                                                                .build()));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(projectAlloc1, 50), allocationRow(projectAlloc2, 30)));
 
                 // Project count query should receive "PROJECT" as allocation type and return 2
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(1L), 2026, 2, "PROJECT"))
                                 .thenReturn(java.util.Collections.singletonList(new Object[] { 1L, 2L }));
 
@@ -1922,7 +1941,7 @@ public class AllocationServiceTest {
                 // Given: Employee with both PROJECT and PROSPECT allocations
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(101L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser)).thenReturn(null);
+                when(employeeService.getAccessScope(mockUser)).thenReturn(AccessScope.all());
 
                 Employee emp = Employee.builder()
                                 .id(2L)
@@ -1931,10 +1950,8 @@ public class AllocationServiceTest {
                                 .email("prospect@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(emp)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(emp));
 
                 Project prospect1 = Project.builder().id(10L).description("Prospect 1").build();
                 Project prospect2 = Project.builder().id(11L).description("Prospect 2").build();
@@ -1962,33 +1979,11 @@ public class AllocationServiceTest {
                                 .build();
 
                 // AllocationSpec with PROSPECT filter returns only PROSPECT allocations
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(prospectAlloc1, prospectAlloc2, prospectAlloc3));
-
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(200L, 201L, 202L), 2026, 3))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(prospectAlloc1)
-                                                                .year(2026)
-                                                                .month(3)
-                                                                .percentage(25)
-                                                                .build(),
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(prospectAlloc2)
-                                                                .year(2026)
-                                                                .month(3)
-                                                                .percentage(25)
-                                                                .build(),
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(prospectAlloc3)
-                                                                .year(2026)
-                                                                .month(3)
-                                                                .percentage(25)
-                                                                .build()));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(prospectAlloc1, 25), allocationRow(prospectAlloc2, 25), allocationRow(prospectAlloc3, 25)));
 
                 // Project count query should receive "PROSPECT" as allocation type and return 3
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
+                when(allocationYearRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
                                 java.util.List.of(2L), 2026, 3, "PROSPECT"))
                                 .thenReturn(java.util.Collections.singletonList(new Object[] { 2L, 3L }));
 
@@ -2011,7 +2006,7 @@ public class AllocationServiceTest {
                 // Given: BENCH employee (no allocations)
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(102L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser)).thenReturn(null);
+                when(employeeService.getAccessScope(mockUser)).thenReturn(AccessScope.all());
 
                 Employee benchEmp = Employee.builder()
                                 .id(3L)
@@ -2020,18 +2015,15 @@ public class AllocationServiceTest {
                                 .email("bench@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(benchEmp)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(benchEmp));
 
                 // BENCH filter means no allocations - query returns empty
                 // No need to mock allocationRepository.findAll as it's not called for BENCH
 
-                // Project count query should receive null as allocation type (BENCH has no type)
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
-                                java.util.List.of(3L), 2026, 4, null))
-                                .thenReturn(java.util.List.of());
+                // BENCH has no type, so the project count comes from the status read model
+                when(employeeMonthStatusService.getProjectCounts(java.util.List.of(3L), 2026, 4))
+                                .thenReturn(java.util.Map.of());
 
                 // When: Filter by BENCH
                 org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0,
@@ -2052,7 +2044,7 @@ public class AllocationServiceTest {
                 // Given: Employee with mixed allocation types (PROJECT and PROSPECT)
                 com.atlas.entity.User mockUser = new com.atlas.entity.User();
                 mockUser.setId(103L);
-                when(employeeService.getAccessibleEmployeeIds(mockUser)).thenReturn(null);
+                when(employeeService.getAccessScope(mockUser)).thenReturn(AccessScope.all());
 
                 Employee emp = Employee.builder()
                                 .id(4L)
@@ -2061,10 +2053,8 @@ public class AllocationServiceTest {
                                 .email("mixed@atlas.com")
                                 .build();
 
-                when(employeeRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class),
-                                any(org.springframework.data.domain.Pageable.class)))
-                                .thenReturn(new org.springframework.data.domain.PageImpl<>(
-                                                java.util.List.of(emp)));
+                when(employeeRepository.<EmployeeSummaryRow>findRowSlice(any(), any(), any()))
+                                .thenReturn(summaryRows(emp));
 
                 Project project1 = Project.builder().id(20L).description("Project A").build();
                 Project project2 = Project.builder().id(21L).description("Prospect B").build();
@@ -2084,29 +2074,12 @@ public class AllocationServiceTest {
                                 .build();
 
                 // No allocation type filter - returns all allocations
-                when(allocationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class)))
-                                .thenReturn(java.util.List.of(projectAlloc, prospectAlloc));
+                when(allocationRepository.<AllocationRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(allocationRow(projectAlloc, 60), allocationRow(prospectAlloc, 20)));
 
-                when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
-                                java.util.List.of(300L, 301L), 2026, 5))
-                                .thenReturn(java.util.List.of(
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(projectAlloc)
-                                                                .year(2026)
-                                                                .month(5)
-                                                                .percentage(60)
-                                                                .build(),
-                                                com.atlas.entity.MonthlyAllocation.builder()
-                                                                .allocation(prospectAlloc)
-                                                                .year(2026)
-                                                                .month(5)
-                                                                .percentage(20)
-                                                                .build()));
-
-                // Project count query should receive null as allocation type (no filter) and count all types
-                when(monthlyAllocationRepository.findDistinctProjectCountByEmployeeIdsAndYearMonth(
-                                java.util.List.of(4L), 2026, 5, null))
-                                .thenReturn(java.util.Collections.singletonList(new Object[] { 4L, 2L }));
+                // No filter: the status read model counts projects of all types
+                when(employeeMonthStatusService.getProjectCounts(java.util.List.of(4L), 2026, 5))
+                                .thenReturn(java.util.Map.of(4L, 2L));
 
                 // When: No allocation type filter
                 org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0,
@@ -2120,4 +2093,59 @@ public class AllocationServiceTest {
                 assertThat(result.getContent().get(0).getProjectCount()).isEqualTo(2);
                 assertThat(result.getContent().get(0).getAllocations()).hasSize(2);
         }
+
+        @Test
+        @DisplayName("getTimeline - Lays the year vectors out as dense vectors over the range")
+        void getTimeline_spreadsYearVectorsOverRange() {
+                com.atlas.entity.User mockUser = new com.atlas.entity.User();
+                mockUser.setId(1L);
+                when(employeeService.getAccessScope(mockUser)).thenReturn(AccessScope.ids(java.util.List.of(1L)));
+
+                // October 2026 falls before the range and is dropped
+                Short[] project2026 = new Short[12];
+                project2026[9] = 10;
+                project2026[10] = 50;
+                project2026[11] = 60;
+                Short[] project2027 = new Short[12];
+                project2027[0] = 70;
+                Short[] prospect2027 = new Short[12];
+                prospect2027[1] = 30;
+                when(allocationRepository.<AllocationTimelineRow>findRows(any(), any()))
+                                .thenReturn(java.util.List.of(
+                                                new AllocationTimelineRow(100L, 1L, "Test Employee", 1L, "Test Project",
+                                                                Allocation.AllocationType.PROJECT, 2026, project2026),
+                                                new AllocationTimelineRow(100L, 1L, "Test Employee", 1L, "Test Project",
+                                                                Allocation.AllocationType.PROJECT, 2027, project2027),
+                                                new AllocationTimelineRow(101L, 1L, "Test Employee", 2L, "Other Project",
+                                                                Allocation.AllocationType.PROSPECT, 2027, prospect2027)));
+
+                com.atlas.dto.AllocationTimelineDTO timeline = allocationService.getTimeline(mockUser,
+                                MonthRange.parse("2026-11", "2027-02"));
+
+                assertThat(timeline.getMonths()).containsExactly("2026-11", "2026-12", "2027-01", "2027-02");
+                assertThat(timeline.getEmployees()).hasSize(1);
+                com.atlas.dto.EmployeeTimelineDTO row = timeline.getEmployees().get(0);
+                // Totals only add up PROJECT allocations
+                assertThat(row.getTotals()).containsExactly(50, 60, 70, 0);
+                assertThat(row.getProjects())
+                                .extracting(com.atlas.dto.ProjectTimelineDTO::getAllocationId,
+                                                com.atlas.dto.ProjectTimelineDTO::getPercentages)
+                                .containsExactly(
+                                                org.assertj.core.groups.Tuple.tuple(101L,
+                                                                java.util.Arrays.asList(null, null, null, 30)),
+                                                org.assertj.core.groups.Tuple.tuple(100L,
+                                                                java.util.Arrays.asList(50, 60, 70, null)));
+        }
+
+        @Test
+        @DisplayName("MonthRange - Rejects malformed, reversed and oversized ranges")
+        void monthRange_rejectsInvalidRanges() {
+                org.junit.jupiter.api.Assertions.assertThrows(InvalidMonthRangeException.class,
+                                () -> MonthRange.parse("2026-13", "2027-01"));
+                org.junit.jupiter.api.Assertions.assertThrows(InvalidMonthRangeException.class,
+                                () -> MonthRange.parse("2026-05", "2026-04"));
+                org.junit.jupiter.api.Assertions.assertThrows(InvalidMonthRangeException.class,
+                                () -> MonthRange.parse("2026-01", "2029-01"));
+                assertThat(MonthRange.parse("2026-01", "2028-12").size()).isEqualTo(MonthRange.MAX_MONTHS);
+        }
 }
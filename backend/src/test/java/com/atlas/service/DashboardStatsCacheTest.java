@@ -0,0 +1,129 @@
+package com.atlas.service;
+
+import com.atlas.dto.DashboardStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for the per-scope dashboard statistics cache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Dashboard Stats Cache Tests")
+public class DashboardStatsCacheTest {
+
+    @Mock
+    private HierarchyIndex hierarchyIndex;
+
+    private DashboardStatsCache cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    // 1 -> 2 -> 4, 1 -> 3
+    @BeforeEach
+    void setUp() {
+        cache = new DashboardStatsCache(hierarchyIndex, 3, 300);
+        lenient().when(hierarchyIndex.size()).thenReturn(4);
+        lenient().when(hierarchyIndex.getManagerId(2L)).thenReturn(1L);
+        lenient().when(hierarchyIndex.getManagerId(3L)).thenReturn(1L);
+        lenient().when(hierarchyIndex.getManagerId(4L)).thenReturn(2L);
+    }
+
+    private Supplier<DashboardStatsDTO> loader(long totalEmployees) {
+        return () -> {
+            loads.incrementAndGet();
+            return DashboardStatsDTO.builder().totalEmployees(totalEmployees).build();
+        };
+    }
+
+    private DashboardStatsCache.Key key(Long rootId) {
+        return new DashboardStatsCache.Key(rootId, 2026, 10);
+    }
+
+    @Test
+    @DisplayName("Should load once per key and count hits and misses")
+    void shouldServeRepeatedReadsFromCache() {
+        assertThat(cache.get(key(2L), loader(2)).getTotalEmployees()).isEqualTo(2);
+        assertThat(cache.get(key(2L), loader(99)).getTotalEmployees()).isEqualTo(2);
+        assertThat(cache.get(new DashboardStatsCache.Key(2L, 2026, 11), loader(3)).getTotalEmployees())
+                .isEqualTo(3);
+
+        assertThat(loads.get()).isEqualTo(2);
+        DashboardStatsCache.Stats stats = cache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry beyond the bound")
+    void shouldBoundSize() {
+        cache.get(key(1L), loader(1));
+        cache.get(key(2L), loader(2));
+        cache.get(key(3L), loader(3));
+        cache.get(key(1L), loader(1));
+        cache.get(key(4L), loader(4));
+
+        assertThat(cache.getStats().getSize()).isEqualTo(3);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+        loads.set(0);
+        cache.get(key(1L), loader(1));
+        cache.get(key(2L), loader(2));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict only the changed employee's manager chain and the org-wide entry")
+    void shouldEvictManagerChainOnly() {
+        cache = new DashboardStatsCache(hierarchyIndex, 10, 300);
+        cache.get(key(null), loader(4));
+        cache.get(key(2L), loader(2));
+        cache.get(key(3L), loader(1));
+        cache.get(key(4L), loader(1));
+
+        cache.onEmployeesChanged(List.of(4L));
+
+        loads.set(0);
+        cache.get(key(3L), loader(1));
+        assertThat(loads.get()).isZero();
+        cache.get(key(null), loader(4));
+        cache.get(key(2L), loader(2));
+        cache.get(key(4L), loader(1));
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.getStats().getInvalidations()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should evict both the old and the new manager chain on a move")
+    void shouldEvictBothChainsOnManagerChange() {
+        cache = new DashboardStatsCache(hierarchyIndex, 10, 300);
+        cache.get(key(1L), loader(4));
+        cache.get(key(2L), loader(2));
+        cache.get(key(3L), loader(1));
+
+        cache.onManagerChanged(4L, 3L);
+
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not store a load that overlapped an invalidation")
+    void shouldDropStaleLoad() {
+        cache.get(key(2L), () -> {
+            cache.onEmployeesChanged(List.of(2L));
+            return DashboardStatsDTO.builder().totalEmployees(2L).build();
+        });
+
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+}
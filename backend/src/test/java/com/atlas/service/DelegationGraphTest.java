@@ -0,0 +1,104 @@
+package com.atlas.service;
+
+import com.atlas.dto.DelegateResponse;
+import com.atlas.repository.DelegateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory delegation graph and its write-through updates.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Delegation Graph Tests")
+public class DelegationGraphTest {
+
+    @Mock
+    private DelegateRepository delegateRepository;
+
+    @InjectMocks
+    private DelegationGraph delegationGraph;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, now, "boss", "Big Boss", "alice", "Alice", 11L });
+        rows.add(new Object[] { 2L, now, "boss", "Big Boss", "bob", "Bob", 12L });
+        rows.add(new Object[] { 3L, now, "alice", "Alice", "carol", "Carol", 13L });
+    }
+
+    @Test
+    @DisplayName("Should answer impersonation checks case-insensitively from one load")
+    void shouldAnswerFromSingleLoad() {
+        when(delegateRepository.findAllDelegationRows()).thenReturn(rows);
+
+        assertThat(delegationGraph.hasDelegated("BOSS", "Alice")).isTrue();
+        assertThat(delegationGraph.hasDelegated("alice", "boss")).isFalse();
+        assertThat(delegationGraph.getDelegatesOf("boss"))
+                .extracting(DelegateResponse::getDelegateUsername).containsExactly("alice", "bob");
+        assertThat(delegationGraph.getDelegatorsOf("alice"))
+                .extracting(DelegateResponse::getDelegatorName).containsExactly("Big Boss");
+        assertThat(delegationGraph.getDelegateEmployeeIds("boss")).containsExactly(11L, 12L);
+        assertThat(delegationGraph.getDelegatesOf("nobody")).isEmpty();
+
+        verify(delegateRepository, times(1)).findAllDelegationRows();
+    }
+
+    @Test
+    @DisplayName("Should reload renamed employees after an invalidation")
+    void shouldReloadAfterInvalidation() {
+        List<Object[]> renamed = new ArrayList<>(rows);
+        renamed.set(0, new Object[] { 1L, LocalDateTime.now(), "boss", "Big Boss", "alice", "Alice Smith", 11L });
+        when(delegateRepository.findAllDelegationRows()).thenReturn(rows, renamed);
+        assertThat(delegationGraph.getDelegatesOf("boss").get(0).getDelegateName()).isEqualTo("Alice");
+
+        delegationGraph.invalidateAfterCommit();
+
+        assertThat(delegationGraph.getDelegatesOf("boss").get(0).getDelegateName()).isEqualTo("Alice Smith");
+        verify(delegateRepository, times(2)).findAllDelegationRows();
+    }
+
+    @Test
+    @DisplayName("Should apply grants and revocations without reloading")
+    void shouldWriteThrough() {
+        when(delegateRepository.findAllDelegationRows()).thenReturn(rows);
+        assertThat(delegationGraph.hasDelegated("bob", "dave")).isFalse();
+
+        delegationGraph.addAfterCommit(DelegateResponse.builder()
+                .id(4L).delegatorUsername("bob").delegatorName("Bob")
+                .delegateUsername("dave").delegateName("Dave").build(), 14L);
+        delegationGraph.removeAfterCommit(1L);
+
+        assertThat(delegationGraph.hasDelegated("bob", "dave")).isTrue();
+        assertThat(delegationGraph.hasDelegated("boss", "alice")).isFalse();
+        assertThat(delegationGraph.getDelegatorsOf("dave"))
+                .extracting(DelegateResponse::getId).containsExactly(4L);
+        verify(delegateRepository, times(1)).findAllDelegationRows();
+    }
+
+    @Test
+    @DisplayName("Should not hand out shared DTO instances")
+    void shouldReturnFreshResponses() {
+        when(delegateRepository.findAllDelegationRows()).thenReturn(rows);
+
+        delegationGraph.getDelegatesOf("boss").get(0).setDelegateName("Changed");
+
+        assertThat(delegationGraph.getDelegatesOf("boss").get(0).getDelegateName()).isEqualTo("Alice");
+    }
+}
@@ -6,9 +6,9 @@ import com.atlas.entity.Employee;
 import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.Project;
 import com.atlas.repository.AllocationRepository;
+import com.atlas.repository.AllocationYearRepository;
 import com.atlas.repository.EmployeeRepository;
 import com.atlas.repository.EmployeeSkillRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
 import com.atlas.repository.TechTowerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,7 +20,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,7 +48,13 @@ public class EmployeeServiceTest {
     private TechTowerRepository techTowerRepository;
 
     @Mock
-    private MonthlyAllocationRepository monthlyAllocationRepository;
+    private AllocationYearRepository allocationYearRepository;
+
+    @Mock
+    private DataVersions dataVersions;
+
+    @Mock
+    private TotalCountCache totalCountCache;
 
     @InjectMocks
     private EmployeeService employeeService;
@@ -99,7 +104,7 @@ public class EmployeeServiceTest {
                 .collect(Collectors.toList());
 
         // Mock the batch query
-        when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
+        when(allocationYearRepository.findByAllocationIdsAndYearAndMonth(
                 allocationIds, currentYear, currentMonth))
                 .thenReturn(monthlyAllocations);
     }
@@ -246,19 +251,11 @@ public class EmployeeServiceTest {
                 .allocationType(type)
                 .startDate(LocalDate.now().minusMonths(6))
                 .endDate(LocalDate.now().plusMonths(6))
-                .monthlyAllocations(new ArrayList<>())
                 .build();
 
         // Add current month allocation if percentage is provided
         if (percentage != null && percentage > 0) {
-            MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                    .id((long) (Math.random() * 1000))
-                    .allocation(allocation)
-                    .year(currentYear)
-                    .month(currentMonth)
-                    .percentage(percentage)
-                    .build();
-            allocation.getMonthlyAllocations().add(monthlyAlloc);
+            allocation.setAllocationForYearMonth(currentYear, currentMonth, percentage);
         }
 
         return allocation;
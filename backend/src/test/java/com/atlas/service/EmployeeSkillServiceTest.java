@@ -47,7 +47,10 @@ public class EmployeeSkillServiceTest {
     private EmployeeSkillRepository employeeSkillRepository;
 
     @Mock
-    private EmployeeService employeeService;
+    private HierarchyIndex hierarchyIndex;
+
+    @Mock
+    private DataVersions dataVersions;
 
     @InjectMocks
     private EmployeeSkillService employeeSkillService;
@@ -96,8 +99,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("getEmployeeSkills - should return list of skills when access granted")
     void getEmployeeSkills_withAccess_returnsSkills() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeSkillRepository.findByEmployeeId(1L))
                 .thenReturn(List.of(employeeSkill));
 
@@ -117,8 +120,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("getEmployeeSkills - should return empty list when employee has no skills")
     void getEmployeeSkills_noSkills_returnsEmptyList() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeSkillRepository.findByEmployeeId(1L))
                 .thenReturn(Collections.emptyList());
 
@@ -133,8 +136,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("getEmployeeSkills - should throw exception when access denied")
     void getEmployeeSkills_noAccess_throwsException() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(Collections.emptyList());
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> employeeSkillService.getEmployeeSkills(1L, currentUser))
@@ -154,8 +157,8 @@ public class EmployeeSkillServiceTest {
                 .skillGrade(null)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeSkillRepository.findByEmployeeId(1L))
                 .thenReturn(List.of(skillWithNulls));
 
@@ -174,8 +177,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("getAvailableSkills - should return skills not assigned to employee")
     void getAvailableSkills_withAccess_returnsAvailableSkills() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(skillRepository.findAvailableSkillsForEmployee(1L))
                 .thenReturn(List.of(skill));
 
@@ -193,8 +196,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("getAvailableSkills - should throw exception when access denied")
     void getAvailableSkills_noAccess_throwsException() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(Collections.emptyList());
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> employeeSkillService.getAvailableSkills(1L, currentUser))
@@ -212,8 +215,8 @@ public class EmployeeSkillServiceTest {
                 .tower(null)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(skillRepository.findAvailableSkillsForEmployee(1L))
                 .thenReturn(List.of(skillWithoutTower));
 
@@ -237,8 +240,8 @@ public class EmployeeSkillServiceTest {
                 .skillGrade(EmployeeSkill.SkillGrade.INTERMEDIATE)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
         when(skillRepository.findById(42))
@@ -267,8 +270,8 @@ public class EmployeeSkillServiceTest {
                 .skillGrade(EmployeeSkill.SkillGrade.ADVANCED)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(Collections.emptyList());
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> employeeSkillService.addSkillToEmployee(1L, request, currentUser))
@@ -286,8 +289,8 @@ public class EmployeeSkillServiceTest {
                 .skillGrade(EmployeeSkill.SkillGrade.ADVANCED)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.empty());
 
@@ -307,8 +310,8 @@ public class EmployeeSkillServiceTest {
                 .skillGrade(EmployeeSkill.SkillGrade.ADVANCED)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
         when(skillRepository.findById(99))
@@ -330,8 +333,8 @@ public class EmployeeSkillServiceTest {
                 .skillGrade(EmployeeSkill.SkillGrade.ADVANCED)
                 .build();
 
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.findById(1L))
                 .thenReturn(Optional.of(employee));
         when(skillRepository.findById(42))
@@ -351,8 +354,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("removeSkillFromEmployee - should successfully remove skill with access")
     void removeSkillFromEmployee_withAccess_removesSkill() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.existsById(1L))
                 .thenReturn(true);
         when(employeeSkillRepository.findByEmployeeIdAndSkillId(1L, 42))
@@ -369,8 +372,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("removeSkillFromEmployee - should throw exception when access denied")
     void removeSkillFromEmployee_noAccess_throwsException() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(Collections.emptyList());
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> employeeSkillService.removeSkillFromEmployee(1L, 42, currentUser))
@@ -382,8 +385,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("removeSkillFromEmployee - should throw exception when employee not found")
     void removeSkillFromEmployee_employeeNotFound_throwsException() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.existsById(1L))
                 .thenReturn(false);
 
@@ -397,8 +400,8 @@ public class EmployeeSkillServiceTest {
     @DisplayName("removeSkillFromEmployee - should throw exception when skill not assigned")
     void removeSkillFromEmployee_skillNotAssigned_throwsException() {
         // Arrange
-        when(employeeService.getAccessibleEmployeeIds(currentUser))
-                .thenReturn(List.of(1L));
+        when(hierarchyIndex.isInSubtree(1L, 1L))
+                .thenReturn(true);
         when(employeeRepository.existsById(1L))
                 .thenReturn(true);
         when(employeeSkillRepository.findByEmployeeIdAndSkillId(1L, 99))
@@ -0,0 +1,104 @@
+package com.atlas.service;
+
+import com.atlas.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HierarchyIndex Euler-tour numbering and snapshot swapping.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Hierarchy Index Tests")
+public class HierarchyIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private HierarchyIndex hierarchyIndex;
+
+    //        1
+    //      /   \
+    //     2     3
+    //    / \     \
+    //   4   5     6
+    private List<Object[]> links;
+
+    @BeforeEach
+    void setUp() {
+        links = new ArrayList<>();
+        links.add(new Object[] { 1L, null });
+        links.add(new Object[] { 2L, 1L });
+        links.add(new Object[] { 3L, 1L });
+        links.add(new Object[] { 4L, 2L });
+        links.add(new Object[] { 5L, 2L });
+        links.add(new Object[] { 6L, 3L });
+    }
+
+    @Test
+    @DisplayName("Should include self and all descendants in subtree")
+    void shouldAnswerSubtreeMembership() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(links);
+
+        assertThat(hierarchyIndex.isInSubtree(1L, 6L)).isTrue();
+        assertThat(hierarchyIndex.isInSubtree(2L, 2L)).isTrue();
+        assertThat(hierarchyIndex.isInSubtree(2L, 5L)).isTrue();
+        assertThat(hierarchyIndex.isInSubtree(2L, 6L)).isFalse();
+        assertThat(hierarchyIndex.isInSubtree(4L, 2L)).isFalse();
+        assertThat(hierarchyIndex.isInSubtree(3L, 99L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return subtree as a contiguous pre-order range")
+    void shouldReturnSubtreeIds() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(links);
+
+        assertThat(hierarchyIndex.getSubtreeIds(2L)).containsExactly(2L, 4L, 5L);
+        assertThat(hierarchyIndex.getSubtreeIds(1L)).containsExactly(1L, 2L, 4L, 5L, 3L, 6L);
+        assertThat(hierarchyIndex.getSubtreeSize(3L)).isEqualTo(2);
+        assertThat(hierarchyIndex.getSubtreeIds(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should build the snapshot once and swap it on rebuild")
+    void shouldSwapSnapshotOnRebuild() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(links);
+        assertThat(hierarchyIndex.isInSubtree(2L, 6L)).isFalse();
+        assertThat(hierarchyIndex.isInSubtree(3L, 6L)).isTrue();
+
+        // Move employee 6 under employee 2
+        List<Object[]> moved = new ArrayList<>(links);
+        moved.set(5, new Object[] { 6L, 2L });
+        when(employeeRepository.findAllManagerLinks()).thenReturn(moved);
+        hierarchyIndex.rebuildAfterCommit();
+
+        assertThat(hierarchyIndex.isInSubtree(2L, 6L)).isTrue();
+        assertThat(hierarchyIndex.isInSubtree(3L, 6L)).isFalse();
+        verify(employeeRepository, times(2)).findAllManagerLinks();
+    }
+
+    @Test
+    @DisplayName("Should number employees caught in a reporting cycle")
+    void shouldHandleCycles() {
+        links.add(new Object[] { 7L, 8L });
+        links.add(new Object[] { 8L, 7L });
+        when(employeeRepository.findAllManagerLinks()).thenReturn(links);
+
+        assertThat(hierarchyIndex.isInSubtree(7L, 8L)).isTrue();
+        assertThat(hierarchyIndex.isInSubtree(1L, 7L)).isFalse();
+        assertThat(hierarchyIndex.getSubtreeSize(1L)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,120 @@
+package com.atlas.service;
+
+import com.atlas.entity.KpiSnapshot;
+import com.atlas.repository.DashboardAggregateRepository;
+import com.atlas.repository.EmployeeRepository;
+import com.atlas.repository.KpiSnapshotRepository;
+import com.atlas.repository.projection.DashboardAggregate;
+import com.atlas.security.AccessScope;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for month-close KPI snapshots and trend arithmetic.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KPI Snapshot Service Tests")
+public class KpiSnapshotServiceTest {
+
+    @Mock
+    private KpiSnapshotRepository kpiSnapshotRepository;
+
+    @Mock
+    private DashboardAggregateRepository dashboardAggregateRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AccessScopeResolver accessScopeResolver;
+
+    @Mock
+    private DashboardStatsCache dashboardStatsCache;
+
+    @InjectMocks
+    private KpiSnapshotService kpiSnapshotService;
+
+    private DashboardAggregate aggregate(long totalEmployees) {
+        DashboardAggregate kpis = mock(DashboardAggregate.class);
+        when(kpis.getTotalEmployees()).thenReturn(totalEmployees);
+        return kpis;
+    }
+
+    @Test
+    @DisplayName("Should snapshot the org-wide scope and every partial manager subtree")
+    @SuppressWarnings("unchecked")
+    void shouldSnapshotEveryScopeRoot() {
+        YearMonth month = YearMonth.of(2026, 9);
+        AccessScope teamScope = AccessScope.ids(List.of(2L, 4L));
+        DashboardAggregate orgKpis = aggregate(10);
+        DashboardAggregate teamKpis = aggregate(2);
+        when(employeeRepository.findDistinctManagerIds()).thenReturn(List.of(1L, 2L));
+        when(accessScopeResolver.computeForEmployee(1L)).thenReturn(AccessScope.all());
+        when(accessScopeResolver.computeForEmployee(2L)).thenReturn(teamScope);
+        when(dashboardAggregateRepository.aggregateFiltered(any(AccessScope.class), eq(2026), eq(9)))
+                .thenAnswer(inv -> ((AccessScope) inv.getArgument(0)).isUnrestricted() ? orgKpis : teamKpis);
+
+        assertThat(kpiSnapshotService.snapshotMonth(month, false)).isEqualTo(2);
+
+        ArgumentCaptor<List<KpiSnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(kpiSnapshotRepository).deleteByMonth(2026, 9);
+        verify(kpiSnapshotRepository).saveAll(saved.capture());
+        assertThat(saved.getValue())
+                .extracting(KpiSnapshot::getScopeRootId, KpiSnapshot::getTotalEmployees)
+                .containsExactly(
+                        Tuple.tuple(KpiSnapshot.ORG_WIDE_ROOT, 10L),
+                        Tuple.tuple(2L, 2L));
+        verify(dashboardStatsCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Should keep a month that already has snapshots unless overwriting")
+    void shouldSkipCapturedMonthUnlessOverwriting() {
+        YearMonth month = YearMonth.of(2026, 9);
+        when(kpiSnapshotRepository.existsByYearAndMonth(2026, 9)).thenReturn(true);
+
+        assertThat(kpiSnapshotService.snapshotMonth(month, false)).isZero();
+        verify(kpiSnapshotRepository, never()).deleteByMonth(anyInt(), anyInt());
+        verify(kpiSnapshotRepository, never()).saveAll(any());
+
+        DashboardAggregate orgKpis = aggregate(10);
+        when(dashboardAggregateRepository.aggregateFiltered(AccessScope.all(), 2026, 9)).thenReturn(orgKpis);
+
+        assertThat(kpiSnapshotService.snapshotMonth(month, true)).isEqualTo(1);
+        verify(kpiSnapshotRepository).deleteByMonth(2026, 9);
+    }
+
+    @Test
+    @DisplayName("Should read the org-wide snapshot for a null scope root")
+    void shouldMapNullRootToOrgWide() {
+        kpiSnapshotService.findSnapshot(null, YearMonth.of(2026, 9));
+
+        verify(kpiSnapshotRepository).findById(new KpiSnapshot.Key(KpiSnapshot.ORG_WIDE_ROOT, 2026, 9));
+    }
+
+    @Test
+    @DisplayName("Should compute relative change rounded to one decimal")
+    void shouldComputePercentChange() {
+        assertThat(KpiSnapshotService.percentChange(110, 100)).isEqualTo(10.0);
+        assertThat(KpiSnapshotService.percentChange(2, 3)).isEqualTo(-33.3);
+        assertThat(KpiSnapshotService.percentChange(5, 0)).isEqualTo(0.0);
+    }
+}
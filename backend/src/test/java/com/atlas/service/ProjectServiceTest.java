@@ -5,9 +5,11 @@ import com.atlas.entity.Allocation;
 import com.atlas.entity.Employee;
 import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.Project;
+import com.atlas.entity.User;
 import com.atlas.repository.AllocationRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
+import com.atlas.repository.AllocationYearRepository;
 import com.atlas.repository.ProjectRepository;
+import com.atlas.security.AccessScope;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,9 +22,11 @@ import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 /**
@@ -43,7 +47,16 @@ public class ProjectServiceTest {
     private AllocationRepository allocationRepository;
 
     @Mock
-    private MonthlyAllocationRepository monthlyAllocationRepository;
+    private AllocationYearRepository allocationYearRepository;
+
+    @Mock
+    private ProjectVisibilityIndex projectVisibilityIndex;
+
+    @Mock
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Mock
+    private DataVersions dataVersions;
 
     @InjectMocks
     private ProjectService projectService;
@@ -83,7 +96,7 @@ public class ProjectServiceTest {
                 .collect(Collectors.toList());
 
         // Mock the batch query
-        when(monthlyAllocationRepository.findByAllocationIdsAndYearAndMonth(
+        when(allocationYearRepository.findByAllocationIdsAndYearAndMonth(
                 allocationIds, currentYear, currentMonth))
                 .thenReturn(monthlyAllocations);
     }
@@ -404,24 +417,45 @@ public class ProjectServiceTest {
                 .allocationType(type)
                 .startDate(LocalDate.now().minusMonths(6))
                 .endDate(LocalDate.now().plusMonths(6))
-                .monthlyAllocations(new ArrayList<>())
                 .build();
 
         // Add current month allocation if percentage is provided and > 0
         if (percentage != null && percentage > 0) {
-            MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                    .id((long) (Math.random() * 1000))
-                    .allocation(allocation)
-                    .year(currentYear)
-                    .month(currentMonth)
-                    .percentage(percentage)
-                    .build();
-            allocation.getMonthlyAllocations().add(monthlyAlloc);
+            allocation.setAllocationForYearMonth(currentYear, currentMonth, percentage);
         }
 
         return allocation;
     }
 
+    @Test
+    @DisplayName("Should check single-project access through the visibility index")
+    void shouldCheckProjectAccessWithVisibilityIndex() {
+        Employee manager = Employee.builder().id(10L).manager(Employee.builder().id(1L).build()).build();
+        User user = User.builder().id(5L).employee(manager).build();
+        AccessScope scope = AccessScope.ids(List.of(10L, 11L));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(employeeService.getAccessScope(user)).thenReturn(scope);
+        when(projectVisibilityIndex.isVisible(1L, scope)).thenReturn(false);
+
+        assertThatThrownBy(() -> projectService.getProjectById(1L, user))
+                .hasMessageContaining("Access denied");
+    }
+
+    @Test
+    @DisplayName("Should list only active projects for an unrestricted scope below the top level")
+    void shouldListActiveProjectsForUnrestrictedScope() {
+        Employee manager = Employee.builder().id(10L).manager(Employee.builder().id(1L).build()).build();
+        User user = User.builder().id(5L).employee(manager).build();
+        when(employeeService.getAccessScope(user)).thenReturn(AccessScope.all());
+        when(projectVisibilityIndex.getVisibleProjectIds(AccessScope.all())).thenReturn(null);
+        when(projectRepository.findActiveProjects()).thenReturn(List.of(project));
+
+        List<ProjectDTO> projects = projectService.getAllProjects(user);
+
+        assertThat(projects).extracting(ProjectDTO::getId).containsExactly(1L);
+        org.mockito.Mockito.verify(projectRepository, org.mockito.Mockito.never()).findAll();
+    }
+
     /**
      * Invokes the private toDTO method using reflection for testing purposes.
      */
@@ -0,0 +1,106 @@
+package com.atlas.service;
+
+import com.atlas.entity.Allocation;
+import com.atlas.entity.Employee;
+import com.atlas.entity.Project;
+import com.atlas.repository.AllocationRepository;
+import com.atlas.security.AccessScope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for project visibility lookups and reference-counted updates.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Project Visibility Index Tests")
+public class ProjectVisibilityIndexTest {
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private HierarchyIndex hierarchyIndex;
+
+    @InjectMocks
+    private ProjectVisibilityIndex projectVisibilityIndex;
+
+    // [projectId, employeeId, allocationCount]
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>();
+        rows.add(new Object[] { 100L, 4L, 1L });
+        rows.add(new Object[] { 100L, 6L, 2L });
+        rows.add(new Object[] { 200L, 5L, 1L });
+    }
+
+    @Test
+    @DisplayName("Should list projects of in-scope employees from one load")
+    void shouldListVisibleProjects() {
+        when(allocationRepository.countProjectAllocationsByProjectAndEmployee()).thenReturn(rows);
+
+        assertThat(projectVisibilityIndex.getVisibleProjectIds(AccessScope.ids(List.of(4L, 5L))))
+                .containsExactly(100L, 200L);
+        assertThat(projectVisibilityIndex.getVisibleProjectIds(AccessScope.ids(List.of(6L))))
+                .containsExactly(100L);
+        assertThat(projectVisibilityIndex.getVisibleProjectIds(AccessScope.ids(List.of(9L)))).isEmpty();
+        assertThat(projectVisibilityIndex.getVisibleProjectIds(AccessScope.all())).isNull();
+
+        verify(allocationRepository, times(1)).countProjectAllocationsByProjectAndEmployee();
+    }
+
+    @Test
+    @DisplayName("Should check a single project against the hierarchy for subtree scopes")
+    void shouldCheckSubtreeVisibility() {
+        when(allocationRepository.countProjectAllocationsByProjectAndEmployee()).thenReturn(rows);
+        when(hierarchyIndex.isInSubtree(2L, 5L)).thenReturn(true);
+        AccessScope subtree = AccessScope.subtree(2L, List.of(2L, 4L, 5L));
+
+        assertThat(projectVisibilityIndex.isVisible(200L, subtree)).isTrue();
+        assertThat(projectVisibilityIndex.isVisible(300L, subtree)).isFalse();
+        assertThat(projectVisibilityIndex.isVisible(200L, AccessScope.ids(List.of(4L)))).isFalse();
+        assertThat(projectVisibilityIndex.isVisible(200L, AccessScope.none())).isFalse();
+        assertThat(projectVisibilityIndex.isVisible(300L, AccessScope.all())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep a pair until its last allocation is deleted")
+    void shouldReferenceCountAllocations() {
+        when(allocationRepository.countProjectAllocationsByProjectAndEmployee()).thenReturn(rows);
+        AccessScope scope = AccessScope.ids(List.of(6L));
+        assertThat(projectVisibilityIndex.isVisible(100L, scope)).isTrue();
+
+        projectVisibilityIndex.onAllocationDeleted(allocation(100L, 6L, Allocation.AllocationType.PROJECT));
+        assertThat(projectVisibilityIndex.isVisible(100L, scope)).isTrue();
+
+        projectVisibilityIndex.onAllocationDeleted(allocation(100L, 6L, Allocation.AllocationType.PROJECT));
+        assertThat(projectVisibilityIndex.isVisible(100L, scope)).isFalse();
+
+        projectVisibilityIndex.onAllocationCreated(allocation(300L, 6L, Allocation.AllocationType.PROSPECT));
+        projectVisibilityIndex.onAllocationCreated(allocation(400L, 6L, Allocation.AllocationType.PROJECT));
+        assertThat(projectVisibilityIndex.getVisibleProjectIds(scope)).containsExactly(400L);
+        verify(allocationRepository, times(1)).countProjectAllocationsByProjectAndEmployee();
+    }
+
+    private static Allocation allocation(Long projectId, Long employeeId, Allocation.AllocationType type) {
+        return Allocation.builder()
+                .project(Project.builder().id(projectId).build())
+                .employee(Employee.builder().id(employeeId).build())
+                .allocationType(type)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.atlas.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the count=cached listing totals.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Total Count Cache Tests")
+public class TotalCountCacheTest {
+
+    @Mock
+    private DataVersions dataVersions;
+
+    private TotalCountCache cache;
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new TotalCountCache(dataVersions, 10, 30);
+    }
+
+    private LongSupplier counter(long total) {
+        return () -> {
+            counts.incrementAndGet();
+            return total;
+        };
+    }
+
+    private Page<String> middlePage(LongSupplier counter) {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("b"), PageRequest.of(1, 1), true);
+        return cache.toPage(slice, Arrays.asList("employees", 1L, null), counter,
+                DataVersions.Aggregate.EMPLOYEES);
+    }
+
+    @Test
+    @DisplayName("Should count once per filters and data version")
+    void shouldReuseTotalUntilVersionChanges() {
+        when(dataVersions.get(DataVersions.Aggregate.EMPLOYEES)).thenReturn(1L);
+
+        assertThat(middlePage(counter(5)).getTotalElements()).isEqualTo(5);
+        assertThat(middlePage(counter(99)).getTotalElements()).isEqualTo(5);
+        assertThat(counts).hasValue(1);
+
+        when(dataVersions.get(DataVersions.Aggregate.EMPLOYEES)).thenReturn(2L);
+
+        assertThat(middlePage(counter(6)).getTotalElements()).isEqualTo(6);
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should take the total from a short first page without counting")
+    void shouldSkipCountForShortFirstPage() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 10), false);
+
+        Page<String> page = cache.toPage(slice, List.of("employees"), counter(99),
+                DataVersions.Aggregate.EMPLOYEES);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(counts).hasValue(0);
+    }
+}
@@ -2,16 +2,16 @@ package com.atlas.specification;
 
 import com.atlas.entity.Allocation;
 import com.atlas.entity.Employee;
-import com.atlas.entity.MonthlyAllocation;
 import com.atlas.entity.Project;
 import com.atlas.repository.AllocationRepository;
 import com.atlas.repository.EmployeeRepository;
-import com.atlas.repository.MonthlyAllocationRepository;
 import com.atlas.repository.ProjectRepository;
+import com.atlas.security.AccessScope;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -28,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * - Allocations completely outside the date range
  */
 @DataJpaTest
+@ActiveProfiles("test")
 class AllocationSpecificationTest {
 
     @Autowired
@@ -39,9 +40,6 @@ class AllocationSpecificationTest {
     @Autowired
     private ProjectRepository projectRepository;
 
-    @Autowired
-    private MonthlyAllocationRepository monthlyAllocationRepository;
-
     private Employee testEmployee;
     private Project testProject;
 
@@ -73,7 +71,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -92,7 +90,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -111,7 +109,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -129,7 +127,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -147,7 +145,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -166,7 +164,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -185,7 +183,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -204,7 +202,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2024
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2024, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2024, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -238,7 +236,7 @@ class AllocationSpecificationTest {
 
         // When: Filter allocations for February 2026
         Specification<Allocation> spec = AllocationSpecification.withFilters(
-                null, null, null, List.of(testEmployee.getId()), 2026, 2
+                null, null, null, AccessScope.ids(List.of(testEmployee.getId())), 2026, 2
         );
         List<Allocation> result = allocationRepository.findAll(spec);
 
@@ -268,7 +266,7 @@ class AllocationSpecificationTest {
                 Allocation.AllocationType.PROJECT,
                 null,
                 null,
-                List.of(testEmployee.getId()),
+                AccessScope.ids(List.of(testEmployee.getId())),
                 2026,
                 2
         );
@@ -296,7 +294,7 @@ class AllocationSpecificationTest {
                 .build();
         allocation = allocationRepository.save(allocation);
 
-        // PROJECT and PROSPECT allocations require MonthlyAllocation records
+        // PROJECT and PROSPECT allocations require monthly percentages
         // MATERNITY and VACATION only use date overlap
         if ((type == Allocation.AllocationType.PROJECT || type == Allocation.AllocationType.PROSPECT)
                 && startDate != null) {
@@ -304,15 +302,10 @@ class AllocationSpecificationTest {
             LocalDate end = (endDate != null) ? endDate.withDayOfMonth(1) : LocalDate.now().plusYears(2).withDayOfMonth(1);
 
             while (!current.isAfter(end)) {
-                MonthlyAllocation monthlyAlloc = MonthlyAllocation.builder()
-                        .allocation(allocation)
-                        .year(current.getYear())
-                        .month(current.getMonthValue())
-                        .percentage(50)  // Default percentage for tests
-                        .build();
-                monthlyAllocationRepository.save(monthlyAlloc);
+                allocation.setAllocationForYearMonth(current.getYear(), current.getMonthValue(), 50);  // Default percentage for tests
                 current = current.plusMonths(1);
             }
+            allocation = allocationRepository.save(allocation);
         }
 
         return allocation;